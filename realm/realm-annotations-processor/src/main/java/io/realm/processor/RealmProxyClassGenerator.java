@@ -20,6 +20,8 @@ import com.squareup.javawriter.JavaWriter;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -64,11 +66,13 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.internal.RealmObjectProxy");
         imports.add("io.realm.internal.Table");
         imports.add("io.realm.internal.TableOrView");
+        imports.add("io.realm.internal.Util");
         imports.add("io.realm.internal.ImplicitTransaction");
         imports.add("io.realm.internal.LinkView");
         imports.add("io.realm.internal.android.JsonUtils");
         imports.add("java.io.IOException");
         imports.add("java.util.ArrayList");
+        imports.add("java.util.Collection");
         imports.add("java.util.Collections");
         imports.add("java.util.List");
         imports.add("java.util.Date");
@@ -110,12 +114,15 @@ public class RealmProxyClassGenerator {
         emitAccessors(writer);
         emitInitTableMethod(writer);
         emitValidateTableMethod(writer);
+        emitGetSchemaFingerprintMethod(writer);
+        emitCreateColumnInfoMethod(writer);
         emitGetTableNameMethod(writer);
         emitGetFieldNamesMethod(writer);
         emitCreateOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
         emitCopyOrUpdateMethod(writer);
         emitCopyMethod(writer);
+        emitInsertMethod(writer);
         emitCreateDetachedCopyMethod(writer);
         emitUpdateMethod(writer);
         emitToStringMethod(writer);
@@ -158,6 +165,21 @@ public class RealmProxyClassGenerator {
         }
         writer.emitStatement("setIndicesMap(indicesMap)");
         writer.endConstructor();
+        writer.emitEmptyLine();
+
+        // constructor from already validated column indices, in field order
+        writer.beginConstructor(EnumSet.noneOf(Modifier.class), "long[]", "columnIndices");
+        writer.emitStatement("final Map<String, Long> indicesMap = new HashMap<String, Long>(%s)",
+                metadata.getFields().size());
+        int columnIndex = 0;
+        for (VariableElement variableElement : metadata.getFields()) {
+            final String columnName = variableElement.getSimpleName().toString();
+            final String columnIndexVarName = columnIndexVarName(variableElement);
+            writer.emitStatement("this.%s = columnIndices[%d]", columnIndexVarName, columnIndex++);
+            writer.emitStatement("indicesMap.put(\"%s\", this.%s)", columnName, columnIndexVarName);
+        }
+        writer.emitStatement("setIndicesMap(indicesMap)");
+        writer.endConstructor();
 
         writer.endType();
         writer.emitEmptyLine();
@@ -544,6 +566,66 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitGetSchemaFingerprintMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod("long", "getSchemaFingerprint", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
+        writer.emitStatement("return %dL", getSchemaFingerprint());
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCreateColumnInfoMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(columnInfoClassName(), "createColumnInfo", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC),
+                "long[]", "columnIndices");
+        writer.emitStatement("return new %s(columnIndices)", columnInfoClassName());
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    // Hashes a description of everything validateTable() checks, e.g. "Foo;name:STRING? index;bar:OBJECT? >Bar", so
+    // the fingerprint changes whenever the validation would.
+    private long getSchemaFingerprint() {
+        StringBuilder description = new StringBuilder(className);
+        for (VariableElement field : metadata.getFields()) {
+            String fieldTypeCanonicalName = field.asType().toString();
+            description.append(';').append(field.getSimpleName()).append(':');
+            if (Constants.JAVA_TO_COLUMN_TYPES.containsKey(fieldTypeCanonicalName)) {
+                description.append(Constants.JAVA_TO_COLUMN_TYPES.get(fieldTypeCanonicalName)
+                        .substring("RealmFieldType.".length()));
+            } else if (Utils.isRealmObject(field)) {
+                description.append("OBJECT");
+            } else if (Utils.isRealmList(field)) {
+                description.append("LIST");
+            }
+            if (metadata.isNullable(field)) {
+                description.append('?');
+            }
+            if (metadata.getIndexedFields().contains(field)) {
+                description.append(" index");
+            }
+            if (field.equals(metadata.getPrimaryKey())) {
+                description.append(" primaryKey");
+            }
+            if (Utils.isRealmObject(field)) {
+                description.append(" >").append(Utils.getFieldTypeSimpleName(field));
+            } else if (Utils.isRealmList(field)) {
+                description.append(" >").append(Utils.getGenericType(field));
+            }
+        }
+
+        try {
+            byte[] hash = Utils.sha256Hash(description.toString().getBytes("UTF-8"));
+            long fingerprint = 0;
+            for (int i = 0; i < 8; i++) {
+                fingerprint = (fingerprint << 8) | (hash[i] & 0xff);
+            }
+            return fingerprint;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private void emitGetTableNameMethod(JavaWriter writer) throws IOException {
         writer.beginMethod("String", "getTableName", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
         writer.emitStatement("return \"%s%s\"", Constants.TABLE_PREFIX, className);
@@ -684,6 +766,180 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "void", // Return type
+                "insert", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", "Collection<? extends RealmObject>", "objects", "boolean", "update", "Map<RealmObject,Long>", "cache"); // Argument type & argument name
+
+        writer
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("%s columnInfo = (%s) realm.schema.getColumnInfo(%s.class)",
+                    columnInfoClassName(), columnInfoClassName(), className);
+        if (metadata.hasPrimaryKey()) {
+            writer.emitStatement("long pkColumnIndex = table.getPrimaryKey()");
+        }
+
+        // Find the rows to write to. Objects already in this Realm or inserted earlier on are skipped.
+        writer
+            .emitStatement("List<%s> batch = new ArrayList<%s>(objects.size())", className, className)
+            .beginControlFlow("for (RealmObject realmObject : objects)")
+                .beginControlFlow("if (realmObject == null || cache.containsKey(realmObject) || " +
+                        "(realmObject.realm != null && realmObject.realm.getPath().equals(realm.getPath())))")
+                    .emitStatement("continue")
+                .endControlFlow()
+                .emitStatement("%s object = (%s) realmObject", className, className);
+        if (metadata.hasPrimaryKey()) {
+            String pkGetter = metadata.getPrimaryKeyGetter();
+            if (Utils.isString(metadata.getPrimaryKey())) {
+                writer
+                    .beginControlFlow("if (object.%s() == null)", pkGetter)
+                        .emitStatement("throw new IllegalArgumentException(\"Primary key value must not be null.\")")
+                    .endControlFlow()
+                    .emitStatement("long rowIndex = update ? table.findFirstString(pkColumnIndex, object.%s()) : TableOrView.NO_MATCH", pkGetter);
+            } else {
+                writer.emitStatement("long rowIndex = update ? table.findFirstLong(pkColumnIndex, object.%s()) : TableOrView.NO_MATCH", pkGetter);
+            }
+            writer
+                .beginControlFlow("if (rowIndex == TableOrView.NO_MATCH)")
+                    .emitStatement("rowIndex = table.addEmptyRowWithPrimaryKey(object.%s())", pkGetter)
+                .endControlFlow()
+                .emitStatement("cache.put(object, rowIndex)");
+        } else {
+            // The rows are added below, in one go. This only guards against duplicates in the batch.
+            writer.emitStatement("cache.put(object, TableOrView.NO_MATCH)");
+        }
+        writer
+                .emitStatement("batch.add(object)")
+            .endControlFlow()
+            .emitEmptyLine()
+            .emitStatement("int count = batch.size()")
+            .beginControlFlow("if (count == 0)")
+                .emitStatement("return")
+            .endControlFlow()
+            .emitStatement("long[] rowIndices = new long[count]");
+        if (metadata.hasPrimaryKey()) {
+            writer
+                .beginControlFlow("for (int i = 0; i < count; i++)")
+                    .emitStatement("rowIndices[i] = cache.get(batch.get(i))")
+                .endControlFlow();
+        } else {
+            writer
+                .emitStatement("long firstRowIndex = table.addEmptyRows(count)")
+                .beginControlFlow("for (int i = 0; i < count; i++)")
+                    .emitStatement("rowIndices[i] = firstRowIndex + i")
+                    .emitStatement("cache.put(batch.get(i), rowIndices[i])")
+                .endControlFlow();
+        }
+        writer.emitEmptyLine();
+
+        // Pack the values column by column.
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            if (field == metadata.getPrimaryKey()) {
+                continue;
+            }
+            if (Utils.isRealmObject(field)) {
+                writer.emitStatement("List<%s> %sTargets = new ArrayList<%s>(count)",
+                        Utils.getFieldTypeSimpleName(field), fieldName, Utils.getFieldTypeSimpleName(field));
+            } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .emitStatement("List<RealmList<%s>> %sTargets = new ArrayList<RealmList<%s>>(count)", genericType, fieldName, genericType)
+                    .emitStatement("List<%s> %sItems = new ArrayList<%s>()", genericType, fieldName, genericType);
+            } else {
+                if (Utils.isByteArray(field)) {
+                    writer.emitStatement("byte[][] %sValues = new byte[count][]", fieldName);
+                } else {
+                    String arrayType = getBatchArrayType(field);
+                    writer.emitStatement("%s[] %sValues = new %s[count]", arrayType, fieldName, arrayType);
+                }
+                if (hasBatchNulls(field)) {
+                    writer.emitStatement("boolean[] %sNulls = new boolean[count]", fieldName);
+                }
+            }
+        }
+        writer.beginControlFlow("for (int i = 0; i < count; i++)");
+        writer.emitStatement("%s object = batch.get(i)", className);
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String getter = metadata.getGetter(fieldName);
+            if (field == metadata.getPrimaryKey()) {
+                continue;
+            }
+            if (Utils.isRealmObject(field)) {
+                writer.emitStatement("%sTargets.add(object.%s())", fieldName, getter);
+            } else if (Utils.isRealmList(field)) {
+                writer
+                    .emitStatement("RealmList<%s> %sList = object.%s()", Utils.getGenericType(field), fieldName, getter)
+                    .emitStatement("%sTargets.add(%sList)", fieldName, fieldName)
+                    .beginControlFlow("if (%sList != null)", fieldName)
+                        .emitStatement("%sItems.addAll(%sList)", fieldName, fieldName)
+                    .endControlFlow();
+            } else if (Utils.isPrimitiveType(field) || Utils.isString(field) || Utils.isByteArray(field)) {
+                writer.emitStatement("%sValues[i] = object.%s()", fieldName, getter);
+                if (!Utils.isPrimitiveType(field) && !metadata.isNullable(field)) {
+                    writer
+                        .beginControlFlow("if (%sValues[i] == null)", fieldName)
+                            .emitStatement(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName)
+                        .endControlFlow();
+                }
+            } else {
+                // Boxed types and Date
+                String value = field.asType().toString().equals("java.util.Date") ? fieldName + "Value.getTime()" : fieldName + "Value";
+                writer
+                    .emitStatement("%s %sValue = object.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter)
+                    .beginControlFlow("if (%sValue == null)", fieldName);
+                if (metadata.isNullable(field)) {
+                    writer.emitStatement("%sNulls[i] = true", fieldName);
+                } else {
+                    writer.emitStatement(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName);
+                }
+                writer
+                    .nextControlFlow("else")
+                        .emitStatement("%sValues[i] = %s", fieldName, value)
+                    .endControlFlow();
+            }
+        }
+        writer.endControlFlow();
+        writer.emitEmptyLine();
+
+        // Write them, with one native call per column.
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            if (field == metadata.getPrimaryKey()) {
+                continue;
+            }
+            if (Utils.isRealmObject(field)) {
+                writer
+                    .emitStatement("%s.insert(realm, %sTargets, update, cache)", Utils.getProxyClassSimpleName(field), fieldName)
+                    .emitStatement("table.setLinks(%s, rowIndices, realm.getRowIndices(%sTargets, cache))",
+                            fieldIndexVariableReference(field), fieldName);
+            } else if (Utils.isRealmList(field)) {
+                writer
+                    .emitStatement("%s.insert(realm, %sItems, update, cache)", Utils.getProxyClassSimpleName(field), fieldName)
+                    .emitStatement("long[][] %sLinks = new long[count][]", fieldName)
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .beginControlFlow("if (%sTargets.get(i) != null)", fieldName)
+                            .emitStatement("%sLinks[i] = realm.getRowIndices(%sTargets.get(i), cache)", fieldName, fieldName)
+                        .endControlFlow()
+                    .endControlFlow()
+                    .emitStatement("table.setLinkLists(%s, rowIndices, %sLinks)", fieldIndexVariableReference(field), fieldName);
+            } else if (Utils.isString(field) || Utils.isByteArray(field)) {
+                writer.emitStatement("table.set%s(%s, rowIndices, %sValues)",
+                        getBatchSetterSuffix(field), fieldIndexVariableReference(field), fieldName);
+            } else {
+                writer.emitStatement("table.set%s(%s, rowIndices, %sValues, %s)",
+                        getBatchSetterSuffix(field), fieldIndexVariableReference(field), fieldName,
+                        hasBatchNulls(field) ? fieldName + "Nulls" : "null");
+            }
+        }
+
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreateDetachedCopyMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 className, // Return type
@@ -759,6 +1015,14 @@ public class RealmProxyClassGenerator {
                 EnumSet.of(Modifier.STATIC), // Modifiers
                 "Realm", "realm", className, "realmObject", className, "newObject", "Map<RealmObject, RealmObjectProxy>", "cache"); // Argument type & argument name
 
+        // Only fields which actually changed are written, so updating with the same data doesn't touch the Realm.
+        for (VariableElement field : metadata.getFields()) {
+            if (Utils.isRealmObject(field)) {
+                writer.emitStatement("%s columnInfo = (%s) realm.schema.getColumnInfo(%s.class)",
+                        columnInfoClassName(), columnInfoClassName(), className);
+                break;
+            }
+        }
         for (VariableElement field : metadata.getFields()) {
             String fieldName = field.getSimpleName().toString();
             String setter = metadata.getSetter(fieldName);
@@ -768,34 +1032,39 @@ public class RealmProxyClassGenerator {
                     .emitStatement("%s %sObj = newObject.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter)
                     .beginControlFlow("if (%sObj != null)", fieldName)
                         .emitStatement("%s cache%s = (%s) cache.get(%sObj)", Utils.getFieldTypeSimpleName(field), fieldName, Utils.getFieldTypeSimpleName(field), fieldName)
-                        .beginControlFlow("if (cache%s != null)", fieldName)
-                            .emitStatement("realmObject.%s(cache%s)", metadata.getSetter(fieldName), fieldName)
-                        .nextControlFlow("else")
-                            .emitStatement("realmObject.%s(%s.copyOrUpdate(realm, %sObj, true, cache))",
-                                    metadata.getSetter(fieldName),
-                                    Utils.getProxyClassSimpleName(field),
+                        .beginControlFlow("if (cache%s == null)", fieldName)
+                            .emitStatement("cache%s = %s.copyOrUpdate(realm, %sObj, true, cache)",
                                     fieldName,
-                                    Utils.getFieldTypeSimpleName(field)
-                            )
+                                    Utils.getProxyClassSimpleName(field),
+                                    fieldName)
                         .endControlFlow()
-                    .nextControlFlow("else")
-                        // No need to throw exception here if the field is not nullable. A exception will be thrown in setter.
+                        .beginControlFlow("if (realmObject.row.isNullLink(%s) || realmObject.row.getLink(%s) != cache%s.row.getIndex())",
+                                fieldIndexVariableReference(field), fieldIndexVariableReference(field), fieldName)
+                            .emitStatement("realmObject.%s(cache%s)", setter, fieldName)
+                        .endControlFlow()
+                    .nextControlFlow("else if (!realmObject.row.isNullLink(%s))", fieldIndexVariableReference(field))
                         .emitStatement("realmObject.%s(null)", setter)
                     .endControlFlow();
             } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
                 writer
-                    .emitStatement("RealmList<%s> %sList = newObject.%s()", Utils.getGenericType(field), fieldName, getter)
-                    .emitStatement("RealmList<%s> %sRealmList = realmObject.%s()", Utils.getGenericType(field), fieldName, getter)
-                    .emitStatement("%sRealmList.clear()", fieldName)
+                    .emitStatement("RealmList<%s> %sList = newObject.%s()", genericType, fieldName, getter)
+                    .emitStatement("List<%s> %sTargets = new ArrayList<%s>()", genericType, fieldName, genericType)
                     .beginControlFlow("if (%sList != null)", fieldName)
                         .beginControlFlow("for (int i = 0; i < %sList.size(); i++)", fieldName)
-                            .emitStatement("%s %sItem = %sList.get(i)", Utils.getGenericType(field), fieldName, fieldName)
-                            .emitStatement("%s cache%s = (%s) cache.get(%sItem)", Utils.getGenericType(field), fieldName, Utils.getGenericType(field), fieldName)
-                            .beginControlFlow("if (cache%s != null)", fieldName)
-                                .emitStatement("%sRealmList.add(cache%s)", fieldName, fieldName)
-                            .nextControlFlow("else")
-                                .emitStatement("%sRealmList.add(%s.copyOrUpdate(realm, %sList.get(i), true, cache))", fieldName, Utils.getProxyClassSimpleName(field), fieldName)
+                            .emitStatement("%s %sItem = %sList.get(i)", genericType, fieldName, fieldName)
+                            .emitStatement("%s cache%s = (%s) cache.get(%sItem)", genericType, fieldName, genericType, fieldName)
+                            .beginControlFlow("if (cache%s == null)", fieldName)
+                                .emitStatement("cache%s = %s.copyOrUpdate(realm, %sItem, true, cache)", fieldName, Utils.getProxyClassSimpleName(field), fieldName)
                             .endControlFlow()
+                            .emitStatement("%sTargets.add(cache%s)", fieldName, fieldName)
+                        .endControlFlow()
+                    .endControlFlow()
+                    .emitStatement("RealmList<%s> %sRealmList = realmObject.%s()", genericType, fieldName, getter)
+                    .beginControlFlow("if (!%sRealmList.linksTo(%sTargets))", fieldName, fieldName)
+                        .emitStatement("%sRealmList.clear()", fieldName)
+                        .beginControlFlow("for (%s %sTarget : %sTargets)", genericType, fieldName, fieldName)
+                            .emitStatement("%sRealmList.add(%sTarget)", fieldName, fieldName)
                         .endControlFlow()
                     .endControlFlow();
 
@@ -803,7 +1072,11 @@ public class RealmProxyClassGenerator {
                 if (field == metadata.getPrimaryKey()) {
                     continue;
                 }
-                writer.emitStatement("realmObject.%s(newObject.%s())", metadata.getSetter(fieldName), getter);
+                writer
+                    .beginControlFlow("if (%s)", getValueChangedCondition(field,
+                            "realmObject." + getter + "()", "newObject." + getter + "()"))
+                        .emitStatement("realmObject.%s(newObject.%s())", setter, getter)
+                    .endControlFlow();
             }
         }
 
@@ -812,6 +1085,20 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    // Returns a condition which is true if the stored value of a field differs from the new one.
+    private String getValueChangedCondition(VariableElement field, String currentValue, String newValue) {
+        String fieldType = field.asType().toString();
+        if (fieldType.equals("float")) {
+            return String.format("Float.compare(%s, %s) != 0", currentValue, newValue);
+        } else if (fieldType.equals("double")) {
+            return String.format("Double.compare(%s, %s) != 0", currentValue, newValue);
+        } else if (Utils.isPrimitiveType(field)) {
+            return String.format("%s != %s", currentValue, newValue);
+        } else {
+            return String.format("!Util.isSameValue(%s, %s)", currentValue, newValue);
+        }
+    }
+
     private void emitToStringMethod(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod("String", "toString", EnumSet.of(Modifier.PUBLIC));
@@ -1038,6 +1325,26 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    // Element type of the array the values of a field are packed into by the insert method. Not used for byte[].
+    private String getBatchArrayType(VariableElement field) {
+        String realmType = Constants.JAVA_TO_REALM_TYPES.get(field.asType().toString());
+        if (realmType.equals("Date")) {
+            return "long";
+        } else if (realmType.equals("String")) {
+            return "String";
+        }
+        return realmType.toLowerCase();
+    }
+
+    private String getBatchSetterSuffix(VariableElement field) {
+        return Constants.JAVA_TO_REALM_TYPES.get(field.asType().toString()) + "s";
+    }
+
+    // Strings and byte arrays carry their own null values.
+    private boolean hasBatchNulls(VariableElement field) {
+        return metadata.isNullable(field) && !Utils.isString(field) && !Utils.isByteArray(field);
+    }
+
     private String columnInfoClassName() {
         return className + "ColumnInfo";
     }
@@ -67,6 +67,7 @@ public class RealmProxyMediatorGenerator {
         writer.emitImports(
                 "android.util.JsonReader",
                 "java.io.IOException",
+                "java.util.Collection",
                 "java.util.Collections",
                 "java.util.HashMap",
                 "java.util.HashSet",
@@ -96,11 +97,14 @@ public class RealmProxyMediatorGenerator {
         emitFields(writer);
         emitCreateTableMethod(writer);
         emitValidateTableMethod(writer);
+        emitGetSchemaFingerprintMethod(writer);
+        emitCreateColumnInfoMethod(writer);
         emitGetFieldNamesMethod(writer);
         emitGetTableNameMethod(writer);
         emitNewInstanceMethod(writer);
         emitGetClassModelList(writer);
         emitCopyToRealmMethod(writer);
+        emitInsertMethod(writer);
         emitCreteOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
         emitCreateDetachedCopyMethod(writer);
@@ -156,6 +160,42 @@ public class RealmProxyMediatorGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitGetSchemaFingerprintMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "long",
+                "getSchemaFingerprint",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<? extends RealmObject>", "clazz"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("return %s.getSchemaFingerprint()", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCreateColumnInfoMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "ColumnInfo",
+                "createColumnInfo",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<? extends RealmObject>", "clazz", "long[]", "columnIndices"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("return %s.createColumnInfo(columnIndices)", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitGetFieldNamesMethod(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod(
@@ -240,6 +280,25 @@ public class RealmProxyMediatorGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "void",
+                "insert",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<? extends RealmObject>", "clazz", "Realm", "realm", "Collection<? extends RealmObject>", "objects",
+                "boolean", "update", "Map<RealmObject, Long>", "cache"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("%s.insert(realm, objects, update, cache)", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreteOrUpdateUsingJsonObject(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod(
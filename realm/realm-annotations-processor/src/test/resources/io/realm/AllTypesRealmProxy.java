@@ -11,9 +11,11 @@ import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
+import io.realm.internal.Util;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -70,6 +72,29 @@ public class AllTypesRealmProxy extends AllTypes
 
             setIndicesMap(indicesMap);
         }
+
+        AllTypesColumnInfo(long[] columnIndices) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(9);
+            this.columnStringIndex = columnIndices[0];
+            indicesMap.put("columnString", this.columnStringIndex);
+            this.columnLongIndex = columnIndices[1];
+            indicesMap.put("columnLong", this.columnLongIndex);
+            this.columnFloatIndex = columnIndices[2];
+            indicesMap.put("columnFloat", this.columnFloatIndex);
+            this.columnDoubleIndex = columnIndices[3];
+            indicesMap.put("columnDouble", this.columnDoubleIndex);
+            this.columnBooleanIndex = columnIndices[4];
+            indicesMap.put("columnBoolean", this.columnBooleanIndex);
+            this.columnDateIndex = columnIndices[5];
+            indicesMap.put("columnDate", this.columnDateIndex);
+            this.columnBinaryIndex = columnIndices[6];
+            indicesMap.put("columnBinary", this.columnBinaryIndex);
+            this.columnObjectIndex = columnIndices[7];
+            indicesMap.put("columnObject", this.columnObjectIndex);
+            this.columnRealmListIndex = columnIndices[8];
+            indicesMap.put("columnRealmList", this.columnRealmListIndex);
+            setIndicesMap(indicesMap);
+        }
     }
 
     private final AllTypesColumnInfo columnInfo;
@@ -389,6 +414,14 @@ public class AllTypesRealmProxy extends AllTypes
         }
     }
 
+    public static long getSchemaFingerprint() {
+        return -1641841162832918238L;
+    }
+
+    public static AllTypesColumnInfo createColumnInfo(long[] columnIndices) {
+        return new AllTypesColumnInfo(columnIndices);
+    }
+
     public static String getTableName() {
         return "class_AllTypes";
     }
@@ -660,6 +693,87 @@ public class AllTypesRealmProxy extends AllTypes
         return realmObject;
     }
 
+    public static void insert(Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject,Long> cache) {
+        Table table = realm.getTable(AllTypes.class);
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.schema.getColumnInfo(AllTypes.class);
+        long pkColumnIndex = table.getPrimaryKey();
+        List<AllTypes> batch = new ArrayList<AllTypes>(objects.size());
+        for (RealmObject realmObject : objects) {
+            if (realmObject == null || cache.containsKey(realmObject) || (realmObject.realm != null && realmObject.realm.getPath().equals(realm.getPath()))) {
+                continue;
+            }
+            AllTypes object = (AllTypes) realmObject;
+            if (object.getColumnString() == null) {
+                throw new IllegalArgumentException("Primary key value must not be null.");
+            }
+            long rowIndex = update ? table.findFirstString(pkColumnIndex, object.getColumnString()) : TableOrView.NO_MATCH;
+            if (rowIndex == TableOrView.NO_MATCH) {
+                rowIndex = table.addEmptyRowWithPrimaryKey(object.getColumnString());
+            }
+            cache.put(object, rowIndex);
+            batch.add(object);
+        }
+
+        int count = batch.size();
+        if (count == 0) {
+            return;
+        }
+        long[] rowIndices = new long[count];
+        for (int i = 0; i < count; i++) {
+            rowIndices[i] = cache.get(batch.get(i));
+        }
+
+        long[] columnLongValues = new long[count];
+        float[] columnFloatValues = new float[count];
+        double[] columnDoubleValues = new double[count];
+        boolean[] columnBooleanValues = new boolean[count];
+        long[] columnDateValues = new long[count];
+        byte[][] columnBinaryValues = new byte[count][];
+        List<AllTypes> columnObjectTargets = new ArrayList<AllTypes>(count);
+        List<RealmList<AllTypes>> columnRealmListTargets = new ArrayList<RealmList<AllTypes>>(count);
+        List<AllTypes> columnRealmListItems = new ArrayList<AllTypes>();
+        for (int i = 0; i < count; i++) {
+            AllTypes object = batch.get(i);
+            columnLongValues[i] = object.getColumnLong();
+            columnFloatValues[i] = object.getColumnFloat();
+            columnDoubleValues[i] = object.getColumnDouble();
+            columnBooleanValues[i] = object.isColumnBoolean();
+            Date columnDateValue = object.getColumnDate();
+            if (columnDateValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field columnDate to null.");
+            } else {
+                columnDateValues[i] = columnDateValue.getTime();
+            }
+            columnBinaryValues[i] = object.getColumnBinary();
+            if (columnBinaryValues[i] == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field columnBinary to null.");
+            }
+            columnObjectTargets.add(object.getColumnObject());
+            RealmList<AllTypes> columnRealmListList = object.getColumnRealmList();
+            columnRealmListTargets.add(columnRealmListList);
+            if (columnRealmListList != null) {
+                columnRealmListItems.addAll(columnRealmListList);
+            }
+        }
+
+        table.setLongs(columnInfo.columnLongIndex, rowIndices, columnLongValues, null);
+        table.setFloats(columnInfo.columnFloatIndex, rowIndices, columnFloatValues, null);
+        table.setDoubles(columnInfo.columnDoubleIndex, rowIndices, columnDoubleValues, null);
+        table.setBooleans(columnInfo.columnBooleanIndex, rowIndices, columnBooleanValues, null);
+        table.setDates(columnInfo.columnDateIndex, rowIndices, columnDateValues, null);
+        table.setBinaryByteArrays(columnInfo.columnBinaryIndex, rowIndices, columnBinaryValues);
+        AllTypesRealmProxy.insert(realm, columnObjectTargets, update, cache);
+        table.setLinks(columnInfo.columnObjectIndex, rowIndices, realm.getRowIndices(columnObjectTargets, cache));
+        AllTypesRealmProxy.insert(realm, columnRealmListItems, update, cache);
+        long[][] columnRealmListLinks = new long[count][];
+        for (int i = 0; i < count; i++) {
+            if (columnRealmListTargets.get(i) != null) {
+                columnRealmListLinks[i] = realm.getRowIndices(columnRealmListTargets.get(i), cache);
+            }
+        }
+        table.setLinkLists(columnInfo.columnRealmListIndex, rowIndices, columnRealmListLinks);
+    }
+
     public static AllTypes createDetachedCopy(AllTypes realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
@@ -707,35 +821,54 @@ public class AllTypesRealmProxy extends AllTypes
     }
 
     static AllTypes update(Realm realm, AllTypes realmObject, AllTypes newObject, Map<RealmObject, RealmObjectProxy> cache) {
-        realmObject.setColumnLong(newObject.getColumnLong());
-        realmObject.setColumnFloat(newObject.getColumnFloat());
-        realmObject.setColumnDouble(newObject.getColumnDouble());
-        realmObject.setColumnBoolean(newObject.isColumnBoolean());
-        realmObject.setColumnDate(newObject.getColumnDate());
-        realmObject.setColumnBinary(newObject.getColumnBinary());
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.schema.getColumnInfo(AllTypes.class);
+        if (realmObject.getColumnLong() != newObject.getColumnLong()) {
+            realmObject.setColumnLong(newObject.getColumnLong());
+        }
+        if (Float.compare(realmObject.getColumnFloat(), newObject.getColumnFloat()) != 0) {
+            realmObject.setColumnFloat(newObject.getColumnFloat());
+        }
+        if (Double.compare(realmObject.getColumnDouble(), newObject.getColumnDouble()) != 0) {
+            realmObject.setColumnDouble(newObject.getColumnDouble());
+        }
+        if (realmObject.isColumnBoolean() != newObject.isColumnBoolean()) {
+            realmObject.setColumnBoolean(newObject.isColumnBoolean());
+        }
+        if (!Util.isSameValue(realmObject.getColumnDate(), newObject.getColumnDate())) {
+            realmObject.setColumnDate(newObject.getColumnDate());
+        }
+        if (!Util.isSameValue(realmObject.getColumnBinary(), newObject.getColumnBinary())) {
+            realmObject.setColumnBinary(newObject.getColumnBinary());
+        }
         AllTypes columnObjectObj = newObject.getColumnObject();
         if (columnObjectObj != null) {
             AllTypes cachecolumnObject = (AllTypes) cache.get(columnObjectObj);
-            if (cachecolumnObject != null) {
+            if (cachecolumnObject == null) {
+                cachecolumnObject = AllTypesRealmProxy.copyOrUpdate(realm, columnObjectObj, true, cache);
+            }
+            if (realmObject.row.isNullLink(columnInfo.columnObjectIndex) || realmObject.row.getLink(columnInfo.columnObjectIndex) != cachecolumnObject.row.getIndex()) {
                 realmObject.setColumnObject(cachecolumnObject);
-            } else {
-                realmObject.setColumnObject(AllTypesRealmProxy.copyOrUpdate(realm, columnObjectObj, true, cache));
             }
-        } else {
+        } else if (!realmObject.row.isNullLink(columnInfo.columnObjectIndex)) {
             realmObject.setColumnObject(null);
         }
         RealmList<AllTypes> columnRealmListList = newObject.getColumnRealmList();
-        RealmList<AllTypes> columnRealmListRealmList = realmObject.getColumnRealmList();
-        columnRealmListRealmList.clear();
+        List<AllTypes> columnRealmListTargets = new ArrayList<AllTypes>();
         if (columnRealmListList != null) {
             for (int i = 0; i < columnRealmListList.size(); i++) {
                 AllTypes columnRealmListItem = columnRealmListList.get(i);
                 AllTypes cachecolumnRealmList = (AllTypes) cache.get(columnRealmListItem);
-                if (cachecolumnRealmList != null) {
-                    columnRealmListRealmList.add(cachecolumnRealmList);
-                } else {
-                    columnRealmListRealmList.add(AllTypesRealmProxy.copyOrUpdate(realm, columnRealmListList.get(i), true, cache));
+                if (cachecolumnRealmList == null) {
+                    cachecolumnRealmList = AllTypesRealmProxy.copyOrUpdate(realm, columnRealmListItem, true, cache);
                 }
+                columnRealmListTargets.add(cachecolumnRealmList);
+            }
+        }
+        RealmList<AllTypes> columnRealmListRealmList = realmObject.getColumnRealmList();
+        if (!columnRealmListRealmList.linksTo(columnRealmListTargets)) {
+            columnRealmListRealmList.clear();
+            for (AllTypes columnRealmListTarget : columnRealmListTargets) {
+                columnRealmListRealmList.add(columnRealmListTarget);
             }
         }
         return realmObject;
@@ -11,9 +11,11 @@ import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
+import io.realm.internal.Util;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -50,6 +52,19 @@ public class BooleansRealmProxy extends Booleans
 
             setIndicesMap(indicesMap);
         }
+
+        BooleansColumnInfo(long[] columnIndices) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(4);
+            this.doneIndex = columnIndices[0];
+            indicesMap.put("done", this.doneIndex);
+            this.isReadyIndex = columnIndices[1];
+            indicesMap.put("isReady", this.isReadyIndex);
+            this.mCompletedIndex = columnIndices[2];
+            indicesMap.put("mCompleted", this.mCompletedIndex);
+            this.anotherBooleanIndex = columnIndices[3];
+            indicesMap.put("anotherBoolean", this.anotherBooleanIndex);
+            setIndicesMap(indicesMap);
+        }
     }
 
     private final BooleansColumnInfo columnInfo;
@@ -187,6 +202,14 @@ public class BooleansRealmProxy extends Booleans
         }
     }
 
+    public static long getSchemaFingerprint() {
+        return 2702942071148783160L;
+    }
+
+    public static BooleansColumnInfo createColumnInfo(long[] columnIndices) {
+        return new BooleansColumnInfo(columnIndices);
+    }
+
     public static String getTableName() {
         return "class_Booleans";
     }
@@ -290,6 +313,48 @@ public class BooleansRealmProxy extends Booleans
         return realmObject;
     }
 
+    public static void insert(Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject,Long> cache) {
+        Table table = realm.getTable(Booleans.class);
+        BooleansColumnInfo columnInfo = (BooleansColumnInfo) realm.schema.getColumnInfo(Booleans.class);
+        List<Booleans> batch = new ArrayList<Booleans>(objects.size());
+        for (RealmObject realmObject : objects) {
+            if (realmObject == null || cache.containsKey(realmObject) || (realmObject.realm != null && realmObject.realm.getPath().equals(realm.getPath()))) {
+                continue;
+            }
+            Booleans object = (Booleans) realmObject;
+            cache.put(object, TableOrView.NO_MATCH);
+            batch.add(object);
+        }
+
+        int count = batch.size();
+        if (count == 0) {
+            return;
+        }
+        long[] rowIndices = new long[count];
+        long firstRowIndex = table.addEmptyRows(count);
+        for (int i = 0; i < count; i++) {
+            rowIndices[i] = firstRowIndex + i;
+            cache.put(batch.get(i), rowIndices[i]);
+        }
+
+        boolean[] doneValues = new boolean[count];
+        boolean[] isReadyValues = new boolean[count];
+        boolean[] mCompletedValues = new boolean[count];
+        boolean[] anotherBooleanValues = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            Booleans object = batch.get(i);
+            doneValues[i] = object.isDone();
+            isReadyValues[i] = object.isReady();
+            mCompletedValues[i] = object.ismCompleted();
+            anotherBooleanValues[i] = object.getAnotherBoolean();
+        }
+
+        table.setBooleans(columnInfo.doneIndex, rowIndices, doneValues, null);
+        table.setBooleans(columnInfo.isReadyIndex, rowIndices, isReadyValues, null);
+        table.setBooleans(columnInfo.mCompletedIndex, rowIndices, mCompletedValues, null);
+        table.setBooleans(columnInfo.anotherBooleanIndex, rowIndices, anotherBooleanValues, null);
+    }
+
     public static Booleans createDetachedCopy(Booleans realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
@@ -11,9 +11,11 @@ import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
+import io.realm.internal.Util;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -118,6 +120,53 @@ public class NullTypesRealmProxy extends NullTypes
 
             setIndicesMap(indicesMap);
         }
+
+        NullTypesColumnInfo(long[] columnIndices) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(21);
+            this.fieldStringNotNullIndex = columnIndices[0];
+            indicesMap.put("fieldStringNotNull", this.fieldStringNotNullIndex);
+            this.fieldStringNullIndex = columnIndices[1];
+            indicesMap.put("fieldStringNull", this.fieldStringNullIndex);
+            this.fieldBooleanNotNullIndex = columnIndices[2];
+            indicesMap.put("fieldBooleanNotNull", this.fieldBooleanNotNullIndex);
+            this.fieldBooleanNullIndex = columnIndices[3];
+            indicesMap.put("fieldBooleanNull", this.fieldBooleanNullIndex);
+            this.fieldBytesNotNullIndex = columnIndices[4];
+            indicesMap.put("fieldBytesNotNull", this.fieldBytesNotNullIndex);
+            this.fieldBytesNullIndex = columnIndices[5];
+            indicesMap.put("fieldBytesNull", this.fieldBytesNullIndex);
+            this.fieldByteNotNullIndex = columnIndices[6];
+            indicesMap.put("fieldByteNotNull", this.fieldByteNotNullIndex);
+            this.fieldByteNullIndex = columnIndices[7];
+            indicesMap.put("fieldByteNull", this.fieldByteNullIndex);
+            this.fieldShortNotNullIndex = columnIndices[8];
+            indicesMap.put("fieldShortNotNull", this.fieldShortNotNullIndex);
+            this.fieldShortNullIndex = columnIndices[9];
+            indicesMap.put("fieldShortNull", this.fieldShortNullIndex);
+            this.fieldIntegerNotNullIndex = columnIndices[10];
+            indicesMap.put("fieldIntegerNotNull", this.fieldIntegerNotNullIndex);
+            this.fieldIntegerNullIndex = columnIndices[11];
+            indicesMap.put("fieldIntegerNull", this.fieldIntegerNullIndex);
+            this.fieldLongNotNullIndex = columnIndices[12];
+            indicesMap.put("fieldLongNotNull", this.fieldLongNotNullIndex);
+            this.fieldLongNullIndex = columnIndices[13];
+            indicesMap.put("fieldLongNull", this.fieldLongNullIndex);
+            this.fieldFloatNotNullIndex = columnIndices[14];
+            indicesMap.put("fieldFloatNotNull", this.fieldFloatNotNullIndex);
+            this.fieldFloatNullIndex = columnIndices[15];
+            indicesMap.put("fieldFloatNull", this.fieldFloatNullIndex);
+            this.fieldDoubleNotNullIndex = columnIndices[16];
+            indicesMap.put("fieldDoubleNotNull", this.fieldDoubleNotNullIndex);
+            this.fieldDoubleNullIndex = columnIndices[17];
+            indicesMap.put("fieldDoubleNull", this.fieldDoubleNullIndex);
+            this.fieldDateNotNullIndex = columnIndices[18];
+            indicesMap.put("fieldDateNotNull", this.fieldDateNotNullIndex);
+            this.fieldDateNullIndex = columnIndices[19];
+            indicesMap.put("fieldDateNull", this.fieldDateNullIndex);
+            this.fieldObjectNullIndex = columnIndices[20];
+            indicesMap.put("fieldObjectNull", this.fieldObjectNullIndex);
+            setIndicesMap(indicesMap);
+        }
     }
 
     private final NullTypesColumnInfo columnInfo;
@@ -776,6 +825,14 @@ public class NullTypesRealmProxy extends NullTypes
         }
     }
 
+    public static long getSchemaFingerprint() {
+        return -2108556436604133554L;
+    }
+
+    public static NullTypesColumnInfo createColumnInfo(long[] columnIndices) {
+        return new NullTypesColumnInfo(columnIndices);
+    }
+
     public static String getTableName() {
         return "class_NullTypes";
     }
@@ -1167,6 +1224,194 @@ public class NullTypesRealmProxy extends NullTypes
         return realmObject;
     }
 
+    public static void insert(Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject,Long> cache) {
+        Table table = realm.getTable(NullTypes.class);
+        NullTypesColumnInfo columnInfo = (NullTypesColumnInfo) realm.schema.getColumnInfo(NullTypes.class);
+        List<NullTypes> batch = new ArrayList<NullTypes>(objects.size());
+        for (RealmObject realmObject : objects) {
+            if (realmObject == null || cache.containsKey(realmObject) || (realmObject.realm != null && realmObject.realm.getPath().equals(realm.getPath()))) {
+                continue;
+            }
+            NullTypes object = (NullTypes) realmObject;
+            cache.put(object, TableOrView.NO_MATCH);
+            batch.add(object);
+        }
+
+        int count = batch.size();
+        if (count == 0) {
+            return;
+        }
+        long[] rowIndices = new long[count];
+        long firstRowIndex = table.addEmptyRows(count);
+        for (int i = 0; i < count; i++) {
+            rowIndices[i] = firstRowIndex + i;
+            cache.put(batch.get(i), rowIndices[i]);
+        }
+
+        String[] fieldStringNotNullValues = new String[count];
+        String[] fieldStringNullValues = new String[count];
+        boolean[] fieldBooleanNotNullValues = new boolean[count];
+        boolean[] fieldBooleanNullValues = new boolean[count];
+        boolean[] fieldBooleanNullNulls = new boolean[count];
+        byte[][] fieldBytesNotNullValues = new byte[count][];
+        byte[][] fieldBytesNullValues = new byte[count][];
+        long[] fieldByteNotNullValues = new long[count];
+        long[] fieldByteNullValues = new long[count];
+        boolean[] fieldByteNullNulls = new boolean[count];
+        long[] fieldShortNotNullValues = new long[count];
+        long[] fieldShortNullValues = new long[count];
+        boolean[] fieldShortNullNulls = new boolean[count];
+        long[] fieldIntegerNotNullValues = new long[count];
+        long[] fieldIntegerNullValues = new long[count];
+        boolean[] fieldIntegerNullNulls = new boolean[count];
+        long[] fieldLongNotNullValues = new long[count];
+        long[] fieldLongNullValues = new long[count];
+        boolean[] fieldLongNullNulls = new boolean[count];
+        float[] fieldFloatNotNullValues = new float[count];
+        float[] fieldFloatNullValues = new float[count];
+        boolean[] fieldFloatNullNulls = new boolean[count];
+        double[] fieldDoubleNotNullValues = new double[count];
+        double[] fieldDoubleNullValues = new double[count];
+        boolean[] fieldDoubleNullNulls = new boolean[count];
+        long[] fieldDateNotNullValues = new long[count];
+        long[] fieldDateNullValues = new long[count];
+        boolean[] fieldDateNullNulls = new boolean[count];
+        List<NullTypes> fieldObjectNullTargets = new ArrayList<NullTypes>(count);
+        for (int i = 0; i < count; i++) {
+            NullTypes object = batch.get(i);
+            fieldStringNotNullValues[i] = object.getFieldStringNotNull();
+            if (fieldStringNotNullValues[i] == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldStringNotNull to null.");
+            }
+            fieldStringNullValues[i] = object.getFieldStringNull();
+            Boolean fieldBooleanNotNullValue = object.getFieldBooleanNotNull();
+            if (fieldBooleanNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldBooleanNotNull to null.");
+            } else {
+                fieldBooleanNotNullValues[i] = fieldBooleanNotNullValue;
+            }
+            Boolean fieldBooleanNullValue = object.getFieldBooleanNull();
+            if (fieldBooleanNullValue == null) {
+                fieldBooleanNullNulls[i] = true;
+            } else {
+                fieldBooleanNullValues[i] = fieldBooleanNullValue;
+            }
+            fieldBytesNotNullValues[i] = object.getFieldBytesNotNull();
+            if (fieldBytesNotNullValues[i] == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldBytesNotNull to null.");
+            }
+            fieldBytesNullValues[i] = object.getFieldBytesNull();
+            Byte fieldByteNotNullValue = object.getFieldByteNotNull();
+            if (fieldByteNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldByteNotNull to null.");
+            } else {
+                fieldByteNotNullValues[i] = fieldByteNotNullValue;
+            }
+            Byte fieldByteNullValue = object.getFieldByteNull();
+            if (fieldByteNullValue == null) {
+                fieldByteNullNulls[i] = true;
+            } else {
+                fieldByteNullValues[i] = fieldByteNullValue;
+            }
+            Short fieldShortNotNullValue = object.getFieldShortNotNull();
+            if (fieldShortNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldShortNotNull to null.");
+            } else {
+                fieldShortNotNullValues[i] = fieldShortNotNullValue;
+            }
+            Short fieldShortNullValue = object.getFieldShortNull();
+            if (fieldShortNullValue == null) {
+                fieldShortNullNulls[i] = true;
+            } else {
+                fieldShortNullValues[i] = fieldShortNullValue;
+            }
+            Integer fieldIntegerNotNullValue = object.getFieldIntegerNotNull();
+            if (fieldIntegerNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldIntegerNotNull to null.");
+            } else {
+                fieldIntegerNotNullValues[i] = fieldIntegerNotNullValue;
+            }
+            Integer fieldIntegerNullValue = object.getFieldIntegerNull();
+            if (fieldIntegerNullValue == null) {
+                fieldIntegerNullNulls[i] = true;
+            } else {
+                fieldIntegerNullValues[i] = fieldIntegerNullValue;
+            }
+            Long fieldLongNotNullValue = object.getFieldLongNotNull();
+            if (fieldLongNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldLongNotNull to null.");
+            } else {
+                fieldLongNotNullValues[i] = fieldLongNotNullValue;
+            }
+            Long fieldLongNullValue = object.getFieldLongNull();
+            if (fieldLongNullValue == null) {
+                fieldLongNullNulls[i] = true;
+            } else {
+                fieldLongNullValues[i] = fieldLongNullValue;
+            }
+            Float fieldFloatNotNullValue = object.getFieldFloatNotNull();
+            if (fieldFloatNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldFloatNotNull to null.");
+            } else {
+                fieldFloatNotNullValues[i] = fieldFloatNotNullValue;
+            }
+            Float fieldFloatNullValue = object.getFieldFloatNull();
+            if (fieldFloatNullValue == null) {
+                fieldFloatNullNulls[i] = true;
+            } else {
+                fieldFloatNullValues[i] = fieldFloatNullValue;
+            }
+            Double fieldDoubleNotNullValue = object.getFieldDoubleNotNull();
+            if (fieldDoubleNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldDoubleNotNull to null.");
+            } else {
+                fieldDoubleNotNullValues[i] = fieldDoubleNotNullValue;
+            }
+            Double fieldDoubleNullValue = object.getFieldDoubleNull();
+            if (fieldDoubleNullValue == null) {
+                fieldDoubleNullNulls[i] = true;
+            } else {
+                fieldDoubleNullValues[i] = fieldDoubleNullValue;
+            }
+            Date fieldDateNotNullValue = object.getFieldDateNotNull();
+            if (fieldDateNotNullValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field fieldDateNotNull to null.");
+            } else {
+                fieldDateNotNullValues[i] = fieldDateNotNullValue.getTime();
+            }
+            Date fieldDateNullValue = object.getFieldDateNull();
+            if (fieldDateNullValue == null) {
+                fieldDateNullNulls[i] = true;
+            } else {
+                fieldDateNullValues[i] = fieldDateNullValue.getTime();
+            }
+            fieldObjectNullTargets.add(object.getFieldObjectNull());
+        }
+
+        table.setStrings(columnInfo.fieldStringNotNullIndex, rowIndices, fieldStringNotNullValues);
+        table.setStrings(columnInfo.fieldStringNullIndex, rowIndices, fieldStringNullValues);
+        table.setBooleans(columnInfo.fieldBooleanNotNullIndex, rowIndices, fieldBooleanNotNullValues, null);
+        table.setBooleans(columnInfo.fieldBooleanNullIndex, rowIndices, fieldBooleanNullValues, fieldBooleanNullNulls);
+        table.setBinaryByteArrays(columnInfo.fieldBytesNotNullIndex, rowIndices, fieldBytesNotNullValues);
+        table.setBinaryByteArrays(columnInfo.fieldBytesNullIndex, rowIndices, fieldBytesNullValues);
+        table.setLongs(columnInfo.fieldByteNotNullIndex, rowIndices, fieldByteNotNullValues, null);
+        table.setLongs(columnInfo.fieldByteNullIndex, rowIndices, fieldByteNullValues, fieldByteNullNulls);
+        table.setLongs(columnInfo.fieldShortNotNullIndex, rowIndices, fieldShortNotNullValues, null);
+        table.setLongs(columnInfo.fieldShortNullIndex, rowIndices, fieldShortNullValues, fieldShortNullNulls);
+        table.setLongs(columnInfo.fieldIntegerNotNullIndex, rowIndices, fieldIntegerNotNullValues, null);
+        table.setLongs(columnInfo.fieldIntegerNullIndex, rowIndices, fieldIntegerNullValues, fieldIntegerNullNulls);
+        table.setLongs(columnInfo.fieldLongNotNullIndex, rowIndices, fieldLongNotNullValues, null);
+        table.setLongs(columnInfo.fieldLongNullIndex, rowIndices, fieldLongNullValues, fieldLongNullNulls);
+        table.setFloats(columnInfo.fieldFloatNotNullIndex, rowIndices, fieldFloatNotNullValues, null);
+        table.setFloats(columnInfo.fieldFloatNullIndex, rowIndices, fieldFloatNullValues, fieldFloatNullNulls);
+        table.setDoubles(columnInfo.fieldDoubleNotNullIndex, rowIndices, fieldDoubleNotNullValues, null);
+        table.setDoubles(columnInfo.fieldDoubleNullIndex, rowIndices, fieldDoubleNullValues, fieldDoubleNullNulls);
+        table.setDates(columnInfo.fieldDateNotNullIndex, rowIndices, fieldDateNotNullValues, null);
+        table.setDates(columnInfo.fieldDateNullIndex, rowIndices, fieldDateNullValues, fieldDateNullNulls);
+        NullTypesRealmProxy.insert(realm, fieldObjectNullTargets, update, cache);
+        table.setLinks(columnInfo.fieldObjectNullIndex, rowIndices, realm.getRowIndices(fieldObjectNullTargets, cache));
+    }
+
     public static NullTypes createDetachedCopy(NullTypes realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
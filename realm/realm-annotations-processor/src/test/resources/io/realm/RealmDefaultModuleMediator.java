@@ -8,6 +8,7 @@ import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -50,6 +51,28 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public long getSchemaFingerprint(Class<? extends RealmObject> clazz) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.getSchemaFingerprint();
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, long[] columnIndices) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.createColumnInfo(columnIndices);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmObject> clazz) {
         checkClass(clazz);
@@ -101,6 +124,17 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public void insert(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject, Long> cache) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            AllTypesRealmProxy.insert(realm, objects, update, cache);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update)
             throws JSONException {
@@ -11,9 +11,11 @@ import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
+import io.realm.internal.Util;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -42,6 +44,15 @@ public class SimpleRealmProxy extends Simple
 
             setIndicesMap(indicesMap);
         }
+
+        SimpleColumnInfo(long[] columnIndices) {
+            final Map<String, Long> indicesMap = new HashMap<String, Long>(2);
+            this.nameIndex = columnIndices[0];
+            indicesMap.put("name", this.nameIndex);
+            this.ageIndex = columnIndices[1];
+            indicesMap.put("age", this.ageIndex);
+            setIndicesMap(indicesMap);
+        }
     }
 
     private final SimpleColumnInfo columnInfo;
@@ -135,6 +146,14 @@ public class SimpleRealmProxy extends Simple
         }
     }
 
+    public static long getSchemaFingerprint() {
+        return 5420682726347280526L;
+    }
+
+    public static SimpleColumnInfo createColumnInfo(long[] columnIndices) {
+        return new SimpleColumnInfo(columnIndices);
+    }
+
     public static String getTableName() {
         return "class_Simple";
     }
@@ -208,6 +227,42 @@ public class SimpleRealmProxy extends Simple
         return realmObject;
     }
 
+    public static void insert(Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject,Long> cache) {
+        Table table = realm.getTable(Simple.class);
+        SimpleColumnInfo columnInfo = (SimpleColumnInfo) realm.schema.getColumnInfo(Simple.class);
+        List<Simple> batch = new ArrayList<Simple>(objects.size());
+        for (RealmObject realmObject : objects) {
+            if (realmObject == null || cache.containsKey(realmObject) || (realmObject.realm != null && realmObject.realm.getPath().equals(realm.getPath()))) {
+                continue;
+            }
+            Simple object = (Simple) realmObject;
+            cache.put(object, TableOrView.NO_MATCH);
+            batch.add(object);
+        }
+
+        int count = batch.size();
+        if (count == 0) {
+            return;
+        }
+        long[] rowIndices = new long[count];
+        long firstRowIndex = table.addEmptyRows(count);
+        for (int i = 0; i < count; i++) {
+            rowIndices[i] = firstRowIndex + i;
+            cache.put(batch.get(i), rowIndices[i]);
+        }
+
+        String[] nameValues = new String[count];
+        long[] ageValues = new long[count];
+        for (int i = 0; i < count; i++) {
+            Simple object = batch.get(i);
+            nameValues[i] = object.getName();
+            ageValues[i] = object.getAge();
+        }
+
+        table.setStrings(columnInfo.nameIndex, rowIndices, nameValues);
+        table.setLongs(columnInfo.ageIndex, rowIndices, ageValues, null);
+    }
+
     public static Simple createDetachedCopy(Simple realmObject, int currentDepth, int maxDepth, Map<RealmObject, CacheData<RealmObject>> cache) {
         if (currentDepth > maxDepth || realmObject == null) {
             return null;
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_BULKREAD_HPP
+#define REALM_JAVA_BULKREAD_HPP
+
+#include <limits>
+#include <unordered_map>
+#include <vector>
+
+#include <jni.h>
+#include <realm.hpp>
+
+#include "util.hpp"
+
+// Bulk reads of the rows of a Table or a TableView, so the values of all the rows cost a single JNI crossing. RowAt
+// maps the position of a value in the result to the index of its row in the table.
+
+template <typename T, typename RowAt, typename Getter>
+void copy_column(const realm::Table& table, size_t size, RowAt row_at, size_t columnIndex, T nullValue, T* target,
+                 Getter get)
+{
+    const bool nullable = table.is_nullable(columnIndex);
+    for (size_t i = 0; i < size; ++i) {
+        size_t rowIndex = row_at(i);
+        target[i] = (nullable && table.is_null(columnIndex, rowIndex)) ? nullValue : get(table, columnIndex, rowIndex);
+    }
+}
+
+template <typename RowAt>
+bool copy_longs(JNIEnv* env, const realm::Table& table, size_t size, RowAt row_at, size_t columnIndex, jlong* target)
+{
+    switch (table.get_column_type(columnIndex)) {
+        case realm::type_Int:
+            copy_column<jlong>(table, size, row_at, columnIndex, 0, target,
+                    [](const realm::Table& t, size_t col, size_t row) {
+                return static_cast<jlong>(t.get_int(col, row));
+            });
+            return true;
+        case realm::type_DateTime:
+            // Dates are stored in seconds, Java expects milliseconds.
+            copy_column<jlong>(table, size, row_at, columnIndex, 0, target,
+                    [](const realm::Table& t, size_t col, size_t row) {
+                return static_cast<jlong>(t.get_datetime(col, row).get_datetime()) * 1000;
+            });
+            return true;
+        default:
+            ThrowException(env, IllegalArgument, "Only integer and date columns can be read as longs.");
+            return false;
+    }
+}
+
+template <typename RowAt>
+bool copy_doubles(JNIEnv* env, const realm::Table& table, size_t size, RowAt row_at, size_t columnIndex,
+                  jdouble* target)
+{
+    const jdouble nan = std::numeric_limits<jdouble>::quiet_NaN();
+    switch (table.get_column_type(columnIndex)) {
+        case realm::type_Float:
+            copy_column<jdouble>(table, size, row_at, columnIndex, nan, target,
+                    [](const realm::Table& t, size_t col, size_t row) {
+                return static_cast<jdouble>(t.get_float(col, row));
+            });
+            return true;
+        case realm::type_Double:
+            copy_column<jdouble>(table, size, row_at, columnIndex, nan, target,
+                    [](const realm::Table& t, size_t col, size_t row) {
+                return t.get_double(col, row);
+            });
+            return true;
+        default:
+            ThrowException(env, IllegalArgument, "Only float and double columns can be read as doubles.");
+            return false;
+    }
+}
+
+// The column must be a string column.
+template <typename RowAt>
+jobjectArray copy_strings(JNIEnv* env, const realm::Table& table, size_t size, RowAt row_at, size_t columnIndex)
+{
+    jclass stringClass = env->FindClass("java/lang/String");
+    jobjectArray result = env->NewObjectArray(size, stringClass, NULL);
+    if (!result) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the values.");
+        return NULL;
+    }
+    for (size_t i = 0; i < size; ++i) {
+        realm::StringData value = table.get_string(columnIndex, row_at(i));
+        if (value.is_null())
+            continue;
+        jstring str = to_jstring(env, value);
+        env->SetObjectArrayElement(result, i, str);
+        // Don't run out of local references on large results.
+        env->DeleteLocalRef(str);
+    }
+    return result;
+}
+
+// Returns NULL with a pending exception if the buffer isn't direct or has no room for size values.
+template <typename T>
+T* get_buffer_target(JNIEnv* env, size_t size, jobject buffer, jlong byteOffset)
+{
+    char* address = static_cast<char*>(env->GetDirectBufferAddress(buffer));
+    if (address == NULL) {
+        ThrowException(env, IllegalArgument, "The buffer must be a direct buffer.");
+        return NULL;
+    }
+    jlong capacity = env->GetDirectBufferCapacity(buffer);
+    if (byteOffset < 0 || byteOffset + static_cast<jlong>(size * sizeof(T)) > capacity) {
+        ThrowException(env, IllegalArgument, "The buffer is too small for the values.");
+        return NULL;
+    }
+    return reinterpret_cast<T*>(address + byteOffset);
+}
+
+// Returns the source row index followed by the hash of the row content for each row. If reusable isn't NULL, it is a
+// previous snapshot taken while the table had the same content, and the hashes of the rows it contains are reused.
+template <typename RowAt>
+jlongArray row_snapshot(JNIEnv* env, realm::Table& table, size_t size, RowAt row_at, jlongArray reusable)
+{
+    std::unordered_map<jlong, jlong> known_hashes;
+    if (reusable != NULL) {
+        const jsize length = env->GetArrayLength(reusable);
+        std::vector<jlong> previous(length);
+        env->GetLongArrayRegion(reusable, 0, length, previous.data());
+        known_hashes.reserve(length / 2);
+        for (jsize i = 0; i + 1 < length; i += 2) {
+            known_hashes[previous[i]] = previous[i + 1];
+        }
+    }
+
+    std::vector<jlong> snapshot(size * 2);
+    for (size_t i = 0; i < size; ++i) {
+        const jlong row = static_cast<jlong>(row_at(i));
+        snapshot[i * 2] = row;
+        auto known = known_hashes.find(row);
+        snapshot[i * 2 + 1] = (known != known_hashes.end()) ? known->second : row_hash(table, static_cast<size_t>(row));
+    }
+
+    jlongArray result = env->NewLongArray(snapshot.size());
+    if (result == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the row snapshot.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(result, 0, snapshot.size(), snapshot.data());
+    return result;
+}
+
+#endif // REALM_JAVA_BULKREAD_HPP
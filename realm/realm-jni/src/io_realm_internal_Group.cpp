@@ -14,6 +14,8 @@
  * limitations under the License.
  */
 
+#include <vector>
+
 #include <realm/util/safe_int_ops.hpp>
 
 #include "util.hpp"
@@ -327,3 +329,138 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_Group_nativeIsEmpty(
     }
     return true;
 }
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Group_nativeGetTableVersions(
+    JNIEnv* env, jobject, jlong nativeGroupPtr)
+{
+    TR_ENTER_PTR(nativeGroupPtr)
+    try {
+        Group* grp = G(nativeGroupPtr);
+        const size_t size = grp->size();
+        // The version counter of a table is bumped for local writes, when advancing the transaction log and
+        // when a table it links to is modified.
+        std::vector<jlong> versions(size);
+        for (size_t i = 0; i < size; ++i) {
+            versions[i] = static_cast<jlong>(grp->get_table(i)->get_version_counter());
+        }
+
+        jlongArray result = env->NewLongArray(size);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the table versions.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, size, versions.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+// FNV-1a, the hash must be the same across processes and library versions using the same layout.
+static const uint64_t schema_hash_offset = 14695981039346656037ULL;
+static const uint64_t schema_hash_prime = 1099511628211ULL;
+// Must match Table.PRIMARY_KEY_TABLE_NAME
+static const char* const primary_key_table_name = "pk";
+
+static void hash_bytes(uint64_t& hash, const char* data, size_t size)
+{
+    for (size_t i = 0; i < size; ++i) {
+        hash ^= static_cast<unsigned char>(data[i]);
+        hash *= schema_hash_prime;
+    }
+}
+
+static void hash_string(uint64_t& hash, StringData value)
+{
+    hash_bytes(hash, value.data(), value.size());
+    // Separates consecutive strings, so "ab" + "c" and "a" + "bc" differ.
+    hash_bytes(hash, "", 1);
+}
+
+static void hash_value(uint64_t& hash, uint64_t value)
+{
+    for (int i = 0; i < 8; ++i) {
+        hash_bytes(hash, reinterpret_cast<const char*>(&value) + i, 1);
+    }
+}
+
+static void hash_table_layout(uint64_t& hash, const Table& table)
+{
+    const size_t column_count = table.get_column_count();
+    hash_value(hash, column_count);
+    for (size_t i = 0; i < column_count; ++i) {
+        const DataType type = table.get_column_type(i);
+        hash_string(hash, table.get_column_name(i));
+        hash_value(hash, static_cast<uint64_t>(type));
+        hash_value(hash, table.is_nullable(i) ? 1 : 0);
+        hash_value(hash, table.has_search_index(i) ? 1 : 0);
+        if (type == type_Link || type == type_LinkList) {
+            hash_string(hash, table.get_link_target(i)->get_name());
+        }
+    }
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Group_nativeGetSchemaInfo(
+    JNIEnv* env, jobject, jlong nativeGroupPtr, jobjectArray tableNames, jobjectArray columnNames)
+{
+    TR_ENTER_PTR(nativeGroupPtr)
+    try {
+        Group* grp = G(nativeGroupPtr);
+        const jsize table_count = env->GetArrayLength(tableNames);
+        // The hash of the layout first, then the column indices of each table.
+        std::vector<jlong> info(1);
+        uint64_t hash = schema_hash_offset;
+        for (jsize t = 0; t < table_count; ++t) {
+            jstring jtable_name = static_cast<jstring>(env->GetObjectArrayElement(tableNames, t));
+            jobjectArray jnames = static_cast<jobjectArray>(env->GetObjectArrayElement(columnNames, t));
+            JStringAccessor table_name(env, jtable_name);
+            hash_string(hash, table_name);
+            TableRef table;
+            if (grp->has_table(table_name)) {
+                table = grp->get_table(table_name);
+                hash_table_layout(hash, *table);
+            }
+            else {
+                hash_value(hash, static_cast<uint64_t>(-1));
+            }
+            const jsize name_count = env->GetArrayLength(jnames);
+            for (jsize i = 0; i < name_count; ++i) {
+                jstring jname = static_cast<jstring>(env->GetObjectArrayElement(jnames, i));
+                if (table) {
+                    JStringAccessor name(env, jname);
+                    info.push_back(to_jlong_or_not_found(table->get_column_index(name)));
+                }
+                else {
+                    info.push_back(-1);
+                }
+                env->DeleteLocalRef(jname);
+            }
+            // Schemas with many classes would otherwise run out of local references.
+            env->DeleteLocalRef(jnames);
+            env->DeleteLocalRef(jtable_name);
+        }
+
+        // Primary keys are kept in a table of their own, which is part of the schema too.
+        if (grp->has_table(primary_key_table_name)) {
+            TableRef pk_table = grp->get_table(primary_key_table_name);
+            const size_t column_count = pk_table->get_column_count();
+            hash_value(hash, pk_table->size());
+            for (size_t row = 0; row < pk_table->size(); ++row) {
+                for (size_t col = 0; col < column_count; ++col) {
+                    if (pk_table->get_column_type(col) == type_String) {
+                        hash_string(hash, pk_table->get_string(col, row));
+                    }
+                }
+            }
+        }
+        info[0] = static_cast<jlong>(hash);
+
+        jlongArray result = env->NewLongArray(info.size());
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the schema info.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, info.size(), info.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
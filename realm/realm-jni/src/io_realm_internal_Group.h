@@ -151,6 +151,22 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_Group_nativeToString
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_Group_nativeIsEmpty(
     JNIEnv*, jobject, jlong nativeGroupPtr);
 
+/*
+ * Class:     io_realm_internal_Group
+ * Method:    nativeGetTableVersions
+ * Signature: (J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Group_nativeGetTableVersions
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_Group
+ * Method:    nativeGetSchemaInfo
+ * Signature: (J[Ljava/lang/String;[[Ljava/lang/String;)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Group_nativeGetSchemaInfo
+  (JNIEnv *, jobject, jlong, jobjectArray, jobjectArray);
+
 #ifdef __cplusplus
 }
 #endif
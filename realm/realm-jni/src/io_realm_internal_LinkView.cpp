@@ -14,6 +14,8 @@
  * limitations under the License.
  */
 
+#include <vector>
+
 #include "io_realm_internal_LinkView.h"
 #include "tablequery.hpp"
 #include "util.hpp"
@@ -58,6 +60,29 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetTargetRowIndex
 }
 
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_LinkView_nativeGetTargetRowIndices
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView *lv = LV(nativeLinkViewPtr);
+    try {
+        size_t size = lv->size();
+        std::vector<jlong> indices(size);
+        for (size_t i = 0; i < size; ++i) {
+            indices[i] = static_cast<jlong>(lv->get(i).get_index());
+        }
+
+        jlongArray result = env->NewLongArray(size);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the target row indices.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, size, indices.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeAdd
   (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong rowIndex)
 {
@@ -31,6 +31,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetRow
 JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetTargetRowIndex
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeGetTargetRowIndices
+ * Signature: (J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_LinkView_nativeGetTargetRowIndices
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_LinkView
  * Method:    nativeAdd
@@ -421,6 +421,158 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetMixed
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLink
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLongs
+ * Signature: (JJ[J[J[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetBooleans
+ * Signature: (JJ[J[Z[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jbooleanArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetFloats
+ * Signature: (JJ[J[F[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jfloatArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDoubles
+ * Signature: (JJ[J[D[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jdoubleArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDates
+ * Signature: (JJ[J[J[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetStrings
+ * Signature: (JJ[J[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetByteArrays
+ * Signature: (JJ[J[[B)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteArrays
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLinks
+ * Signature: (JJ[J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLinks
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLinkLists
+ * Signature: (JJ[J[[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLinkLists
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeCopyColumn
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeCopyColumn
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLongs
+ * Signature: (JJJ[J[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetDoubles
+ * Signature: (JJJ[D[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlong, jdoubleArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetColumnLongs
+ * Signature: (JJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetColumnLongs
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetColumnDoubles
+ * Signature: (JJ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_Table_nativeGetColumnDoubles
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetColumnStrings
+ * Signature: (JJ)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_Table_nativeGetColumnStrings
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetColumnLongsIntoBuffer
+ * Signature: (JJLjava/nio/ByteBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetColumnLongsIntoBuffer
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetColumnDoublesIntoBuffer
+ * Signature: (JJLjava/nio/ByteBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetColumnDoublesIntoBuffer
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetRowSnapshot
+ * Signature: (J[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetRowSnapshot
+  (JNIEnv *, jobject, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetVersion
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetVersion
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeSetPrimaryKey
@@ -21,6 +21,14 @@
 #include "io_realm_internal_TableQuery.h"
 #include "tablequery.hpp"
 
+#include <algorithm>
+#include <chrono>
+#include <cstring>
+#include <memory>
+#include <string>
+#include <unordered_set>
+#include <vector>
+
 using namespace realm;
 
 #if 1
@@ -61,6 +69,64 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery
 }
 
 
+// Query profiling
+
+struct QueryProfile {
+    jlong find_nanos;
+    jlong sort_nanos;
+    jlong rows_matched;
+};
+
+// The queries run by the current thread while the Java side profiles them, see TableQuery.startProfiling(). Null
+// when not profiling, which is the case most of the time, so the runs don't even read the clock.
+static thread_local std::vector<QueryProfile>* query_profiles = nullptr;
+
+static inline jlong profile_clock()
+{
+    if (query_profiles == nullptr) {
+        return 0;
+    }
+    return std::chrono::duration_cast<std::chrono::nanoseconds>(
+            std::chrono::steady_clock::now().time_since_epoch()).count();
+}
+
+static inline void record_profile(jlong find_nanos, jlong sort_nanos, jlong rows_matched)
+{
+    if (query_profiles != nullptr) {
+        query_profiles->push_back(QueryProfile{find_nanos, sort_nanos, rows_matched});
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeStartProfiling(JNIEnv*, jclass)
+{
+    if (query_profiles == nullptr) {
+        query_profiles = new std::vector<QueryProfile>();
+    }
+    query_profiles->clear();
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeStopProfiling(JNIEnv* env, jclass)
+{
+    std::unique_ptr<std::vector<QueryProfile>> profiles(query_profiles);
+    query_profiles = nullptr;
+    std::vector<jlong> values;
+    if (profiles) {
+        for (auto& profile : *profiles) {
+            values.push_back(profile.find_nanos);
+            values.push_back(profile.sort_nanos);
+            values.push_back(profile.rows_matched);
+        }
+    }
+    jlongArray result = env->NewLongArray(values.size());
+    if (result == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the query profiles.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(result, 0, values.size(), values.data());
+    return result;
+}
+
+
 // helper functions
 
 // Return TableRef used for build link queries
@@ -92,7 +158,9 @@ static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedGroupPtr, std::uniqu
         return 0;
     }
     // run the query
+    jlong started = profile_clock();
     TableView tableView(query->find_all(S(start), S(end), S(limit)));
+    record_profile(profile_clock() - started, 0, tableView.size());
 
     // handover the result
     std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
@@ -113,7 +181,9 @@ static jlong getDistinctViewWithHandover
             case type_Int:
             case type_DateTime:
             case type_String: {
+                jlong started = profile_clock();
                 TableView tableView(table->get_distinct_view(S(columnIndex)) );
+                record_profile(profile_clock() - started, 0, tableView.size());
 
                 // handover the result
                 std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
@@ -127,6 +197,156 @@ static jlong getDistinctViewWithHandover
     return 0;
 }
 
+// Gives access to the rows of a view, which only core fills otherwise.
+struct ViewRows : TableView {
+    static IntegerColumn& of(TableView& view)
+    {
+        return view.*(&ViewRows::m_row_indexes);
+    }
+};
+
+// Replaces the rows of a view, in the given order.
+static void set_view_rows(TableView& view, const std::vector<size_t>& rows)
+{
+    IntegerColumn& row_indexes = ViewRows::of(view);
+    row_indexes.clear();
+    for (size_t i = 0; i < rows.size(); ++i) {
+        row_indexes.add(int64_t(rows[i]));
+    }
+}
+
+// Collects the k first matches in sort order with a single pass over them, keeping the k best ones seen so far in a
+// bounded heap, which is O(n log k) instead of the O(n log n) of sorting all the matches. Nulls come first in an
+// ascending order like in core, and ties keep the order of the matches. Returns false if a value is NaN, which isn't
+// ordered by operator<.
+template<typename T, typename Getter>
+static bool find_top_k(const TableView& matches, size_t column_index, bool ascending, size_t k, Getter get_value,
+                       std::vector<size_t>& rows)
+{
+    struct Entry {
+        bool null;
+        T value;
+        size_t position;
+    };
+    const Table& table = matches.get_parent();
+    const bool nullable = table.is_nullable(column_index);
+    auto is_better = [ascending](const Entry& a, const Entry& b) {
+        if (a.null != b.null) {
+            return ascending ? a.null : b.null;
+        }
+        if (!a.null && (a.value < b.value || b.value < a.value)) {
+            return ascending ? a.value < b.value : b.value < a.value;
+        }
+        return a.position < b.position;
+    };
+    // The front of the heap is the worst of the k entries kept.
+    std::vector<Entry> heap;
+    heap.reserve(k);
+    for (size_t i = 0; i < matches.size(); ++i) {
+        size_t row_index = matches.get_source_ndx(i);
+        Entry entry = {nullable && table.is_null(column_index, row_index), T(), i};
+        if (!entry.null) {
+            entry.value = get_value(table, column_index, row_index);
+            if (entry.value != entry.value) {
+                return false;
+            }
+        }
+        if (heap.size() < k) {
+            heap.push_back(entry);
+            std::push_heap(heap.begin(), heap.end(), is_better);
+        } else if (is_better(entry, heap.front())) {
+            std::pop_heap(heap.begin(), heap.end(), is_better);
+            heap.back() = entry;
+            std::push_heap(heap.begin(), heap.end(), is_better);
+        }
+    }
+    std::sort_heap(heap.begin(), heap.end(), is_better);
+    rows.clear();
+    rows.reserve(heap.size());
+    for (size_t i = 0; i < heap.size(); ++i) {
+        rows.push_back(matches.get_source_ndx(heap[i].position));
+    }
+    return true;
+}
+
+// Runs the query and sorts the results. If a limit is given, the view only keeps the first `limit` sorted rows,
+// which are found with a single bounded heap pass over the matches for the column types it supports. The view stays
+// sorted when core syncs it, but it then holds all the matches again, so views found with a limit must be synced
+// with find_all_sorted() too, see TableView.syncSorted().
+TableView find_all_sorted(Query& query, size_t start, size_t end, size_t limit, size_t column_index, bool ascending)
+{
+    // Everything after the search is reported as sorting.
+    jlong started = profile_clock();
+    TableView matches(query.find_all(start, end));
+    jlong found = profile_clock();
+    if (limit >= matches.size()) {
+        matches.sort(column_index, ascending);
+        record_profile(found - started, profile_clock() - found, matches.size());
+        return matches;
+    }
+
+    std::vector<size_t> rows;
+    bool found_top_k = false;
+    switch (matches.get_column_type(column_index)) {
+        case type_Int:
+            found_top_k = find_top_k<int64_t>(matches, column_index, ascending, limit,
+                    [](const Table& table, size_t col, size_t row) { return table.get_int(col, row); }, rows);
+            break;
+        case type_Bool:
+            found_top_k = find_top_k<bool>(matches, column_index, ascending, limit,
+                    [](const Table& table, size_t col, size_t row) { return table.get_bool(col, row); }, rows);
+            break;
+        case type_DateTime:
+            found_top_k = find_top_k<int64_t>(matches, column_index, ascending, limit,
+                    [](const Table& table, size_t col, size_t row) {
+                        return int64_t(table.get_datetime(col, row).get_datetime());
+                    }, rows);
+            break;
+        case type_Float:
+            found_top_k = find_top_k<float>(matches, column_index, ascending, limit,
+                    [](const Table& table, size_t col, size_t row) { return table.get_float(col, row); }, rows);
+            break;
+        case type_Double:
+            found_top_k = find_top_k<double>(matches, column_index, ascending, limit,
+                    [](const Table& table, size_t col, size_t row) { return table.get_double(col, row); }, rows);
+            break;
+        default:
+            // Strings are sorted by core with its own collation, sort all the matches
+            break;
+    }
+    if (!found_top_k) {
+        matches.sort(column_index, ascending);
+        rows.reserve(limit);
+        for (size_t i = 0; i < limit; ++i) {
+            rows.push_back(matches.get_source_ndx(i));
+        }
+    }
+    set_view_rows(matches, rows);
+    // The rows are in order already, this only records the order for the syncs done by core.
+    matches.sort(column_index, ascending);
+    record_profile(found - started, profile_clock() - found, matches.size());
+    return matches;
+}
+
+static bool sort_column_valid(JNIEnv* env, Table* table, jlong columnIndex)
+{
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex)) {
+        return false;
+    }
+    switch (table->get_column_type(S(columnIndex))) {
+        case type_Bool:
+        case type_Int:
+        case type_DateTime:
+        case type_Float:
+        case type_Double:
+        case type_String:
+            return true;
+        default:
+            ThrowException(env, IllegalArgument, ERR_SORT_NOT_SUPPORTED);
+            return false;
+    }
+}
+
 static jlong findAllSortedWithHandover
         (JNIEnv *env, jlong bgSharedGroupPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jlong columnIndex, jboolean ascending)
 {
@@ -135,29 +355,12 @@ static jlong findAllSortedWithHandover
         if (!(QUERY_VALID(env, query.get()) && ROW_INDEXES_VALID(env, table.get(), start, end, limit))) {
             return 0;
         }
-
-        // run the query
-        TableView tableView( query->find_all(S(start), S(end), S(limit)) );
-
-        // sorting the results
-        if (!COL_INDEX_VALID(env, &tableView, columnIndex)) {
+        if (!sort_column_valid(env, table.get(), columnIndex)) {
             return 0;
         }
 
-        int colType = tableView.get_column_type( S(columnIndex) );
-        switch (colType) {
-            case type_Bool:
-            case type_Int:
-            case type_DateTime:
-            case type_Float:
-            case type_Double:
-            case type_String:
-                tableView.sort( S(columnIndex), ascending != 0);
-                break;
-            default:
-                ThrowException(env, IllegalArgument, ERR_SORT_NOT_SUPPORTED);
-                return 0;
-        }
+        // run the query & sort the results, the limit applies to the sorted results
+        TableView tableView(find_all_sorted(*query, S(start), S(end), S(limit), S(columnIndex), ascending != 0));
 
         // handover the result
         std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
@@ -192,7 +395,9 @@ static jlong findAllMultiSortedWithHandover
         }
 
         // run the query
+        jlong started = profile_clock();
         TableView tableView( query->find_all(S(start), S(end), S(limit)) );
+        jlong found = profile_clock();
 
         // sorting the results
         std::vector<size_t> indices;
@@ -220,6 +425,7 @@ static jlong findAllMultiSortedWithHandover
         }
 
         tableView.sort(indices, ascendings);
+        record_profile(found - started, profile_clock() - found, tableView.size());
 
         // handover the result
         std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
@@ -917,6 +1123,242 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeContains(
 }
 
 
+// In
+
+struct StringDataHash {
+    size_t operator()(const StringData& str) const
+    {
+        // FNV-1a
+        size_t hash = 2166136261u;
+        for (size_t i = 0; i < str.size(); ++i) {
+            hash = (hash ^ static_cast<unsigned char>(str.data()[i])) * 16777619u;
+        }
+        return hash;
+    }
+};
+
+struct InHandoverPatch : public QueryNodeHandoverPatch {
+    std::unique_ptr<TableHandoverPatch> m_table;
+};
+
+// Matches the rows whose value is in a set, with a single hash lookup per row instead of one equal condition per
+// value. The expression owns its values: the set points into them, and each copy, e.g. the one handed over to a
+// worker thread by findAllAsync(), gets its own values and set. A handed over copy reads the table of the thread it
+// is imported into.
+template <typename T, typename Stored, typename Hash>
+class InExpression : public Expression {
+public:
+    InExpression(TableRef table, size_t columnIndex, std::vector<Stored> values)
+        : m_table(table), m_column_index(columnIndex), m_nullable(table->is_nullable(columnIndex)),
+          m_values(std::move(values))
+    {
+        build_set();
+    }
+
+    size_t find_first(size_t start, size_t end) const
+    {
+        for (size_t row = start; row < end; ++row) {
+            if (m_nullable && m_table->is_null(m_column_index, row))
+                continue;
+            if (m_set.count(get(row)) != 0)
+                return row;
+        }
+        return not_found;
+    }
+
+    void set_table()
+    {
+    }
+
+    const Table* get_table()
+    {
+        return m_table.get();
+    }
+
+    std::unique_ptr<Expression> clone(QueryNodeHandoverPatches* patches) const
+    {
+        if (!patches) {
+            return std::unique_ptr<Expression>(new InExpression(*this, m_table));
+        }
+        std::unique_ptr<InHandoverPatch> patch(new InHandoverPatch);
+        Table::generate_patch(m_table.get(), patch->m_table);
+        patches->push_back(std::move(patch));
+        // The table is set again by apply_handover_patch() in the importing thread.
+        return std::unique_ptr<Expression>(new InExpression(*this, TableRef()));
+    }
+
+    void apply_handover_patch(QueryNodeHandoverPatches& patches, Group& group)
+    {
+        std::unique_ptr<QueryNodeHandoverPatch> abstract_patch = std::move(patches.back());
+        patches.pop_back();
+        InHandoverPatch* patch = dynamic_cast<InHandoverPatch*>(abstract_patch.get());
+        REALM_ASSERT(patch);
+        m_table = Table::create_from_and_consume_patch(patch->m_table, group);
+    }
+
+private:
+    InExpression(const InExpression& other, TableRef table)
+        : m_table(table), m_column_index(other.m_column_index), m_nullable(other.m_nullable),
+          m_values(other.m_values)
+    {
+        build_set();
+    }
+
+    void build_set()
+    {
+        m_set.reserve(m_values.size());
+        for (size_t i = 0; i < m_values.size(); ++i) {
+            m_set.insert(T(m_values[i]));
+        }
+    }
+
+    T get(size_t row) const;
+
+    TableRef m_table;
+    const size_t m_column_index;
+    const bool m_nullable;
+    const std::vector<Stored> m_values;
+    // Points into m_values for strings.
+    std::unordered_set<T, Hash> m_set;
+};
+
+template <>
+inline int64_t InExpression<int64_t, int64_t, std::hash<int64_t>>::get(size_t row) const
+{
+    return m_table->get_int(m_column_index, row);
+}
+
+template <>
+inline StringData InExpression<StringData, std::string, StringDataHash>::get(size_t row) const
+{
+    return m_table->get_string(m_column_index, row);
+}
+
+// Matches no rows, used for an empty list of values.
+class FalseExpression : public Expression {
+public:
+    size_t find_first(size_t, size_t) const
+    {
+        return not_found;
+    }
+
+    void set_table()
+    {
+    }
+
+    const Table* get_table()
+    {
+        return nullptr;
+    }
+
+    std::unique_ptr<Expression> clone(QueryNodeHandoverPatches*) const
+    {
+        return std::unique_ptr<Expression>(new FalseExpression);
+    }
+};
+
+// Adds a group of equal conditions matching the rows whose value is one of the given, non-empty, values. Core looks
+// the values up one by one in the search index of an indexed column.
+template <typename T, typename EqualQuery>
+static void TableQuery_EqualGroup(Query* query, const std::vector<T>& values, EqualQuery equal_query)
+{
+    query->group();
+    for (size_t i = 0; i < values.size(); ++i) {
+        if (i > 0) {
+            query->Or();
+        }
+        equal_query(values[i]);
+    }
+    query->end_group();
+}
+
+// Adds a condition matching the rows whose value is one of the given values. Indexed columns and fields of linked
+// objects get a group of equal conditions, as index lookups are faster and the set can't follow links. Other columns
+// are checked against a hashed set of the values.
+template <typename T, typename Stored, typename Hash, typename EqualQuery>
+static void TableQuery_In(jlong nativeQueryPtr, JniLongArray& arr, const std::vector<T>& values,
+                          EqualQuery equal_query)
+{
+    Query* query = Q(nativeQueryPtr);
+    if (values.empty()) {
+        query->expression(new FalseExpression, true);
+        return;
+    }
+    TableRef table = query->get_table();
+    if (arr.len() != 1 || table->has_search_index(S(arr[0]))) {
+        TableQuery_EqualGroup(query, values, equal_query);
+        return;
+    }
+
+    // The query outlives the Java values, so the expression keeps a copy of them.
+    std::vector<Stored> stored_values;
+    stored_values.reserve(values.size());
+    for (size_t i = 0; i < values.size(); ++i) {
+        stored_values.push_back(Stored(values[i]));
+    }
+    query->expression(new InExpression<T, Stored, Hash>(table, S(arr[0]), std::move(stored_values)), true);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J(
+    JNIEnv *env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jlongArray values)
+{
+    JniLongArray arr(env, columnIndexes);
+    jsize arr_len = arr.len();
+    try {
+        if (arr_len == 1 && !QUERY_COL_TYPE_VALID(env, nativeQueryPtr, arr[0], type_Int)) {
+            return;
+        }
+        JniLongArray values_arr(env, values);
+        std::vector<int64_t> int_values(values_arr.len());
+        for (jsize i = 0; i < values_arr.len(); ++i) {
+            int_values[i] = static_cast<int64_t>(values_arr[i]);
+        }
+
+        TableQuery_In<int64_t, int64_t, std::hash<int64_t>>(nativeQueryPtr, arr, int_values, [&](int64_t value) {
+            if (arr_len == 1) {
+                Q(nativeQueryPtr)->equal(S(arr[0]), value);
+            }
+            else {
+                TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
+                Q(nativeQueryPtr)->and_query(numeric_link_equal<Int, int64_t, jlong>(table_ref, arr[arr_len-1], value));
+            }
+        });
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3Ljava_lang_String_2(
+    JNIEnv *env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jobjectArray values)
+{
+    JniLongArray arr(env, columnIndexes);
+    jsize arr_len = arr.len();
+    try {
+        if (arr_len == 1 && !QUERY_COL_TYPE_VALID(env, nativeQueryPtr, arr[0], type_String)) {
+            return;
+        }
+        // The accessors own the converted strings until the condition has copied them.
+        jsize value_count = env->GetArrayLength(values);
+        std::vector<std::unique_ptr<JStringAccessor>> accessors;
+        std::vector<StringData> string_values;
+        for (jsize i = 0; i < value_count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            accessors.push_back(std::unique_ptr<JStringAccessor>(new JStringAccessor(env, value))); // throws
+            string_values.push_back(StringData(*accessors.back()));
+            env->DeleteLocalRef(value);
+        }
+
+        TableQuery_In<StringData, std::string, StringDataHash>(nativeQueryPtr, arr, string_values, [&](StringData value) {
+            if (arr_len == 1) {
+                Q(nativeQueryPtr)->equal(S(arr[0]), value, true);
+            }
+            else {
+                TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
+                Q(nativeQueryPtr)->and_query(table_ref->column<String>(size_t(arr[arr_len-1])).equal(value, true));
+            }
+        });
+    } CATCH_STD()
+}
+
+
 // General ----------------------------------------------------
 // TODO:
 // Some of these methods may not need the check for Table/Query validity,
@@ -1031,7 +1473,9 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFind(
     }
 
     try {
+        jlong started = profile_clock();
         size_t r = pQuery->find( S(fromTableRow) );
+        record_profile(profile_clock() - started, 0, (r == not_found) ? 0 : 1);
         return (r == not_found) ? jlong(-1) : jlong(r);
     } CATCH_STD()
     return -1;
@@ -1062,7 +1506,8 @@ std::unique_ptr<Query> getHandoverQuery (jlong bgSharedGroupPtr, jlong replicati
 
 // queryPtr would be owned and released by this function
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover(
-    JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong fromTableRow)
+    JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong fromTableRow,
+    jlong offset, jlong limit)
 {
     TR_ENTER()
     try {
@@ -1080,7 +1525,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
             return 0;
         }
 
-        size_t r = query->find(S(fromTableRow));
+        jlong started = profile_clock();
+        size_t r = not_found;
+        if (limit == 0) {
+            // Nothing to find.
+        }
+        else if (offset == 0) {
+            r = query->find(S(fromTableRow));
+        }
+        else {
+            // The first object of the range, see RealmQuery#offset().
+            TableView tableView = query->find_all(S(fromTableRow), size_t(-1), S(offset) + 1);
+            if (tableView.size() > S(offset)) {
+                r = tableView.get_source_ndx(S(offset));
+            }
+        }
+        record_profile(profile_clock() - started, 0, (r == not_found) ? 0 : 1);
         if (r == not_found) {
             return 0;
         } else {
@@ -1106,7 +1566,27 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAll(
         !ROW_INDEXES_VALID(env, table.get(), start, end, limit))
         return -1;
     try {
+        jlong started = profile_clock();
         TableView* tableView = new TableView( query->find_all(S(start), S(end), S(limit)) );
+        record_profile(profile_clock() - started, 0, tableView->size());
+        return reinterpret_cast<jlong>(tableView);
+    } CATCH_STD()
+    return -1;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSorted(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong start, jlong end, jlong limit, jlong columnIndex, jboolean ascending)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    TableRef table =  query->get_table();
+    if (!QUERY_VALID(env, query) ||
+        !ROW_INDEXES_VALID(env, table.get(), start, end, limit) ||
+        !sort_column_valid(env, table.get(), columnIndex))
+        return -1;
+    try {
+        TableView* tableView = new TableView(find_all_sorted(*query, S(start), S(end), S(limit), S(columnIndex),
+                ascending != 0));
         return reinterpret_cast<jlong>(tableView);
     } CATCH_STD()
     return -1;
@@ -1135,7 +1615,8 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
          jlongArray  handover_queries_array /*list of handover queries*/,
          jobjectArray  query_param_matrix /*type & params of the query to be updated*/,
          jobjectArray  multi_sorted_indices_matrix,
-         jobjectArray  multi_sorted_order_matrix)
+         jobjectArray  multi_sorted_order_matrix,
+         jobjectArray  dependencies_matrix /*names of the tables each query depends on, or null to always rerun it*/)
 {
     TR_ENTER()
     try {
@@ -1150,8 +1631,10 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
         // read the first query to determine the version we should use
         SharedGroup::Handover<Query> *handoverQueryPtr = HO(Query, handover_queries_pointer_array[0]);
         std::unique_ptr<SharedGroup::Handover<Query>> handoverQuery(handoverQueryPtr);
+        // the shared group might be reused from a previous batch, make sure no read transaction is left open
+        SG(bgSharedGroupPtr)->end_read();
         // position this shared group at the specified version
-        SG(bgSharedGroupPtr)->begin_read(handoverQuery->version);
+        const Group& group = SG(bgSharedGroupPtr)->begin_read(handoverQuery->version);
 
         std::vector<std::unique_ptr<Query>> queries(number_of_queries);
 
@@ -1164,11 +1647,51 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
             queries[i] = std::move(SG(bgSharedGroupPtr)->import_from_handover(std::move(handoverQuery)));
         }
 
+        // Remember the versions of the tables each query depends on, at the version of the caller
+        std::vector<std::vector<std::pair<ConstTableRef, uint_fast64_t>>> dependencies(number_of_queries);
+        std::vector<bool> reusable(number_of_queries, false);
+        for (size_t i = 0; i < number_of_queries; ++i) {
+            jobjectArray table_names = (jobjectArray) env->GetObjectArrayElement(dependencies_matrix, i);
+            if (table_names == NULL) {
+                continue;
+            }
+            reusable[i] = true;
+            const jsize number_of_tables = env->GetArrayLength(table_names);
+            for (jsize j = 0; j < number_of_tables; ++j) {
+                JStringAccessor table_name(env, (jstring) env->GetObjectArrayElement(table_names, j)); // throws
+                if (!group.has_table(table_name)) {
+                    reusable[i] = false;
+                    break;
+                }
+                ConstTableRef table = group.get_table(table_name);
+                dependencies[i].push_back(std::make_pair(table, table->get_version_counter()));
+            }
+        }
+
         // Step2: Bring the queries into the latest shared group version
         LangBindHelper::advance_read(*SG(bgSharedGroupPtr), *CH(replicationPtr));
 
         // Step3: Run & export the queries against the latest shared group
         for (size_t i = 0; i < number_of_queries; ++i) {
+            // A query none of whose tables changed would give the same results as the TableView of the caller,
+            // which stays in sync while advancing. 0 tells the caller to keep it.
+            if (reusable[i]) {
+                for (auto& dependency : dependencies[i]) {
+                    if (!dependency.first->is_attached() ||
+                            dependency.first->get_version_counter() != dependency.second) {
+                        reusable[i] = false;
+                        break;
+                    }
+                }
+            }
+            if (reusable[i]) {
+                queries[i].reset();
+                exported_handover_tableview_array[i] = 0;
+                // Keeps the profiles aligned with the queries, -1 rows tells the query wasn't run.
+                record_profile(0, 0, -1);
+                continue;
+            }
+
             JniLongArray query_param_array(env, (jlongArray) env->GetObjectArrayElement(query_param_matrix, i));
             switch (query_param_array[0]) { // 0, index of the type of query, the next indicies are parameters
                 case QUERY_TYPE_FIND_ALL: {// nativeFindAllWithHandover
@@ -1561,7 +2084,10 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCount(
         !ROW_INDEXES_VALID(env, pTable, start, end, limit))
         return 0;
     try {
-        return pQuery->count(S(start), S(end), S(limit));
+        jlong started = profile_clock();
+        size_t count = pQuery->count(S(start), S(end), S(limit));
+        record_profile(profile_clock() - started, 0, count);
+        return count;
     } CATCH_STD()
     return 0;
 }
@@ -1725,6 +2251,121 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseQueryHandove
     delete HO(Query, nativeHandoverQuery);
   }
 
+// Parallel scans
+
+// Must match the AGGREGATE_ constants of io.realm.internal.async.ParallelScan
+#define AGGREGATE_COUNT 0
+#define AGGREGATE_SUM   1
+#define AGGREGATE_MIN   2
+#define AGGREGATE_MAX   3
+
+static jlong double_bits(double value)
+{
+    jlong bits;
+    std::memcpy(&bits, &value, sizeof(bits));
+    return bits;
+}
+
+// Runs an aggregate over the rows [start, end) of the table of the query. Returns the number of rows aggregated
+// (matching rows for count and sum, 1 if a minimum or maximum was found) followed by the value, which is the raw bits
+// of a double for float and double columns.
+static jlongArray aggregate_range(JNIEnv* env, Query* query, jint aggregate, jlong columnIndex, jlong start, jlong end)
+{
+    Table* table = query->get_table().get();
+    if (!QUERY_VALID(env, query) ||
+        !ROW_INDEXES_VALID(env, table, start, end, -1)) {
+        return NULL;
+    }
+    jlong result[2] = {0, 0};
+    if (aggregate == AGGREGATE_COUNT) {
+        result[0] = query->count(S(start), S(end));
+    }
+    else {
+        if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex)) {
+            return NULL;
+        }
+        size_t column = S(columnIndex);
+        size_t count = 0;
+        size_t return_ndx = npos;
+        switch (table->get_column_type(column)) {
+            case type_Int:
+            case type_DateTime:
+                if (aggregate == AGGREGATE_SUM) {
+                    result[1] = query->sum_int(column, &count, S(start), S(end));
+                }
+                else if (aggregate == AGGREGATE_MIN) {
+                    result[1] = query->minimum_int(column, NULL, S(start), S(end), size_t(-1), &return_ndx);
+                }
+                else {
+                    result[1] = query->maximum_int(column, NULL, S(start), S(end), size_t(-1), &return_ndx);
+                }
+                break;
+            case type_Float:
+                if (aggregate == AGGREGATE_SUM) {
+                    result[1] = double_bits(query->sum_float(column, &count, S(start), S(end)));
+                }
+                else if (aggregate == AGGREGATE_MIN) {
+                    result[1] = double_bits(query->minimum_float(column, NULL, S(start), S(end), size_t(-1), &return_ndx));
+                }
+                else {
+                    result[1] = double_bits(query->maximum_float(column, NULL, S(start), S(end), size_t(-1), &return_ndx));
+                }
+                break;
+            case type_Double:
+                if (aggregate == AGGREGATE_SUM) {
+                    result[1] = double_bits(query->sum_double(column, &count, S(start), S(end)));
+                }
+                else if (aggregate == AGGREGATE_MIN) {
+                    result[1] = double_bits(query->minimum_double(column, NULL, S(start), S(end), size_t(-1), &return_ndx));
+                }
+                else {
+                    result[1] = double_bits(query->maximum_double(column, NULL, S(start), S(end), size_t(-1), &return_ndx));
+                }
+                break;
+            default:
+                ThrowException(env, IllegalArgument, "Invalid type - Only int, float, double and Date fields can be aggregated.");
+                return NULL;
+        }
+        result[0] = (aggregate == AGGREGATE_SUM) ? jlong(count) : ((return_ndx != npos) ? 1 : 0);
+    }
+
+    jlongArray values = env->NewLongArray(2);
+    if (values == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the aggregate.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(values, 0, 2, result);
+    return values;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeAggregate
+  (JNIEnv* env, jobject, jlong nativeQueryPtr, jint aggregate, jlong columnIndex, jlong start, jlong end)
+{
+    try {
+        return aggregate_range(env, Q(nativeQueryPtr), aggregate, columnIndex, start, end);
+    } CATCH_STD()
+    return NULL;
+}
+
+// handoverQueryPtr would be owned and released by this function
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeAggregateWithHandover
+  (JNIEnv* env, jclass, jlong bgSharedGroupPtr, jlong handoverQueryPtr, jint aggregate, jlong columnIndex,
+   jlong start, jlong end)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<SharedGroup::Handover<Query>> handoverQuery(HO(Query, handoverQueryPtr));
+
+        // All the ranges of a scan must be checked at the version of the caller, so unlike getHandoverQuery() the
+        // SharedGroup isn't advanced to the latest version after importing the query.
+        SG(bgSharedGroupPtr)->end_read();
+        SG(bgSharedGroupPtr)->begin_read(handoverQuery->version);
+        std::unique_ptr<Query> query = SG(bgSharedGroupPtr)->import_from_handover(std::move(handoverQuery));
+        return aggregate_range(env, query.get(), aggregate, columnIndex, start, end);
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsNotNull
   (JNIEnv *env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes) {
     JniLongArray arr(env, columnIndexes);
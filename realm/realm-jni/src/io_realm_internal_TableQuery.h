@@ -351,6 +351,38 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEndsWith
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeContains
   (JNIEnv *, jobject, jlong, jlongArray, jstring, jboolean);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeIn
+ * Signature: (J[J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J
+  (JNIEnv *, jobject, jlong, jlongArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeIn
+ * Signature: (J[J[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3Ljava_lang_String_2
+  (JNIEnv *, jobject, jlong, jlongArray, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeStartProfiling
+ * Signature: ()V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeStartProfiling
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeStopProfiling
+ * Signature: ()[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeStopProfiling
+  (JNIEnv *, jclass);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFind
@@ -362,10 +394,10 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFind
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindWithHandover
- * Signature: (JJJJ)J
+ * Signature: (JJJJJJ)J
  */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
-  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     io_realm_internal_TableQuery
@@ -375,6 +407,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAll
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllSorted
+ * Signature: (JJJJJZ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSorted
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jboolean);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAllWithHandover
@@ -599,6 +639,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemove
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseQueryHandover
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeAggregate
+ * Signature: (JIJJJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeAggregate
+  (JNIEnv *, jobject, jlong, jint, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeAggregateWithHandover
+ * Signature: (JJIJJJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeAggregateWithHandover
+  (JNIEnv *, jclass, jlong, jlong, jint, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeCloseQueryHandover
@@ -612,7 +668,7 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeAcceptHandoverQu
  * Method:    nativeBatchUpdateQueries
  */
 JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdateQueries
-        (JNIEnv *,jobject,jlong ,jlong ,jlongArray,jobjectArray,jobjectArray,jobjectArray);
+        (JNIEnv *,jobject,jlong ,jlong ,jlongArray,jobjectArray,jobjectArray,jobjectArray,jobjectArray);
 #ifdef __cplusplus
 }
 #endif
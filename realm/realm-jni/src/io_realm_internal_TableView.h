@@ -31,6 +31,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSize
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndex
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetRowSnapshot
+ * Signature: (J[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetRowSnapshot
+  (JNIEnv *, jobject, jlong, jlongArray);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeGetColumnCount
@@ -535,6 +543,62 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableView_nativeRowToString
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeWhere
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetRange
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetRange
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetLongs
+ * Signature: (JJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetDoubles
+ * Signature: (JJ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableView_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetStrings
+ * Signature: (JJ)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGetStrings
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetLongsIntoBuffer
+ * Signature: (JJLjava/nio/ByteBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetLongsIntoBuffer
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetDoublesIntoBuffer
+ * Signature: (JJLjava/nio/ByteBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetDoublesIntoBuffer
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGroupBy
+ * Signature: (JJJIJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGroupBy
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint, jlong);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeDistinct
@@ -559,6 +623,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSyncSorted
+ * Signature: (JJZJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSyncSorted
+  (JNIEnv *, jobject, jlong, jlong, jboolean, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeIsInSync
+ * Signature: (J)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_TableView_nativeIsInSync
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeFindBySourceNdx
@@ -567,6 +647,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeFindBySourceNdx
         (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeCopyToSharedGroup
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCopyToSharedGroup
+        (JNIEnv *, jobject, jlong, jlong, jlong);
+
 #ifdef __cplusplus
 }
 #endif
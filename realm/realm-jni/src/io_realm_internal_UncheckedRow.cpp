@@ -14,6 +14,8 @@
  * limitations under the License.
  */
 
+#include <vector>
+
 #include "io_realm_internal_UncheckedRow.h"
 #include "util.hpp"
 #include "mixedutil.hpp"
@@ -75,6 +77,33 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeGetIndex
     return ROW(nativeRowPtr)->get_index();
 }
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_UncheckedRow_nativeGetValueHashes
+  (JNIEnv* env, jobject, jlong nativeRowPtr)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return NULL;
+
+    try {
+        Table* table = ROW(nativeRowPtr)->get_table();
+        const size_t row_ndx = ROW(nativeRowPtr)->get_index();
+        const size_t column_count = table->get_column_count();
+        std::vector<jlong> hashes(column_count);
+        for (size_t i = 0; i < column_count; ++i) {
+            hashes[i] = value_hash(*table, i, row_ndx);
+        }
+
+        jlongArray result = env->NewLongArray(column_count);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the value hashes.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, column_count, hashes.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeGetLong
   (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
 {
@@ -399,3 +428,15 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetNull
     TR_ENTER_PTR(nativeRowPtr)
     ROW(nativeRowPtr)->set_null(columnIndex);
 }
+
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeMoveTo
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong rowIndex) {
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return;
+    Table* table = ROW(nativeRowPtr)->get_table();
+    if (!ROW_INDEX_VALID(env, table, rowIndex))
+        return;
+    // Reattaches the accessor to another row of the same table instead of allocating a new one.
+    *ROW(nativeRowPtr) = (*table)[S(rowIndex)];
+}
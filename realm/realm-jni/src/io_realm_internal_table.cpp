@@ -15,6 +15,8 @@
  */
 
 #include <sstream>
+#include <string>
+#include <vector>
 
 #include "util.hpp"
 #include "mixedutil.hpp"
@@ -25,6 +27,7 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "bulkread.hpp"
 
 using namespace std;
 using namespace realm;
@@ -823,6 +826,522 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteArray(
     } CATCH_STD()
 }
 
+//--------------------- Batch setters:
+
+// Checks the row indices of a batch write before anything is written.
+static bool batch_rows_valid(JNIEnv* env, Table* table, JniLongArray& rows)
+{
+    size_t size = table->size();
+    for (jsize i = 0; i < rows.len(); ++i) {
+        if (rows[i] < 0 || S(rows[i]) >= size) {
+            ThrowException(env, IndexOutOfBounds, "rowIndex > available rows.");
+            return false;
+        }
+    }
+    return true;
+}
+
+// Calls set_value(row, i) for each row of the batch, or sets the row to null if flagged so in nulls.
+template <class F>
+static void set_batch(JNIEnv* env, Table* table, jlong columnIndex, jlongArray rowIndices, jbooleanArray nulls,
+                      F set_value)
+{
+    JniLongArray rows(env, rowIndices);
+    if (!batch_rows_valid(env, table, rows)) {
+        return;
+    }
+    if (nulls == NULL) {
+        for (jsize i = 0; i < rows.len(); ++i) {
+            set_value(S(rows[i]), i);
+        }
+        return;
+    }
+
+    JniBooleanArray null_flags(env, nulls);
+    for (jsize i = 0; i < null_flags.len(); ++i) {
+        if (null_flags[i] && !TBL_AND_COL_NULLABLE(env, table, columnIndex)) {
+            return;
+        }
+    }
+    for (jsize i = 0; i < rows.len(); ++i) {
+        if (null_flags[i]) {
+            table->set_null(S(columnIndex), S(rows[i]));
+        }
+        else {
+            set_value(S(rows[i]), i);
+        }
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jlongArray values,
+    jbooleanArray nulls)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Int))
+        return;
+    try {
+        JniLongArray longs(env, values);
+        set_batch(env, table, columnIndex, rowIndices, nulls, [&](size_t row, jsize i) {
+            table->set_int(S(columnIndex), row, longs[i]);
+        });
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jbooleanArray values,
+    jbooleanArray nulls)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Bool))
+        return;
+    try {
+        JniBooleanArray bools(env, values);
+        set_batch(env, table, columnIndex, rowIndices, nulls, [&](size_t row, jsize i) {
+            table->set_bool(S(columnIndex), row, bools[i] == JNI_TRUE);
+        });
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jfloatArray values,
+    jbooleanArray nulls)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Float))
+        return;
+    try {
+        jfloat* floats = env->GetFloatArrayElements(values, NULL);
+        set_batch(env, table, columnIndex, rowIndices, nulls, [&](size_t row, jsize i) {
+            table->set_float(S(columnIndex), row, floats[i]);
+        });
+        env->ReleaseFloatArrayElements(values, floats, JNI_ABORT);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jdoubleArray values,
+    jbooleanArray nulls)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Double))
+        return;
+    try {
+        jdouble* doubles = env->GetDoubleArrayElements(values, NULL);
+        set_batch(env, table, columnIndex, rowIndices, nulls, [&](size_t row, jsize i) {
+            table->set_double(S(columnIndex), row, doubles[i]);
+        });
+        env->ReleaseDoubleArrayElements(values, doubles, JNI_ABORT);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jlongArray timestamps,
+    jbooleanArray nulls)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_DateTime))
+        return;
+    try {
+        JniLongArray millis(env, timestamps);
+        set_batch(env, table, columnIndex, rowIndices, nulls, [&](size_t row, jsize i) {
+            // Dates are stored with a precision of seconds, see UncheckedRow.setDate().
+            table->set_datetime(S(columnIndex), row, millis[i] / 1000);
+        });
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jobjectArray values)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_String))
+        return;
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!batch_rows_valid(env, table, rows))
+            return;
+        for (jsize i = 0; i < rows.len(); ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            if (value == NULL && !TBL_AND_COL_NULLABLE(env, table, columnIndex)) {
+                return;
+            }
+            JStringAccessor accessor(env, value); // throws
+            table->set_string(S(columnIndex), S(rows[i]), accessor);
+            env->DeleteLocalRef(value);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteArrays(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jobjectArray values)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Binary))
+        return;
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!batch_rows_valid(env, table, rows))
+            return;
+        for (jsize i = 0; i < rows.len(); ++i) {
+            jbyteArray value = static_cast<jbyteArray>(env->GetObjectArrayElement(values, i));
+            if (value == NULL) {
+                if (!TBL_AND_COL_NULLABLE(env, table, columnIndex)) {
+                    return;
+                }
+                table->set_binary(S(columnIndex), S(rows[i]), BinaryData());
+            }
+            else {
+                tbl_nativeDoByteArray(&Table::set_binary, table, env, columnIndex, rows[i], value);
+                env->DeleteLocalRef(value);
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLinks(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jlongArray targetRowIndices)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Link))
+        return;
+    try {
+        JniLongArray rows(env, rowIndices);
+        JniLongArray targets(env, targetRowIndices);
+        if (!batch_rows_valid(env, table, rows))
+            return;
+        for (jsize i = 0; i < rows.len(); ++i) {
+            if (targets[i] < 0) {
+                table->nullify_link(S(columnIndex), S(rows[i]));
+            }
+            else {
+                table->set_link(S(columnIndex), S(rows[i]), S(targets[i]));
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLinkLists(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jobjectArray targetRowIndices)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_LinkList))
+        return;
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!batch_rows_valid(env, table, rows))
+            return;
+        for (jsize i = 0; i < rows.len(); ++i) {
+            LinkViewRef links = table->get_linklist(S(columnIndex), S(rows[i]));
+            links->clear();
+            jlongArray value = static_cast<jlongArray>(env->GetObjectArrayElement(targetRowIndices, i));
+            if (value != NULL) {
+                JniLongArray targets(env, value);
+                for (jsize j = 0; j < targets.len(); ++j) {
+                    links->add(S(targets[j]));
+                }
+                env->DeleteLocalRef(value);
+            }
+        }
+    } CATCH_STD()
+}
+
+//
+// Column copies
+//
+// These read or copy a whole column in a single native call, for migrations converting the values of a field.
+//
+
+static bool is_number_type(DataType type)
+{
+    return type == type_Int || type == type_Float || type == type_Double;
+}
+
+static double get_number(const Table* table, size_t column, DataType type, size_t row)
+{
+    switch (type) {
+        case type_Int:
+            return static_cast<double>(table->get_int(column, row));
+        case type_Float:
+            return table->get_float(column, row);
+        default:
+            return table->get_double(column, row);
+    }
+}
+
+// Sets the default value of the type, used for null values copied to a required column.
+static void set_default(Table* table, size_t column, DataType type, size_t row)
+{
+    switch (type) {
+        case type_Int:
+            table->set_int(column, row, 0);
+            break;
+        case type_Bool:
+            table->set_bool(column, row, false);
+            break;
+        case type_Float:
+            table->set_float(column, row, 0);
+            break;
+        case type_Double:
+            table->set_double(column, row, 0);
+            break;
+        case type_String:
+            table->set_string(column, row, StringData(""));
+            break;
+        case type_Binary:
+            table->set_binary(column, row, BinaryData("", 0));
+            break;
+        case type_DateTime:
+            table->set_datetime(column, row, DateTime(0));
+            break;
+        default:
+            break;
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeCopyColumn(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong sourceColumnIndex, jlong targetColumnIndex)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, sourceColumnIndex) ||
+            !TBL_AND_COL_INDEX_VALID(env, table, targetColumnIndex))
+        return;
+    try {
+        const size_t source = S(sourceColumnIndex);
+        const size_t target = S(targetColumnIndex);
+        const DataType source_type = table->get_column_type(source);
+        const DataType target_type = table->get_column_type(target);
+        if (source_type != target_type && !(is_number_type(source_type) && is_number_type(target_type))) {
+            ThrowException(env, IllegalArgument, "Columns of these types cannot be copied.");
+            return;
+        }
+        if (source_type == type_Link || source_type == type_LinkList || source_type == type_Table ||
+                source_type == type_Mixed) {
+            ThrowException(env, IllegalArgument, "Columns of these types cannot be copied.");
+            return;
+        }
+
+        const bool source_nullable = table->is_nullable(source);
+        const bool target_nullable = table->is_nullable(target);
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            if (source_nullable && table->is_null(source, row)) {
+                if (target_nullable) {
+                    table->set_null(target, row);
+                }
+                else {
+                    set_default(table, target, target_type, row);
+                }
+                continue;
+            }
+            switch (target_type) {
+                case type_Int:
+                    if (source_type == type_Int) {
+                        table->set_int(target, row, table->get_int(source, row));
+                    }
+                    else {
+                        // Float and double values are truncated.
+                        table->set_int(target, row, static_cast<int64_t>(get_number(table, source, source_type, row)));
+                    }
+                    break;
+                case type_Float:
+                    table->set_float(target, row, static_cast<float>(get_number(table, source, source_type, row)));
+                    break;
+                case type_Double:
+                    table->set_double(target, row, get_number(table, source, source_type, row));
+                    break;
+                case type_Bool:
+                    table->set_bool(target, row, table->get_bool(source, row));
+                    break;
+                case type_DateTime:
+                    table->set_datetime(target, row, table->get_datetime(source, row));
+                    break;
+                case type_String: {
+                    // Copied first, as writing to the table may move the data the source value points to.
+                    std::string value(table->get_string(source, row));
+                    table->set_string(target, row, StringData(value));
+                    break;
+                }
+                case type_Binary: {
+                    BinaryData binary = table->get_binary(source, row);
+                    std::vector<char> value(binary.data(), binary.data() + binary.size());
+                    table->set_binary(target, row, BinaryData(value.data(), value.size()));
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong start, jlongArray values, jbooleanArray nulls)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Int))
+        return;
+    const jsize count = env->GetArrayLength(values);
+    if (start < 0 || S(start) + count > table->size()) {
+        ThrowException(env, IndexOutOfBounds, "The range of rows exceeds the table.");
+        return;
+    }
+    try {
+        const size_t column = S(columnIndex);
+        const bool nullable = table->is_nullable(column);
+        std::vector<jlong> longs(count);
+        std::vector<jboolean> null_flags(count);
+        for (jsize i = 0; i < count; ++i) {
+            size_t row = S(start) + i;
+            null_flags[i] = (nullable && table->is_null(column, row)) ? JNI_TRUE : JNI_FALSE;
+            longs[i] = null_flags[i] ? 0 : table->get_int(column, row);
+        }
+        env->SetLongArrayRegion(values, 0, count, longs.data());
+        env->SetBooleanArrayRegion(nulls, 0, count, null_flags.data());
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong start, jdoubleArray values, jbooleanArray nulls)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex))
+        return;
+    const DataType type = table->get_column_type(S(columnIndex));
+    if (!is_number_type(type)) {
+        ThrowException(env, IllegalArgument, "Wrong type of column, a number column is expected.");
+        return;
+    }
+    const jsize count = env->GetArrayLength(values);
+    if (start < 0 || S(start) + count > table->size()) {
+        ThrowException(env, IndexOutOfBounds, "The range of rows exceeds the table.");
+        return;
+    }
+    try {
+        const size_t column = S(columnIndex);
+        const bool nullable = table->is_nullable(column);
+        std::vector<jdouble> doubles(count);
+        std::vector<jboolean> null_flags(count);
+        for (jsize i = 0; i < count; ++i) {
+            size_t row = S(start) + i;
+            null_flags[i] = (nullable && table->is_null(column, row)) ? JNI_TRUE : JNI_FALSE;
+            doubles[i] = null_flags[i] ? 0 : get_number(table, column, type, row);
+        }
+        env->SetDoubleArrayRegion(values, 0, count, doubles.data());
+        env->SetBooleanArrayRegion(nulls, 0, count, null_flags.data());
+    } CATCH_STD()
+}
+
+// Reads all the rows of the table, for the bulk reads of bulkread.hpp.
+struct TableRowAt {
+    size_t operator()(size_t i) const { return i; }
+};
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetColumnLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex))
+        return NULL;
+    try {
+        std::vector<jlong> values(table->size());
+        if (!copy_longs(env, *table, table->size(), TableRowAt(), S(columnIndex), values.data()))
+            return NULL;
+
+        jlongArray result = env->NewLongArray(values.size());
+        if (!result) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the values.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, values.size(), values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_Table_nativeGetColumnDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex))
+        return NULL;
+    try {
+        std::vector<jdouble> values(table->size());
+        if (!copy_doubles(env, *table, table->size(), TableRowAt(), S(columnIndex), values.data()))
+            return NULL;
+
+        jdoubleArray result = env->NewDoubleArray(values.size());
+        if (!result) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the values.");
+            return NULL;
+        }
+        env->SetDoubleArrayRegion(result, 0, values.size(), values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_Table_nativeGetColumnStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_String))
+        return NULL;
+    try {
+        return copy_strings(env, *table, table->size(), TableRowAt(), S(columnIndex));
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetColumnLongsIntoBuffer(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobject buffer, jlong byteOffset)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex))
+        return;
+    try {
+        jlong* target = get_buffer_target<jlong>(env, table->size(), buffer, byteOffset);
+        if (target != NULL) {
+            copy_longs(env, *table, table->size(), TableRowAt(), S(columnIndex), target);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetColumnDoublesIntoBuffer(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobject buffer, jlong byteOffset)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex))
+        return;
+    try {
+        jdouble* target = get_buffer_target<jdouble>(env, table->size(), buffer, byteOffset);
+        if (target != NULL) {
+            copy_doubles(env, *table, table->size(), TableRowAt(), S(columnIndex), target);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetRowSnapshot(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlongArray reusableSnapshot)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TABLE_VALID(env, table))
+        return NULL;
+    try {
+        return row_snapshot(env, *table, table->size(), TableRowAt(), reusableSnapshot);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetVersion(
+    JNIEnv* env, jobject, jlong nativeTablePtr)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TABLE_VALID(env, table))
+        return 0;
+    return static_cast<jlong>(table->get_version_counter()); // noexcept
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeClearSubtable(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
 {
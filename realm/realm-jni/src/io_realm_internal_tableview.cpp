@@ -19,11 +19,24 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "bulkread.hpp"
 #include "realm/array.hpp"
+#include <cstring>
+#include <limits>
+#include <functional>
+#include <map>
+#include <memory>
 #include <ostream>
+#include <vector>
 
 using namespace realm;
 
+// Maps the rows of a view to the rows of its parent table, for the bulk reads of bulkread.hpp.
+struct ViewRowAt {
+    const TableView* tv;
+    size_t operator()(size_t i) const { return tv->get_source_ndx(i); }
+};
+
 // The validation will try to sync the table view as well.
 // if you disable the validation, please remember to call sync_if_needed() 
 #define VIEW_VALID_AND_IN_SYNC(env, ptr) (is_view_valid(env, ptr) && sync_table_view(env, ptr))
@@ -159,6 +172,23 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndex
     return TV(nativeViewPtr)->get_source_ndx(S(rowIndex));   // noexcept
 }
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetRowSnapshot
+  (JNIEnv *env, jobject, jlong nativeViewPtr, jlongArray reusableSnapshot)
+{
+    try {
+        if (!is_view_valid(env, nativeViewPtr)) {
+            return NULL;
+        }
+        if (!sync_table_view(env, nativeViewPtr)) {
+            TR_ERR("The source LinkView created this TableView has been deleted.");
+            // Let it fall through, the size will be 0.
+        }
+        TableView* tv = TV(nativeViewPtr);
+        return row_snapshot(env, tv->get_parent(), tv->size(), ViewRowAt{tv}, reusableSnapshot);
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetColumnCount
   (JNIEnv *env, jobject, jlong nativeViewPtr)
 {
@@ -1050,6 +1080,316 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeWhere(
     return 0;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetRange(
+    JNIEnv *env, jobject, jlong nativeViewPtr, jlong offset, jlong limit)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return 0;
+
+        // A query restricted to a view visits the rows in the order of the view, so start and limit select a range
+        // of the view instead of a range of the table. Syncing the result syncs the view it is based on first.
+        Query query = TV(nativeViewPtr)->get_parent().where(TV(nativeViewPtr));
+        TableView* tableView = new TableView(query.find_all(S(offset), size_t(-1), S(limit)));
+        return reinterpret_cast<jlong>(tableView);
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetLongs(
+    JNIEnv *env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        TableView* tv = TV(nativeViewPtr);
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) || !COL_INDEX_VALID(env, tv, columnIndex))
+            return NULL;
+
+        std::vector<jlong> values(tv->size());
+        if (!copy_longs(env, tv->get_parent(), tv->size(), ViewRowAt{tv}, S(columnIndex), values.data()))
+            return NULL;
+
+        jlongArray result = env->NewLongArray(values.size());
+        if (!result) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the values.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, values.size(), values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableView_nativeGetDoubles(
+    JNIEnv *env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        TableView* tv = TV(nativeViewPtr);
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) || !COL_INDEX_VALID(env, tv, columnIndex))
+            return NULL;
+
+        std::vector<jdouble> values(tv->size());
+        if (!copy_doubles(env, tv->get_parent(), tv->size(), ViewRowAt{tv}, S(columnIndex), values.data()))
+            return NULL;
+
+        jdoubleArray result = env->NewDoubleArray(values.size());
+        if (!result) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the values.");
+            return NULL;
+        }
+        env->SetDoubleArrayRegion(result, 0, values.size(), values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGetStrings(
+    JNIEnv *env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        TableView* tv = TV(nativeViewPtr);
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) || !COL_INDEX_AND_TYPE_VALID(env, tv, columnIndex, type_String))
+            return NULL;
+
+        return copy_strings(env, tv->get_parent(), tv->size(), ViewRowAt{tv}, S(columnIndex));
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetLongsIntoBuffer(
+    JNIEnv *env, jobject, jlong nativeViewPtr, jlong columnIndex, jobject buffer, jlong byteOffset)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        TableView* tv = TV(nativeViewPtr);
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) || !COL_INDEX_VALID(env, tv, columnIndex))
+            return;
+
+        jlong* target = get_buffer_target<jlong>(env, tv->size(), buffer, byteOffset);
+        if (target != NULL) {
+            copy_longs(env, tv->get_parent(), tv->size(), ViewRowAt{tv}, S(columnIndex), target);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetDoublesIntoBuffer(
+    JNIEnv *env, jobject, jlong nativeViewPtr, jlong columnIndex, jobject buffer, jlong byteOffset)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        TableView* tv = TV(nativeViewPtr);
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) || !COL_INDEX_VALID(env, tv, columnIndex))
+            return;
+
+        jdouble* target = get_buffer_target<jdouble>(env, tv->size(), buffer, byteOffset);
+        if (target != NULL) {
+            copy_doubles(env, tv->get_parent(), tv->size(), ViewRowAt{tv}, S(columnIndex), target);
+        }
+    } CATCH_STD()
+}
+
+// Group by ---------------------------------------------------
+
+// Must match the AGGREGATE_ constants of io.realm.RealmGroupBy
+#define GROUP_COUNT 0
+#define GROUP_SUM   1
+#define GROUP_MIN   2
+#define GROUP_MAX   3
+
+// Number of longs describing a group in the array returned to Java: null key, key, first row, rows, values, value.
+#define GROUP_FIELDS 6
+
+namespace {
+
+struct Group {
+    size_t first_row;
+    int64_t row_count;
+    int64_t value_count;
+    int64_t int_value;
+    double double_value;
+};
+
+// Folds the value column of the rows into their group. Integer values are aggregated as int64_t, float and double
+// values as double, and null values are only counted as rows.
+class GroupAggregator {
+public:
+    GroupAggregator(const Table& table, jint aggregate, size_t column)
+        : m_table(table), m_aggregate(aggregate), m_column(column)
+    {
+        if (m_aggregate != GROUP_COUNT) {
+            m_type = table.get_column_type(column);
+            m_nullable = table.is_nullable(column);
+        }
+    }
+
+    void add(Group& group, size_t row) const
+    {
+        if (group.row_count++ == 0) {
+            group.first_row = row;
+        }
+        if (m_aggregate == GROUP_COUNT || (m_nullable && m_table.is_null(m_column, row))) {
+            return;
+        }
+        if (m_type == type_Int) {
+            int64_t value = m_table.get_int(m_column, row);
+            if (group.value_count == 0) {
+                group.int_value = value;
+            }
+            else if (m_aggregate == GROUP_SUM) {
+                group.int_value += value;
+            }
+            else if (m_aggregate == GROUP_MIN ? value < group.int_value : value > group.int_value) {
+                group.int_value = value;
+            }
+        }
+        else {
+            double value = (m_type == type_Float) ? m_table.get_float(m_column, row) : m_table.get_double(m_column, row);
+            if (group.value_count == 0) {
+                group.double_value = value;
+            }
+            else if (m_aggregate == GROUP_SUM) {
+                group.double_value += value;
+            }
+            else if (m_aggregate == GROUP_MIN ? value < group.double_value : value > group.double_value) {
+                group.double_value = value;
+            }
+        }
+        ++group.value_count;
+    }
+
+    void write(const Group& group, bool null_key, int64_t key, std::vector<jlong>& target) const
+    {
+        target.push_back(null_key ? 1 : 0);
+        target.push_back(key);
+        target.push_back(static_cast<jlong>(group.first_row));
+        target.push_back(group.row_count);
+        target.push_back(group.value_count);
+        if (m_aggregate == GROUP_COUNT || m_type == type_Int) {
+            target.push_back(group.int_value);
+        }
+        else {
+            jlong bits;
+            std::memcpy(&bits, &group.double_value, sizeof(bits));
+            target.push_back(bits);
+        }
+    }
+
+private:
+    const Table& m_table;
+    const jint m_aggregate;
+    const size_t m_column;
+    DataType m_type = type_Int;
+    bool m_nullable = false;
+};
+
+// Groups the rows of the view by the key returned by get_key, in a single pass over the view. Rows with a null key
+// form a group of their own, which comes first. The other groups are in ascending order of their key.
+template <typename Key, typename GetKey>
+void group_rows(const TableView* tv, size_t key_column, const GroupAggregator& aggregator, std::vector<jlong>& target,
+                GetKey get_key, std::function<int64_t(const Key&)> key_to_long)
+{
+    const Table& table = tv->get_parent();
+    const bool nullable = table.is_nullable(key_column);
+    Group empty = {0, 0, 0, 0, 0};
+    Group null_group = empty;
+    std::map<Key, Group> groups;
+    const size_t size = tv->size();
+    for (size_t i = 0; i < size; ++i) {
+        size_t row = tv->get_source_ndx(i);
+        if (nullable && table.is_null(key_column, row)) {
+            aggregator.add(null_group, row);
+            continue;
+        }
+        auto it = groups.insert(std::make_pair(get_key(table, key_column, row), empty)).first;
+        aggregator.add(it->second, row);
+    }
+
+    target.reserve((groups.size() + 1) * GROUP_FIELDS);
+    if (null_group.row_count > 0) {
+        aggregator.write(null_group, true, 0, target);
+    }
+    for (auto& group : groups) {
+        aggregator.write(group.second, false, key_to_long(group.first), target);
+    }
+}
+
+int64_t floor_to_bucket(int64_t seconds, int64_t bucket)
+{
+    int64_t remainder = seconds % bucket;
+    return seconds - ((remainder < 0) ? remainder + bucket : remainder);
+}
+
+} // anonymous namespace
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGroupBy(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong keyColumnIndex, jlong bucketSeconds, jint aggregate,
+    jlong valueColumnIndex)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        TableView* tv = TV(nativeViewPtr);
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) || !COL_INDEX_VALID(env, tv, keyColumnIndex) ||
+                (aggregate != GROUP_COUNT && !COL_INDEX_VALID(env, tv, valueColumnIndex))) {
+            return NULL;
+        }
+        if (aggregate != GROUP_COUNT) {
+            DataType value_type = tv->get_column_type(S(valueColumnIndex));
+            if (value_type != type_Int && value_type != type_Float && value_type != type_Double) {
+                ThrowException(env, IllegalArgument, "Only integer, float and double columns can be aggregated.");
+                return NULL;
+            }
+        }
+
+        GroupAggregator aggregator(tv->get_parent(), aggregate, S(valueColumnIndex));
+        std::vector<jlong> groups;
+        size_t key_column = S(keyColumnIndex);
+        switch (tv->get_column_type(key_column)) {
+            case type_String:
+                // The keys point into the table, which doesn't change while grouping. Java reads them back from the
+                // first row of each group.
+                group_rows<StringData>(tv, key_column, aggregator, groups,
+                        [](const Table& table, size_t col, size_t row) { return table.get_string(col, row); },
+                        [](const StringData&) { return int64_t(0); });
+                break;
+            case type_Int:
+                group_rows<int64_t>(tv, key_column, aggregator, groups,
+                        [](const Table& table, size_t col, size_t row) { return table.get_int(col, row); },
+                        [](const int64_t& key) { return key; });
+                break;
+            case type_Bool:
+                group_rows<int64_t>(tv, key_column, aggregator, groups,
+                        [](const Table& table, size_t col, size_t row) { return int64_t(table.get_bool(col, row)); },
+                        [](const int64_t& key) { return key; });
+                break;
+            case type_DateTime: {
+                // Dates are stored in seconds, each group covers bucketSeconds starting at a multiple of it.
+                int64_t bucket = bucketSeconds;
+                group_rows<int64_t>(tv, key_column, aggregator, groups,
+                        [bucket](const Table& table, size_t col, size_t row) {
+                            return floor_to_bucket(table.get_datetime(col, row).get_datetime(), bucket);
+                        },
+                        [](const int64_t& key) { return key; });
+                break;
+            }
+            default:
+                ThrowException(env, IllegalArgument, "Only String, integer, boolean and date columns can be grouped by.");
+                return NULL;
+        }
+
+        jlongArray result = env->NewLongArray(groups.size());
+        if (!result) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the groups.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, groups.size(), groups.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync(
     JNIEnv* env, jobject, jlong nativeViewPtr)
 {
@@ -1066,6 +1406,40 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync(
     return 0;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSyncSorted(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jboolean ascending, jlong sortLimit)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    if (!is_view_valid(env, nativeViewPtr))
+        return 0;
+    try {
+        TableView* tableView = TV(nativeViewPtr);
+        if (!tableView->is_in_sync()) {
+            // Syncing the view the way core does would keep all the matches, find the first ones again instead.
+            // The view is updated in place, as the ranges of the view point to it.
+            Query query(tableView->get_query());
+            *tableView = find_all_sorted(query, 0, size_t(-1), S(sortLimit), S(columnIndex), ascending != 0);
+        }
+        return (jlong) tableView->sync_if_needed();
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_TableView_nativeIsInSync(
+    JNIEnv* env, jobject, jlong nativeViewPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    if (!is_view_valid(env, nativeViewPtr)) {
+        return JNI_FALSE;
+    }
+    try {
+        return TV(nativeViewPtr)->is_in_sync() ? JNI_TRUE : JNI_FALSE;
+    } catch (realm::DeletedLinkView&) {
+        // FIXME: Temp fix for https://github.com/realm/realm-core/pull/1434
+        return JNI_FALSE;
+    }
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeFindBySourceNdx
         (JNIEnv *env, jobject, jlong nativeViewPtr, jlong sourceIndex)
 {
@@ -1079,3 +1453,20 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeFindBySourceNdx
     } CATCH_STD()
     return -1;
 }
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCopyToSharedGroup
+        (JNIEnv *env, jobject, jlong nativeViewPtr, jlong sharedGroupPtr, jlong targetSharedGroupPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr);
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return 0;
+
+        // Both SharedGroups must be at the same version, the rows are copied as they are without running the query.
+        std::unique_ptr<SharedGroup::Handover<TableView> > handover =
+                SG(sharedGroupPtr)->export_for_handover(*TV(nativeViewPtr), ConstSourcePayload::Copy);
+        std::unique_ptr<TableView> tableView = SG(targetSharedGroupPtr)->import_from_handover(std::move(handover));
+        return reinterpret_cast<jlong>(tableView.release());
+    } CATCH_STD()
+    return 0;
+}
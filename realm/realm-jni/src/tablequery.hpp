@@ -56,4 +56,8 @@ public:
 
 #define TQ(ptr) reinterpret_cast<TableQuery*>(ptr)
 
+// Runs the query and sorts the results, keeping the first `limit` rows if a limit is given.
+realm::TableView find_all_sorted(realm::Query& query, size_t start, size_t end, size_t limit, size_t column_index,
+                                 bool ascending);
+
 #endif // __REALM_TABLEQUERY__
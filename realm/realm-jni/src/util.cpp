@@ -430,3 +430,100 @@ JStringAccessor::JStringAccessor(JNIEnv* env, jstring str)
         m_size = out_begin - m_data.get();
     }
 }
+
+namespace {
+
+// FNV-1a
+const uint64_t hash_offset = 14695981039346656037ULL;
+const uint64_t hash_prime = 1099511628211ULL;
+const uint64_t null_hash = 0x6e756c6cULL;
+
+uint64_t hash_bytes(const char* data, size_t size, uint64_t hash = hash_offset)
+{
+    for (size_t i = 0; i < size; ++i) {
+        hash ^= static_cast<unsigned char>(data[i]);
+        hash *= hash_prime;
+    }
+    return hash;
+}
+
+uint64_t hash_combine(uint64_t hash, uint64_t value)
+{
+    return hash_bytes(reinterpret_cast<const char*>(&value), sizeof(value), hash);
+}
+
+} // anonymous namespace
+
+jlong value_hash(Table& table, size_t column_ndx, size_t row_ndx)
+{
+    uint64_t hash;
+    switch (table.get_column_type(column_ndx)) {
+        case type_Int:
+            hash = table.is_null(column_ndx, row_ndx) ? null_hash
+                    : hash_combine(hash_offset, static_cast<uint64_t>(table.get_int(column_ndx, row_ndx)));
+            break;
+        case type_Bool:
+            hash = table.is_null(column_ndx, row_ndx) ? null_hash
+                    : hash_combine(hash_offset, table.get_bool(column_ndx, row_ndx) ? 1 : 0);
+            break;
+        case type_Float: {
+            if (table.is_null(column_ndx, row_ndx)) {
+                hash = null_hash;
+            } else {
+                float value = table.get_float(column_ndx, row_ndx);
+                hash = hash_bytes(reinterpret_cast<const char*>(&value), sizeof(value));
+            }
+            break;
+        }
+        case type_Double: {
+            if (table.is_null(column_ndx, row_ndx)) {
+                hash = null_hash;
+            } else {
+                double value = table.get_double(column_ndx, row_ndx);
+                hash = hash_bytes(reinterpret_cast<const char*>(&value), sizeof(value));
+            }
+            break;
+        }
+        case type_DateTime:
+            hash = table.is_null(column_ndx, row_ndx) ? null_hash
+                    : hash_combine(hash_offset, static_cast<uint64_t>(table.get_datetime(column_ndx, row_ndx).get_datetime()));
+            break;
+        case type_String: {
+            StringData value = table.get_string(column_ndx, row_ndx);
+            hash = value.is_null() ? null_hash : hash_bytes(value.data(), value.size());
+            break;
+        }
+        case type_Binary: {
+            BinaryData value = table.get_binary(column_ndx, row_ndx);
+            hash = value.is_null() ? null_hash : hash_bytes(value.data(), value.size());
+            break;
+        }
+        case type_Link:
+            hash = table.is_null_link(column_ndx, row_ndx) ? null_hash
+                    : hash_combine(hash_offset, table.get_link(column_ndx, row_ndx));
+            break;
+        case type_LinkList: {
+            LinkViewRef links = table.get_linklist(column_ndx, row_ndx);
+            hash = hash_combine(hash_offset, links->size());
+            for (size_t i = 0; i < links->size(); ++i) {
+                hash = hash_combine(hash, links->get(i).get_index());
+            }
+            break;
+        }
+        default:
+            // Mixed and subtables are not used by the object store
+            hash = null_hash;
+            break;
+    }
+    return static_cast<jlong>(hash);
+}
+
+jlong row_hash(Table& table, size_t row_ndx)
+{
+    uint64_t hash = hash_offset;
+    const size_t column_count = table.get_column_count();
+    for (size_t i = 0; i < column_count; ++i) {
+        hash = hash_combine(hash, static_cast<uint64_t>(value_hash(table, i, row_ndx)));
+    }
+    return static_cast<jlong>(hash);
+}
@@ -489,6 +489,11 @@ inline bool TblIndexAndTypeInsertValid(JNIEnv* env, T* pTable, jlong columnIndex
 
 bool GetBinaryData(JNIEnv* env, jobject jByteBuffer, realm::BinaryData& data);
 
+// Hashes of the content of rows, used to find which rows and fields changed between two versions.
+// Equal values give equal hashes, different values are very likely to give different hashes.
+jlong value_hash(realm::Table& table, size_t column_ndx, size_t row_ndx);
+jlong row_hash(realm::Table& table, size_t row_ndx);
+
 
 // Utility function for appending StringData, which is returned
 // by a lot of core functions, and might potentially be NULL.
@@ -730,6 +730,105 @@ public class DynamicRealmObjectTests {
         assertEquals(RealmFieldType.INTEGER, dObj.getFieldType(AllJavaTypes.FIELD_LONG));
     }
 
+    @Test
+    public void typedGettersAndSetters_byFieldIndex() {
+        long stringIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_STRING);
+        long shortIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_SHORT);
+        long intIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_INT);
+        long longIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_LONG);
+        long byteIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_BYTE);
+        long floatIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_FLOAT);
+        long doubleIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_DOUBLE);
+        long booleanIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_BOOLEAN);
+        long dateIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_DATE);
+        long binaryIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_BINARY);
+        long objectIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_OBJECT);
+        long listIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_LIST);
+
+        assertEquals("str", dObj.getString(stringIndex));
+        assertEquals(1, dObj.getShort(shortIndex));
+        assertEquals(1, dObj.getInt(intIndex));
+        assertEquals(1, dObj.getLong(longIndex));
+        assertEquals(4, dObj.getByte(byteIndex));
+        assertEquals(1.23f, dObj.getFloat(floatIndex), 0f);
+        assertEquals(1.234d, dObj.getDouble(doubleIndex), 0d);
+        assertTrue(dObj.getBoolean(booleanIndex));
+        assertEquals(new Date(1000), dObj.getDate(dateIndex));
+        assertArrayEquals(new byte[]{1, 2, 3}, dObj.getBlob(binaryIndex));
+        assertEquals(dObj, dObj.getObject(objectIndex));
+        assertEquals(1, dObj.getList(listIndex).size());
+        assertEquals("str", dObj.get(stringIndex));
+        assertFalse(dObj.isNull(objectIndex));
+
+        realm.beginTransaction();
+        dObj.setString(stringIndex, "foo");
+        dObj.setShort(shortIndex, (short) 2);
+        dObj.setInt(intIndex, 3);
+        dObj.setLong(longIndex, 4);
+        dObj.setByte(byteIndex, (byte) 5);
+        dObj.setFloat(floatIndex, 6.5f);
+        dObj.setDouble(doubleIndex, 7.5d);
+        dObj.setBoolean(booleanIndex, false);
+        dObj.setDate(dateIndex, new Date(2000));
+        dObj.setBlob(binaryIndex, new byte[]{4});
+        dObj.setNull(objectIndex);
+        realm.commitTransaction();
+
+        assertEquals("foo", typedObj.getFieldString());
+        assertEquals(2, typedObj.getFieldShort());
+        assertEquals(3, typedObj.getFieldInt());
+        assertEquals(4, typedObj.getFieldLong());
+        assertEquals(5, typedObj.getFieldByte());
+        assertEquals(6.5f, typedObj.getFieldFloat(), 0f);
+        assertEquals(7.5d, typedObj.getFieldDouble(), 0d);
+        assertFalse(typedObj.isFieldBoolean());
+        assertEquals(new Date(2000), typedObj.getFieldDate());
+        assertArrayEquals(new byte[]{4}, typedObj.getFieldBinary());
+        assertNull(typedObj.getFieldObject());
+        assertTrue(dObj.isNull(objectIndex));
+    }
+
+    @Test
+    public void getFieldIndex_illegalFieldNameThrows() {
+        for (String fieldName : Arrays.asList(null, "foo", AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_STRING)) {
+            try {
+                dObj.getFieldIndex(fieldName);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void fieldIndex_outOfRangeThrows() {
+        long columnCount = dObj.getFieldNames().length;
+        for (long columnIndex : new long[] {-1, columnCount}) {
+            try {
+                dObj.getLong(columnIndex);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+            try {
+                dObj.get(columnIndex);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void fieldIndex_sharedByObjectsOfTheSameType() {
+        realm.beginTransaction();
+        AllJavaTypes otherObj = realm.createObject(AllJavaTypes.class);
+        otherObj.setFieldLong(42);
+        realm.commitTransaction();
+
+        long longIndex = dObj.getFieldIndex(AllJavaTypes.FIELD_LONG);
+        DynamicRealmObject otherDynamicObj = new DynamicRealmObject(otherObj);
+        assertEquals(longIndex, otherDynamicObj.getFieldIndex(AllJavaTypes.FIELD_LONG));
+        assertEquals(42, otherDynamicObj.getLong(longIndex));
+    }
+
     @Test
     public void equals() {
         AllJavaTypes obj1 = realm.where(AllJavaTypes.class).findFirst();
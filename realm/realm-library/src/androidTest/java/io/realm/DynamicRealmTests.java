@@ -750,6 +750,33 @@ public class DynamicRealmTests {
                 .findFirstAsync();
     }
 
+    @Test
+    public void fieldAccess_afterSchemaChange() {
+        realm.beginTransaction();
+        RealmObjectSchema schema = realm.getSchema().create("SchemaChange")
+                .addField("a", String.class)
+                .addField("b", long.class);
+        DynamicRealmObject obj = realm.createObject("SchemaChange");
+        obj.setLong("b", 42);
+        assertEquals(1, obj.getFieldIndex("b"));
+
+        // Removing a field moves the fields after it.
+        schema.removeField("a");
+        assertFalse(obj.hasField("a"));
+        assertEquals(0, obj.getFieldIndex("b"));
+        assertEquals(42, obj.getLong("b"));
+        assertEquals(1, realm.where("SchemaChange").equalTo("b", 42).count());
+
+        schema.renameField("b", "c");
+        assertFalse(obj.hasField("b"));
+        assertEquals(42, obj.getLong("c"));
+
+        schema.addField("d", String.class);
+        obj.setString("d", "foo");
+        assertEquals("foo", obj.getString(obj.getFieldIndex("d")));
+        realm.cancelTransaction();
+    }
+
     @Test
     public void clear_all() {
         realm.beginTransaction();
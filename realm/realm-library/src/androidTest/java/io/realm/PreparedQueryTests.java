@@ -0,0 +1,221 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.realm;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.realm.entities.Dog;
+import io.realm.entities.Owner;
+import io.realm.rule.TestRealmConfigurationFactory;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class PreparedQueryTests {
+    @Rule
+    public final TestRealmConfigurationFactory configFactory = new TestRealmConfigurationFactory();
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private static final int TEST_DATA_SIZE = 10;
+
+    private RealmConfiguration realmConfig;
+    private Realm realm;
+
+    @Before
+    public void setUp() {
+        realmConfig = configFactory.createConfiguration();
+        realm = Realm.getInstance(realmConfig);
+        populateTestRealm();
+    }
+
+    @After
+    public void tearDown() {
+        if (realm != null) {
+            realm.close();
+        }
+    }
+
+    private void populateTestRealm() {
+        realm.beginTransaction();
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("Owner " + (i % 2));
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName((i % 2 == 0 ? "Fido " : "Rex ") + i);
+            dog.setAge(i);
+            dog.setHeight(i / 10f);
+            dog.setWeight(i * 10d);
+            dog.setHasTail(i % 3 != 0);
+            dog.setBirthday(new Date(i * 1000L));
+            dog.setOwner(owner);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void where_bindsValuesInOrder() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class)
+                .beginsWith(Dog.FIELD_NAME, Case.INSENSITIVE)
+                .greaterThanOrEqualTo(Dog.FIELD_AGE)
+                .build();
+        assertEquals(2, query.getParameterCount());
+
+        assertEquals(3, query.where(realm, "fido", 4).count());
+        assertEquals(4, query.where(realm, "REX", 2).count());
+        // The same query can be run again with other values, like for search-as-you-type
+        assertEquals(5, query.where(realm, "f", 0).findAll().size());
+        assertEquals(1, query.where(realm, "fido 8", 0).findAll().size());
+        assertEquals(0, query.where(realm, "fido 8", 9).findAll().size());
+    }
+
+    @Test
+    public void where_allConditions() {
+        assertEquals(1, count(new PreparedQuery.Builder<Dog>(Dog.class).equalTo(Dog.FIELD_NAME), "Rex 3"));
+        assertEquals(1, count(new PreparedQuery.Builder<Dog>(Dog.class).equalTo(Dog.FIELD_NAME, Case.INSENSITIVE),
+                "rex 3"));
+        assertEquals(9, count(new PreparedQuery.Builder<Dog>(Dog.class).notEqualTo(Dog.FIELD_AGE), 3));
+        assertEquals(6, count(new PreparedQuery.Builder<Dog>(Dog.class).equalTo("hasTail"), true));
+        assertEquals(4, count(new PreparedQuery.Builder<Dog>(Dog.class).notEqualTo("hasTail"), true));
+        assertEquals(1, count(new PreparedQuery.Builder<Dog>(Dog.class).equalTo(Dog.FIELD_WEIGHT), 30d));
+        assertEquals(1, count(new PreparedQuery.Builder<Dog>(Dog.class).equalTo(Dog.FIELD_BIRTHDAY), new Date(2000)));
+        assertEquals(2, count(new PreparedQuery.Builder<Dog>(Dog.class).greaterThan(Dog.FIELD_HEIGHT), 0.75f));
+        assertEquals(3, count(new PreparedQuery.Builder<Dog>(Dog.class).lessThan(Dog.FIELD_WEIGHT), 30));
+        assertEquals(4, count(new PreparedQuery.Builder<Dog>(Dog.class).lessThanOrEqualTo(Dog.FIELD_BIRTHDAY),
+                new Date(3000)));
+        assertEquals(3, count(new PreparedQuery.Builder<Dog>(Dog.class).between(Dog.FIELD_AGE), 2, 4));
+        assertEquals(1, count(new PreparedQuery.Builder<Dog>(Dog.class).endsWith(Dog.FIELD_NAME), "x 1"));
+    }
+
+    @Test
+    public void where_groupsAndLinks() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class)
+                .equalTo("owner.name")
+                .beginGroup()
+                    .lessThan(Dog.FIELD_AGE)
+                    .or()
+                    .not().contains(Dog.FIELD_NAME)
+                .endGroup()
+                .build();
+        // Owner 0 has the even dogs, which are all named Fido
+        assertEquals(2, query.where(realm, "Owner 0", 4, "Fido").count());
+        assertEquals(5, query.where(realm, "Owner 0", 4, "Rex").count());
+    }
+
+    @Test
+    public void where_nullValues() {
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+
+        PreparedQuery<Dog> isNull = new PreparedQuery.Builder<Dog>(Dog.class).equalTo(Dog.FIELD_NAME).build();
+        assertEquals(1, isNull.where(realm, (Object) null).count());
+        PreparedQuery<Dog> isNotNull = new PreparedQuery.Builder<Dog>(Dog.class).notEqualTo(Dog.FIELD_NAME).build();
+        assertEquals(TEST_DATA_SIZE, isNotNull.where(realm, (Object) null).count());
+        assertEquals(1, new PreparedQuery.Builder<Dog>(Dog.class).isNull(Dog.FIELD_BIRTHDAY).build().where(realm).count());
+    }
+
+    @Test
+    public void where_canBeRefined() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class).greaterThan(Dog.FIELD_AGE).build();
+        RealmResults<Dog> results = query.where(realm, 2)
+                .lessThan(Dog.FIELD_AGE, 6)
+                .findAllSorted(Dog.FIELD_AGE, Sort.DESCENDING);
+        assertEquals(3, results.size());
+        assertEquals(5, results.first().getAge());
+    }
+
+    @Test
+    public void where_otherThread() throws Exception {
+        final PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class).lessThan(Dog.FIELD_AGE).build();
+        assertEquals(3, query.where(realm, 3).count());
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Long> future = executorService.submit(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                Realm realm = Realm.getInstance(realmConfig);
+                try {
+                    return query.where(realm, 5).count();
+                } finally {
+                    realm.close();
+                }
+            }
+        });
+        assertEquals(5, future.get().longValue());
+        executorService.shutdown();
+    }
+
+    @Test
+    public void where_wrongNumberOfValuesThrows() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class).between(Dog.FIELD_AGE).build();
+        thrown.expect(IllegalArgumentException.class);
+        query.where(realm, 2);
+    }
+
+    @Test
+    public void where_wrongTypeThrows() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class).equalTo(Dog.FIELD_AGE).build();
+        thrown.expect(IllegalArgumentException.class);
+        query.where(realm, "2");
+    }
+
+    @Test
+    public void where_floatingPointValueForIntegerFieldThrows() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class).equalTo(Dog.FIELD_AGE).build();
+        thrown.expect(IllegalArgumentException.class);
+        query.where(realm, 2.5d);
+    }
+
+    @Test
+    public void where_nullValueForComparisonThrows() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class).greaterThan(Dog.FIELD_AGE).build();
+        thrown.expect(IllegalArgumentException.class);
+        query.where(realm, (Object) null);
+    }
+
+    @Test
+    public void where_invalidFieldThrows() {
+        PreparedQuery<Dog> query = new PreparedQuery.Builder<Dog>(Dog.class).beginsWith(Dog.FIELD_AGE).build();
+        thrown.expect(IllegalArgumentException.class);
+        query.where(realm, "2");
+    }
+
+    @Test
+    public void builder_emptyFieldNameThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        new PreparedQuery.Builder<Dog>(Dog.class).equalTo("");
+    }
+
+    private long count(PreparedQuery.Builder<Dog> builder, Object... values) {
+        return builder.build().where(realm, values).count();
+    }
+}
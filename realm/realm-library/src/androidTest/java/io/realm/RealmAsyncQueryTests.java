@@ -32,14 +32,19 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.AnnotationIndexTypes;
@@ -321,6 +326,164 @@ public class RealmAsyncQueryTests {
         }, transactionCallback);
     }
 
+    // async transactions queued together are committed in one write transaction, a failing one doesn't prevent
+    // the others from being committed
+    @Test
+    @RunTestInLooperThread
+    public void executeTransactionAsync_groupCommit() {
+        RealmConfiguration configuration = new RealmConfiguration.Builder(context)
+                .name("group_commit.realm")
+                .groupAsyncTransactions()
+                .build();
+        Realm.deleteRealm(configuration);
+        final Realm realm = Realm.getInstance(configuration);
+        final AtomicInteger callbacks = new AtomicInteger(0);
+        final Runnable checkCompleted = new Runnable() {
+            @Override
+            public void run() {
+                if (callbacks.incrementAndGet() == 3) {
+                    realm.refresh();
+                    assertEquals(2, realm.allObjects(Owner.class).size());
+                    realm.close();
+                    looperThread.testComplete();
+                }
+            }
+        };
+
+        for (int i = 0; i < 3; i++) {
+            final boolean failing = (i == 1);
+            realm.executeTransactionAsync(new Realm.Transaction() {
+                @Override
+                public void execute(Realm bgRealm) {
+                    bgRealm.createObject(Owner.class);
+                    if (failing) {
+                        throw new RuntimeException("Boom");
+                    }
+                }
+            }, new Realm.Transaction.OnSuccess() {
+                @Override
+                public void onSuccess() {
+                    assertFalse(failing);
+                    checkCompleted.run();
+                }
+            }, new Realm.Transaction.OnError() {
+                @Override
+                public void onError(Throwable error) {
+                    assertTrue(failing);
+                    assertEquals("Boom", error.getMessage());
+                    checkCompleted.run();
+                }
+            });
+        }
+    }
+
+    // A failing transaction in a group only makes the transactions before it run a second time
+    @Test
+    @RunTestInLooperThread
+    public void executeTransactionAsync_groupCommitRunsTransactionsTwiceAtMost() {
+        RealmConfiguration configuration = new RealmConfiguration.Builder(context)
+                .name("group_commit.realm")
+                .groupAsyncTransactions()
+                .build();
+        Realm.deleteRealm(configuration);
+        final Realm realm = Realm.getInstance(configuration);
+        final int transactionCount = 10;
+        final AtomicInteger[] executions = new AtomicInteger[transactionCount];
+        final AtomicInteger callbacks = new AtomicInteger(0);
+        final Runnable checkCompleted = new Runnable() {
+            @Override
+            public void run() {
+                if (callbacks.incrementAndGet() == transactionCount) {
+                    realm.refresh();
+                    assertEquals(transactionCount - 2, realm.allObjects(Owner.class).size());
+                    for (int i = 0; i < transactionCount; i++) {
+                        assertTrue(executions[i].get() <= 2);
+                        if (i > 7) {
+                            // Nothing fails after them.
+                            assertEquals(1, executions[i].get());
+                        }
+                    }
+                    realm.close();
+                    looperThread.testComplete();
+                }
+            }
+        };
+
+        for (int i = 0; i < transactionCount; i++) {
+            final int index = i;
+            final boolean failing = (i == 3 || i == 7);
+            executions[i] = new AtomicInteger(0);
+            realm.executeTransactionAsync(new Realm.Transaction() {
+                @Override
+                public void execute(Realm bgRealm) {
+                    executions[index].incrementAndGet();
+                    bgRealm.createObject(Owner.class);
+                    if (failing) {
+                        throw new RuntimeException("Boom");
+                    }
+                }
+            }, new Realm.Transaction.OnSuccess() {
+                @Override
+                public void onSuccess() {
+                    assertFalse(failing);
+                    checkCompleted.run();
+                }
+            }, new Realm.Transaction.OnError() {
+                @Override
+                public void onError(Throwable error) {
+                    assertTrue(failing);
+                    assertEquals(1, executions[index].get());
+                    checkCompleted.run();
+                }
+            });
+        }
+    }
+
+    // A transaction cancelled while its group is executed is neither committed nor notified
+    @Test
+    @RunTestInLooperThread
+    public void executeTransactionAsync_groupCommitCancelledWhileRunning() {
+        RealmConfiguration configuration = new RealmConfiguration.Builder(context)
+                .name("group_commit.realm")
+                .groupAsyncTransactions()
+                .build();
+        Realm.deleteRealm(configuration);
+        final Realm realm = Realm.getInstance(configuration);
+        final CountDownLatch taskSet = new CountDownLatch(1);
+        final AtomicReference<RealmAsyncTask> task = new AtomicReference<RealmAsyncTask>();
+
+        task.set(realm.executeTransactionAsync(new Realm.Transaction() {
+            @Override
+            public void execute(Realm bgRealm) {
+                bgRealm.createObject(Owner.class).setName("cancelled");
+                TestHelper.awaitOrFail(taskSet);
+                task.get().cancel();
+            }
+        }, new Realm.Transaction.OnSuccess() {
+            @Override
+            public void onSuccess() {
+                fail("A cancelled transaction must not be notified");
+            }
+        }, null));
+        taskSet.countDown();
+
+        realm.executeTransactionAsync(new Realm.Transaction() {
+            @Override
+            public void execute(Realm bgRealm) {
+                bgRealm.createObject(Owner.class).setName("committed");
+            }
+        }, new Realm.Transaction.OnSuccess() {
+            @Override
+            public void onSuccess() {
+                realm.refresh();
+                assertEquals(1, realm.allObjects(Owner.class).size());
+                assertEquals("committed", realm.allObjects(Owner.class).first().getName());
+                realm.close();
+                looperThread.testComplete();
+            }
+        }, null);
+    }
+
     // ************************************
     // *** promises based async queries ***
     // ************************************
@@ -534,6 +697,45 @@ public class RealmAsyncQueryTests {
         looperThread.keepStrongReference.add(realmResults);
     }
 
+    // Bulk getters and groupBy() must not read the whole table of the class while the results are loading
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_bulkReadBeforeLoaded() throws Throwable {
+        Realm.asyncQueryExecutor.pause();
+
+        populateTestRealm(looperThread.realm, 10);
+        final RealmResults<AllTypes> realmResults = looperThread.realm.where(AllTypes.class)
+                .between("columnLong", 0, 4)
+                .findAllAsync();
+
+        realmResults.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals(5, realmResults.getLongs(AllTypes.FIELD_LONG).length);
+                assertEquals(5, realmResults.groupBy(AllTypes.FIELD_LONG).count().size());
+                looperThread.testComplete();
+            }
+        });
+
+        assertFalse(realmResults.isLoaded());
+        assertEquals(0, realmResults.getLongs(AllTypes.FIELD_LONG).length);
+        assertEquals(0, realmResults.getDoubles(AllTypes.FIELD_DOUBLE).length);
+        assertEquals(0, realmResults.getStrings(AllTypes.FIELD_STRING).length);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(0).order(ByteOrder.nativeOrder());
+        realmResults.getLongs(AllTypes.FIELD_LONG, buffer);
+        realmResults.getDoubles(AllTypes.FIELD_DOUBLE, buffer);
+        assertEquals(0, buffer.position());
+        // There is no view to group yet
+        try {
+            realmResults.groupBy(AllTypes.FIELD_LONG).count();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        Realm.asyncQueryExecutor.resume();
+        looperThread.keepStrongReference.add(realmResults);
+    }
+
     // transforming an async query into sync by calling load to force
     // the blocking behaviour
     @Test
@@ -1218,6 +1420,25 @@ public class RealmAsyncQueryTests {
         looperThread.keepStrongReference.add(firstAsync);
     }
 
+    @Test
+    @RunTestInLooperThread
+    public void findFirstAsync_limitAndOffset() throws Throwable {
+        populateTestRealm(looperThread.realm, 10);
+        final AllTypes firstAsync = looperThread.realm.where(AllTypes.class).offset(3).findFirstAsync();
+        final AllTypes noneAsync = looperThread.realm.where(AllTypes.class).limit(0).findFirstAsync();
+        looperThread.keepStrongReference.add(noneAsync);
+        firstAsync.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals(3, firstAsync.getColumnLong());
+                assertTrue(noneAsync.load());
+                assertFalse(noneAsync.isValid());
+                looperThread.testComplete();
+            }
+        });
+        looperThread.keepStrongReference.add(firstAsync);
+    }
+
     @Test
     @RunTestInLooperThread
     public void findFirstAsync_updatedIfsyncRealmObjectIsUpdated() throws Throwable {
@@ -2478,6 +2699,148 @@ public class RealmAsyncQueryTests {
         TestHelper.exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
     }
 
+    // Results of async queries are kept by the next update unless one of their tables changed
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_dependencies() {
+        final Realm realm = looperThread.realm;
+        final RealmResults<Dog> dogs = realm.where(Dog.class).findAllAsync();
+        assertFalse(dogs.isUpToDate());
+
+        dogs.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogs.removeChangeListener(this);
+                List<String> dependencies = Arrays.asList(dogs.getDependentTableNames());
+                assertTrue(dependencies.contains("class_Dog"));
+                // Dog links to Owner, which links to Cat
+                assertTrue(dependencies.contains("class_Owner"));
+                assertTrue(dependencies.contains("class_Cat"));
+                assertTrue(dogs.isUpToDate());
+
+                realm.beginTransaction();
+                realm.createObject(Dog.class);
+                realm.commitTransaction();
+                assertFalse(dogs.isUpToDate());
+                looperThread.testComplete();
+            }
+        });
+    }
+
+    // The range of an async query is applied after sorting and is kept by the batch update after a commit
+    @Test
+    @RunTestInLooperThread
+    public void findAllSortedAsync_limitAndOffset_batchUpdate() {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        final RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .offset(2)
+                .limit(3)
+                .findAllSortedAsync(AllTypes.FIELD_LONG, Sort.DESCENDING);
+
+        final AtomicInteger numberOfInvocations = new AtomicInteger(0);
+        results.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                switch (numberOfInvocations.incrementAndGet()) {
+                    case 1:
+                        assertEquals(3, results.size());
+                        assertEquals(7, results.first().getColumnLong());
+                        assertEquals(5, results.last().getColumnLong());
+
+                        realm.beginTransaction();
+                        realm.createObject(AllTypes.class).setColumnLong(42);
+                        realm.commitTransaction();
+                        break;
+                    case 2:
+                        assertEquals(3, results.size());
+                        assertEquals(8, results.first().getColumnLong());
+                        assertEquals(6, results.last().getColumnLong());
+                        looperThread.testComplete();
+                        break;
+                }
+            }
+        });
+    }
+
+    // Only the first k objects are sorted by the worker thread, also when the query is run again after a commit
+    @Test
+    @RunTestInLooperThread
+    public void findAllSortedAsync_topK_batchUpdate() {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 100);
+        final RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .findAllSortedAsync(AllTypes.FIELD_LONG, Sort.DESCENDING, 2);
+
+        final AtomicInteger numberOfInvocations = new AtomicInteger(0);
+        results.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                switch (numberOfInvocations.incrementAndGet()) {
+                    case 1:
+                        assertEquals(2, results.size());
+                        assertEquals(99, results.first().getColumnLong());
+                        assertEquals(98, results.last().getColumnLong());
+
+                        // Removes the first object, the next query must find a new threshold
+                        realm.beginTransaction();
+                        results.first().removeFromRealm();
+                        realm.commitTransaction();
+                        break;
+                    case 2:
+                        assertEquals(2, results.size());
+                        assertEquals(98, results.first().getColumnLong());
+                        assertEquals(97, results.last().getColumnLong());
+                        looperThread.testComplete();
+                        break;
+                }
+            }
+        });
+    }
+
+    // in() is run by the worker thread, and again after each commit
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_in() {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 100);
+        final RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_LONG, new long[] {3, 50, 97, 1000})
+                .or()
+                .in(AllTypes.FIELD_STRING, new String[] {"test data 10", "test data 3"})
+                .findAllAsync();
+        final RealmResults<AllTypes> emptyResults = realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_LONG, new long[0])
+                .findAllAsync();
+        looperThread.keepStrongReference.add(emptyResults);
+
+        final AtomicInteger numberOfInvocations = new AtomicInteger(0);
+        results.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                switch (numberOfInvocations.incrementAndGet()) {
+                    case 1:
+                        assertEquals(4, results.size());
+                        assertTrue(emptyResults.load());
+                        assertEquals(0, emptyResults.size());
+
+                        realm.beginTransaction();
+                        realm.createObject(AllTypes.class).setColumnLong(1000);
+                        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 50).findFirst().removeFromRealm();
+                        realm.commitTransaction();
+                        break;
+                    case 2:
+                        assertEquals(4, results.size());
+                        assertEquals(1, results.where().equalTo(AllTypes.FIELD_LONG, 1000).count());
+                        assertEquals(0, results.where().equalTo(AllTypes.FIELD_LONG, 50).count());
+                        assertEquals(0, emptyResults.size());
+                        looperThread.testComplete();
+                        break;
+                }
+            }
+        });
+    }
+
     // *** Helper methods ***
 
     // This could be done from #setUp but then we can't control
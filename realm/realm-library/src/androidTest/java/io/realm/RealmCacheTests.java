@@ -31,6 +31,8 @@ import java.util.concurrent.CountDownLatch;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.StringOnly;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.rule.TestRealmConfigurationFactory;
 
 import static org.junit.Assert.assertEquals;
@@ -289,4 +291,20 @@ public class RealmCacheTests {
         RealmCache.release(dynamicRealmA);
         assertNull(realmA.sharedGroupManager);
     }
+
+    // Background SharedGroups are reused by the same worker and closed together with the last Realm instance
+    @Test
+    public void releaseClosesSharedGroupPool() {
+        Realm realm = Realm.getInstance(defaultConfig);
+        SharedGroupPool pool = SharedGroupPool.getInstance(defaultConfig);
+        SharedGroup sharedGroup = pool.acquire();
+        pool.release(sharedGroup);
+        assertTrue(sharedGroup == pool.acquire());
+        pool.release(sharedGroup);
+        assertFalse(sharedGroup.isClosed());
+
+        realm.close();
+        assertTrue(sharedGroup.isClosed());
+        assertTrue(Realm.deleteRealm(defaultConfig));
+    }
 }
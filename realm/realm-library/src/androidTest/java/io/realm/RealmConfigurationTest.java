@@ -21,6 +21,7 @@ import android.test.MoreAsserts;
 
 import java.io.File;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
@@ -203,6 +204,28 @@ public class RealmConfigurationTest extends AndroidTestCase {
         }
     }
 
+    public void testProfileQueriesWithInvalidArgumentsThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).profileQueries(-1, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+            new RealmConfiguration.Builder(getContext()).profileQueries(16, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testNegativeParallelScanThresholdThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).parallelScans(-1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     public void testSetModulesNonRealmModulesThrows() {
         // Test first argument
         try {
@@ -293,6 +316,38 @@ public class RealmConfigurationTest extends AndroidTestCase {
         }
     }
 
+    public void testNegativeNotificationIntervalThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).notificationInterval(-1, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testNullNotificationIntervalUnitThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).notificationInterval(16, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testNotificationInterval() {
+        assertEquals(0, defaultConfig.getNotificationInterval());
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .notificationInterval(1, TimeUnit.SECONDS)
+                .build();
+        assertEquals(1000, config.getNotificationInterval());
+        assertFalse(config.equals(defaultConfig));
+    }
+
+    public void testGroupAsyncTransactions() {
+        assertFalse(defaultConfig.shouldGroupAsyncTransactions());
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext()).groupAsyncTransactions().build();
+        assertTrue(config.shouldGroupAsyncTransactions());
+        assertFalse(config.equals(defaultConfig));
+    }
+
     public void testEquals() {
         RealmConfiguration config1 = new RealmConfiguration.Builder(getContext()).build();
         RealmConfiguration config2 = new RealmConfiguration.Builder(getContext()).build();
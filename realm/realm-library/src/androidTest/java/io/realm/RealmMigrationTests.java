@@ -544,6 +544,46 @@ public class RealmMigrationTests {
         }
     }
 
+    @Test
+    public void schemaFingerprint_storedAfterValidation() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .schema(AllTypes.class, FieldOrder.class)
+                .build();
+        realm = Realm.getInstance(config);
+        long fingerprint = realm.getSchemaFingerprint();
+        assertTrue(fingerprint != BaseRealm.NO_SCHEMA_FINGERPRINT);
+        realm.beginTransaction();
+        realm.createObject(FieldOrder.class).setField1(true);
+        realm.commitTransaction();
+        realm.close();
+
+        // The column indices come from the fingerprint this time.
+        realm = Realm.getInstance(config);
+        assertEquals(fingerprint, realm.getSchemaFingerprint());
+        assertEquals(1, realm.where(FieldOrder.class).equalTo("field1", true).count());
+    }
+
+    // The fingerprint covers the schema of the file, so changes which don't bump the schema version are still caught.
+    @Test
+    public void schemaFingerprint_schemaChangedWithoutNewVersionThrows() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .schema(AllTypes.class)
+                .build();
+        Realm.getInstance(config).close();
+
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(config);
+        dynamicRealm.beginTransaction();
+        dynamicRealm.getSchema().get("AllTypes").removeField("columnLong");
+        dynamicRealm.commitTransaction();
+        dynamicRealm.close();
+
+        try {
+            realm = Realm.getInstance(config);
+            fail();
+        } catch (RealmMigrationNeededException ignored) {
+        }
+    }
+
     // TODO Add unit tests for default nullability
     // TODO Add unit tests for default Indexing for Primary keys
 }
@@ -18,6 +18,7 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Set;
 
@@ -604,6 +605,147 @@ public class RealmObjectSchemaTests extends AndroidTestCase {
         assertEquals("John", realm.where("Dog").findFirst().getObject("owner").getString("name"));
     }
 
+    public void testTransformInPlace() {
+        String className = DOG_SCHEMA.getClassName();
+        for (int i = 1; i <= 3; i++) {
+            realm.createObject(className).setInt("age", i);
+        }
+
+        final DynamicRealmObject[] firstObject = new DynamicRealmObject[1];
+        DOG_SCHEMA.transformInPlace(new RealmObjectSchema.Function() {
+            @Override
+            public void apply(DynamicRealmObject obj) {
+                if (firstObject[0] == null) {
+                    firstObject[0] = obj;
+                }
+                assertSame(firstObject[0], obj);
+                obj.setInt("age", obj.getInt("age") * 10);
+            }
+        });
+        assertEquals(60, realm.where("Dog").sum("age").intValue());
+    }
+
+    public void testFillField() {
+        String className = DOG_SCHEMA.getClassName();
+        for (int i = 0; i < 3; i++) {
+            realm.createObject(className);
+        }
+        Date birthday = new Date(1000);
+        DOG_SCHEMA.fillField("name", "Fido")
+                .fillField("age", 4)
+                .fillField("height", 1.5f)
+                .fillField("weight", 12.5d)
+                .fillField("hasTail", true)
+                .fillField("birthday", birthday);
+
+        for (DynamicRealmObject dog : realm.where("Dog").findAll()) {
+            assertEquals("Fido", dog.getString("name"));
+            assertEquals(4, dog.getLong("age"));
+            assertEquals(1.5f, dog.getFloat("height"));
+            assertEquals(12.5d, dog.getDouble("weight"));
+            assertTrue(dog.getBoolean("hasTail"));
+            assertEquals(birthday, dog.getDate("birthday"));
+        }
+
+        DOG_SCHEMA.fillField("name", null);
+        assertEquals(3, realm.where("Dog").isNull("name").count());
+    }
+
+    public void testFillFieldIllegalValueThrows() {
+        realm.createObject(DOG_SCHEMA.getClassName());
+        Object[][] illegalValues = {
+                {"age", "4"}, {"age", 4.0d}, {"height", 1.5d}, {"name", 1}, {"age", null}, {"owner", null},
+                {"nonExisting", 1}
+        };
+        for (Object[] illegalValue : illegalValues) {
+            try {
+                DOG_SCHEMA.fillField((String) illegalValue[0], illegalValue[1]);
+                fail(Arrays.toString(illegalValue));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    public void testCopyField() {
+        schema.addField("source", Integer.class).addField("number", double.class).addField("text", String.class);
+        DynamicRealmObject obj1 = realm.createObject(schema.getClassName());
+        obj1.setInt("source", 42);
+        realm.createObject(schema.getClassName()); // null source
+
+        schema.copyField("source", "number");
+        String className = schema.getClassName();
+        assertEquals(0d, realm.where(className).isNull("source").findFirst().getDouble("number"));
+        assertEquals(42d, realm.where(className).isNotNull("source").findFirst().getDouble("number"));
+
+        try {
+            schema.copyField("source", "text");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testCopyFieldWithMapper() {
+        schema.addField("cents", Long.class).addField("euros", Double.class).addField("millis", long.class);
+        realm.createObject(schema.getClassName()).setLong("cents", 1250);
+        realm.createObject(schema.getClassName()); // null cents
+
+        schema.copyField("cents", "euros", new RealmObjectSchema.DoubleMapper() {
+            @Override
+            public double map(double value) {
+                return value / 100;
+            }
+        });
+        schema.copyField("cents", "millis", new RealmObjectSchema.LongMapper() {
+            @Override
+            public long map(long value) {
+                return value * 10;
+            }
+        });
+
+        DynamicRealmObject nullCents = realm.where(schema.getClassName()).isNull("cents").findFirst();
+        assertTrue(nullCents.isNull("euros"));
+        assertEquals(0, nullCents.getLong("millis"));
+        DynamicRealmObject cents = realm.where(schema.getClassName()).isNotNull("cents").findFirst();
+        assertEquals(12.5d, cents.getDouble("euros"));
+        assertEquals(12500, cents.getLong("millis"));
+    }
+
+    public void testConvertField() {
+        String className = DOG_SCHEMA.getClassName();
+        realm.createObject(className).setLong("age", 3);
+        realm.createObject(className).setLong("age", 5);
+
+        DOG_SCHEMA.convertField("age", "age", double.class, new RealmObjectSchema.DoubleMapper() {
+            @Override
+            public double map(double value) {
+                return value * 7;
+            }
+        });
+        assertEquals(RealmFieldType.DOUBLE, DOG_SCHEMA.getFieldType("age"));
+        assertTrue(DOG_SCHEMA.isRequired("age"));
+        assertEquals(56d, realm.where("Dog").sum("age").doubleValue());
+
+        DOG_SCHEMA.convertField("name", "title", String.class);
+        assertFalse(DOG_SCHEMA.hasField("name"));
+        assertTrue(DOG_SCHEMA.hasIndex("title"));
+        assertEquals(2, realm.where("Dog").count());
+    }
+
+    public void testConvertPrimaryKeyFieldThrows() {
+        schema.addField("id", long.class, FieldAttribute.PRIMARY_KEY).addField("other", long.class);
+        try {
+            schema.convertField("id", "id", String.class);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            schema.copyField("other", "id");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertTrue(schema.hasPrimaryKey());
+    }
+
     public void testGetFieldNames() {
         Set<String> fieldNames = DOG_SCHEMA.getFieldNames();
         assertEquals(7, fieldNames.size());
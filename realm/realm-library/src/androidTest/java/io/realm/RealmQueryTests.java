@@ -580,6 +580,275 @@ public class RealmQueryTests {
         assertEquals(0, sortedList.last().getColumnLong());
     }
 
+    @Test
+    public void limitAndOffset_findAll() {
+        populateTestRealm(); // create TEST_DATA_SIZE objects
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).limit(3).findAll();
+        assertEquals(3, results.size());
+        assertEquals(0, results.first().getColumnLong());
+        assertEquals(2, results.last().getColumnLong());
+
+        results = realm.where(AllTypes.class).offset(4).limit(3).findAll();
+        assertEquals(3, results.size());
+        assertEquals(4, results.first().getColumnLong());
+        assertEquals(6, results.last().getColumnLong());
+
+        results = realm.where(AllTypes.class).offset(8).limit(3).findAll();
+        assertEquals(2, results.size());
+        assertEquals(0, realm.where(AllTypes.class).offset(TEST_DATA_SIZE).findAll().size());
+        assertEquals(0, realm.where(AllTypes.class).limit(0).findAll().size());
+    }
+
+    @Test
+    public void limitAndOffset_findAllSorted() {
+        populateTestRealm(); // create TEST_DATA_SIZE objects
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .offset(1)
+                .limit(3)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+        assertEquals(3, results.size());
+        assertEquals(TEST_DATA_SIZE - 2, results.first().getColumnLong());
+        assertEquals(TEST_DATA_SIZE - 4, results.last().getColumnLong());
+
+        results = realm.where(AllTypes.class)
+                .offset(1)
+                .limit(2)
+                .findAllSorted(new String[]{AllTypes.FIELD_BOOLEAN, AllTypes.FIELD_LONG},
+                        new Sort[]{Sort.DESCENDING, Sort.DESCENDING});
+        // Only 0, 3, 6 and 9 are true
+        assertEquals(2, results.size());
+        assertEquals(6, results.first().getColumnLong());
+        assertEquals(3, results.last().getColumnLong());
+    }
+
+    @Test
+    public void limitAndOffset_keptAfterCommit() {
+        populateTestRealm(); // create TEST_DATA_SIZE objects
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .offset(1)
+                .limit(2)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(TEST_DATA_SIZE);
+        realm.commitTransaction();
+
+        assertEquals(2, results.size());
+        assertEquals(TEST_DATA_SIZE - 1, results.first().getColumnLong());
+        assertEquals(TEST_DATA_SIZE - 2, results.last().getColumnLong());
+    }
+
+    // Only the first k objects are sorted natively, the results must be the same as when sorting all of them
+    @Test
+    public void findAllSorted_topK() {
+        final int TEST_SIZE = 1000;
+        realm.beginTransaction();
+        for (int i = 0; i < TEST_SIZE; i++) {
+            AllTypes allTypes = realm.createObject(AllTypes.class);
+            // Plenty of ties, in a different order than the insertion order
+            allTypes.setColumnLong((i * 7) % 100);
+            allTypes.setColumnDouble(((i * 13) % 50) / 2.0);
+            allTypes.setColumnFloat(i % 10);
+            allTypes.setColumnDate(new Date(((i * 11) % 200) * 1000L));
+            allTypes.setColumnString("test data " + (i % 30));
+        }
+        realm.commitTransaction();
+
+        final String[] fields = {AllTypes.FIELD_LONG, AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT, AllTypes.FIELD_DATE,
+                AllTypes.FIELD_STRING};
+        for (String field : fields) {
+            for (Sort sortOrder : Sort.values()) {
+                RealmResults<AllTypes> all = realm.where(AllTypes.class).findAllSorted(field, sortOrder);
+                for (int k : new int[] {0, 1, 15, TEST_SIZE - 1, TEST_SIZE, TEST_SIZE + 1}) {
+                    RealmResults<AllTypes> topK = realm.where(AllTypes.class).findAllSorted(field, sortOrder, k);
+                    assertEquals(field, Math.min(k, TEST_SIZE), topK.size());
+                    for (int i = 0; i < topK.size(); i++) {
+                        assertEquals(field, all.get(i), topK.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void findAllSorted_topK_withConditions() {
+        populateTestRealm(realm, 200);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .lessThan(AllTypes.FIELD_LONG, 50)
+                .or()
+                .greaterThan(AllTypes.FIELD_LONG, 150)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING, 3);
+        assertEquals(3, results.size());
+        assertEquals(199, results.get(0).getColumnLong());
+        assertEquals(197, results.get(2).getColumnLong());
+
+        results = realm.where(AllTypes.class)
+                .greaterThan(AllTypes.FIELD_LONG, 150)
+                .or()
+                .lessThan(AllTypes.FIELD_LONG, 50)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.ASCENDING, 3);
+        assertEquals(3, results.size());
+        assertEquals(0, results.get(0).getColumnLong());
+        assertEquals(2, results.get(2).getColumnLong());
+    }
+
+    @Test
+    public void findAllSorted_topK_nullValues() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            NullTypes nullTypes = realm.createObject(NullTypes.class);
+            nullTypes.setId(i);
+            nullTypes.setFieldLongNull((i % 3 == 0) ? null : (long) i);
+        }
+        realm.commitTransaction();
+
+        for (Sort sortOrder : Sort.values()) {
+            RealmResults<NullTypes> all = realm.where(NullTypes.class).findAllSorted(NullTypes.FIELD_LONG_NULL, sortOrder);
+            RealmResults<NullTypes> topK = realm.where(NullTypes.class)
+                    .findAllSorted(NullTypes.FIELD_LONG_NULL, sortOrder, 4);
+            assertEquals(4, topK.size());
+            for (int i = 0; i < topK.size(); i++) {
+                assertEquals(all.get(i), topK.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void findAllSorted_topK_removeAfterCommit() {
+        populateTestRealm(realm, 100);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING, 3);
+        assertEquals(3, results.size());
+        assertEquals(99, results.first().getColumnLong());
+
+        // The results must still contain the first 3 objects after the first ones are removed or changed.
+        realm.beginTransaction();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 99).findFirst().removeFromRealm();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 98).findFirst().removeFromRealm();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 97).findFirst().setColumnLong(-1);
+        realm.commitTransaction();
+        assertEquals(3, results.size());
+        assertEquals(96, results.get(0).getColumnLong());
+        assertEquals(94, results.get(2).getColumnLong());
+    }
+
+    @Test
+    public void findAllSorted_topK_addAfterCommit() {
+        populateTestRealm(realm, 100);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING, 3);
+        assertEquals(99, results.first().getColumnLong());
+
+        // Objects added or changed after the query must be sorted into the results.
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(200);
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 0).findFirst().setColumnLong(150);
+        realm.commitTransaction();
+        assertEquals(3, results.size());
+        assertEquals(200, results.get(0).getColumnLong());
+        assertEquals(150, results.get(1).getColumnLong());
+        assertEquals(99, results.get(2).getColumnLong());
+
+        // And removing them again must bring back the previous ones.
+        realm.beginTransaction();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 200).findFirst().removeFromRealm();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 150).findFirst().removeFromRealm();
+        realm.commitTransaction();
+        RealmResults<AllTypes> all = realm.where(AllTypes.class).findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(all.get(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void findAllSorted_topK_frozenRealm() {
+        populateTestRealm(realm, 100);
+        Realm frozenRealm = realm.freeze();
+        try {
+            for (Sort sortOrder : Sort.values()) {
+                RealmResults<AllTypes> all = frozenRealm.where(AllTypes.class)
+                        .findAllSorted(AllTypes.FIELD_LONG, sortOrder);
+                RealmResults<AllTypes> topK = frozenRealm.where(AllTypes.class)
+                        .findAllSorted(AllTypes.FIELD_LONG, sortOrder, 5);
+                assertEquals(5, topK.size());
+                for (int i = 0; i < topK.size(); i++) {
+                    assertEquals(all.get(i).getColumnLong(), topK.get(i).getColumnLong());
+                }
+            }
+        } finally {
+            frozenRealm.close();
+        }
+    }
+
+    @Test
+    public void findAllSorted_topK_nanValues() {
+        realm.beginTransaction();
+        for (int i = 0; i < 20; i++) {
+            AllTypes allTypes = realm.createObject(AllTypes.class);
+            allTypes.setColumnLong(i);
+            allTypes.setColumnDouble((i % 4 == 0) ? Double.NaN : i);
+            allTypes.setColumnFloat((i % 4 == 0) ? Float.NaN : i);
+        }
+        realm.commitTransaction();
+        Realm frozenRealm = realm.freeze();
+        try {
+            for (String field : new String[] {AllTypes.FIELD_DOUBLE, AllTypes.FIELD_FLOAT}) {
+                for (Sort sortOrder : Sort.values()) {
+                    RealmResults<AllTypes> all = frozenRealm.where(AllTypes.class).findAllSorted(field, sortOrder);
+                    RealmResults<AllTypes> topK = frozenRealm.where(AllTypes.class)
+                            .findAllSorted(field, sortOrder, 6);
+                    assertEquals(6, topK.size());
+                    for (int i = 0; i < topK.size(); i++) {
+                        assertEquals(field, all.get(i).getColumnLong(), topK.get(i).getColumnLong());
+                    }
+                }
+            }
+        } finally {
+            frozenRealm.close();
+        }
+    }
+
+    @Test
+    public void findAllSorted_topK_negativeThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).findAllSorted(AllTypes.FIELD_LONG, Sort.ASCENDING, -1);
+    }
+
+    @Test
+    public void limitAndOffset_count() {
+        populateTestRealm(); // create TEST_DATA_SIZE objects
+        assertEquals(3, realm.where(AllTypes.class).limit(3).count());
+        assertEquals(TEST_DATA_SIZE - 4, realm.where(AllTypes.class).offset(4).count());
+        assertEquals(2, realm.where(AllTypes.class).offset(8).limit(3).count());
+        assertEquals(0, realm.where(AllTypes.class).offset(TEST_DATA_SIZE + 1).count());
+    }
+
+    @Test
+    public void limitAndOffset_findFirst() {
+        populateTestRealm(); // create TEST_DATA_SIZE objects
+        assertEquals(5, realm.where(AllTypes.class).offset(5).findFirst().getColumnLong());
+        assertEquals(7, realm.where(AllTypes.class).greaterThan(AllTypes.FIELD_LONG, 2).offset(4).limit(1)
+                .findFirst().getColumnLong());
+        assertNull(realm.where(AllTypes.class).offset(TEST_DATA_SIZE).findFirst());
+        assertNull(realm.where(AllTypes.class).limit(0).findFirst());
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).greaterThan(AllTypes.FIELD_LONG, 5).findAll();
+        assertEquals(8, results.where().offset(2).findFirst().getColumnLong());
+    }
+
+    @Test
+    public void limit_negativeThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).limit(-1);
+    }
+
+    @Test
+    public void offset_negativeThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).offset(-1);
+    }
+
     @Test
     public void subQueryScope() {
         populateTestRealm();
@@ -1867,6 +2136,449 @@ public class RealmQueryTests {
         }
     }
 
+    @Test
+    public void in_long() {
+        populateTestRealm();
+
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_LONG, new long[] {1, 3, 5, 42}).findAll();
+        assertEquals(3, resultList.size());
+        assertEquals(1, resultList.get(0).getColumnLong());
+        assertEquals(3, resultList.get(1).getColumnLong());
+        assertEquals(5, resultList.get(2).getColumnLong());
+    }
+
+    @Test
+    public void in_string() {
+        populateTestRealm();
+
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_STRING, new String[] {"test data 2", "test data 4", "TEST DATA 6", ""}).findAll();
+        assertEquals(2, resultList.size());
+        assertEquals("test data 2", resultList.get(0).getColumnString());
+        assertEquals("test data 4", resultList.get(1).getColumnString());
+    }
+
+    @Test
+    public void in_emptyValues() {
+        populateTestRealm();
+
+        assertEquals(0, realm.where(AllTypes.class).in(AllTypes.FIELD_LONG, new long[0]).count());
+        assertEquals(0, realm.where(AllTypes.class).in(AllTypes.FIELD_STRING, new String[0]).count());
+        assertEquals(TEST_DATA_SIZE, realm.where(AllTypes.class).not().in(AllTypes.FIELD_LONG, new long[0]).count());
+    }
+
+    @Test
+    public void in_combinedWithOtherConditions() {
+        populateTestRealm();
+
+        assertEquals(3, realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_LONG, new long[] {1, 2, 3, 4})
+                .equalTo(AllTypes.FIELD_BOOLEAN, false)
+                .count());
+        assertEquals(5, realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_LONG, new long[] {1, 2})
+                .or()
+                .greaterThan(AllTypes.FIELD_LONG, 6)
+                .count());
+        assertEquals(TEST_DATA_SIZE - 2, realm.where(AllTypes.class)
+                .not().in(AllTypes.FIELD_STRING, new String[] {"test data 0", "test data 9"})
+                .count());
+    }
+
+    @Test
+    public void in_indexedAndNotIndexedFields() {
+        realm.beginTransaction();
+        for (int i = 0; i < 100; i++) {
+            AnnotationIndexTypes obj = realm.createObject(AnnotationIndexTypes.class);
+            obj.setIndexLong(i);
+            obj.setNotIndexLong(i);
+            obj.setIndexString("id " + i);
+            obj.setNotIndexString("id " + i);
+        }
+        realm.commitTransaction();
+
+        long[] ids = new long[] {99, 0, 50, 200};
+        String[] names = new String[] {"id 99", "id 0", "id 50", "id 200"};
+        assertEquals(3, realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_LONG, ids).count());
+        assertEquals(3, realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, ids).count());
+        assertEquals(3, realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_STRING, names).count());
+        assertEquals(3, realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_NOT_INDEX_STRING, names).count());
+    }
+
+    @Test
+    public void in_acrossLink() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("Owner " + i);
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            dog.setAge(i);
+            dog.setOwner(owner);
+        }
+        realm.commitTransaction();
+
+        assertEquals(2, realm.where(Dog.class).in("owner.name", new String[] {"Owner 1", "Owner 8"}).count());
+    }
+
+    @Test
+    public void in_nullableFields() {
+        realm.beginTransaction();
+        for (int i = 0; i < 4; i++) {
+            NullTypes nullTypes = new NullTypes();
+            nullTypes.setId(i);
+            nullTypes.setFieldLongNull(i % 2 == 0 ? null : (long) i);
+            nullTypes.setFieldStringNull(i % 2 == 0 ? null : "" + i);
+            realm.copyToRealm(nullTypes);
+        }
+        realm.commitTransaction();
+
+        assertEquals(1, realm.where(NullTypes.class).in(NullTypes.FIELD_LONG_NULL, new long[] {0, 1}).count());
+        assertEquals(1, realm.where(NullTypes.class).in(NullTypes.FIELD_STRING_NULL, new String[] {"", "3"}).count());
+    }
+
+    // The results keep a copy of the query, which is run again after a commit
+    @Test
+    public void in_resultsUpdatedAfterCommit() {
+        populateTestRealm();
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_LONG, new long[] {1, 3, 1000}).findAll();
+        assertEquals(2, resultList.size());
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(1000);
+        resultList.get(0).removeFromRealm();
+        realm.commitTransaction();
+
+        assertEquals(2, resultList.size());
+        assertEquals(3, resultList.get(0).getColumnLong());
+        assertEquals(1000, resultList.get(1).getColumnLong());
+    }
+
+    @Test
+    public void in_wrongFieldTypeThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).in(AllTypes.FIELD_STRING, new long[] {1});
+    }
+
+    @Test
+    public void in_nullValueThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).in(AllTypes.FIELD_STRING, new String[] {"test data 1", null});
+    }
+
+    private void populateIndexedEqualities() {
+        realm.beginTransaction();
+        for (int i = 0; i < 100; i++) {
+            AnnotationIndexTypes obj = realm.createObject(AnnotationIndexTypes.class);
+            obj.setIndexLong(i % 10);
+            obj.setIndexString((i % 2 == 0) ? "even" : "odd");
+            obj.setNotIndexLong(i);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void equalTo_severalIndexedFields() {
+        populateIndexedEqualities();
+
+        RealmResults<AnnotationIndexTypes> resultList = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "even")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .findAll();
+        assertEquals(10, resultList.size());
+        for (AnnotationIndexTypes obj : resultList) {
+            assertEquals(4, obj.getIndexLong());
+            assertEquals("even", obj.getIndexString());
+        }
+
+        assertEquals(0, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "odd")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .count());
+        assertEquals(5, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "even")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .lessThan(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 50)
+                .count());
+        assertEquals(0, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "EVEN")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .count());
+    }
+
+    @Test
+    public void equalTo_severalIndexedFieldsWithOrAndNot() {
+        populateIndexedEqualities();
+
+        // (even AND 4) OR 99
+        assertEquals(11, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "even")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .or()
+                .equalTo(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 99)
+                .count());
+        // even AND NOT 4
+        assertEquals(40, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "even")
+                .not()
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .count());
+        // odd OR (odd AND 4)
+        assertEquals(50, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "odd")
+                .or()
+                .beginGroup()
+                    .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "odd")
+                    .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .endGroup()
+                .count());
+    }
+
+    @Test
+    public void equalTo_severalIndexedFields_resultsAreUpdated() {
+        populateIndexedEqualities();
+        RealmResults<AnnotationIndexTypes> resultList = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "even")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .findAll();
+        assertEquals(10, resultList.size());
+
+        realm.beginTransaction();
+        AnnotationIndexTypes obj = realm.createObject(AnnotationIndexTypes.class);
+        obj.setIndexLong(4);
+        obj.setIndexString("even");
+        realm.commitTransaction();
+
+        assertEquals(11, resultList.size());
+    }
+
+    @Test
+    public void queryProfiler_recordsQueries() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .name("profiled.realm")
+                .profileQueries(1, TimeUnit.SECONDS)
+                .build();
+        Realm profiledRealm = Realm.getInstance(config);
+        try {
+            profiledRealm.beginTransaction();
+            for (int i = 0; i < 100; i++) {
+                AnnotationIndexTypes obj = profiledRealm.createObject(AnnotationIndexTypes.class);
+                obj.setIndexLong(i % 10);
+                obj.setNotIndexLong(i);
+            }
+            profiledRealm.commitTransaction();
+
+            QueryProfiler profiler = config.getQueryProfiler();
+            assertEquals(1, profiler.getSlowQueryThreshold(TimeUnit.SECONDS));
+            assertTrue(profiler.getStats().isEmpty());
+
+            profiledRealm.where(AnnotationIndexTypes.class).equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 3).findAll();
+            profiledRealm.where(AnnotationIndexTypes.class).equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4).findAll();
+            profiledRealm.where(AnnotationIndexTypes.class).lessThan(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 5).count();
+            profiledRealm.where(AnnotationIndexTypes.class)
+                    .findAllSorted(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, Sort.DESCENDING);
+
+            QueryStats findAll = profiler.getStats("AnnotationIndexTypes.findAll");
+            assertEquals(2, findAll.getExecutionCount());
+            assertEquals(20, findAll.getRowsMatched());
+            assertEquals(200, findAll.getRowsScanned());
+            assertEquals(0, findAll.getSlowExecutionCount());
+            assertTrue(findAll.getMaxTimeNanos() <= findAll.getTotalTimeNanos());
+
+            QueryStats count = profiler.getStats("AnnotationIndexTypes.count");
+            assertEquals(1, count.getExecutionCount());
+            assertEquals(5, count.getRowsMatched());
+            assertEquals(100, count.getRowsScanned());
+
+            QueryStats findAllSorted = profiler.getStats("AnnotationIndexTypes.findAllSorted");
+            assertEquals(1, findAllSorted.getExecutionCount());
+            assertEquals(100, findAllSorted.getRowsMatched());
+            assertTrue(findAllSorted.getTotalSortTimeNanos() <= findAllSorted.getTotalTimeNanos());
+
+            assertEquals(3, profiler.getStats().size());
+            profiler.reset();
+            assertTrue(profiler.getStats().isEmpty());
+            assertNull(profiler.getStats("AnnotationIndexTypes.findAll"));
+        } finally {
+            profiledRealm.close();
+        }
+    }
+
+    @Test
+    public void queryProfiler_disabledByDefault() {
+        assertNull(realm.getConfiguration().getQueryProfiler());
+    }
+
+    private Realm openParallelScanRealm() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .name("parallel.realm")
+                .parallelScans(0)
+                .build();
+        Realm parallelRealm = Realm.getInstance(config);
+        parallelRealm.beginTransaction();
+        for (int i = 0; i < 1000; i++) {
+            AllTypes obj = parallelRealm.createObject(AllTypes.class);
+            obj.setColumnLong(i);
+            obj.setColumnFloat(i / 2f);
+            obj.setColumnDouble(i / 4d);
+            obj.setColumnDate(new Date(i * 1000L));
+        }
+        parallelRealm.commitTransaction();
+        return parallelRealm;
+    }
+
+    @Test
+    public void parallelScan_aggregates() {
+        Realm parallelRealm = openParallelScanRealm();
+        try {
+            RealmQuery<AllTypes> query = parallelRealm.where(AllTypes.class)
+                    .greaterThanOrEqualTo(AllTypes.FIELD_DOUBLE, 50d);
+            assertEquals(800, query.count());
+            assertEquals(499500 - 19900, query.sum(AllTypes.FIELD_LONG).longValue());
+            assertEquals((499500 - 19900) / 2d, query.sum(AllTypes.FIELD_FLOAT).doubleValue(), 0d);
+            assertEquals((499500 - 19900) / 4d, query.sum(AllTypes.FIELD_DOUBLE).doubleValue(), 0d);
+            assertEquals(599.5, query.average(AllTypes.FIELD_LONG), 0d);
+            assertEquals(599.5 / 4, query.average(AllTypes.FIELD_DOUBLE), 0d);
+            assertEquals(200L, query.min(AllTypes.FIELD_LONG));
+            assertEquals(999L, query.max(AllTypes.FIELD_LONG));
+            assertEquals(100f, query.min(AllTypes.FIELD_FLOAT));
+            assertEquals(999 / 4d, query.max(AllTypes.FIELD_DOUBLE));
+            assertEquals(new Date(200000), query.minimumDate(AllTypes.FIELD_DATE));
+            assertEquals(new Date(999000), query.maximumDate(AllTypes.FIELD_DATE));
+
+            RealmQuery<AllTypes> emptyQuery = parallelRealm.where(AllTypes.class)
+                    .greaterThan(AllTypes.FIELD_LONG, 1000);
+            assertEquals(0, emptyQuery.count());
+            assertEquals(0, emptyQuery.sum(AllTypes.FIELD_LONG).longValue());
+            assertEquals(0d, emptyQuery.average(AllTypes.FIELD_DOUBLE), 0d);
+            assertNull(emptyQuery.min(AllTypes.FIELD_LONG));
+            assertNull(emptyQuery.max(AllTypes.FIELD_FLOAT));
+            assertNull(emptyQuery.maximumDate(AllTypes.FIELD_DATE));
+        } finally {
+            parallelRealm.close();
+        }
+    }
+
+    @Test
+    public void parallelScan_insideTransaction() {
+        Realm parallelRealm = openParallelScanRealm();
+        try {
+            parallelRealm.beginTransaction();
+            parallelRealm.createObject(AllTypes.class).setColumnLong(1000);
+            // Uncommitted objects are only visible to this thread.
+            assertEquals(1001, parallelRealm.where(AllTypes.class).count());
+            assertEquals(1000L, parallelRealm.where(AllTypes.class).max(AllTypes.FIELD_LONG));
+            parallelRealm.cancelTransaction();
+        } finally {
+            parallelRealm.close();
+        }
+    }
+
+    private void populateForGroupBy() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            AllTypes obj = realm.createObject(AllTypes.class);
+            obj.setColumnString("s" + (i % 3));
+            obj.setColumnLong(i);
+            obj.setColumnFloat(i);
+            obj.setColumnDouble(i / 2d);
+            obj.setColumnDate(new Date(TimeUnit.HOURS.toMillis(i)));
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void groupBy_aggregates() {
+        populateForGroupBy();
+        RealmGroupBy groupBy = realm.where(AllTypes.class).groupBy(AllTypes.FIELD_STRING);
+
+        GroupedResults counts = groupBy.count();
+        assertEquals(3, counts.size());
+        assertEquals("s0", counts.getKey(0));
+        assertEquals("s1", counts.getKey(1));
+        assertEquals("s2", counts.getKey(2));
+        assertEquals(4L, counts.getValue(0));
+        assertEquals(3, counts.getLong(1));
+        assertEquals(3, counts.getCount(2));
+
+        GroupedResults sums = groupBy.sum(AllTypes.FIELD_LONG);
+        assertEquals(18L, sums.getValue(0));
+        assertEquals(12L, sums.getValue(1));
+        assertEquals(15L, sums.getValue(2));
+        assertEquals(18d, groupBy.sum(AllTypes.FIELD_DOUBLE).getDouble(0) * 2, 0d);
+
+        assertEquals(2.25, groupBy.average(AllTypes.FIELD_DOUBLE).getDouble(0), 0d);
+        assertEquals(5d, groupBy.average(AllTypes.FIELD_LONG).getValue(2));
+        assertEquals(2L, groupBy.min(AllTypes.FIELD_LONG).getValue(2));
+        assertEquals(7f, groupBy.max(AllTypes.FIELD_FLOAT).getValue(1));
+        assertEquals(3.5, groupBy.max(AllTypes.FIELD_DOUBLE).getValue(1));
+        assertEquals(-1, counts.indexOf("s3"));
+    }
+
+    @Test
+    public void groupBy_keyTypes() {
+        populateForGroupBy();
+
+        GroupedResults byBoolean = realm.where(AllTypes.class).groupBy(AllTypes.FIELD_BOOLEAN).count();
+        assertEquals(1, byBoolean.size());
+        assertEquals(false, byBoolean.getKey(0));
+        assertEquals(10, byBoolean.getCount(0));
+
+        GroupedResults byLong = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 3)
+                .groupBy(AllTypes.FIELD_LONG).sum(AllTypes.FIELD_DOUBLE);
+        assertEquals(3, byLong.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals((long) i, byLong.getKey(i));
+            assertEquals(i / 2d, byLong.getValue(i));
+        }
+
+        GroupedResults byDate = realm.where(AllTypes.class)
+                .groupBy(AllTypes.FIELD_DATE, 4, TimeUnit.HOURS).count();
+        assertEquals(3, byDate.size());
+        assertEquals(new Date(0), byDate.getKey(0));
+        assertEquals(new Date(TimeUnit.HOURS.toMillis(4)), byDate.getKey(1));
+        assertEquals(new Date(TimeUnit.HOURS.toMillis(8)), byDate.getKey(2));
+        assertEquals(4, byDate.getCount(0));
+        assertEquals(4, byDate.getCount(1));
+        assertEquals(2, byDate.getCount(2));
+    }
+
+    @Test
+    public void groupBy_invalidArgumentsThrows() {
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class);
+        try {
+            query.groupBy(AllTypes.FIELD_BINARY);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy("nonExistingField");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy(AllTypes.FIELD_STRING, 1, TimeUnit.HOURS);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy(AllTypes.FIELD_DATE, 10, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.groupBy(AllTypes.FIELD_LONG).sum(AllTypes.FIELD_STRING);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     // Test that deep queries work on a lot of data
     @Test
     public void deepLinkListQuery() {
@@ -26,6 +26,8 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -49,6 +51,7 @@ import io.realm.rule.TestRealmConfigurationFactory;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -467,6 +470,178 @@ public class RealmResultsTests {
         assertEquals(1.5, resultList.average(NullTypes.FIELD_DOUBLE_NULL), 0d);
     }
 
+    @Test
+    public void getLongs() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+
+        long[] longs = resultList.getLongs(AllTypes.FIELD_LONG);
+        long[] dates = resultList.getLongs(AllTypes.FIELD_DATE);
+        assertEquals(TEST_DATA_SIZE, longs.length);
+        assertEquals(TEST_DATA_SIZE, dates.length);
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            AllTypes allTypes = resultList.get(i);
+            assertEquals(allTypes.getColumnLong(), longs[i]);
+            assertEquals(allTypes.getColumnDate().getTime(), dates[i]);
+        }
+    }
+
+    @Test
+    public void getDoubles() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class)
+                .greaterThan(AllTypes.FIELD_LONG, TEST_DATA_FIRST_HALF).findAll();
+
+        double[] doubles = resultList.getDoubles(AllTypes.FIELD_DOUBLE);
+        double[] floats = resultList.getDoubles(AllTypes.FIELD_FLOAT);
+        assertEquals(resultList.size(), doubles.length);
+        assertEquals(resultList.size(), floats.length);
+        for (int i = 0; i < resultList.size(); i++) {
+            AllTypes allTypes = resultList.get(i);
+            assertEquals(allTypes.getColumnDouble(), doubles[i], 0d);
+            assertEquals(allTypes.getColumnFloat(), floats[i], 0d);
+        }
+    }
+
+    @Test
+    public void getStrings() {
+        RealmResults<AllTypes> resultList = realm.allObjects(AllTypes.class);
+
+        String[] strings = resultList.getStrings(AllTypes.FIELD_STRING);
+        assertEquals(TEST_DATA_SIZE, strings.length);
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            assertEquals(resultList.get(i).getColumnString(), strings[i]);
+        }
+    }
+
+    @Test
+    public void groupBy() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).findAll();
+
+        GroupedResults sums = resultList.groupBy(AllTypes.FIELD_BOOLEAN).sum(AllTypes.FIELD_LONG);
+        assertEquals(2, sums.size());
+        assertEquals(false, sums.getKey(0));
+        assertEquals(true, sums.getKey(1));
+        assertEquals(TEST_DATA_SIZE / 2, sums.getCount(0));
+        assertEquals(1582564L, sums.getValue(0));
+        assertEquals(1581306L, sums.getLong(sums.indexOf(true)));
+    }
+
+    @Test
+    public void groupBy_partialNullRows() {
+        populatePartialNullRowsForNumericTesting();
+        RealmResults<NullTypes> resultList = realm.where(NullTypes.class).findAll();
+
+        GroupedResults minimums = resultList.groupBy(NullTypes.FIELD_BOOLEAN_NULL).min(NullTypes.FIELD_INTEGER_NULL);
+        assertEquals(3, minimums.size());
+        // Objects with a null key are in the first group.
+        assertNull(minimums.getKey(0));
+        assertNull(minimums.getValue(0));
+        assertEquals(0, minimums.getLong(0));
+        assertEquals(false, minimums.getKey(1));
+        assertEquals(0L, minimums.getValue(1));
+        assertEquals(true, minimums.getKey(2));
+        assertEquals(1L, minimums.getValue(2));
+        assertEquals(0, minimums.indexOf(null));
+
+        GroupedResults averages = resultList.groupBy(NullTypes.FIELD_STRING_NULL).average(NullTypes.FIELD_DOUBLE_NULL);
+        assertEquals(3, averages.size());
+        assertEquals(0d, averages.getDouble(0), 0d);
+        assertEquals("0", averages.getKey(1));
+        assertEquals("4", averages.getKey(2));
+        assertEquals(3d, averages.getValue(2));
+    }
+
+    @Test
+    public void getLongsDoublesAndStrings_partialNullRows() {
+        populatePartialNullRowsForNumericTesting();
+        RealmResults<NullTypes> resultList = realm.where(NullTypes.class).findAllSorted("id");
+
+        assertArrayEquals(new long[] {1, 0, 0}, resultList.getLongs(NullTypes.FIELD_INTEGER_NULL));
+        assertArrayEquals(new long[] {resultList.get(0).getFieldDateNull().getTime(), 0, 0},
+                resultList.getLongs(NullTypes.FIELD_DATE_NULL));
+        assertArrayEquals(new double[] {3D, Double.NaN, 0D}, resultList.getDoubles(NullTypes.FIELD_DOUBLE_NULL), 0d);
+        assertArrayEquals(new double[] {2D, Double.NaN, 0D}, resultList.getDoubles(NullTypes.FIELD_FLOAT_NULL), 0d);
+        assertArrayEquals(new String[] {"4", null, "0"}, resultList.getStrings(NullTypes.FIELD_STRING_NULL));
+    }
+
+    @Test
+    public void getLongsAndDoubles_buffer() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 10).findAll();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8 + 2 * 10 * 8).order(ByteOrder.nativeOrder());
+        buffer.position(8);
+
+        resultList.getLongs(AllTypes.FIELD_LONG, buffer);
+        resultList.getDoubles(AllTypes.FIELD_DOUBLE, buffer);
+
+        assertEquals(buffer.capacity(), buffer.position());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, buffer.getLong(8 + i * 8));
+            assertEquals(3.1415 + i, buffer.getDouble(8 + 10 * 8 + i * 8), 0d);
+        }
+    }
+
+    // Results over a whole class are read from the table itself
+    @Test
+    public void getLongsAndDoubles_allObjects() {
+        RealmResults<AllTypes> resultList = realm.allObjects(AllTypes.class);
+
+        long[] longs = resultList.getLongs(AllTypes.FIELD_LONG);
+        double[] doubles = resultList.getDoubles(AllTypes.FIELD_DOUBLE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TEST_DATA_SIZE * 8).order(ByteOrder.nativeOrder());
+        resultList.getLongs(AllTypes.FIELD_DATE, buffer);
+
+        assertEquals(TEST_DATA_SIZE, longs.length);
+        assertEquals(TEST_DATA_SIZE, doubles.length);
+        assertEquals(buffer.capacity(), buffer.position());
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            AllTypes allTypes = resultList.get(i);
+            assertEquals(allTypes.getColumnLong(), longs[i]);
+            assertEquals(allTypes.getColumnDouble(), doubles[i], 0d);
+            assertEquals(allTypes.getColumnDate().getTime(), buffer.getLong(i * 8));
+        }
+    }
+
+    @Test
+    public void getLongs_bufferTooSmallThrows() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 10).findAll();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(9 * 8).order(ByteOrder.nativeOrder());
+
+        thrown.expect(IllegalArgumentException.class);
+        resultList.getLongs(AllTypes.FIELD_LONG, buffer);
+    }
+
+    @Test
+    public void getDoubles_nonDirectBufferThrows() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 10).findAll();
+        ByteBuffer buffer = ByteBuffer.allocate(10 * 8).order(ByteOrder.nativeOrder());
+
+        thrown.expect(IllegalArgumentException.class);
+        resultList.getDoubles(AllTypes.FIELD_DOUBLE, buffer);
+    }
+
+    @Test
+    public void getLongs_wrongTypeThrows() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).findAll();
+
+        thrown.expect(IllegalArgumentException.class);
+        resultList.getLongs(AllTypes.FIELD_DOUBLE);
+    }
+
+    @Test
+    public void getDoubles_wrongTypeThrows() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).findAll();
+
+        thrown.expect(IllegalArgumentException.class);
+        resultList.getDoubles(AllTypes.FIELD_STRING);
+    }
+
+    @Test
+    public void getStrings_unknownFieldThrows() {
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class).findAll();
+
+        thrown.expect(IllegalArgumentException.class);
+        resultList.getStrings("unknown");
+    }
+
     @Test
     public void remove() {
         RealmResults<AllTypes> resultList = realm.where(AllTypes.class).findAll();
@@ -1756,4 +1931,79 @@ public class RealmResultsTests {
             assertEquals("The RealmList which this RealmResults is created on has been deleted.", e.getMessage());
         }
     }
+
+    @Test
+    public void changeSet_initialLoadIsInsertion() {
+        RealmResultsChangeSet changeSet = RealmResultsChangeSet.compute(null, new long[] {0, 10, 1, 11});
+        assertArrayEquals(new int[0], changeSet.getDeletions());
+        assertArrayEquals(new int[] {0, 1}, changeSet.getInsertions());
+        assertArrayEquals(new int[0], changeSet.getModifications());
+    }
+
+    @Test
+    public void changeSet_deleteMovesLastRow() {
+        // Row 1 deleted, row 4 moved in its place and row 2 modified
+        long[] oldSnapshot = {0, 10, 1, 11, 2, 12, 3, 13, 4, 14};
+        long[] newSnapshot = {0, 10, 1, 14, 2, 42, 3, 13};
+        RealmResultsChangeSet changeSet = RealmResultsChangeSet.compute(oldSnapshot, newSnapshot);
+        assertArrayEquals(new int[] {1, 4}, changeSet.getDeletions());
+        assertArrayEquals(new int[] {1}, changeSet.getInsertions());
+        assertArrayEquals(new int[] {2}, changeSet.getModifications());
+    }
+
+    @Test
+    public void changeSet_sortOrderChanged() {
+        long[] oldSnapshot = {0, 10, 1, 11, 2, 12};
+        long[] newSnapshot = {2, 12, 0, 10, 1, 11};
+        RealmResultsChangeSet changeSet = RealmResultsChangeSet.compute(oldSnapshot, newSnapshot);
+        assertArrayEquals(new int[] {2}, changeSet.getDeletions());
+        assertArrayEquals(new int[] {0}, changeSet.getInsertions());
+        assertArrayEquals(new int[0], changeSet.getModifications());
+    }
+
+    @Test
+    public void changeSet_unchanged() {
+        long[] snapshot = {0, 10, 1, 11};
+        assertTrue(RealmResultsChangeSet.compute(snapshot, snapshot.clone()).isEmpty());
+    }
+
+    @Test
+    public void freeze() throws Exception {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .lessThan(AllTypes.FIELD_LONG, 10)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+        final RealmResults<AllTypes> frozenResults = results.freeze();
+        assertTrue(frozenResults.getRealm().isFrozen());
+
+        realm.beginTransaction();
+        results.clear();
+        realm.commitTransaction();
+        assertEquals(0, results.size());
+        assertEquals(10, frozenResults.size());
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Long> future = executorService.submit(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                assertEquals(10, frozenResults.size());
+                assertEquals("Foo 9", frozenResults.first().getColumnRealmObject().getName());
+                return frozenResults.first().getColumnLong();
+            }
+        });
+        assertEquals(9L, (long) future.get());
+        executorService.shutdownNow();
+
+        frozenResults.getRealm().close();
+        assertFalse(frozenResults.isValid());
+    }
+
+    @Test
+    public void freeze_frozenResultsReturnThemselves() {
+        RealmResults<AllTypes> frozenResults = realm.allObjects(AllTypes.class).freeze();
+        assertTrue(frozenResults == frozenResults.freeze());
+        frozenResults.getRealm().close();
+        assertTrue(frozenResults.isValid());
+        frozenResults.getRealm().close();
+        assertFalse(frozenResults.isValid());
+    }
 }
@@ -48,6 +48,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -76,6 +77,9 @@ import io.realm.entities.PrimaryKeyMix;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
+import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.exceptions.RealmPrimaryKeyConstraintException;
+import io.realm.internal.Table;
 import io.realm.internal.log.RealmLog;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
@@ -87,6 +91,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1582,6 +1587,164 @@ public class RealmTests {
         assertEquals(1, realm.allObjects(DogPrimaryKey.class).size());
     }
 
+    private AllTypesPrimaryKey createAllTypesPrimaryKey(String name) {
+        AllTypesPrimaryKey obj = new AllTypesPrimaryKey();
+        obj.setColumnString(name);
+        obj.setColumnLong(1);
+        obj.setColumnFloat(1.23F);
+        obj.setColumnDouble(1.234D);
+        obj.setColumnBoolean(true);
+        obj.setColumnDate(new Date(1234));
+        obj.setColumnBinary(new byte[] {1, 2, 3});
+        obj.setColumnRealmObject(new DogPrimaryKey(1, "Dog1"));
+        obj.setColumnRealmList(new RealmList<DogPrimaryKey>(new DogPrimaryKey(2, "Dog2"), new DogPrimaryKey(3, "Dog3")));
+        return obj;
+    }
+
+    // Updating with the same values must not write anything, so listeners are not triggered needlessly.
+    @Test
+    public void copyToRealmOrUpdate_unchangedDataIsNotWritten() {
+        realm.beginTransaction();
+        realm.copyToRealmOrUpdate(createAllTypesPrimaryKey("Foo"));
+        realm.commitTransaction();
+        Table table = realm.getTable(AllTypesPrimaryKey.class);
+        Table dogTable = realm.getTable(DogPrimaryKey.class);
+
+        realm.beginTransaction();
+        long version = table.version();
+        long dogVersion = dogTable.version();
+        realm.copyToRealmOrUpdate(createAllTypesPrimaryKey("Foo"));
+        assertEquals(version, table.version());
+        assertEquals(dogVersion, dogTable.version());
+
+        realm.copyToRealmOrUpdate(createAllTypesPrimaryKey("Bar"));
+        assertTrue(version != table.version());
+        realm.commitTransaction();
+
+        AllTypesPrimaryKey obj = realm.allObjects(AllTypesPrimaryKey.class).first();
+        assertEquals("Bar", obj.getColumnString());
+        assertEquals(2, obj.getColumnRealmList().size());
+        assertEquals(3, realm.allObjects(DogPrimaryKey.class).size());
+    }
+
+    @Test
+    public void insert() {
+        Owner owner = new Owner();
+        owner.setName("Owner");
+        RealmList<Dog> dogs = new RealmList<Dog>();
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            Dog dog = new Dog();
+            dog.setName("Dog " + i);
+            dog.setAge(i);
+            dog.setHeight(i + 0.5f);
+            dog.setBirthday(new Date(i * 1000));
+            dog.setOwner(owner);
+            dogs.add(dog);
+        }
+        owner.setDogs(dogs);
+
+        realm.beginTransaction();
+        realm.insert(dogs);
+        realm.commitTransaction();
+
+        assertEquals(1, realm.allObjects(Owner.class).size());
+        RealmResults<Dog> realmDogs = realm.allObjectsSorted(Dog.class, "age", Sort.ASCENDING);
+        assertEquals(TEST_DATA_SIZE, realmDogs.size());
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            Dog dog = realmDogs.get(i);
+            assertEquals("Dog " + i, dog.getName());
+            assertEquals(i, dog.getAge());
+            assertEquals(i + 0.5f, dog.getHeight(), 0f);
+            assertEquals(new Date(i * 1000), dog.getBirthday());
+            assertEquals("Owner", dog.getOwner().getName());
+        }
+        Owner realmOwner = realm.allObjects(Owner.class).first();
+        assertEquals(TEST_DATA_SIZE, realmOwner.getDogs().size());
+        assertEquals("Dog 0", realmOwner.getDogs().first().getName());
+    }
+
+    @Test
+    public void insert_cyclicObjectReferences() {
+        CyclicType oneCyclicType = new CyclicType();
+        oneCyclicType.setName("One");
+        CyclicType anotherCyclicType = new CyclicType();
+        anotherCyclicType.setName("Two");
+        oneCyclicType.setObject(anotherCyclicType);
+        anotherCyclicType.setObject(oneCyclicType);
+
+        realm.beginTransaction();
+        realm.insert(Arrays.asList(oneCyclicType));
+        realm.commitTransaction();
+
+        assertEquals(2, realm.allObjects(CyclicType.class).size());
+        CyclicType realmObject = realm.where(CyclicType.class).equalTo("name", "One").findFirst();
+        assertEquals("Two", realmObject.getObject().getName());
+        assertEquals("One", realmObject.getObject().getObject().getName());
+    }
+
+    @Test
+    public void insert_duplicatedPrimaryKey() {
+        realm.beginTransaction();
+        try {
+            realm.insert(Arrays.asList(new PrimaryKeyAsString("Foo"), new PrimaryKeyAsString("Foo")));
+            fail();
+        } catch (RealmPrimaryKeyConstraintException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void insert_null() {
+        realm.beginTransaction();
+        try {
+            realm.insert(Arrays.asList(new Dog(), null));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void insertOrUpdate() {
+        realm.executeTransaction(new Realm.Transaction() {
+            @Override
+            public void execute(Realm realm) {
+                PrimaryKeyAsLong obj = new PrimaryKeyAsLong();
+                obj.setId(1);
+                obj.setName("Foo");
+                realm.copyToRealm(obj);
+
+                PrimaryKeyAsLong obj2 = new PrimaryKeyAsLong();
+                obj2.setId(1);
+                obj2.setName("Bar");
+
+                PrimaryKeyAsLong obj3 = new PrimaryKeyAsLong();
+                obj3.setId(2);
+                obj3.setName("Baz");
+
+                realm.insertOrUpdate(Arrays.asList(obj2, obj3));
+            }
+        });
+
+        assertEquals(2, realm.allObjects(PrimaryKeyAsLong.class).size());
+        assertEquals("Bar", realm.where(PrimaryKeyAsLong.class).equalTo("id", 1).findFirst().getName());
+        assertEquals("Baz", realm.where(PrimaryKeyAsLong.class).equalTo("id", 2).findFirst().getName());
+    }
+
+    @Test
+    public void insertOrUpdate_noPrimaryKeyField() {
+        realm.beginTransaction();
+        try {
+            realm.insertOrUpdate(Arrays.asList(new AllTypes()));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
     @Test
     public void getInstance_differentEncryptionKeys() {
         byte[] key1 = TestHelper.getRandomKey(42);
@@ -2797,4 +2960,430 @@ public class RealmTests {
         assertEquals(0, realm.where(Cat.class).count());
         assertTrue(realm.isEmpty());
     }
+
+    @Test
+    @RunTestInLooperThread
+    public void getInstanceAsync() {
+        final RealmConfiguration config = looperThread.createConfiguration("async.realm");
+        Realm.getInstanceAsync(config, new Realm.Callback() {
+            @Override
+            public void onSuccess(Realm realm) {
+                assertFalse(realm.isClosed());
+                assertEquals(config, realm.getConfiguration());
+                assertEquals(0, realm.allObjects(AllTypes.class).size());
+                realm.close();
+                looperThread.testComplete();
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+                fail(exception.getMessage());
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void getInstanceAsync_migrationNeeded() {
+        RealmConfiguration config = looperThread.createConfigurationBuilder()
+                .name("async.realm")
+                .schemaVersion(42)
+                .schema(Dog.class)
+                .build();
+        Realm.getInstance(config).close();
+
+        config = looperThread.createConfigurationBuilder()
+                .name("async.realm")
+                .schemaVersion(42)
+                .schema(AllTypesPrimaryKey.class)
+                .build();
+        Realm.getInstanceAsync(config, new Realm.Callback() {
+            @Override
+            public void onSuccess(Realm realm) {
+                realm.close();
+                fail("A migration should be required");
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+                assertTrue(exception instanceof RealmMigrationNeededException);
+                looperThread.testComplete();
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void getInstanceAsync_cancel() {
+        final RealmConfiguration config = looperThread.createConfiguration("async.realm");
+        RealmAsyncTask task = Realm.getInstanceAsync(config, new Realm.Callback() {
+            @Override
+            public void onSuccess(Realm realm) {
+                realm.close();
+                fail("A cancelled open must not be delivered");
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+                fail(exception.getMessage());
+            }
+        });
+        task.cancel();
+        assertTrue(task.isCancelled());
+
+        // Gives the worker thread time to open the Realm and post the delivery.
+        new Handler(Looper.myLooper()).postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                looperThread.testComplete();
+            }
+        }, 500);
+    }
+
+    @Test
+    public void getInstanceAsync_looperQuitsBeforeDelivery() throws Exception {
+        final RealmConfiguration config = configFactory.createConfiguration("async.realm");
+        HandlerThread handlerThread = new HandlerThread("getInstanceAsync");
+        handlerThread.start();
+        final CountDownLatch looperBlocked = new CountDownLatch(1);
+        final CountDownLatch unblockLooper = new CountDownLatch(1);
+        new Handler(handlerThread.getLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                Realm.getInstanceAsync(config, new Realm.Callback() {
+                    @Override
+                    public void onSuccess(Realm realm) {
+                        realm.close();
+                    }
+                });
+                looperBlocked.countDown();
+                // Keeps the delivery queued until the Looper has quit.
+                TestHelper.awaitOrFail(unblockLooper);
+            }
+        });
+        TestHelper.awaitOrFail(looperBlocked);
+        // Gives the worker thread time to open the Realm and queue the delivery, which is dropped by quit().
+        SystemClock.sleep(500);
+        handlerThread.quit();
+        unblockLooper.countDown();
+        handlerThread.join();
+
+        // The file must not be considered open forever.
+        boolean deleted = false;
+        for (int i = 0; i < 50 && !deleted; i++) {
+            try {
+                deleted = Realm.deleteRealm(config);
+            } catch (IllegalStateException e) {
+                SystemClock.sleep(100);
+            }
+        }
+        assertTrue(deleted);
+    }
+
+    @Test
+    public void getInstanceAsync_onErrorRethrowsByDefault() {
+        Realm.Callback callback = new Realm.Callback() {
+            @Override
+            public void onSuccess(Realm realm) {
+                realm.close();
+            }
+        };
+        IllegalStateException runtimeException = new IllegalStateException();
+        try {
+            callback.onError(runtimeException);
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(runtimeException, e);
+        }
+        Exception checkedException = new IOException();
+        try {
+            callback.onError(checkedException);
+            fail();
+        } catch (RealmException e) {
+            assertSame(checkedException, e.getCause());
+        }
+    }
+
+    @Test
+    public void getInstanceAsync_nullConfigurationThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        Realm.getInstanceAsync(null, new Realm.Callback() {
+            @Override
+            public void onSuccess(Realm realm) {
+                fail();
+            }
+        });
+    }
+
+    @Test
+    public void getInstanceAsync_nonLooperThreadThrows() {
+        final CountDownLatch signalTestFinished = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Realm.getInstanceAsync(realmConfig, new Realm.Callback() {
+                        @Override
+                        public void onSuccess(Realm realm) {
+                            realm.close();
+                        }
+                    });
+                    fail("Should not be able to open a Realm asynchronously");
+                } catch (IllegalStateException ignored) {
+                } finally {
+                    signalTestFinished.countDown();
+                }
+            }
+        });
+        thread.start();
+
+        try {
+            TestHelper.awaitOrFail(signalTestFinished);
+        } finally {
+            thread.interrupt();
+        }
+    }
+
+    @Test
+    public void freeze() throws Exception {
+        populateTestRealm();
+        final Realm frozenRealm = realm.freeze();
+        assertTrue(frozenRealm.isFrozen());
+        assertFalse(realm.isFrozen());
+
+        realm.beginTransaction();
+        realm.allObjects(AllTypes.class).clear();
+        realm.commitTransaction();
+        assertEquals(0, realm.where(AllTypes.class).count());
+        assertEquals(TEST_DATA_SIZE, frozenRealm.where(AllTypes.class).count());
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<String> future = executorService.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                assertEquals(TEST_DATA_SIZE, frozenRealm.allObjects(AllTypes.class).size());
+                return frozenRealm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 3).findFirst().getColumnString();
+            }
+        });
+        assertEquals("test data 3", future.get());
+        executorService.shutdownNow();
+
+        frozenRealm.close();
+        assertTrue(frozenRealm.isClosed());
+    }
+
+    @Test
+    public void freeze_concurrentReaders() throws Exception {
+        populateTestRealm();
+        final Realm frozenRealm = realm.freeze();
+        final int threads = 4;
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> futures = new ArrayList<Future<Long>>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    startSignal.await();
+                    long sum = 0;
+                    // Every object accessor keeps a reference to its native row in the shared Context, and collected
+                    // ones are removed from it while the other threads keep adding theirs.
+                    for (int round = 0; round < 20; round++) {
+                        RealmResults<AllTypes> results = frozenRealm.allObjects(AllTypes.class);
+                        for (int j = 0; j < results.size(); j++) {
+                            sum += results.get(j).getColumnLong();
+                        }
+                        if (round % 5 == 0) {
+                            System.gc();
+                        }
+                    }
+                    return sum;
+                }
+            }));
+        }
+        startSignal.countDown();
+
+        long expectedSum = 0;
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            expectedSum += i;
+        }
+        for (Future<Long> future : futures) {
+            assertEquals(20 * expectedSum, (long) future.get());
+        }
+        executorService.shutdownNow();
+        frozenRealm.close();
+    }
+
+    @Test
+    public void freeze_concurrentRangeQueries() throws Exception {
+        realm.beginTransaction();
+        for (int i = 0; i < 1000; i++) {
+            realm.createObject(AnnotationIndexTypes.class).setIndexLong(i);
+        }
+        realm.commitTransaction();
+        final Realm frozenRealm = realm.freeze();
+        final int threads = 4;
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> futures = new ArrayList<Future<Long>>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    startSignal.await();
+                    long count = 0;
+                    // Range conditions on an indexed field, run on the Table accessors shared by all threads.
+                    for (int round = 0; round < 20; round++) {
+                        count += frozenRealm.where(AnnotationIndexTypes.class)
+                                .between(AnnotationIndexTypes.FIELD_INDEX_LONG, round * 10, round * 10 + 9)
+                                .count();
+                        count += frozenRealm.where(AnnotationIndexTypes.class)
+                                .greaterThanOrEqual(AnnotationIndexTypes.FIELD_INDEX_LONG, 990)
+                                .findAll().size();
+                    }
+                    return count;
+                }
+            }));
+        }
+        startSignal.countDown();
+
+        for (Future<Long> future : futures) {
+            assertEquals(20 * (10 + 10), (long) future.get());
+        }
+        executorService.shutdownNow();
+        frozenRealm.close();
+    }
+
+    @Test
+    public void freeze_countsAsOpenInstance() {
+        Realm frozenRealm = realm.freeze();
+        realm.close();
+        realm = null;
+        try {
+            Realm.deleteRealm(realmConfig);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        frozenRealm.close();
+        assertTrue(Realm.deleteRealm(realmConfig));
+    }
+
+    @Test
+    public void freeze_asyncQueryThrows() {
+        Realm frozenRealm = realm.freeze();
+        try {
+            frozenRealm.where(AllTypes.class).findAllAsync();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(BaseRealm.FROZEN_REALM_MESSAGE, e.getMessage());
+        }
+        try {
+            frozenRealm.where(AllTypes.class).findFirstAsync();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(BaseRealm.FROZEN_REALM_MESSAGE, e.getMessage());
+        } finally {
+            frozenRealm.close();
+        }
+    }
+
+    @Test
+    public void freeze_addChangeListenerThrows() {
+        Realm frozenRealm = realm.freeze();
+        RealmChangeListener listener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+            }
+        };
+        try {
+            frozenRealm.addChangeListener(listener);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(BaseRealm.FROZEN_REALM_MESSAGE, e.getMessage());
+        }
+        try {
+            frozenRealm.allObjects(AllTypes.class).addChangeListener(listener);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(BaseRealm.FROZEN_REALM_MESSAGE, e.getMessage());
+        } finally {
+            frozenRealm.close();
+        }
+    }
+
+    @Test
+    public void freeze_sameVersionReturnsSameRealm() {
+        Realm frozenRealm = realm.freeze();
+        assertSame(frozenRealm, realm.freeze());
+        frozenRealm.close();
+        assertFalse(frozenRealm.isClosed());
+        frozenRealm.close();
+        assertTrue(frozenRealm.isClosed());
+
+        // A closed frozen Realm is replaced
+        Realm newFrozenRealm = realm.freeze();
+        assertNotSame(frozenRealm, newFrozenRealm);
+        newFrozenRealm.close();
+    }
+
+    @Test
+    public void freeze_closeFromOtherThread() throws Exception {
+        final Realm frozenRealm = realm.freeze();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                frozenRealm.close();
+            }
+        }).get();
+        executorService.shutdownNow();
+        assertTrue(frozenRealm.isClosed());
+    }
+
+    @Test
+    public void freeze_beginTransactionThrows() {
+        Realm frozenRealm = realm.freeze();
+        try {
+            frozenRealm.beginTransaction();
+            fail();
+        } catch (IllegalStateException ignored) {
+        } finally {
+            frozenRealm.close();
+        }
+    }
+
+    @Test
+    public void freeze_insideTransactionThrows() {
+        realm.beginTransaction();
+        try {
+            realm.freeze();
+            fail();
+        } catch (IllegalStateException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void collectChangedTables() {
+        realm.beginTransaction();
+        realm.sharedGroupManager.collectChangedTables();
+
+        realm.createObject(StringOnly.class);
+        Set<String> changedTables = realm.sharedGroupManager.collectChangedTables();
+        assertTrue(changedTables.contains("class_StringOnly"));
+        assertFalse(changedTables.contains("class_AllTypes"));
+        assertFalse(changedTables.contains("class_Dog"));
+
+        // Tables linking to a changed table are reported as well
+        realm.createObject(Dog.class);
+        changedTables = realm.sharedGroupManager.collectChangedTables();
+        assertTrue(changedTables.contains("class_Dog"));
+        assertTrue(changedTables.contains("class_Owner"));
+        assertFalse(changedTables.contains("class_StringOnly"));
+
+        assertTrue(realm.sharedGroupManager.collectChangedTables().isEmpty());
+        realm.cancelTransaction();
+    }
 }
@@ -1694,8 +1694,14 @@ public class TypeBasedNotificationsTests {
             @Override
             public void onChange() {
                 Cat cat = owner.getCat();
+                // Objects are only added to the realmObjects once they get a listener
+                cat.addChangeListener(new RealmChangeListener() {
+                    @Override
+                    public void onChange() {
+                    }
+                });
                 boolean foundKey = false;
-                // Check if cat has been added to the realmObjects in case of the behaviour of getCat changes
+                // Check if cat has been added to the realmObjects in case of the behaviour of addChangeListener changes
                 for (WeakReference<RealmObject> weakReference : realm.handlerController.realmObjects.keySet()) {
                     if (weakReference.get() == cat) {
                         foundKey = true;
@@ -1802,4 +1808,147 @@ public class TypeBasedNotificationsTests {
         });
     }
 
+    @Test
+    @RunTestInLooperThread
+    public void changeSetListener_realmResults() {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            realm.createObject(Dog.class).setAge(i);
+        }
+        realm.commitTransaction();
+
+        final RealmResults<Dog> dogs = realm.where(Dog.class).findAllSorted("age");
+        dogs.addChangeListener(new RealmResultsChangeListener() {
+            @Override
+            public void onChange(RealmResultsChangeSet changeSet) {
+                assertArrayEquals(new int[] {0}, changeSet.getDeletions());
+                assertArrayEquals(new int[] {2}, changeSet.getInsertions());
+                assertArrayEquals(new int[] {0}, changeSet.getModifications());
+                assertEquals(3, dogs.size());
+                looperThread.testComplete();
+            }
+        });
+
+        realm.beginTransaction();
+        dogs.get(0).removeFromRealm();
+        realm.where(Dog.class).equalTo("age", 1).findFirst().setName("Akamaru");
+        realm.createObject(Dog.class).setAge(3);
+        realm.commitTransaction();
+    }
+
+    // The changes of async results are computed when their new view is swapped in
+    @Test
+    @RunTestInLooperThread
+    public void changeSetListener_asyncRealmResults() {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            realm.createObject(Dog.class).setAge(i);
+        }
+        realm.commitTransaction();
+
+        final RealmResults<Dog> dogs = realm.where(Dog.class).findAllSortedAsync("age");
+        assertTrue(dogs.load());
+        dogs.addChangeListener(new RealmResultsChangeListener() {
+            @Override
+            public void onChange(RealmResultsChangeSet changeSet) {
+                if (typebasedCommitInvocations.incrementAndGet() == 1) {
+                    assertEquals(0, changeSet.getDeletions().length);
+                    assertArrayEquals(new int[] {3}, changeSet.getInsertions());
+                    assertEquals(0, changeSet.getModifications().length);
+
+                    // The content of the rows is read again once the table changed.
+                    realm.beginTransaction();
+                    dogs.get(1).setName("Akamaru");
+                    realm.commitTransaction();
+                } else {
+                    assertEquals(0, changeSet.getDeletions().length);
+                    assertEquals(0, changeSet.getInsertions().length);
+                    assertArrayEquals(new int[] {1}, changeSet.getModifications());
+                    looperThread.testComplete();
+                }
+            }
+        });
+
+        realm.beginTransaction();
+        realm.createObject(Dog.class).setAge(3);
+        realm.commitTransaction();
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void changeSetListener_realmObject() {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        final Dog dog = realm.createObject(Dog.class);
+        final Dog otherDog = realm.createObject(Dog.class);
+        realm.commitTransaction();
+
+        dog.addChangeListener(new RealmObjectChangeListener() {
+            @Override
+            public void onChange(RealmObjectChangeSet changeSet) {
+                if (typebasedCommitInvocations.incrementAndGet() == 1) {
+                    assertFalse(changeSet.isDeleted());
+                    assertArrayEquals(new String[] {"name"}, changeSet.getChangedFields());
+                    assertTrue(changeSet.isFieldChanged("name"));
+                    assertFalse(changeSet.isFieldChanged("age"));
+
+                    realm.beginTransaction();
+                    dog.removeFromRealm();
+                    realm.commitTransaction();
+                } else {
+                    assertTrue(changeSet.isDeleted());
+                    assertEquals(0, changeSet.getChangedFields().length);
+                    looperThread.testComplete();
+                }
+            }
+        });
+
+        // Changes to another object of the same class are not reported.
+        realm.beginTransaction();
+        otherDog.setAge(42);
+        realm.commitTransaction();
+
+        realm.beginTransaction();
+        dog.setName("Akamaru");
+        realm.commitTransaction();
+    }
+
+    // Iterating objects shouldn't cost a weak reference per object, only objects with listeners are tracked.
+    @Test
+    @RunTestInLooperThread
+    public void realmObjects_onlyRegisteredWithListener() {
+        final int TEST_SIZE = 1000;
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        for (int i = 0; i < TEST_SIZE; i++) {
+            realm.createObject(Dog.class).setAge(i);
+        }
+        realm.commitTransaction();
+
+        long sum = 0;
+        for (Dog dog : realm.allObjects(Dog.class)) {
+            sum += dog.getAge();
+        }
+        sum += realm.where(Dog.class).findFirst().getAge();
+        assertEquals(TEST_SIZE * (TEST_SIZE - 1) / 2, sum);
+        assertTrue(realm.handlerController.realmObjects.isEmpty());
+
+        final Dog dog = realm.where(Dog.class).equalTo("age", 42).findFirst();
+        RealmChangeListener listener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                assertEquals("Akamaru", dog.getName());
+                looperThread.testComplete();
+            }
+        };
+        dog.addChangeListener(listener);
+        dog.addChangeListener(listener);
+        assertEquals(1, realm.handlerController.realmObjects.size());
+
+        realm.beginTransaction();
+        dog.setName("Akamaru");
+        realm.commitTransaction();
+    }
 }
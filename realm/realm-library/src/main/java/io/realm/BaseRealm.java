@@ -24,12 +24,15 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.SharedGroup;
 import io.realm.internal.SharedGroupManager;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.TableView;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.android.DebugAndroidLogger;
@@ -46,10 +49,13 @@ import rx.Observable;
  */
 abstract class BaseRealm implements Closeable {
     protected static final long UNVERSIONED = -1;
+    protected static final long NO_SCHEMA_FINGERPRINT = 0;
+    private static final String SCHEMA_FINGERPRINT_COLUMN_NAME = "schema_fingerprint";
     private static final String INCORRECT_THREAD_CLOSE_MESSAGE = "Realm access from incorrect thread. Realm instance can only be closed on the thread it was created.";
     private static final String INCORRECT_THREAD_MESSAGE = "Realm access from incorrect thread. Realm objects can only be accessed on the thread they were created.";
     private static final String CLOSED_REALM_MESSAGE = "This Realm instance has already been closed, making it unusable.";
     private static final String CANNOT_REFRESH_INSIDE_OF_TRANSACTION_MESSAGE = "Cannot refresh inside of a transaction.";
+    static final String FROZEN_REALM_MESSAGE = "Frozen Realms are read-only and never move to another version.";
 
     // Map between a Handler and the canonical path to a Realm file
     protected static final Map<Handler, String> handlers = new ConcurrentHashMap<Handler, String>();
@@ -64,6 +70,10 @@ abstract class BaseRealm implements Closeable {
     RealmSchema schema;
     Handler handler;
     HandlerController handlerController;
+    // Frozen Realms keep reading the version they were created at, and can be read from any thread.
+    final boolean frozen;
+    // Number of references to a frozen Realm, the version is released when it drops to 0. Guarded by this.
+    private int frozenRefCount;
 
     static {
         RealmLog.add(BuildConfig.DEBUG ? new DebugAndroidLogger() : new ReleaseAndroidLogger());
@@ -72,11 +82,49 @@ abstract class BaseRealm implements Closeable {
     protected BaseRealm(RealmConfiguration configuration, boolean autoRefresh) {
         this.threadId = Thread.currentThread().getId();
         this.configuration = configuration;
+        this.frozen = false;
         this.sharedGroupManager = new SharedGroupManager(configuration);
         this.schema = new RealmSchema(this, sharedGroupManager.getTransaction());
         setAutoRefresh(autoRefresh);
     }
 
+    /**
+     * Creates a frozen instance reading the given version, which must still be read by the calling thread.
+     *
+     * @param configuration the {@link RealmConfiguration} of the Realm.
+     * @param version the version to pin.
+     */
+    protected BaseRealm(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        this.threadId = Thread.currentThread().getId();
+        this.configuration = configuration;
+        this.frozen = true;
+        this.frozenRefCount = 1;
+        this.sharedGroupManager = new SharedGroupManager(configuration, version);
+        this.schema = new RealmSchema(this, sharedGroupManager.getTransaction());
+    }
+
+    /**
+     * Checks if this Realm is a frozen snapshot of another Realm, see {@link Realm#freeze()}.
+     *
+     * @return {@code true} if the Realm is frozen, {@code false} otherwise.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Adds a reference to a frozen Realm.
+     *
+     * @return {@code false} if the frozen Realm has already been closed.
+     */
+    synchronized boolean retainFrozen() {
+        if (sharedGroupManager == null) {
+            return false;
+        }
+        frozenRefCount++;
+        return true;
+    }
+
     /**
      * Sets the auto-refresh status of the Realm instance.
      * <p>
@@ -90,6 +138,9 @@ abstract class BaseRealm implements Closeable {
      */
     public void setAutoRefresh(boolean autoRefresh) {
         checkIfValid();
+        if (autoRefresh && frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         if (autoRefresh && Looper.myLooper() == null) {
             throw new IllegalStateException("Cannot set auto-refresh in a Thread without a Looper");
         }
@@ -144,6 +195,9 @@ abstract class BaseRealm implements Closeable {
      */
     public void addChangeListener(RealmChangeListener listener) {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         if (handlerController == null) {
             throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
         }
@@ -204,6 +258,7 @@ abstract class BaseRealm implements Closeable {
     void setHandler (Handler handler) {
         // remove the old one
         handlers.remove(this.handler);
+        HandlerController.removePendingChangedTables(this.handler);
         handlers.put(handler, configuration.getPath());
         this.handler = handler;
     }
@@ -213,6 +268,7 @@ abstract class BaseRealm implements Closeable {
      */
     protected void removeHandler() {
         handlers.remove(handler);
+        HandlerController.removePendingChangedTables(handler);
         // Warning: This only clears the Looper queue. Handler.Callback is not removed.
         handler.removeCallbacksAndMessages(null);
         this.handler = null;
@@ -264,13 +320,16 @@ abstract class BaseRealm implements Closeable {
     @SuppressWarnings("UnusedDeclaration")
     public void refresh() {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         if (isInTransaction()) {
             throw new IllegalStateException(BaseRealm.CANNOT_REFRESH_INSIDE_OF_TRANSACTION_MESSAGE);
         }
         sharedGroupManager.advanceRead();
         if (handlerController != null) {
             handlerController.notifyGlobalListeners();
-            handlerController.notifyTypeBasedListeners();
+            handlerController.notifyTypeBasedListeners(sharedGroupManager.collectChangedTables());
             // if we have empty async RealmObject then rerun
             if (handlerController.threadContainsAsyncEmptyRealmObject()) {
                 handlerController.updateAsyncEmptyRealmObject();
@@ -291,6 +350,9 @@ abstract class BaseRealm implements Closeable {
      */
     public void beginTransaction() {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         sharedGroupManager.promoteToWrite();
     }
 
@@ -314,6 +376,7 @@ abstract class BaseRealm implements Closeable {
     void commitTransaction(Runnable runAfterCommit) {
         checkIfValid();
         sharedGroupManager.commitAndContinueAsRead();
+        Set<String> changedTables = sharedGroupManager.collectChangedTables();
 
         if (runAfterCommit != null)  {
             runAfterCommit.run();
@@ -327,7 +390,7 @@ abstract class BaseRealm implements Closeable {
             if (handler.equals(this.handler)) {
                 handlerController.notifyGlobalListeners();
                 // notify RealmResults & RealmObject callbacks
-                handlerController.notifyTypeBasedListeners();
+                handlerController.notifyTypeBasedListeners(changedTables);
                 // if we have empty async RealmObject then rerun
                 if (handlerController.threadContainsAsyncEmptyRealmObject()) {
                     handlerController.updateAsyncEmptyRealmObject();
@@ -336,14 +399,21 @@ abstract class BaseRealm implements Closeable {
             }
 
             // For all other threads, use the Handler
+            // The changed tables are recorded even if a REALM_CHANGED message is already pending, so the other thread
+            // knows about all of them when it handles the message.
+            if (realmPath.equals(configuration.getPath())) {
+                HandlerController.addPendingChangedTables(handler, changedTables);
+            }
             // Note there is a race condition with handler.hasMessages() and handler.sendEmptyMessage()
             // as the target thread consumes messages at the same time. In this case it is not a problem as worst
             // case we end up with two REALM_CHANGED messages in the queue.
+            // With a notification interval, the message is delayed and all commits until it is handled share it.
             if (
                     realmPath.equals(configuration.getPath())            // It's the right realm
                             && !handler.hasMessages(HandlerController.REALM_CHANGED)       // The right message
                             && handler.getLooper().getThread().isAlive() // The receiving thread is alive
-                            && !handler.sendEmptyMessage(HandlerController.REALM_CHANGED)) {
+                            && !handler.sendEmptyMessageDelayed(HandlerController.REALM_CHANGED,
+                                    configuration.getNotificationInterval())) {
                 RealmLog.w("Cannot update Looper threads when the Looper has quit. Use realm.setAutoRefresh(false) " +
                         "to prevent this.");
             }
@@ -372,8 +442,8 @@ abstract class BaseRealm implements Closeable {
             throw new IllegalStateException(BaseRealm.CLOSED_REALM_MESSAGE);
         }
 
-        // Check if we are in the right thread
-        if (threadId != Thread.currentThread().getId()) {
+        // Check if we are in the right thread. Frozen Realms can be read from any thread.
+        if (!frozen && threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(BaseRealm.INCORRECT_THREAD_MESSAGE);
         }
     }
@@ -416,10 +486,29 @@ abstract class BaseRealm implements Closeable {
      * It's important to always remember to close Realm instances when you're done with it in order not to leak memory,
      * file descriptors or grow the size of Realm file out of measure.
      *
+     * <p>
+     * Frozen Realms can be closed from any thread. Their version is released once they are closed as many times as
+     * they have been returned by {@link Realm#freeze()}, no thread may still read them at that point.
+     *
      * @throws IllegalStateException if attempting to close from another thread.
      */
     @Override
     public void close() {
+        if (frozen) {
+            boolean closed = false;
+            synchronized (this) {
+                if (sharedGroupManager == null) {
+                    RealmLog.w("Frozen Realm " + getPath() + " has been closed already.");
+                } else if (--frozenRefCount == 0) {
+                    doClose();
+                    closed = true;
+                }
+            }
+            if (closed) {
+                RealmCache.releaseFrozen(configuration);
+            }
+            return;
+        }
         if (this.threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(INCORRECT_THREAD_CLOSE_MESSAGE);
         }
@@ -447,7 +536,7 @@ abstract class BaseRealm implements Closeable {
      * @throws IllegalStateException if attempting to close from another thread.
      */
     public boolean isClosed() {
-        if (this.threadId != Thread.currentThread().getId()) {
+        if (!frozen && this.threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(INCORRECT_THREAD_MESSAGE);
         }
 
@@ -468,6 +557,32 @@ abstract class BaseRealm implements Closeable {
         return sharedGroupManager.hasChanged();
     }
 
+    /**
+     * Returns the {@link io.realm.internal.SchemaFingerprint} stored when the schema was last validated, or
+     * {@link #NO_SCHEMA_FINGERPRINT} if it never was.
+     */
+    long getSchemaFingerprint() {
+        if (!sharedGroupManager.hasTable(Table.METADATA_TABLE_NAME)) {
+            return NO_SCHEMA_FINGERPRINT;
+        }
+        Table metadataTable = sharedGroupManager.getTable(Table.METADATA_TABLE_NAME);
+        long columnIndex = metadataTable.getColumnIndex(SCHEMA_FINGERPRINT_COLUMN_NAME);
+        if (columnIndex == TableOrView.NO_MATCH || metadataTable.isEmpty()) {
+            return NO_SCHEMA_FINGERPRINT;
+        }
+        return metadataTable.getLong(columnIndex, 0);
+    }
+
+    // Must be called after setVersion(), which creates the row of the metadata table.
+    void setSchemaFingerprint(long fingerprint) {
+        Table metadataTable = sharedGroupManager.getTable(Table.METADATA_TABLE_NAME);
+        long columnIndex = metadataTable.getColumnIndex(SCHEMA_FINGERPRINT_COLUMN_NAME);
+        if (columnIndex == TableOrView.NO_MATCH) {
+            columnIndex = metadataTable.addColumn(RealmFieldType.INTEGER, SCHEMA_FINGERPRINT_COLUMN_NAME);
+        }
+        metadataTable.setLong(columnIndex, 0, fingerprint);
+    }
+
     // package protected so unit tests can access it
     void setVersion(long version) {
         Table metadataTable = sharedGroupManager.getTable(Table.METADATA_TABLE_NAME);
@@ -531,9 +646,6 @@ abstract class BaseRealm implements Closeable {
         result.row = row;
         result.realm = this;
         result.setTableVersion();
-        if (handlerController != null) {
-            handlerController.addToRealmObjects(result);
-        }
         return result;
     }
 
@@ -554,10 +666,6 @@ abstract class BaseRealm implements Closeable {
         result.row = table.getUncheckedRow(rowIndex);
         result.realm = this;
         result.setTableVersion();
-
-        if (handlerController != null) {
-            handlerController.addToRealmObjects(result);
-        }
         return result;
     }
 
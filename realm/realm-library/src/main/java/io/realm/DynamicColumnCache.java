@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.internal.SharedGroupManager;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+
+/**
+ * Caches the column index and type of each field of the classes accessed dynamically, so
+ * {@link DynamicRealmObject}s and {@link DynamicRealm} queries look them up natively once per class instead of on
+ * each field access. All objects of a class share the same {@link Columns}.
+ * <p>
+ * The columns of a class only move when the schema is changed through {@link RealmSchema} or
+ * {@link RealmObjectSchema}, which calls {@link #invalidate()}, or when the Realm moves to another version, which might
+ * contain schema changes from another thread or process. Both drop all cached classes, and the {@link Columns} handed
+ * out before are no longer valid.
+ */
+final class DynamicColumnCache {
+
+    private final SharedGroupManager sharedGroupManager;
+    // Table name to columns.
+    private final Map<String, Columns> tables = new HashMap<String, Columns>();
+    // Objects of the same query results share their Table, which saves reading its name on each lookup.
+    private Table lastTable;
+    private Columns lastColumns;
+    private long versionChangeCount;
+    private long generation;
+
+    DynamicColumnCache(SharedGroupManager sharedGroupManager) {
+        this.sharedGroupManager = sharedGroupManager;
+        this.versionChangeCount = sharedGroupManager.getVersionChangeCount();
+    }
+
+    /**
+     * Returns the columns of a table, reading them from the table if they aren't cached yet.
+     */
+    Columns get(Table table) {
+        checkVersion();
+        if (table == lastTable) {
+            return lastColumns;
+        }
+        String tableName = table.getName();
+        Columns columns = tables.get(tableName);
+        if (columns == null) {
+            columns = new Columns(table, generation);
+            tables.put(tableName, columns);
+        }
+        lastTable = table;
+        lastColumns = columns;
+        return columns;
+    }
+
+    /**
+     * Checks if columns returned by {@link #get(Table)} still match the schema.
+     */
+    boolean isValid(Columns columns) {
+        checkVersion();
+        return columns.generation == generation;
+    }
+
+    /**
+     * Drops all cached columns. Must be called after each change of the schema.
+     */
+    void invalidate() {
+        tables.clear();
+        lastTable = null;
+        lastColumns = null;
+        generation++;
+    }
+
+    private void checkVersion() {
+        long currentCount = sharedGroupManager.getVersionChangeCount();
+        if (currentCount != versionChangeCount) {
+            versionChangeCount = currentCount;
+            invalidate();
+        }
+    }
+
+    /**
+     * The column index and type of each field of a class.
+     */
+    static final class Columns {
+        private final long generation;
+        private final Map<String, Long> indices;
+        private final RealmFieldType[] types;
+
+        private Columns(Table table, long generation) {
+            this.generation = generation;
+            int columnCount = (int) table.getColumnCount();
+            this.indices = new HashMap<String, Long>(columnCount * 2);
+            this.types = new RealmFieldType[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                indices.put(table.getColumnName(i), (long) i);
+                types[i] = table.getColumnType(i);
+            }
+        }
+
+        /**
+         * Returns the column index of a field or {@link TableOrView#NO_MATCH} if there is no such field.
+         */
+        long getIndex(String fieldName) {
+            Long index = indices.get(fieldName);
+            return (index != null) ? index : TableOrView.NO_MATCH;
+        }
+
+        /**
+         * Returns the type of a column. The index must be valid.
+         */
+        RealmFieldType getType(long columnIndex) {
+            return types[(int) columnIndex];
+        }
+
+        /**
+         * Checks if a column index is in range.
+         */
+        boolean hasIndex(long columnIndex) {
+            return columnIndex >= 0 && columnIndex < types.length;
+        }
+    }
+}
@@ -95,11 +95,7 @@ public final class DynamicRealm extends BaseRealm {
     public DynamicRealmObject createObject(String className, Object primaryKeyValue) {
         Table table = schema.getTable(className);
         long index = table.addEmptyRowWithPrimaryKey(primaryKeyValue);
-        DynamicRealmObject dynamicRealmObject = new DynamicRealmObject(this, table.getCheckedRow(index));
-        if (handlerController != null) {
-            handlerController.addToRealmObjects(dynamicRealmObject);
-        }
-        return dynamicRealmObject;
+        return new DynamicRealmObject(this, table.getCheckedRow(index));
     }
 
     /**
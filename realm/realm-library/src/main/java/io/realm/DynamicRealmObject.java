@@ -22,6 +22,7 @@ import io.realm.internal.CheckedRow;
 import io.realm.internal.LinkView;
 import io.realm.internal.Row;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.android.JsonUtils;
 
@@ -31,6 +32,7 @@ import io.realm.internal.android.JsonUtils;
  */
 public final class DynamicRealmObject extends RealmObject {
     private String className;
+    private DynamicColumnCache.Columns columns;
 
     /**
      * Creates a dynamic Realm object based on an existing object.
@@ -76,10 +78,21 @@ public final class DynamicRealmObject extends RealmObject {
      * @return the field value.
      * @throws ClassCastException if the field doesn't contain a field of the defined return type.
      */
-    @SuppressWarnings("unchecked")
     public <E> E get(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
-        RealmFieldType type = row.getColumnType(columnIndex);
+        return get(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the value of the field at the given index. See {@link #get(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the field value.
+     * @throws IllegalArgumentException if the index is out of range.
+     * @throws ClassCastException if the field doesn't contain a field of the defined return type.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> E get(long columnIndex) {
+        RealmFieldType type = getColumnType(columnIndex);
         switch (type) {
             case BOOLEAN: return (E) Boolean.valueOf(row.getBoolean(columnIndex));
             case INTEGER: return (E) Long.valueOf(row.getLong(columnIndex));
@@ -88,8 +101,8 @@ public final class DynamicRealmObject extends RealmObject {
             case STRING: return (E) row.getString(columnIndex);
             case BINARY: return (E) row.getBinaryByteArray(columnIndex);
             case DATE: return (E) row.getDate(columnIndex);
-            case OBJECT: return (E) getObject(fieldName);
-            case LIST: return (E) getList(fieldName);
+            case OBJECT: return (E) getObject(columnIndex);
+            case LIST: return (E) getList(columnIndex);
             case UNSUPPORTED_TABLE:
             case UNSUPPORTED_MIXED:
             default:
@@ -108,7 +121,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public boolean getBoolean(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getBoolean(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code boolean} value of the field at the given index. See {@link #getBoolean(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the boolean value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain booleans.
+     */
+    public boolean getBoolean(long columnIndex) {
+        checkColumnIndex(columnIndex);
         return row.getBoolean(columnIndex);
     }
 
@@ -123,7 +147,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public int getInt(String fieldName) {
-        return (int) getLong(fieldName);
+        return getInt(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code int} value of the field at the given index. See {@link #getInt(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the int value. Integer values exceeding {@code Integer.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public int getInt(long columnIndex) {
+        return (int) getLong(columnIndex);
     }
 
     /**
@@ -137,7 +172,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public short getShort(String fieldName) {
-        return (short) getLong(fieldName);
+        return getShort(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code short} value of the field at the given index. See {@link #getShort(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the short value. Integer values exceeding {@code Short.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public short getShort(long columnIndex) {
+        return (short) getLong(columnIndex);
     }
 
     /**
@@ -151,7 +197,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public long getLong(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getLong(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code long} value of the field at the given index. See {@link #getLong(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the long value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public long getLong(long columnIndex) {
+        checkColumnIndex(columnIndex);
         return row.getLong(columnIndex);
     }
 
@@ -166,7 +223,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public byte getByte(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getByte(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code byte} value of the field at the given index. See {@link #getByte(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the byte value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public byte getByte(long columnIndex) {
+        checkColumnIndex(columnIndex);
         return (byte) row.getLong(columnIndex);
     }
 
@@ -181,7 +249,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public float getFloat(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getFloat(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code float} value of the field at the given index. See {@link #getFloat(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the float value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain floats.
+     */
+    public float getFloat(long columnIndex) {
+        checkColumnIndex(columnIndex);
         return row.getFloat(columnIndex);
     }
 
@@ -196,7 +275,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public double getDouble(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getDouble(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code double} value of the field at the given index. See {@link #getDouble(String)}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the double value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain doubles.
+     */
+    public double getDouble(long columnIndex) {
+        checkColumnIndex(columnIndex);
         return row.getDouble(columnIndex);
     }
 
@@ -208,7 +298,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain binary data.
      */
     public byte[] getBlob(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getBlob(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code byte[]} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the byte[] value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain binary data.
+     */
+    public byte[] getBlob(long columnIndex) {
+        checkColumnIndex(columnIndex);
         return row.getBinaryByteArray(columnIndex);
     }
 
@@ -220,7 +321,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain Strings.
      */
     public String getString(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getString(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code String} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the String value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain Strings.
+     */
+    public String getString(long columnIndex) {
+        checkColumnIndex(columnIndex);
         return row.getString(columnIndex);
     }
 
@@ -232,7 +344,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain Dates.
      */
     public Date getDate(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getDate(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code Date} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the Date value.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain Dates.
+     */
+    public Date getDate(long columnIndex) {
+        checkColumnIndex(columnIndex);
         if (row.isNull(columnIndex)) {
             return null;
         } else {
@@ -248,7 +371,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain links to other objects.
      */
     public DynamicRealmObject getObject(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getObject(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the object being linked to from the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the {@link DynamicRealmObject} representation of the linked object or {@code null} if no object is linked.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain links to other objects.
+     */
+    public DynamicRealmObject getObject(long columnIndex) {
+        checkColumnIndex(columnIndex);
         if (row.isNullLink(columnIndex)) {
             return null;
         } else {
@@ -266,7 +400,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain a list of links.
      */
     public RealmList<DynamicRealmObject> getList(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getList(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@link RealmList} of objects being linked to from the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return the {@link RealmList} data for this field.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain a list of links.
+     */
+    public RealmList<DynamicRealmObject> getList(long columnIndex) {
+        checkColumnIndex(columnIndex);
         LinkView linkView = row.getLinkList(columnIndex);
         String className = linkView.getTable().getLinkTarget(columnIndex).getName().substring(Table.TABLE_PREFIX.length());
         return new RealmList<DynamicRealmObject>(className, linkView, realm);
@@ -281,8 +426,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists.
      */
     public boolean isNull(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
-        RealmFieldType type = row.getColumnType(columnIndex);
+        return isNull(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Checks if the value of the field at the given index is {@code null}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @return {@code true} if field value is null, {@code false} otherwise.
+     * @throws IllegalArgumentException if the index is out of range.
+     */
+    public boolean isNull(long columnIndex) {
+        RealmFieldType type = getColumnType(columnIndex);
         switch (type) {
             case OBJECT:
                 return row.isNullLink(columnIndex);
@@ -313,7 +468,7 @@ public final class DynamicRealmObject extends RealmObject {
         if (fieldName == null || fieldName.isEmpty()) {
             return false;
         }
-        return row.hasColumn(fieldName);
+        return getColumns().getIndex(fieldName) != TableOrView.NO_MATCH;
     }
 
     /**
@@ -346,8 +501,7 @@ public final class DynamicRealmObject extends RealmObject {
         String strValue = isString ? (String) value : null;
 
         // Do implicit conversion if needed
-        long columnIndex = row.getColumnIndex(fieldName);
-        RealmFieldType type = row.getColumnType(columnIndex);
+        RealmFieldType type = getColumnType(getColumnIndex(fieldName));
         if (isString && type != RealmFieldType.STRING) {
             switch(type) {
                 case BOOLEAN: value = Boolean.parseBoolean(strValue); break;
@@ -411,7 +565,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't a boolean field.
      */
     public void setBoolean(String fieldName, boolean value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setBoolean(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code boolean} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain booleans.
+     */
+    public void setBoolean(long columnIndex, boolean value) {
+        checkColumnIndex(columnIndex);
         row.setBoolean(columnIndex, value);
     }
 
@@ -423,7 +588,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't an integer field.
      */
     public void setShort(String fieldName, short value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setShort(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code short} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public void setShort(long columnIndex, short value) {
+        checkColumnIndex(columnIndex);
         row.setLong(columnIndex, value);
     }
 
@@ -435,7 +611,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't an integer field.
      */
     public void setInt(String fieldName, int value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setInt(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code int} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public void setInt(long columnIndex, int value) {
+        checkColumnIndex(columnIndex);
         row.setLong(columnIndex, value);
     }
 
@@ -447,7 +634,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't an integer field.
      */
     public void setLong(String fieldName, long value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setLong(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code long} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public void setLong(long columnIndex, long value) {
+        checkColumnIndex(columnIndex);
         row.setLong(columnIndex, value);
     }
 
@@ -459,7 +657,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't an integer field.
      */
     public void setByte(String fieldName, byte value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setByte(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code byte} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain integers.
+     */
+    public void setByte(long columnIndex, byte value) {
+        checkColumnIndex(columnIndex);
         row.setLong(columnIndex, value);
     }
 
@@ -471,7 +680,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't an integer field.
      */
     public void setFloat(String fieldName, float value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setFloat(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code float} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain floats.
+     */
+    public void setFloat(long columnIndex, float value) {
+        checkColumnIndex(columnIndex);
         row.setFloat(columnIndex, value);
     }
 
@@ -483,7 +703,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't a double field.
      */
     public void setDouble(String fieldName, double value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setDouble(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code double} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain doubles.
+     */
+    public void setDouble(long columnIndex, double value) {
+        checkColumnIndex(columnIndex);
         row.setDouble(columnIndex, value);
     }
 
@@ -495,7 +726,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't a String field.
      */
     public void setString(String fieldName, String value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setString(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code String} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain Strings.
+     */
+    public void setString(long columnIndex, String value) {
+        checkColumnIndex(columnIndex);
         row.setString(columnIndex, value);
     }
 
@@ -507,7 +749,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't a binary field.
      */
     public void setBlob(String fieldName, byte[] value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setBlob(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the binary value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain binary data.
+     */
+    public void setBlob(long columnIndex, byte[] value) {
+        checkColumnIndex(columnIndex);
         row.setBinaryByteArray(columnIndex, value);
     }
 
@@ -519,7 +772,18 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or isn't a Date field.
      */
     public void setDate(String fieldName, Date value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setDate(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code Date} value of the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the index is out of range or the field doesn't contain Dates.
+     */
+    public void setDate(long columnIndex, Date value) {
+        checkColumnIndex(columnIndex);
         if (value == null) {
             row.setNull(columnIndex);
         } else {
@@ -536,7 +800,19 @@ public final class DynamicRealmObject extends RealmObject {
      * of DynamicRealmObject doesn't match.
      */
     public void setObject(String fieldName, DynamicRealmObject value) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        setObject(getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets a reference to another object on the field at the given index.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @param value object to link to.
+     * @throws IllegalArgumentException if the index is out of range, the field doesn't link to other Realm objects, or
+     * the type of DynamicRealmObject doesn't match.
+     */
+    public void setObject(long columnIndex, DynamicRealmObject value) {
+        checkColumnIndex(columnIndex);
         if (value == null) {
             row.nullifyLink(columnIndex);
         } else {
@@ -584,7 +860,7 @@ public final class DynamicRealmObject extends RealmObject {
             typeValidated = true;
         }
 
-        long columnIndex = row.getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         LinkView links = row.getLinkList(columnIndex);
         links.clear();
         for (int i = 0; i < list.size(); i++) {
@@ -607,8 +883,17 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists, or the field isn't nullable.
      */
     public void setNull(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
-        RealmFieldType type = row.getColumnType(columnIndex);
+        setNull(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Sets the value of the field at the given index to {@code null}.
+     *
+     * @param columnIndex the index of the field, see {@link #getFieldIndex(String)}.
+     * @throws IllegalArgumentException if the index is out of range, or the field isn't nullable.
+     */
+    public void setNull(long columnIndex) {
+        RealmFieldType type = getColumnType(columnIndex);
         if (type == RealmFieldType.OBJECT) {
             row.nullifyLink(columnIndex);
         } else {
@@ -632,8 +917,32 @@ public final class DynamicRealmObject extends RealmObject {
      * @return the underlying type used by Realm to represent this field.
      */
     public RealmFieldType getFieldType(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
-        return row.getColumnType(columnIndex);
+        return getColumnType(getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the index of a field, which can be used instead of its name to access the field on all objects of the
+     * same type, e.g. {@link #getLong(long)}. Accessing fields by index saves looking up their name on each access,
+     * which is faster when the same fields of many objects are read or written:
+     *
+     * <pre>
+     * {@code
+     * long ageIndex = dogs.first().getFieldIndex("age");
+     * for (DynamicRealmObject dog : dogs) {
+     *     totalAge += dog.getLong(ageIndex);
+     * }
+     * }
+     * </pre>
+     *
+     * The index of a field can change when the schema changes, e.g. during a migration or after the Realm was
+     * refreshed to a version where another thread changed the schema. Indices must be looked up again after that.
+     *
+     * @param fieldName the name of the field.
+     * @return the index of the field.
+     * @throws IllegalArgumentException if field name doesn't exists.
+     */
+    public long getFieldIndex(String fieldName) {
+        return getColumnIndex(fieldName);
     }
 
     @Override
@@ -683,8 +992,8 @@ public final class DynamicRealmObject extends RealmObject {
         StringBuilder sb = new StringBuilder(row.getTable().getName() + " = [");
         String[] fields = getFieldNames();
         for (String field : fields) {
-            long columnIndex = row.getColumnIndex(field);
-            RealmFieldType type = row.getColumnType(columnIndex);
+            long columnIndex = getColumnIndex(field);
+            RealmFieldType type = getColumnType(columnIndex);
             sb.append("{");
             switch (type) {
                 case BOOLEAN: sb.append(field).append(": ").append(row.getBoolean(columnIndex)); break;
@@ -717,6 +1026,38 @@ public final class DynamicRealmObject extends RealmObject {
         return sb.toString();
     }
 
+    // The columns are shared by all objects of the same type until the schema changes.
+    private DynamicColumnCache.Columns getColumns() {
+        DynamicColumnCache columnCache = realm.schema.columnCache;
+        if (columns == null || !columnCache.isValid(columns)) {
+            columns = columnCache.get(row.getTable());
+        }
+        return columns;
+    }
+
+    private long getColumnIndex(String fieldName) {
+        if (fieldName == null) {
+            throw new IllegalArgumentException("Field name can not be null.");
+        }
+        long columnIndex = getColumns().getIndex(fieldName);
+        if (columnIndex == TableOrView.NO_MATCH) {
+            // Same message as the native lookup of CheckedRow.getColumnIndex().
+            throw new IllegalArgumentException("Illegal Argument: Field not found: " + fieldName);
+        }
+        return columnIndex;
+    }
+
+    private void checkColumnIndex(long columnIndex) {
+        if (!getColumns().hasIndex(columnIndex)) {
+            throw new IllegalArgumentException("Field index out of range: " + columnIndex);
+        }
+    }
+
+    private RealmFieldType getColumnType(long columnIndex) {
+        checkColumnIndex(columnIndex);
+        return columns.getType(columnIndex);
+    }
+
     @Override
     protected Table getTable() {
         if (className != null) {
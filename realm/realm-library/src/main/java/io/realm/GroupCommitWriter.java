@@ -0,0 +1,346 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Runs the async transactions of a Realm file on a dedicated writer thread, committing all transactions queued at the
+ * same time in a single write transaction. This saves the cost of acquiring the write lock, syncing the file to disk
+ * and notifying other threads for each of them.
+ * <p>
+ * Each transaction keeps its own callbacks. As core has no savepoints, a failing transaction rolls back the whole
+ * write transaction. The transactions executed before it are then run a second time and committed, and the
+ * transactions after it are run in a new write transaction. Execution is therefore at-least-once: a transaction is
+ * executed twice at most, and committed once at most. If a transaction fails only when it is run the second time, the
+ * whole rerun is rolled back and all its transactions are reported as failed, even though their first run succeeded.
+ * Grouping is opt-in for that reason.
+ *
+ * @see RealmConfiguration.Builder#groupAsyncTransactions()
+ */
+final class GroupCommitWriter {
+
+    // Upper bound of transactions committed together, so their callbacks are not delayed too much
+    private static final int MAX_GROUP_SIZE = 1000;
+    // The writer thread stops when it has been idle for that long
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    // Writers by canonical path of the Realm file, in the same way as RealmCache. A writer is removed once it has no
+    // pending transactions left. Transactions are only queued while holding the lock of the map, so none can be added
+    // to a removed writer.
+    private static final Map<String, GroupCommitWriter> writers = new HashMap<String, GroupCommitWriter>();
+
+    private final RealmConfiguration configuration;
+    private final ConcurrentLinkedQueue<PendingTransaction> pendingTransactions =
+            new ConcurrentLinkedQueue<PendingTransaction>();
+    private final ThreadPoolExecutor writerThread;
+    private final Runnable commitPendingTransactions = new Runnable() {
+        @Override
+        public void run() {
+            commitPendingTransactions();
+        }
+    };
+
+    private GroupCommitWriter(RealmConfiguration configuration) {
+        this.configuration = configuration;
+        this.writerThread = new ThreadPoolExecutor(0, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        // Set once for the lifetime of the writer thread.
+                        android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }
+                }, "RealmGroupCommit");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Queues a transaction to be committed with the other pending transactions of the Realm file.
+     *
+     * @param configuration the configuration of the Realm.
+     * @param transaction the transaction to execute.
+     * @param onSuccess callback invoked on the caller thread when the transaction is committed, can be {@code null}.
+     * @param onError callback invoked on the caller thread when the transaction failed, can be {@code null}.
+     * @param handler the handler of the caller thread, {@code null} if no callback is given.
+     * @return the future of the transaction, which can be cancelled as long as it hasn't been executed.
+     */
+    static Future<?> submit(RealmConfiguration configuration, Realm.Transaction transaction,
+                            Realm.Transaction.OnSuccess onSuccess, Realm.Transaction.OnError onError,
+                            Handler handler) {
+        PendingTransaction pendingTransaction = new PendingTransaction(transaction, onSuccess, onError, handler);
+        synchronized (writers) {
+            GroupCommitWriter writer = writers.get(configuration.getPath());
+            if (writer == null) {
+                writer = new GroupCommitWriter(configuration);
+                writers.put(configuration.getPath(), writer);
+            }
+            writer.pendingTransactions.add(pendingTransaction);
+            // Transactions queued while the writer is busy are all taken by its next run, the other runs return at
+            // once.
+            writer.writerThread.execute(writer.commitPendingTransactions);
+        }
+        return pendingTransaction;
+    }
+
+    private void removeIfDrained() {
+        synchronized (writers) {
+            if (pendingTransactions.isEmpty() && writers.get(configuration.getPath()) == this) {
+                writers.remove(configuration.getPath());
+            }
+        }
+    }
+
+    private void commitPendingTransactions() {
+        try {
+            commitGroup();
+        } finally {
+            removeIfDrained();
+        }
+    }
+
+    private void commitGroup() {
+        List<PendingTransaction> group = new ArrayList<PendingTransaction>();
+        PendingTransaction pendingTransaction;
+        while (group.size() < MAX_GROUP_SIZE && (pendingTransaction = pendingTransactions.poll()) != null) {
+            if (!pendingTransaction.isCancelled()) {
+                group.add(pendingTransaction);
+            }
+        }
+        if (group.isEmpty()) {
+            return;
+        }
+
+        // Callbacks are only invoked once the Realm is closed, like for other async transactions.
+        List<PendingTransaction> committed = new ArrayList<PendingTransaction>();
+        List<PendingTransaction> failed = new ArrayList<PendingTransaction>();
+        List<Throwable> failures = new ArrayList<Throwable>();
+        Realm realm = null;
+        try {
+            // Inside the try, so all the transactions are notified if the Realm can't be opened.
+            realm = Realm.getInstance(configuration);
+            List<PendingTransaction> remaining = group;
+            while (!remaining.isEmpty()) {
+                realm.beginTransaction();
+                Throwable failure = null;
+                int executedCount = 0;
+                for (PendingTransaction transaction : remaining) {
+                    try {
+                        transaction.transaction.execute(realm);
+                    } catch (Throwable e) {
+                        failure = e;
+                        break;
+                    }
+                    executedCount++;
+                }
+
+                List<PendingTransaction> executed = new ArrayList<PendingTransaction>(
+                        remaining.subList(0, executedCount));
+                if (failure != null) {
+                    failed.add(remaining.get(executedCount));
+                    failures.add(failure);
+                    remaining = new ArrayList<PendingTransaction>(
+                            remaining.subList(executedCount + 1, remaining.size()));
+                } else {
+                    remaining = new ArrayList<PendingTransaction>();
+                }
+
+                if (failure == null && !removeCancelled(executed)) {
+                    commit(realm, true);
+                    committed.addAll(executed);
+                    break;
+                }
+
+                // Transactions cancelled while they were executed must not be committed. The transactions executed
+                // before the failed or cancelled ones are run a second time and committed on their own, the others
+                // are run in the next write transaction.
+                realm.cancelTransaction();
+                if (!executed.isEmpty()) {
+                    commitAgain(realm, executed, remaining.isEmpty(), committed, failed, failures);
+                }
+            }
+        } catch (Throwable e) {
+            // Opening the Realm or a commit failed
+            for (PendingTransaction transaction : group) {
+                if (!committed.contains(transaction) && !failed.contains(transaction)) {
+                    failed.add(transaction);
+                    failures.add(e);
+                }
+            }
+        } finally {
+            if (realm != null && !realm.isClosed()) {
+                if (realm.isInTransaction()) {
+                    realm.cancelTransaction();
+                }
+                realm.close();
+            }
+        }
+
+        for (PendingTransaction transaction : committed) {
+            transaction.onCommitted();
+        }
+        for (int i = 0; i < failed.size(); i++) {
+            failed.get(i).onFailed(failures.get(i));
+        }
+    }
+
+    // Runs transactions which have already been executed once again, and commits them. They are not run a third
+    // time: if one of them fails now, they all fail. A transaction cancelled after it has been run once is
+    // committed, its callbacks are not invoked anymore.
+    private static void commitAgain(Realm realm, List<PendingTransaction> transactions, boolean last,
+                                    List<PendingTransaction> committed, List<PendingTransaction> failed,
+                                    List<Throwable> failures) {
+        realm.beginTransaction();
+        for (PendingTransaction transaction : transactions) {
+            try {
+                transaction.transaction.execute(realm);
+            } catch (Throwable e) {
+                realm.cancelTransaction();
+                for (PendingTransaction rolledBack : transactions) {
+                    failed.add(rolledBack);
+                    failures.add(rolledBack == transaction ? e : new RealmException(
+                            "Async transaction rolled back, as another transaction of its group failed when run" +
+                                    " again", e));
+                }
+                return;
+            }
+        }
+        commit(realm, last);
+        committed.addAll(transactions);
+    }
+
+    private static void commit(final Realm realm, boolean last) {
+        if (last) {
+            // The Realm must be closed before other threads are notified, like for other async transactions
+            realm.commitTransaction(new Runnable() {
+                @Override
+                public void run() {
+                    realm.close();
+                }
+            });
+        } else {
+            realm.commitTransaction();
+        }
+    }
+
+    // Returns true if cancelled transactions were removed from the group.
+    private static boolean removeCancelled(List<PendingTransaction> group) {
+        boolean removed = false;
+        for (Iterator<PendingTransaction> it = group.iterator(); it.hasNext(); ) {
+            if (it.next().isCancelled()) {
+                it.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private static final Runnable NO_OP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private static class PendingTransaction extends FutureTask<Void> {
+        final Realm.Transaction transaction;
+        private final Realm.Transaction.OnSuccess onSuccess;
+        private final Realm.Transaction.OnError onError;
+        private final Handler handler;
+
+        PendingTransaction(Realm.Transaction transaction, Realm.Transaction.OnSuccess onSuccess,
+                           Realm.Transaction.OnError onError, Handler handler) {
+            // Never run, the writer executes the transaction itself and completes the future
+            super(NO_OP, null);
+            this.transaction = transaction;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+            this.handler = handler;
+        }
+
+        void onCommitted() {
+            set(null);
+            // Cancelled after the last check of the writer, the callback is not expected anymore.
+            if (isCancelled()) {
+                return;
+            }
+            if (onSuccess != null && isAliveHandler()) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onSuccess.onSuccess();
+                    }
+                });
+            }
+        }
+
+        void onFailed(final Throwable exception) {
+            setException(exception);
+            if (isCancelled()) {
+                return;
+            }
+            if (!isAliveHandler()) {
+                RealmLog.e("Async transaction failed", exception);
+            } else if (onError != null) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onError.onError(exception);
+                    }
+                });
+            } else {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (exception instanceof RuntimeException) {
+                            throw (RuntimeException) exception;
+                        } else if (exception instanceof Exception) {
+                            throw new RealmException("Async transaction failed", exception);
+                        } else if (exception instanceof Error) {
+                            throw (Error) exception;
+                        }
+                    }
+                });
+            }
+        }
+
+        private boolean isAliveHandler() {
+            return handler != null && handler.getLooper().getThread().isAlive();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * The groups computed by {@link RealmGroupBy}, with one key and one aggregated value per group. The objects whose key
+ * is {@code null} are in the first group, the other groups are in ascending order of their key.
+ * <p>
+ * The values are kept in arrays, {@link #getLong(int)} and {@link #getDouble(int)} read them without boxing.
+ * GroupedResults is a snapshot: it isn't updated when the objects change and can be used from any thread.
+ */
+public final class GroupedResults {
+
+    // Number of longs describing a group, see TableView#groupBy().
+    static final int GROUP_FIELDS = 6;
+    private static final int ROW_COUNT = 3;
+    private static final int VALUE_COUNT = 4;
+    private static final int VALUE = 5;
+
+    private final Object[] keys;
+    private final long[] groups;
+    private final int aggregate;
+    private final RealmFieldType valueType;
+
+    GroupedResults(Object[] keys, long[] groups, int aggregate, RealmFieldType valueType) {
+        this.keys = keys;
+        this.groups = groups;
+        this.aggregate = aggregate;
+        this.valueType = valueType;
+    }
+
+    /**
+     * Returns the number of groups.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the key of a group.
+     *
+     * @param index the index of the group.
+     * @return the key, a {@link String}, {@link Long}, {@link Boolean} or {@link java.util.Date} depending on the
+     * field grouped by. Date keys are the start of their bucket.
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range.
+     */
+    public Object getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns the index of the group with the given key.
+     *
+     * @param key the key of the group, as returned by {@link #getKey(int)}.
+     * @return the index of the group or {@code -1} if no object has this key.
+     */
+    public int indexOf(Object key) {
+        for (int i = 0; i < keys.length; i++) {
+            // Only the group of the null key has a null key.
+            if (key == null ? keys[i] == null : key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of objects of a group.
+     *
+     * @param index the index of the group.
+     * @return the number of objects, at least 1.
+     */
+    public long getCount(int index) {
+        return field(index, ROW_COUNT);
+    }
+
+    /**
+     * Returns the aggregated value of a group.
+     *
+     * @param index the index of the group.
+     * @return a {@link Long} for counts and for sums, minimums and maximums of integer fields, a {@link Double} for
+     * averages and for sums of float and double fields, the type of the field for minimums and maximums of float and
+     * double fields. Minimums and maximums are {@code null} if all the objects of the group have a {@code null} value.
+     */
+    public Number getValue(int index) {
+        if (aggregate == RealmGroupBy.AGGREGATE_COUNT) {
+            return getCount(index);
+        }
+        if (aggregate == RealmGroupBy.AGGREGATE_AVERAGE) {
+            return getDouble(index);
+        }
+        if (aggregate != RealmGroupBy.AGGREGATE_SUM && field(index, VALUE_COUNT) == 0) {
+            return null;
+        }
+        switch (valueType) {
+            case INTEGER:
+                return field(index, VALUE);
+            case FLOAT:
+                if (aggregate != RealmGroupBy.AGGREGATE_SUM) {
+                    return (float) rawDouble(index);
+                }
+                return rawDouble(index);
+            default:
+                return rawDouble(index);
+        }
+    }
+
+    /**
+     * Returns the aggregated value of a group as a {@code long}, without boxing it. Float and double values are
+     * truncated.
+     *
+     * @param index the index of the group.
+     * @return the value, {@code 0} for a minimum or maximum of a group without any value.
+     */
+    public long getLong(int index) {
+        if (aggregate == RealmGroupBy.AGGREGATE_COUNT) {
+            return getCount(index);
+        }
+        if (valueType == RealmFieldType.INTEGER && aggregate != RealmGroupBy.AGGREGATE_AVERAGE) {
+            return field(index, VALUE);
+        }
+        return (long) getDouble(index);
+    }
+
+    /**
+     * Returns the aggregated value of a group as a {@code double}, without boxing it.
+     *
+     * @param index the index of the group.
+     * @return the value, {@code 0} for an average, minimum or maximum of a group without any value.
+     */
+    public double getDouble(int index) {
+        if (aggregate == RealmGroupBy.AGGREGATE_COUNT) {
+            return getCount(index);
+        }
+        long valueCount = field(index, VALUE_COUNT);
+        if (valueCount == 0) {
+            return 0;
+        }
+        double value = (valueType == RealmFieldType.INTEGER) ? field(index, VALUE) : rawDouble(index);
+        return (aggregate == RealmGroupBy.AGGREGATE_AVERAGE) ? value / valueCount : value;
+    }
+
+    private long field(int index, int field) {
+        if (index < 0 || index >= keys.length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return groups[index * GROUP_FIELDS + field];
+    }
+
+    private double rawDouble(int index) {
+        return Double.longBitsToDouble(field(index, VALUE));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("GroupedResults{");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(keys[i]).append('=').append(getValue(i));
+        }
+        return stringBuilder.append('}').toString();
+    }
+}
@@ -23,6 +23,8 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -59,6 +61,14 @@ public class HandlerController implements Handler.Callback {
     final BaseRealm realm;
     // pending update of async queries
     private Future updateAsyncQueriesTask;
+    // tables of the async queries in the pending update, null if all of them are updated
+    private Set<String> updateAsyncQueriesTables;
+    // the next REALM_CHANGED must update all async queries
+    private boolean updateAllAsyncQueries = false;
+
+    // Tables changed by commits on other threads, not yet seen by the thread of each Handler. This is only used to
+    // pick the async queries to update, notifications are based on the tables changed when the Realm advances.
+    private static final Map<Handler, Set<String>> pendingChangedTables = new HashMap<Handler, Set<String>>();
 
     final ReferenceQueue<RealmResults<? extends RealmObject>> referenceQueueAsyncRealmResults = new ReferenceQueue<RealmResults<? extends RealmObject>>();
     final ReferenceQueue<RealmResults<? extends RealmObject>> referenceQueueSyncRealmResults = new ReferenceQueue<RealmResults<? extends RealmObject>>();
@@ -201,12 +211,64 @@ public class HandlerController implements Handler.Callback {
         }
     }
 
-    void notifyTypeBasedListeners() {
-        notifyAsyncRealmResultsCallbacks();
-        notifySyncRealmResultsCallbacks();
+    /**
+     * Notifies the listeners of the RealmResults and RealmObjects of this thread.
+     *
+     * @param changedTables the names of the changed tables, RealmResults not depending on any of them are skipped.
+     *                      {@code null} if unknown.
+     */
+    void notifyTypeBasedListeners(Set<String> changedTables) {
+        notifyAsyncRealmResultsCallbacks(changedTables);
+        notifySyncRealmResultsCallbacks(changedTables);
         notifyRealmObjectCallbacks();
     }
 
+    /**
+     * Records tables changed by a commit on another thread, for the thread of the given Handler.
+     *
+     * @param handler the Handler of the thread to be notified.
+     * @param changedTables the names of the changed tables.
+     */
+    static void addPendingChangedTables(Handler handler, Set<String> changedTables) {
+        synchronized (pendingChangedTables) {
+            Set<String> pending = pendingChangedTables.get(handler);
+            if (pending == null) {
+                pendingChangedTables.put(handler, new HashSet<String>(changedTables));
+            } else {
+                pending.addAll(changedTables);
+            }
+        }
+    }
+
+    static void removePendingChangedTables(Handler handler) {
+        synchronized (pendingChangedTables) {
+            pendingChangedTables.remove(handler);
+        }
+    }
+
+    // Returns the tables changed by other threads since the last call, or null if they are unknown.
+    private Set<String> takePendingChangedTables() {
+        if (updateAllAsyncQueries) {
+            updateAllAsyncQueries = false;
+            removePendingChangedTables(realm.handler);
+            return null;
+        }
+        synchronized (pendingChangedTables) {
+            // Keep an empty entry so a REALM_CHANGED racing with this call isn't treated as unknown changes.
+            return pendingChangedTables.put(realm.handler, new HashSet<String>());
+        }
+    }
+
+    // Returns null if any of the sets is null, as it means all tables.
+    private static Set<String> mergeChangedTables(Set<String> first, Set<String> second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        Set<String> merged = new HashSet<String>(first);
+        merged.addAll(second);
+        return merged;
+    }
+
     void updateAsyncEmptyRealmObject() {
         Iterator<Map.Entry<WeakReference<RealmObject>, RealmQuery<?>>> iterator = emptyAsyncRealmObject.entrySet().iterator();
         while (iterator.hasNext()) {
@@ -227,15 +289,16 @@ public class HandlerController implements Handler.Callback {
         }
     }
 
-    private void notifyAsyncRealmResultsCallbacks() {
-        notifyRealmResultsCallbacks(asyncRealmResults.keySet().iterator());
+    private void notifyAsyncRealmResultsCallbacks(Set<String> changedTables) {
+        notifyRealmResultsCallbacks(asyncRealmResults.keySet().iterator(), changedTables);
     }
 
-    private void notifySyncRealmResultsCallbacks() {
-        notifyRealmResultsCallbacks(syncRealmResults.keySet().iterator());
+    private void notifySyncRealmResultsCallbacks(Set<String> changedTables) {
+        notifyRealmResultsCallbacks(syncRealmResults.keySet().iterator(), changedTables);
     }
 
-    private void notifyRealmResultsCallbacks(Iterator<WeakReference<RealmResults<? extends RealmObject>>> iterator) {
+    private void notifyRealmResultsCallbacks(Iterator<WeakReference<RealmResults<? extends RealmObject>>> iterator,
+                                             Set<String> changedTables) {
         List<RealmResults<? extends RealmObject>> resultsToBeNotified =
                 new ArrayList<RealmResults<? extends RealmObject>>();
         while (iterator.hasNext()) {
@@ -243,7 +306,7 @@ public class HandlerController implements Handler.Callback {
             RealmResults<? extends RealmObject> realmResults = weakRealmResults.get();
             if (realmResults == null) {
                 iterator.remove();
-            } else {
+            } else if (realmResults.dependsOn(changedTables)) {
                 // It should be legal to modify asyncRealmResults and syncRealmResults in the listener
                 resultsToBeNotified.add(realmResults);
             }
@@ -278,11 +341,19 @@ public class HandlerController implements Handler.Callback {
         }
     }
 
-    private void updateAsyncQueries() {
+    /**
+     * Updates the async queries depending on the given tables in the background.
+     *
+     * @param changedTables the names of the changed tables, {@code null} to update all async queries.
+     * @return {@code true} if an update was submitted, {@code false} if no async query depends on the changed tables.
+     */
+    private boolean updateAsyncQueries(Set<String> changedTables) {
         if (updateAsyncQueriesTask != null && !updateAsyncQueriesTask.isDone()) {
             // try to cancel any pending update since we're submitting a new one anyway
             updateAsyncQueriesTask.cancel(true);
             Realm.asyncQueryExecutor.getQueue().remove(updateAsyncQueriesTask);
+            // the queries of the cancelled update still need to be updated
+            changedTables = mergeChangedTables(changedTables, updateAsyncQueriesTables);
             RealmLog.d("REALM_CHANGED realm:" + HandlerController.this + " cancelling pending COMPLETED_UPDATE_ASYNC_QUERIES updates");
         }
         RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " updating async queries, total: " + asyncRealmResults.size());
@@ -301,10 +372,14 @@ public class HandlerController implements Handler.Callback {
                 // GC'd instance remove from the list
                 iterator.remove();
 
-            } else {
+            } else if (realmResults.dependsOn(changedTables)) {
+                // Up to date results are only computed again if the worker finds their tables changed. Others, e.g.
+                // updated by a local commit, always are.
+                String[] dependencies = realmResults.isUpToDate() ? realmResults.getDependentTableNames() : null;
                 realmResultsQueryStep = updateQueryStep.add(weakReference,
                         entry.getValue().handoverQueryPointer(),
-                        entry.getValue().getArgument());
+                        entry.getValue().getArgument(),
+                        dependencies);
             }
 
             // Note: we're passing an WeakRef of a RealmResults to another thread
@@ -320,34 +395,44 @@ public class HandlerController implements Handler.Callback {
                     .sendToHandler(realm.handler, COMPLETED_UPDATE_ASYNC_QUERIES)
                     .build();
             updateAsyncQueriesTask = Realm.asyncQueryExecutor.submit(queryUpdateTask);
+            updateAsyncQueriesTables = changedTables;
+            return true;
         }
+        return false;
     }
 
     private void realmChanged() {
         deleteWeakReferences();
-        if (threadContainsAsyncQueries()) {
-            updateAsyncQueries();
+        Set<String> changedTables = takePendingChangedTables();
+        if (threadContainsAsyncQueries() && updateAsyncQueries(changedTables)) {
+            // the Realm will advance once the async queries are updated
+            return;
+        }
 
-        } else {
-            RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " no async queries, advance_read");
-            realm.sharedGroupManager.advanceRead();
-            notifyGlobalListeners();
-            // notify RealmResults & RealmObject callbacks (type based notifications)
-            if (!realm.isClosed()) {
-                // Realm could be closed in the above listener.
-                notifySyncRealmResultsCallbacks();
-            }
-            if (!realm.isClosed()) {
-                notifyRealmObjectCallbacks();
-            }
+        RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " no async queries to update, advance_read");
+        realm.sharedGroupManager.advanceRead();
+        changedTables = realm.sharedGroupManager.collectChangedTables();
+        notifyGlobalListeners();
+        // notify RealmResults & RealmObject callbacks (type based notifications)
+        if (!realm.isClosed()) {
+            // Realm could be closed in the above listener.
+            notifySyncRealmResultsCallbacks(changedTables);
+        }
+        if (!realm.isClosed()) {
+            notifyRealmObjectCallbacks();
+        }
 
-            // empty async RealmObject shouldn't block the realm to advance
-            // they're empty so no risk on running into a corrupt state
-            // where the pointer (Row) is using one version of a Realm, whereas the
-            // current Realm is advancing to a newer version (they're empty anyway)
-            if (!realm.isClosed() && threadContainsAsyncEmptyRealmObject()) {
-                updateAsyncEmptyRealmObject();
-            }
+        // empty async RealmObject shouldn't block the realm to advance
+        // they're empty so no risk on running into a corrupt state
+        // where the pointer (Row) is using one version of a Realm, whereas the
+        // current Realm is advancing to a newer version (they're empty anyway)
+        if (!realm.isClosed() && threadContainsAsyncEmptyRealmObject()) {
+            updateAsyncEmptyRealmObject();
+        }
+
+        // changes not committed by this process (e.g. by another process) are only known now
+        if (!realm.isClosed() && threadContainsAsyncQueries()) {
+            updateAsyncQueries(changedTables);
         }
     }
 
@@ -419,12 +504,18 @@ public class HandlerController implements Handler.Callback {
     }
 
     private void completedAsyncQueriesUpdate(QueryUpdateTask.Result result) {
+        Set<String> changedTables = null;
         SharedGroup.VersionID callerVersionID = realm.sharedGroupManager.getVersion();
         int compare = callerVersionID.compareTo(result.versionID);
         if (compare > 0) {
             RealmLog.d("COMPLETED_UPDATE_ASYNC_QUERIES realm:" + HandlerController.this + " caller is more advanced, rerun updates");
             // The caller is more advance than the updated queries ==>
             // need to refresh them again (if there is still async queries)
+            if (updateAsyncQueriesTables == null) {
+                updateAllAsyncQueries = true;
+            } else {
+                addPendingChangedTables(realm.handler, updateAsyncQueriesTables);
+            }
             realm.handler.sendEmptyMessage(REALM_CHANGED);
 
         } else {
@@ -441,6 +532,7 @@ public class HandlerController implements Handler.Callback {
                 // (advanceRead to the latest version may cause a version mismatch error) preventing us
                 // from importing correctly the handover table view
                 realm.sharedGroupManager.advanceRead(result.versionID);
+                changedTables = realm.sharedGroupManager.collectChangedTables();
             }
 
             ArrayList<RealmResults<? extends RealmObject>> callbacksToNotify = new ArrayList<RealmResults<? extends RealmObject>>(result.updatedTableViews.size());
@@ -452,6 +544,10 @@ public class HandlerController implements Handler.Callback {
                     // don't update GC'd instance
                     asyncRealmResults.remove(weakRealmResults);
 
+                } else if (query.getValue() == 0) {
+                    // none of its tables changed, the current TableView stays valid at the new version
+                    RealmLog.d("COMPLETED_UPDATE_ASYNC_QUERIES realm:"+ HandlerController.this + " keeping RealmResults " + weakRealmResults);
+
                 } else {
                     // it's dangerous to notify the callback about new results before updating
                     // the pointers, because the callback may use another RealmResults not updated yet
@@ -473,11 +569,32 @@ public class HandlerController implements Handler.Callback {
             if (compare != 0) {
                 notifyGlobalListeners();
                 // notify RealmResults & RealmObject callbacks (type based notifications)
-                notifySyncRealmResultsCallbacks();
+                notifySyncRealmResultsCallbacks(changedTables);
                 notifyRealmObjectCallbacks();
             }
 
             updateAsyncQueriesTask = null;
+            updateAsyncQueriesTables = null;
+
+            // async queries which weren't part of this update, but whose tables changed by advancing (e.g. by
+            // another process) must be updated as well
+            if (compare != 0 && !realm.isClosed()) {
+                updateSkippedAsyncQueries(result, changedTables);
+            }
+        }
+    }
+
+    private void updateSkippedAsyncQueries(QueryUpdateTask.Result result, Set<String> changedTables) {
+        Set<String> skippedTables = new HashSet<String>();
+        for (WeakReference<RealmResults<? extends RealmObject>> weakRealmResults : asyncRealmResults.keySet()) {
+            RealmResults<? extends RealmObject> realmResults = weakRealmResults.get();
+            if (realmResults != null && !result.updatedTableViews.containsKey(weakRealmResults)
+                    && realmResults.dependsOn(changedTables)) {
+                skippedTables.add(realmResults.getDependentTableName());
+            }
+        }
+        if (!skippedTables.isEmpty()) {
+            updateAsyncQueries(skippedTables);
         }
     }
 
@@ -602,14 +719,17 @@ public class HandlerController implements Handler.Callback {
         syncRealmResults.add(realmResultsWeakReference);
     }
 
-    // add to the list of RealmObject to be notified after a commit
+    // add to the list of RealmObject to be notified after a commit. This is only done once a listener is added to the
+    // object, see RealmObject.registerForNotifications()
     <E extends RealmObject> void addToRealmObjects(E realmobject) {
-        realmObjects.put(new WeakReference<RealmObject>(realmobject), null);
+        realmObjects.put(new WeakReference<RealmObject>(realmobject, referenceQueueRealmObject), null);
+        realmobject.isRegisteredForNotifications = true;
     }
 
     <E extends RealmObject> WeakReference<RealmObject> addToAsyncRealmObject(E realmObject, RealmQuery<? extends RealmObject> realmQuery) {
         final WeakReference<RealmObject> realmObjectWeakReference = new WeakReference<RealmObject>(realmObject, referenceQueueRealmObject);
         realmObjects.put(realmObjectWeakReference, realmQuery);
+        realmObject.isRegisteredForNotifications = true;
         return realmObjectWeakReference;
     }
 
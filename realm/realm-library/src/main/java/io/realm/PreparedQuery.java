@@ -0,0 +1,673 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
+
+/**
+ * A PreparedQuery is a query which is built once and run many times with different values, e.g. for search-as-you-type
+ * screens. Its conditions don't take values, every field of a condition is a placeholder and the values are bound in
+ * the same order when running the query with {@link #where(Realm, Object...)}.
+ * <p>
+ * Field names are only resolved once for all the Realms of a {@link RealmConfiguration}, so a PreparedQuery can be
+ * kept in a static field and used by any thread.
+ * <p>
+ * <pre>
+ * {@code
+ * PreparedQuery<Person> query = new PreparedQuery.Builder<Person>(Person.class)
+ *         .beginsWith("name", Case.INSENSITIVE)
+ *         .greaterThanOrEqualTo("age")
+ *         .build();
+ *
+ * RealmResults<Person> persons = query.where(realm, "jo", 18).findAllSorted("name");
+ * }
+ * </pre>
+ *
+ * @param <E> the class of the objects to be queried.
+ * @see RealmQuery
+ */
+public final class PreparedQuery<E extends RealmObject> {
+
+    private static final int IS_NULL = 0;
+    private static final int IS_NOT_NULL = 1;
+    private static final int EQUAL_TO = 2;
+    private static final int NOT_EQUAL_TO = 3;
+    private static final int GREATER_THAN = 4;
+    private static final int GREATER_THAN_OR_EQUAL_TO = 5;
+    private static final int LESS_THAN = 6;
+    private static final int LESS_THAN_OR_EQUAL_TO = 7;
+    private static final int BETWEEN = 8;
+    private static final int BEGINS_WITH = 9;
+    private static final int ENDS_WITH = 10;
+    private static final int CONTAINS = 11;
+    private static final int BEGIN_GROUP = 12;
+    private static final int END_GROUP = 13;
+    private static final int OR = 14;
+    private static final int NOT = 15;
+
+    private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected for value %d, was %s.";
+
+    private static final RealmFieldType[] EQUALITY_TYPES = {RealmFieldType.STRING, RealmFieldType.INTEGER,
+            RealmFieldType.BOOLEAN, RealmFieldType.FLOAT, RealmFieldType.DOUBLE, RealmFieldType.DATE};
+    private static final RealmFieldType[] COMPARISON_TYPES = {RealmFieldType.INTEGER, RealmFieldType.FLOAT,
+            RealmFieldType.DOUBLE, RealmFieldType.DATE};
+    private static final RealmFieldType[] STRING_TYPES = {RealmFieldType.STRING};
+
+    private final Class<E> clazz;
+    private final Condition[] conditions;
+    private final int parameterCount;
+    // Column indices are the same for all the Realms of a configuration. Only the last configuration is kept, so a
+    // query held in a static field doesn't keep every configuration it has been used with alive.
+    private volatile ResolvedFields resolvedFields;
+
+    private PreparedQuery(Class<E> clazz, List<Condition> conditions) {
+        this.clazz = clazz;
+        this.conditions = conditions.toArray(new Condition[conditions.size()]);
+        int parameterCount = 0;
+        for (Condition condition : conditions) {
+            parameterCount += condition.getParameterCount();
+        }
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * Returns the number of values which must be given to {@link #where(Realm, Object...)}.
+     *
+     * @return the number of placeholders of this query.
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Creates a {@link RealmQuery} with the conditions of this query and the given values. Any other condition, sort
+     * order or range can be added to the returned query before running it.
+     * <p>
+     * Values are bound in the order of the conditions, {@code between()} conditions taking two values. A {@code null}
+     * value is only allowed for {@code equalTo()} and {@code notEqualTo()} conditions, where it tests if the field is
+     * {@code null} or not. Integer fields accept any {@link Number} which isn't a floating point number.
+     *
+     * @param realm the Realm to query.
+     * @param values the values of the placeholders.
+     * @return a {@link RealmQuery} ready to be run.
+     * @throws IllegalArgumentException if the number of values doesn't match {@link #getParameterCount()} or one of
+     * them doesn't match the type of its field.
+     */
+    public RealmQuery<E> where(Realm realm, Object... values) {
+        if (values == null) {
+            values = new Object[] {null};
+        }
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException(String.format("%d values required, %d given.",
+                    parameterCount, values.length));
+        }
+        RealmQuery<E> realmQuery = realm.where(clazz);
+        Field[] fields = getFields(realm);
+        TableQuery query = realmQuery.getTableQuery();
+        int parameterIndex = 0;
+        for (int i = 0; i < conditions.length; i++) {
+            conditions[i].apply(query, fields[i], values, parameterIndex);
+            parameterIndex += conditions[i].getParameterCount();
+        }
+        return realmQuery;
+    }
+
+    private Field[] getFields(Realm realm) {
+        RealmConfiguration configuration = realm.getConfiguration();
+        ResolvedFields resolved = resolvedFields;
+        if (resolved != null && resolved.configuration.equals(configuration)) {
+            return resolved.fields;
+        }
+        RealmObjectSchema schema = realm.schema.getSchemaForClass(clazz);
+        Field[] fields = new Field[conditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            fields[i] = conditions[i].resolve(schema);
+        }
+        resolvedFields = new ResolvedFields(configuration, fields);
+        return fields;
+    }
+
+    // Fields of all the conditions, resolved for the Realm files of a configuration
+    private static class ResolvedFields {
+        final RealmConfiguration configuration;
+        final Field[] fields;
+
+        ResolvedFields(RealmConfiguration configuration, Field[] fields) {
+            this.configuration = configuration;
+            this.fields = fields;
+        }
+    }
+
+    // Field of a condition resolved for a Realm file
+    private static class Field {
+        final long[] columnIndices;
+        final RealmFieldType type;
+
+        Field(long[] columnIndices, RealmFieldType type) {
+            this.columnIndices = columnIndices;
+            this.type = type;
+        }
+    }
+
+    private static class Condition {
+        final int type;
+        final String fieldName;
+        final Case casing;
+
+        Condition(int type, String fieldName, Case casing) {
+            this.type = type;
+            this.fieldName = fieldName;
+            this.casing = casing;
+        }
+
+        int getParameterCount() {
+            switch (type) {
+                case BEGIN_GROUP:
+                case END_GROUP:
+                case OR:
+                case NOT:
+                case IS_NULL:
+                case IS_NOT_NULL:
+                    return 0;
+                case BETWEEN:
+                    return 2;
+                default:
+                    return 1;
+            }
+        }
+
+        Field resolve(RealmObjectSchema schema) {
+            if (fieldName == null) {
+                return null;
+            }
+            long[] columnIndices;
+            switch (type) {
+                case EQUAL_TO:
+                case NOT_EQUAL_TO:
+                    columnIndices = schema.getColumnIndices(fieldName, EQUALITY_TYPES);
+                    break;
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL_TO:
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL_TO:
+                case BETWEEN:
+                    columnIndices = schema.getColumnIndices(fieldName, COMPARISON_TYPES);
+                    break;
+                case BEGINS_WITH:
+                case ENDS_WITH:
+                case CONTAINS:
+                    columnIndices = schema.getColumnIndices(fieldName, STRING_TYPES);
+                    break;
+                default:
+                    // checking that fieldName has the correct type is done in C++
+                    columnIndices = schema.getColumnIndices(fieldName);
+            }
+            Table table = schema.table;
+            for (int i = 0; i < columnIndices.length - 1; i++) {
+                table = table.getLinkTarget(columnIndices[i]);
+            }
+            return new Field(columnIndices, table.getColumnType(columnIndices[columnIndices.length - 1]));
+        }
+
+        void apply(TableQuery query, Field field, Object[] values, int parameterIndex) {
+            switch (type) {
+                case BEGIN_GROUP:
+                    query.group();
+                    break;
+                case END_GROUP:
+                    query.endGroup();
+                    break;
+                case OR:
+                    query.or();
+                    break;
+                case NOT:
+                    query.not();
+                    break;
+                case IS_NULL:
+                    query.isNull(field.columnIndices);
+                    break;
+                case IS_NOT_NULL:
+                    query.isNotNull(field.columnIndices);
+                    break;
+                case EQUAL_TO:
+                    applyEqualTo(query, field, values, parameterIndex);
+                    break;
+                case NOT_EQUAL_TO:
+                    applyNotEqualTo(query, field, values, parameterIndex);
+                    break;
+                case BEGINS_WITH:
+                    query.beginsWith(field.columnIndices, getString(values, parameterIndex), casing);
+                    break;
+                case ENDS_WITH:
+                    query.endsWith(field.columnIndices, getString(values, parameterIndex), casing);
+                    break;
+                case CONTAINS:
+                    query.contains(field.columnIndices, getString(values, parameterIndex), casing);
+                    break;
+                default:
+                    applyComparison(query, field, values, parameterIndex);
+            }
+        }
+
+        private void applyEqualTo(TableQuery query, Field field, Object[] values, int parameterIndex) {
+            long[] columnIndices = field.columnIndices;
+            if (values[parameterIndex] == null) {
+                query.isNull(columnIndices);
+                return;
+            }
+            switch (field.type) {
+                case STRING:
+                    query.equalTo(columnIndices, getString(values, parameterIndex), casing);
+                    break;
+                case INTEGER:
+                    query.equalTo(columnIndices, getLong(values, parameterIndex));
+                    break;
+                case BOOLEAN:
+                    query.equalTo(columnIndices, getBoolean(values, parameterIndex));
+                    break;
+                case FLOAT:
+                    query.equalTo(columnIndices, getNumber(values, parameterIndex).floatValue());
+                    break;
+                case DOUBLE:
+                    query.equalTo(columnIndices, getNumber(values, parameterIndex).doubleValue());
+                    break;
+                default:
+                    query.equalTo(columnIndices, getDate(values, parameterIndex));
+            }
+        }
+
+        private void applyNotEqualTo(TableQuery query, Field field, Object[] values, int parameterIndex) {
+            long[] columnIndices = field.columnIndices;
+            if (values[parameterIndex] == null) {
+                query.isNotNull(columnIndices);
+                return;
+            }
+            switch (field.type) {
+                case STRING:
+                    query.notEqualTo(columnIndices, getString(values, parameterIndex), casing);
+                    break;
+                case INTEGER:
+                    query.notEqualTo(columnIndices, getLong(values, parameterIndex));
+                    break;
+                case BOOLEAN:
+                    query.equalTo(columnIndices, !getBoolean(values, parameterIndex));
+                    break;
+                case FLOAT:
+                    query.notEqualTo(columnIndices, getNumber(values, parameterIndex).floatValue());
+                    break;
+                case DOUBLE:
+                    query.notEqualTo(columnIndices, getNumber(values, parameterIndex).doubleValue());
+                    break;
+                default:
+                    query.notEqualTo(columnIndices, getDate(values, parameterIndex));
+            }
+        }
+
+        private void applyComparison(TableQuery query, Field field, Object[] values, int parameterIndex) {
+            long[] columnIndices = field.columnIndices;
+            switch (field.type) {
+                case INTEGER: {
+                    long value = getLong(values, parameterIndex);
+                    switch (type) {
+                        case GREATER_THAN: query.greaterThan(columnIndices, value); break;
+                        case GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+                        case LESS_THAN: query.lessThan(columnIndices, value); break;
+                        case LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+                        default: query.between(columnIndices, value, getLong(values, parameterIndex + 1));
+                    }
+                    break;
+                }
+                case FLOAT: {
+                    float value = getNumber(values, parameterIndex).floatValue();
+                    switch (type) {
+                        case GREATER_THAN: query.greaterThan(columnIndices, value); break;
+                        case GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+                        case LESS_THAN: query.lessThan(columnIndices, value); break;
+                        case LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+                        default: query.between(columnIndices, value,
+                                getNumber(values, parameterIndex + 1).floatValue());
+                    }
+                    break;
+                }
+                case DOUBLE: {
+                    double value = getNumber(values, parameterIndex).doubleValue();
+                    switch (type) {
+                        case GREATER_THAN: query.greaterThan(columnIndices, value); break;
+                        case GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+                        case LESS_THAN: query.lessThan(columnIndices, value); break;
+                        case LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+                        default: query.between(columnIndices, value,
+                                getNumber(values, parameterIndex + 1).doubleValue());
+                    }
+                    break;
+                }
+                default: {
+                    Date value = getDate(values, parameterIndex);
+                    switch (type) {
+                        case GREATER_THAN: query.greaterThan(columnIndices, value); break;
+                        case GREATER_THAN_OR_EQUAL_TO: query.greaterThanOrEqual(columnIndices, value); break;
+                        case LESS_THAN: query.lessThan(columnIndices, value); break;
+                        case LESS_THAN_OR_EQUAL_TO: query.lessThanOrEqual(columnIndices, value); break;
+                        default: query.between(columnIndices, value, getDate(values, parameterIndex + 1));
+                    }
+                }
+            }
+        }
+
+        private Object getValue(Object[] values, int parameterIndex, Class<?> expectedClass) {
+            Object value = values[parameterIndex];
+            if (value == null) {
+                throw new IllegalArgumentException(String.format("Value %d for field '%s' must not be null.",
+                        parameterIndex, fieldName));
+            }
+            if (!expectedClass.isInstance(value)) {
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName,
+                        expectedClass.getSimpleName(), parameterIndex, value.getClass().getSimpleName()));
+            }
+            return value;
+        }
+
+        private String getString(Object[] values, int parameterIndex) {
+            return (String) getValue(values, parameterIndex, String.class);
+        }
+
+        private Number getNumber(Object[] values, int parameterIndex) {
+            return (Number) getValue(values, parameterIndex, Number.class);
+        }
+
+        private long getLong(Object[] values, int parameterIndex) {
+            Number value = getNumber(values, parameterIndex);
+            if (value instanceof Float || value instanceof Double) {
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName,
+                        "integer", parameterIndex, value.getClass().getSimpleName()));
+            }
+            return value.longValue();
+        }
+
+        private boolean getBoolean(Object[] values, int parameterIndex) {
+            return (Boolean) getValue(values, parameterIndex, Boolean.class);
+        }
+
+        private Date getDate(Object[] values, int parameterIndex) {
+            return (Date) getValue(values, parameterIndex, Date.class);
+        }
+    }
+
+    /**
+     * Builder used to construct a {@link PreparedQuery}. Every condition on a field is a placeholder for one value,
+     * or two for {@code between()}, given to {@link PreparedQuery#where(Realm, Object...)}. Field names can refer to
+     * fields of linked objects the same way as in {@link RealmQuery}, and are checked the first time the query is
+     * used with a Realm.
+     *
+     * @param <E> the class of the objects to be queried.
+     */
+    public static final class Builder<E extends RealmObject> {
+
+        private final Class<E> clazz;
+        private final List<Condition> conditions = new ArrayList<Condition>();
+
+        /**
+         * Creates a builder for a query on objects of the given class.
+         *
+         * @param clazz the class of the objects to be queried.
+         * @throws IllegalArgumentException if {@code clazz} is {@code null}.
+         */
+        public Builder(Class<E> clazz) {
+            if (clazz == null) {
+                throw new IllegalArgumentException("Non-null 'clazz' required.");
+            }
+            this.clazz = clazz;
+        }
+
+        /**
+         * Tests if a field is {@code null}. This condition takes no value.
+         *
+         * @param fieldName the field name.
+         * @return the builder.
+         */
+        public Builder<E> isNull(String fieldName) {
+            return addCondition(IS_NULL, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Tests if a field is not {@code null}. This condition takes no value.
+         *
+         * @param fieldName the field name.
+         * @return the builder.
+         */
+        public Builder<E> isNotNull(String fieldName) {
+            return addCondition(IS_NOT_NULL, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Equal-to comparison with a value of the field type, or {@code null}.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> equalTo(String fieldName) {
+            return addCondition(EQUAL_TO, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Equal-to comparison with a String value.
+         *
+         * @param fieldName the field to compare.
+         * @param casing how to handle casing. Setting this to {@link Case#INSENSITIVE} only works for Latin-1 characters.
+         * @return the builder.
+         */
+        public Builder<E> equalTo(String fieldName, Case casing) {
+            return addCondition(EQUAL_TO, fieldName, casing);
+        }
+
+        /**
+         * Not-equal-to comparison with a value of the field type, or {@code null}.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> notEqualTo(String fieldName) {
+            return addCondition(NOT_EQUAL_TO, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Not-equal-to comparison with a String value.
+         *
+         * @param fieldName the field to compare.
+         * @param casing how to handle casing. Setting this to {@link Case#INSENSITIVE} only works for Latin-1 characters.
+         * @return the builder.
+         */
+        public Builder<E> notEqualTo(String fieldName, Case casing) {
+            return addCondition(NOT_EQUAL_TO, fieldName, casing);
+        }
+
+        /**
+         * Greater-than comparison with a number or a {@link Date}.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> greaterThan(String fieldName) {
+            return addCondition(GREATER_THAN, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Greater-than-or-equal-to comparison with a number or a {@link Date}.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> greaterThanOrEqualTo(String fieldName) {
+            return addCondition(GREATER_THAN_OR_EQUAL_TO, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Less-than comparison with a number or a {@link Date}.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> lessThan(String fieldName) {
+            return addCondition(LESS_THAN, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Less-than-or-equal-to comparison with a number or a {@link Date}.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> lessThanOrEqualTo(String fieldName) {
+            return addCondition(LESS_THAN_OR_EQUAL_TO, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Between condition, taking the lower and upper bounds as two values.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> between(String fieldName) {
+            return addCondition(BETWEEN, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Condition that the value of field begins with the specified string.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> beginsWith(String fieldName) {
+            return addCondition(BEGINS_WITH, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Condition that the value of field begins with the specified string.
+         *
+         * @param fieldName the field to compare.
+         * @param casing how to handle casing. Setting this to {@link Case#INSENSITIVE} only works for Latin-1 characters.
+         * @return the builder.
+         */
+        public Builder<E> beginsWith(String fieldName, Case casing) {
+            return addCondition(BEGINS_WITH, fieldName, casing);
+        }
+
+        /**
+         * Condition that the value of field ends with the specified string.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> endsWith(String fieldName) {
+            return addCondition(ENDS_WITH, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Condition that the value of field ends with the specified string.
+         *
+         * @param fieldName the field to compare.
+         * @param casing how to handle casing. Setting this to {@link Case#INSENSITIVE} only works for Latin-1 characters.
+         * @return the builder.
+         */
+        public Builder<E> endsWith(String fieldName, Case casing) {
+            return addCondition(ENDS_WITH, fieldName, casing);
+        }
+
+        /**
+         * Condition that value of field contains the specified substring.
+         *
+         * @param fieldName the field to compare.
+         * @return the builder.
+         */
+        public Builder<E> contains(String fieldName) {
+            return addCondition(CONTAINS, fieldName, Case.SENSITIVE);
+        }
+
+        /**
+         * Condition that value of field contains the specified substring.
+         *
+         * @param fieldName the field to compare.
+         * @param casing how to handle casing. Setting this to {@link Case#INSENSITIVE} only works for Latin-1 characters.
+         * @return the builder.
+         */
+        public Builder<E> contains(String fieldName, Case casing) {
+            return addCondition(CONTAINS, fieldName, casing);
+        }
+
+        /**
+         * Begin grouping of conditions ("left parenthesis"). A group must be closed with a call to {@code endGroup()}.
+         *
+         * @return the builder.
+         */
+        public Builder<E> beginGroup() {
+            return addCondition(BEGIN_GROUP, null, null);
+        }
+
+        /**
+         * End grouping of conditions ("right parenthesis") which was opened by a call to {@code beginGroup()}.
+         *
+         * @return the builder.
+         */
+        public Builder<E> endGroup() {
+            return addCondition(END_GROUP, null, null);
+        }
+
+        /**
+         * Logical-or two conditions.
+         *
+         * @return the builder.
+         */
+        public Builder<E> or() {
+            return addCondition(OR, null, null);
+        }
+
+        /**
+         * Negate condition.
+         *
+         * @return the builder.
+         */
+        public Builder<E> not() {
+            return addCondition(NOT, null, null);
+        }
+
+        /**
+         * Creates the {@link PreparedQuery}. The builder can still be used afterwards without changing it.
+         *
+         * @return the created query.
+         */
+        public PreparedQuery<E> build() {
+            return new PreparedQuery<E>(clazz, conditions);
+        }
+
+        private Builder<E> addCondition(int type, String fieldName, Case casing) {
+            if (type < BEGIN_GROUP && (fieldName == null || fieldName.isEmpty())) {
+                throw new IllegalArgumentException("Non-empty fieldname must be provided");
+            }
+            if (type < BEGIN_GROUP && casing == null) {
+                throw new IllegalArgumentException("Non-null 'casing' required.");
+            }
+            conditions.add(new Condition(type, fieldName, casing));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Records the queries run on the Realms of a {@link RealmConfiguration}, when enabled with
+ * {@link RealmConfiguration.Builder#profileQueries(long, TimeUnit)}. Synchronous queries, async queries and the async
+ * queries rerun after a commit are all recorded, from any thread. Runs slower than the threshold of the profiler are
+ * logged as warnings through {@link RealmLog}.
+ * <p>
+ * Use the same {@link RealmConfiguration} for all the Realm instances of a file, each configuration built has its own
+ * profiler.
+ */
+public final class QueryProfiler {
+
+    private final long slowQueryThresholdNanos;
+    private final Map<String, Entry> entries = new HashMap<String, Entry>();
+
+    QueryProfiler(long slowQueryThresholdNanos) {
+        this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+    }
+
+    /**
+     * Returns the time above which a run of a query is logged.
+     *
+     * @param unit the unit of the returned value.
+     * @return the threshold in the given unit.
+     */
+    public long getSlowQueryThreshold(TimeUnit unit) {
+        return unit.convert(slowQueryThresholdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the statistics of all the queries recorded so far, the ones with the highest total time first.
+     *
+     * @return a snapshot of the statistics, which isn't updated by later runs.
+     */
+    public synchronized List<QueryStats> getStats() {
+        List<QueryStats> stats = new ArrayList<QueryStats>(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            stats.add(entry.getValue().toStats(entry.getKey()));
+        }
+        Collections.sort(stats, new Comparator<QueryStats>() {
+            @Override
+            public int compare(QueryStats lhs, QueryStats rhs) {
+                long lhsTime = lhs.getTotalTimeNanos();
+                long rhsTime = rhs.getTotalTimeNanos();
+                return (lhsTime > rhsTime) ? -1 : ((lhsTime == rhsTime) ? 0 : 1);
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * Returns the statistics of one query.
+     *
+     * @param name the class and method of the query, e.g. {@code "Dog.findAll"}.
+     * @return a snapshot of the statistics or {@code null} if the query hasn't been run since the last
+     * {@link #reset()}.
+     */
+    public synchronized QueryStats getStats(String name) {
+        Entry entry = entries.get(name);
+        return (entry == null) ? null : entry.toStats(name);
+    }
+
+    /**
+     * Forgets all the queries recorded so far.
+     */
+    public synchronized void reset() {
+        entries.clear();
+    }
+
+    /**
+     * Records a run of a query. This is called by Realm itself, from the thread which ran the query.
+     *
+     * @param name the class and method of the query.
+     * @param timeNanos the time spent running the query.
+     * @param sortTimeNanos the part of {@code timeNanos} spent sorting.
+     * @param rowsScanned the estimated number of rows checked.
+     * @param rowsMatched the number of rows found.
+     */
+    public void record(String name, long timeNanos, long sortTimeNanos, long rowsScanned, long rowsMatched) {
+        boolean slow = timeNanos >= slowQueryThresholdNanos;
+        synchronized (this) {
+            Entry entry = entries.get(name);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(name, entry);
+            }
+            entry.executionCount++;
+            entry.totalTimeNanos += timeNanos;
+            entry.maxTimeNanos = Math.max(entry.maxTimeNanos, timeNanos);
+            entry.totalSortTimeNanos += sortTimeNanos;
+            entry.rowsScanned += rowsScanned;
+            entry.rowsMatched += rowsMatched;
+            if (slow) {
+                entry.slowExecutionCount++;
+            }
+        }
+        if (slow) {
+            RealmLog.w(String.format(Locale.US,
+                    "Slow query %s: %.2f ms (sort %.2f ms), %d rows scanned, %d rows matched.",
+                    name, timeNanos / 1e6, sortTimeNanos / 1e6, rowsScanned, rowsMatched));
+        }
+    }
+
+    private static class Entry {
+        long executionCount;
+        long totalTimeNanos;
+        long maxTimeNanos;
+        long totalSortTimeNanos;
+        long rowsScanned;
+        long rowsMatched;
+        long slowExecutionCount;
+
+        QueryStats toStats(String name) {
+            return new QueryStats(name, executionCount, totalTimeNanos, maxTimeNanos, totalSortTimeNanos,
+                    rowsScanned, rowsMatched, slowExecutionCount);
+        }
+    }
+}
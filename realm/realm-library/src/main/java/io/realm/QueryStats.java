@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Statistics of the runs of one kind of query, as recorded by a {@link QueryProfiler}. Queries are grouped by class
+ * and method, e.g. {@code "Dog.findAllSorted"} or {@code "Dog.findAllAsync"}.
+ * <p>
+ * The number of scanned rows is an estimate: the number of rows of the table or view the query is run on. Queries
+ * which core answers from a search index check fewer rows.
+ */
+public final class QueryStats {
+
+    private final String name;
+    private final long executionCount;
+    private final long totalTimeNanos;
+    private final long maxTimeNanos;
+    private final long totalSortTimeNanos;
+    private final long rowsScanned;
+    private final long rowsMatched;
+    private final long slowExecutionCount;
+
+    QueryStats(String name, long executionCount, long totalTimeNanos, long maxTimeNanos, long totalSortTimeNanos,
+               long rowsScanned, long rowsMatched, long slowExecutionCount) {
+        this.name = name;
+        this.executionCount = executionCount;
+        this.totalTimeNanos = totalTimeNanos;
+        this.maxTimeNanos = maxTimeNanos;
+        this.totalSortTimeNanos = totalSortTimeNanos;
+        this.rowsScanned = rowsScanned;
+        this.rowsMatched = rowsMatched;
+        this.slowExecutionCount = slowExecutionCount;
+    }
+
+    /**
+     * Returns the class and method of the query, e.g. {@code "Dog.findAll"}.
+     *
+     * @return the name of the query.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns how many times the query was run.
+     *
+     * @return the number of runs.
+     */
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * Returns the time spent running the query, sorting included. For async queries this is the time spent on the
+     * worker thread, without waiting in the queue.
+     *
+     * @return the total time in nanoseconds.
+     */
+    public long getTotalTimeNanos() {
+        return totalTimeNanos;
+    }
+
+    /**
+     * Returns the time of the slowest run of the query.
+     *
+     * @return the maximum time in nanoseconds.
+     */
+    public long getMaxTimeNanos() {
+        return maxTimeNanos;
+    }
+
+    /**
+     * Returns the average time of a run of the query.
+     *
+     * @return the average time in nanoseconds.
+     */
+    public long getAverageTimeNanos() {
+        return (executionCount == 0) ? 0 : totalTimeNanos / executionCount;
+    }
+
+    /**
+     * Returns the part of {@link #getTotalTimeNanos()} spent sorting the results.
+     *
+     * @return the total sort time in nanoseconds.
+     */
+    public long getTotalSortTimeNanos() {
+        return totalSortTimeNanos;
+    }
+
+    /**
+     * Returns the estimated number of rows checked by all the runs of the query.
+     *
+     * @return the number of scanned rows.
+     */
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    /**
+     * Returns the number of rows found by all the runs of the query.
+     *
+     * @return the number of matched rows.
+     */
+    public long getRowsMatched() {
+        return rowsMatched;
+    }
+
+    /**
+     * Returns how many runs of the query took longer than the threshold of the profiler.
+     *
+     * @return the number of slow runs.
+     * @see RealmConfiguration.Builder#profileQueries(long, java.util.concurrent.TimeUnit)
+     */
+    public long getSlowExecutionCount() {
+        return slowExecutionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats{name=" + name +
+                ", executionCount=" + executionCount +
+                ", totalTimeNanos=" + totalTimeNanos +
+                ", maxTimeNanos=" + maxTimeNanos +
+                ", totalSortTimeNanos=" + totalSortTimeNanos +
+                ", rowsScanned=" + rowsScanned +
+                ", rowsMatched=" + rowsMatched +
+                ", slowExecutionCount=" + slowExecutionCount + "}";
+    }
+}
@@ -19,6 +19,7 @@ package io.realm;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.os.Build;
+import android.os.Handler;
 import android.os.Looper;
 import android.util.JsonReader;
 
@@ -33,12 +34,18 @@ import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
@@ -47,6 +54,8 @@ import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.SchemaFingerprint;
+import io.realm.internal.SharedGroup;
 import io.realm.internal.Table;
 import io.realm.internal.TableView;
 import io.realm.internal.Util;
@@ -108,12 +117,20 @@ public final class Realm extends BaseRealm {
 
     public static final String DEFAULT_REALM_NAME = RealmConfiguration.DEFAULT_REALM_NAME;
 
-    // Caches Class objects (both model classes and proxy classes) to Realm Tables
+    // Caches Class objects (both model classes and proxy classes) to Realm Tables. Frozen Realms read it from several
+    // threads.
     private final Map<Class<? extends RealmObject>, Table> classToTable =
-            new HashMap<Class<? extends RealmObject>, Table>();
+            new ConcurrentHashMap<Class<? extends RealmObject>, Table>();
+
+    // Frozen Realm returned by freeze(), reused as long as this Realm reads the same version.
+    private Realm frozenRealm;
+    private long frozenVersionChangeCount;
 
     private static RealmConfiguration defaultConfiguration;
 
+    // Realms opened by getInstanceAsync() are opened one at a time, without taking a thread of the async queries.
+    private static final ExecutorService asyncOpenExecutor = Executors.newSingleThreadExecutor();
+
     /**
      * The constructor is private to enforce the use of the static one.
      *
@@ -125,6 +142,59 @@ public final class Realm extends BaseRealm {
         super(configuration, autoRefresh);
     }
 
+    // Creates a frozen Realm reading the given version with the column indices of the Realm it is frozen from.
+    private Realm(RealmConfiguration configuration, SharedGroup.VersionID version, ColumnIndices columnIndices) {
+        super(configuration, version);
+        schema.columnIndices = columnIndices;
+        // The accessors of all tables are created up front, so reading from several threads only looks them up.
+        for (Class<? extends RealmObject> clazz : configuration.getSchemaMediator().getModelClasses()) {
+            getTable(clazz);
+            schema.getTable(clazz);
+            schema.getSchemaForClass(clazz);
+        }
+    }
+
+    /**
+     * Returns a frozen snapshot of this Realm. It reads the current version of this Realm for as long as it is open,
+     * even if this Realm is refreshed or other threads commit changes, and it can be read from any thread without
+     * opening another Realm or copying objects with {@link #copyFromRealm(Iterable)}. The objects and
+     * {@link RealmResults} of a frozen Realm can be read from any thread as well.
+     * <p>
+     * Frozen Realms are read-only, they can't begin transactions, be refreshed, have listeners or run async queries and
+     * transactions. They count as open instances of the file, which can't be deleted, compacted or migrated until
+     * they are closed. As long as this
+     * Realm stays on the same version, this method returns the same frozen Realm, which must be closed once per call
+     * to release the version. It can be closed from any thread, but no thread may still read from it at that point.
+     * Keeping old versions makes the file grow, so frozen Realms shouldn't be kept longer than needed.
+     * <p>
+     * Calling this method on a frozen Realm adds a reference to it.
+     *
+     * @return the frozen Realm of the current version.
+     * @throws IllegalStateException if called inside a transaction.
+     * @see RealmResults#freeze()
+     */
+    public Realm freeze() {
+        checkIfValid();
+        if (frozen) {
+            if (!retainFrozen()) {
+                throw new IllegalStateException("This frozen Realm has already been closed.");
+            }
+            return this;
+        }
+        if (isInTransaction()) {
+            throw new IllegalStateException("Cannot freeze a Realm inside a transaction.");
+        }
+
+        long versionChangeCount = sharedGroupManager.getVersionChangeCount();
+        if (frozenRealm != null && frozenVersionChangeCount == versionChangeCount && frozenRealm.retainFrozen()) {
+            return frozenRealm;
+        }
+        frozenRealm = new Realm(configuration, sharedGroupManager.getVersion(), schema.columnIndices);
+        frozenVersionChangeCount = versionChangeCount;
+        RealmCache.retainFrozen(configuration);
+        return frozenRealm;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -199,6 +269,89 @@ public final class Realm extends BaseRealm {
         return RealmCache.createRealmOrGetFromCache(configuration, Realm.class);
     }
 
+    /**
+     * Opens the Realm defined by the provided {@link RealmConfiguration} asynchronously. The file is opened and
+     * validated, and the migration is run if needed, on a worker thread dedicated to opening Realms. The instance for
+     * the caller thread is then created on the caller thread, reusing the column indices read on the worker thread,
+     * and delivered to {@link Callback#onSuccess(Realm)}. The instance must be closed like any instance returned by
+     * {@link #getInstance(RealmConfiguration)}.
+     *
+     * @param configuration {@link RealmConfiguration} used to open the Realm.
+     * @param callback invoked on the caller thread once the Realm is opened.
+     * @return a {@link RealmAsyncTask} representing a cancellable task. No instance is delivered once it is
+     * cancelled.
+     * @throws IllegalArgumentException if a null {@link RealmConfiguration} or callback is provided.
+     * @throws IllegalStateException if called from a thread without a {@link Looper}.
+     * @see RealmConfiguration for details on how to configure a Realm.
+     */
+    public static RealmAsyncTask getInstanceAsync(final RealmConfiguration configuration, final Callback callback) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("A non-null callback must be provided");
+        }
+        if (Looper.myLooper() == null) {
+            throw new IllegalStateException("Realm instances can only be opened asynchronously from a thread with a" +
+                    " Looper, we need a Handler to deliver the instance");
+        }
+        final Handler handler = new Handler(Looper.myLooper());
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        final Future<?> pendingOpen = asyncOpenExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (cancelled.get()) {
+                    return;
+                }
+
+                final ColumnIndices columnIndices;
+                try {
+                    // Validates the schema or runs the migration.
+                    Realm bgRealm = Realm.getInstance(configuration);
+                    columnIndices = bgRealm.schema.columnIndices;
+                    bgRealm.close();
+                } catch (final Throwable e) {
+                    handler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!cancelled.get()) {
+                                callback.onError(e);
+                            }
+                        }
+                    });
+                    return;
+                }
+
+                // Nothing is retained until the delivery runs, so nothing leaks if the Looper quits before running it.
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (cancelled.get()) {
+                            return;
+                        }
+                        Realm realm;
+                        try {
+                            realm = RealmCache.createRealmOrGetFromCache(configuration, columnIndices);
+                        } catch (Throwable e) {
+                            callback.onError(e);
+                            return;
+                        }
+                        callback.onSuccess(realm);
+                    }
+                });
+            }
+        });
+
+        return new RealmAsyncTask(pendingOpen) {
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+                super.cancel();
+            }
+        };
+    }
+
     /**
      * Sets the {@link io.realm.RealmConfiguration} used when calling {@link #getDefaultInstance()}.
      *
@@ -285,6 +438,16 @@ public final class Realm extends BaseRealm {
             }
 
             RealmProxyMediator mediator = realm.configuration.getSchemaMediator();
+            SchemaFingerprint fingerprint = SchemaFingerprint.read(mediator, realm.sharedGroupManager.getTransaction());
+            if (version != UNVERSIONED && fingerprint.getValue() == realm.getSchemaFingerprint()) {
+                // Neither the model classes nor the tables changed since they were last validated.
+                ColumnIndices columnIndices = fingerprint.getColumnIndices();
+                if (columnIndices != null) {
+                    realm.schema.columnIndices = columnIndices;
+                    return;
+                }
+            }
+
             final Set<Class<? extends RealmObject>> modelClasses = mediator.getModelClasses();
             final Map<Class<? extends RealmObject>, ColumnInfo> columnInfoMap;
             columnInfoMap = new HashMap<Class<? extends RealmObject>, ColumnInfo>(modelClasses.size());
@@ -296,6 +459,15 @@ public final class Realm extends BaseRealm {
                 columnInfoMap.put(modelClass, mediator.validateTable(modelClass, realm.sharedGroupManager.getTransaction()));
             }
             realm.schema.columnIndices = new ColumnIndices(columnInfoMap);
+
+            if (version == UNVERSIONED) {
+                // The tables were just created.
+                fingerprint = SchemaFingerprint.read(mediator, realm.sharedGroupManager.getTransaction());
+            }
+            if (fingerprint.getValue() != realm.getSchemaFingerprint()) {
+                realm.setSchemaFingerprint(fingerprint.getValue());
+                commitNeeded = true;
+            }
         } finally {
             if (commitNeeded) {
                 realm.commitTransaction();
@@ -510,11 +682,7 @@ public final class Realm extends BaseRealm {
         }
         checkHasPrimaryKey(clazz);
         try {
-            E realmObject = configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
-            if (handlerController != null) {
-                handlerController.addToRealmObjects(realmObject);
-            }
-            return realmObject;
+            return configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
         } catch (JSONException e) {
             throw new RealmException("Could not map Json", e);
         }
@@ -770,6 +938,37 @@ public final class Realm extends BaseRealm {
         return realmObjects;
     }
 
+    /**
+     * Inserts a collection of standalone RealmObjects into the Realm. Unlike {@link #copyToRealm(Iterable)} no managed
+     * objects are created and returned, and the values are written one field at a time for all the objects of a class,
+     * which makes this considerably faster when inserting many objects. This is a deep insert, so all referenced
+     * objects will be inserted as well. Objects already in this Realm will be ignored.
+     *
+     * @param objects the RealmObjects to insert into the Realm.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if an object with the same primary key already
+     * exists.
+     * @throws java.lang.IllegalArgumentException if any of the elements in the input collection is {@code null}.
+     * @see #copyToRealm(Iterable)
+     */
+    public void insert(Collection<? extends RealmObject> objects) {
+        insert(objects, false);
+    }
+
+    /**
+     * Inserts a collection of standalone RealmObjects into the Realm, or updates the existing objects which are
+     * identified by the same {@link io.realm.annotations.PrimaryKey}. Like {@link #insert(Collection)} this doesn't
+     * create any managed objects. This is a deep insert or update, so all referenced objects will be either inserted
+     * or updated.
+     *
+     * @param objects the RealmObjects to insert or update.
+     * @throws java.lang.IllegalArgumentException if any of the elements in the input collection is {@code null} or
+     * doesn't have a Primary key defined.
+     * @see #copyToRealmOrUpdate(Iterable)
+     */
+    public void insertOrUpdate(Collection<? extends RealmObject> objects) {
+        insert(objects, true);
+    }
+
     /**
      * Makes a standalone in-memory copy of already persisted RealmObjects. This is a deep copy that will copy all
      * referenced objects.
@@ -1063,6 +1262,9 @@ public final class Realm extends BaseRealm {
     @Deprecated
     public RealmAsyncTask executeTransaction(final Transaction transaction, final Transaction.Callback callback) {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
         if (transaction == null) {
             throw new IllegalArgumentException("Transaction should not be null");
         }
@@ -1199,6 +1401,9 @@ public final class Realm extends BaseRealm {
      */
     public RealmAsyncTask executeTransactionAsync(final Transaction transaction, final Realm.Transaction.OnSuccess onSuccess, final Realm.Transaction.OnError onError) {
         checkIfValid();
+        if (frozen) {
+            throw new IllegalStateException(FROZEN_REALM_MESSAGE);
+        }
 
         if (transaction == null) {
             throw new IllegalArgumentException("Transaction should not be null");
@@ -1215,6 +1420,11 @@ public final class Realm extends BaseRealm {
         // to perform the transaction
         final RealmConfiguration realmConfiguration = getConfiguration();
 
+        if (realmConfiguration.shouldGroupAsyncTransactions()) {
+            return new RealmAsyncTask(GroupCommitWriter.submit(realmConfiguration, transaction, onSuccess, onError,
+                    handler));
+        }
+
         final Future<?> pendingQuery = asyncQueryExecutor.submit(new Runnable() {
             @Override
             public void run() {
@@ -1330,6 +1540,55 @@ public final class Realm extends BaseRealm {
         return configuration.getSchemaMediator().copyOrUpdate(this, object, update, new HashMap<RealmObject, RealmObjectProxy>());
     }
 
+    private void insert(Collection<? extends RealmObject> objects, boolean update) {
+        checkIfValid();
+        if (objects == null || objects.isEmpty()) {
+            return;
+        }
+
+        // Objects of the same class are inserted together, in the order in which they first appear.
+        Map<Class<? extends RealmObject>, List<RealmObject>> objectsByClass =
+                new LinkedHashMap<Class<? extends RealmObject>, List<RealmObject>>();
+        for (RealmObject object : objects) {
+            checkNotNullObject(object);
+            Class<? extends RealmObject> clazz = Util.getOriginalModelClass(object.getClass());
+            List<RealmObject> classObjects = objectsByClass.get(clazz);
+            if (classObjects == null) {
+                if (update) {
+                    checkHasPrimaryKey(clazz);
+                }
+                classObjects = new ArrayList<RealmObject>();
+                objectsByClass.put(clazz, classObjects);
+            }
+            classObjects.add(object);
+        }
+
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        Map<RealmObject, Long> cache = new HashMap<RealmObject, Long>();
+        for (Map.Entry<Class<? extends RealmObject>, List<RealmObject>> entry : objectsByClass.entrySet()) {
+            mediator.insert(entry.getKey(), this, entry.getValue(), update, cache);
+        }
+    }
+
+    /**
+     * Returns the row indices of objects which have just been inserted, or are already managed by this Realm. This
+     * is used by the generated insert methods to set links. {@code null} objects are returned as {@code -1}.
+     */
+    long[] getRowIndices(List<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        long[] rowIndices = new long[objects.size()];
+        for (int i = 0; i < rowIndices.length; i++) {
+            RealmObject object = objects.get(i);
+            if (object == null) {
+                rowIndices[i] = -1;
+            } else if (object.realm != null && object.realm.getPath().equals(getPath())) {
+                rowIndices[i] = object.row.getIndex();
+            } else {
+                rowIndices[i] = cache.get(object);
+            }
+        }
+        return rowIndices;
+    }
+
     private <E extends RealmObject> E createDetachedCopy(E object, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
         checkIfValid();
         return configuration.getSchemaMediator().createDetachedCopy(object, maxDepth, cache);
@@ -1466,6 +1725,36 @@ public final class Realm extends BaseRealm {
         }
     }
 
+    /**
+     * Callback used to deliver a Realm opened by {@link #getInstanceAsync(RealmConfiguration, Callback)} to the
+     * caller thread.
+     */
+    public abstract static class Callback {
+        /**
+         * Invoked on the caller thread once the Realm is opened.
+         *
+         * @param realm the Realm instance for the caller thread.
+         */
+        public abstract void onSuccess(Realm realm);
+
+        /**
+         * Invoked on the caller thread if the Realm could not be opened, e.g. because a migration is needed. Rethrows
+         * the error on the caller thread by default, like {@link #executeTransactionAsync(Transaction)} does when no
+         * {@link Transaction.OnError} callback is given.
+         *
+         * @param exception the error.
+         */
+        public void onError(Throwable exception) {
+            if (exception instanceof RuntimeException) {
+                throw (RuntimeException) exception;
+            } else if (exception instanceof Error) {
+                throw (Error) exception;
+            } else {
+                throw new RealmException("Opening the Realm asynchronously failed", exception);
+            }
+        }
+    }
+
     /**
      * Encapsulates a Realm transaction.
      * <p>
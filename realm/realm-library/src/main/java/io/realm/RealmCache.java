@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import io.realm.internal.ColumnIndices;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -67,6 +68,10 @@ class RealmCache {
     // Realm instances in other threads doesn't have to initialize the column indices again.
     private ColumnIndices typedColumnIndices;
 
+    // Number of open frozen Realms of this file, see Realm#freeze(). They read the file from any thread, so they keep
+    // the cache alive and count as open instances until they are closed.
+    private int frozenCount = 0;
+
     // Realm path will be used as the key to store different RealmCaches. Different Realm configurations with same path
     // are not allowed and an exception will be thrown when trying to add it to the cache map.
     private static Map<String, RealmCache> cachesMap = new HashMap<String, RealmCache>();
@@ -91,6 +96,24 @@ class RealmCache {
      */
     static synchronized <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
                                                         Class<E> realmClass) {
+        return createRealmOrGetFromCache(configuration, realmClass, null);
+    }
+
+    /**
+     * Creates a new typed Realm instance or get an existing instance for current thread. If no typed Realm instance of
+     * this file is open, the given column indices are used instead of reading them from the file again.
+     *
+     * @param configuration {@link RealmConfiguration} will be used to create or get the instance.
+     * @param columnIndices the column indices read by an instance of the same configuration, which has been validated.
+     * @return the {@link Realm} instance.
+     */
+    static synchronized Realm createRealmOrGetFromCache(RealmConfiguration configuration,
+                                                        ColumnIndices columnIndices) {
+        return createRealmOrGetFromCache(configuration, Realm.class, columnIndices);
+    }
+
+    private static <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
+                                                        Class<E> realmClass, ColumnIndices columnIndices) {
         boolean isCacheInMap = true;
         RealmCache cache = cachesMap.get(configuration.getPath());
         if (cache == null) {
@@ -111,7 +134,8 @@ class RealmCache {
 
             if (realmClass == Realm.class) {
                 // RealmMigrationNeededException might be thrown here.
-                realm = Realm.createInstance(configuration, cache.typedColumnIndices);
+                realm = Realm.createInstance(configuration,
+                        cache.typedColumnIndices != null ? cache.typedColumnIndices : columnIndices);
             } else if (realmClass == DynamicRealm.class) {
                 realm = DynamicRealm.createInstance(configuration);
             } else {
@@ -185,20 +209,7 @@ class RealmCache {
                         " got corrupted.");
             }
 
-            // Clear the column indices cache if needed
-            if (realm instanceof Realm && refAndCount.globalCount == 0) {
-                // All typed Realm instances of this file are cleared from cache
-                cache.typedColumnIndices = null;
-            }
-
-            int totalRefCount = 0;
-            for (RealmCacheType type : RealmCacheType.values()) {
-                totalRefCount += cache.refAndCountMap.get(type).globalCount;
-            }
-            // No more instance of typed Realm and dynamic Realm. Remove the configuration from cache.
-            if (totalRefCount == 0) {
-                cachesMap.remove(canonicalPath);
-            }
+            cache.removeIfUnused();
 
             // No more local reference to this Realm in current thread, close the instance.
             realm.doClose();
@@ -207,6 +218,56 @@ class RealmCache {
         }
     }
 
+    /**
+     * Counts a new frozen Realm as an open instance of its file until {@link #releaseFrozen(RealmConfiguration)} is
+     * called. The Realm it is frozen from must be open in the current thread.
+     *
+     * @param configuration the {@link RealmConfiguration} of the Realm.
+     */
+    static synchronized void retainFrozen(RealmConfiguration configuration) {
+        cachesMap.get(configuration.getPath()).frozenCount++;
+    }
+
+    /**
+     * Releases a frozen Realm counted by {@link #retainFrozen(RealmConfiguration)} once it is closed, from any thread.
+     *
+     * @param configuration the {@link RealmConfiguration} of the Realm.
+     */
+    static synchronized void releaseFrozen(RealmConfiguration configuration) {
+        RealmCache cache = cachesMap.get(configuration.getPath());
+        cache.frozenCount--;
+        if (cache.frozenCount < 0) {
+            // Should never happen.
+            throw new IllegalStateException("Frozen Realm counter of Realm" + configuration.getPath() +
+                    " got corrupted.");
+        }
+        cache.removeIfUnused();
+    }
+
+    // Clears the column indices if there are no typed Realm instances left, and removes the cache if there are no
+    // instances left at all.
+    private void removeIfUnused() {
+        if (frozenCount > 0) {
+            return;
+        }
+        if (refAndCountMap.get(RealmCacheType.TYPED_REALM).globalCount == 0) {
+            // All typed Realm instances of this file are cleared from cache
+            typedColumnIndices = null;
+        }
+
+        int totalRefCount = 0;
+        for (RealmCacheType type : RealmCacheType.values()) {
+            totalRefCount += refAndCountMap.get(type).globalCount;
+        }
+        // No more instance of typed Realm and dynamic Realm. Remove the configuration from cache.
+        if (totalRefCount == 0) {
+            String canonicalPath = configuration.getPath();
+            cachesMap.remove(canonicalPath);
+            // Background SharedGroups used by async queries must not outlive the last Realm instance.
+            SharedGroupPool.close(canonicalPath);
+        }
+    }
+
     /**
      * Make sure that the new configuration doesn't clash with any cached configurations for the
      * Realm.
@@ -242,7 +303,8 @@ class RealmCache {
             callback.onResult(0);
             return;
         }
-        int totalRefCount = 0;
+        // Frozen instances count as open until they are closed.
+        int totalRefCount = cache.frozenCount;
         for (RealmCacheType type : RealmCacheType.values()) {
             totalRefCount += cache.refAndCountMap.get(type).globalCount;
         }
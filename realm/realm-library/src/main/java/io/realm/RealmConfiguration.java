@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.annotations.RealmModule;
 import io.realm.exceptions.RealmException;
@@ -81,6 +82,11 @@ public class RealmConfiguration {
     private final SharedGroup.Durability durability;
     private final RealmProxyMediator schemaMediator;
     private final RxObservableFactory rxObservableFactory;
+    private final long notificationIntervalMillis;
+    private final boolean groupAsyncTransactions;
+    private final long slowQueryThresholdNanos;
+    private final QueryProfiler queryProfiler;
+    private final long parallelScanThreshold;
 
     private RealmConfiguration(Builder builder) {
         this.realmFolder = builder.folder;
@@ -93,6 +99,11 @@ public class RealmConfiguration {
         this.durability = builder.durability;
         this.schemaMediator = createSchemaMediator(builder);
         this.rxObservableFactory = builder.rxFactory;
+        this.notificationIntervalMillis = builder.notificationIntervalMillis;
+        this.groupAsyncTransactions = builder.groupAsyncTransactions;
+        this.slowQueryThresholdNanos = builder.slowQueryThresholdNanos;
+        this.queryProfiler = (slowQueryThresholdNanos >= 0) ? new QueryProfiler(slowQueryThresholdNanos) : null;
+        this.parallelScanThreshold = builder.parallelScanThreshold;
     }
 
     public File getRealmFolder() {
@@ -157,6 +168,47 @@ public class RealmConfiguration {
         return rxObservableFactory;
     }
 
+    /**
+     * Returns the time other threads wait after a commit before being notified about it.
+     *
+     * @return the interval in milliseconds, {@code 0} if they are notified at once.
+     * @see Builder#notificationInterval(long, TimeUnit)
+     */
+    public long getNotificationInterval() {
+        return notificationIntervalMillis;
+    }
+
+    /**
+     * Checks if async transactions are committed in groups.
+     *
+     * @return {@code true} if they are, {@code false} if each of them is committed on its own.
+     * @see Builder#groupAsyncTransactions()
+     */
+    public boolean shouldGroupAsyncTransactions() {
+        return groupAsyncTransactions;
+    }
+
+    /**
+     * Returns the profiler recording the queries run on Realms opened with this configuration.
+     *
+     * @return the profiler or {@code null} if queries aren't profiled.
+     * @see Builder#profileQueries(long, TimeUnit)
+     */
+    public QueryProfiler getQueryProfiler() {
+        return queryProfiler;
+    }
+
+    /**
+     * Returns the number of rows from which the scans done by {@link RealmQuery#count()} and the aggregates of
+     * {@link RealmQuery} are split over several threads.
+     *
+     * @return the number of rows or {@code -1} if scans are always done on the calling thread.
+     * @see Builder#parallelScans(long)
+     */
+    public long getParallelScanThreshold() {
+        return parallelScanThreshold;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -171,6 +223,10 @@ public class RealmConfiguration {
         if (!canonicalPath.equals(that.canonicalPath)) return false;
         if (!Arrays.equals(key, that.key)) return false;
         if (!durability.equals(that.durability)) return false;
+        if (notificationIntervalMillis != that.notificationIntervalMillis) return false;
+        if (groupAsyncTransactions != that.groupAsyncTransactions) return false;
+        if (slowQueryThresholdNanos != that.slowQueryThresholdNanos) return false;
+        if (parallelScanThreshold != that.parallelScanThreshold) return false;
         if (migration != null ? !migration.equals(that.migration) : that.migration != null) return false;
         if (!rxObservableFactory.equals(that.rxObservableFactory)) return false;
         return schemaMediator.equals(that.schemaMediator);
@@ -187,6 +243,10 @@ public class RealmConfiguration {
         result = 31 * result + (deleteRealmIfMigrationNeeded ? 1 : 0);
         result = 31 * result + schemaMediator.hashCode();
         result = 31 * result + durability.hashCode();
+        result = 31 * result + (int) (notificationIntervalMillis ^ (notificationIntervalMillis >>> 32));
+        result = 31 * result + (groupAsyncTransactions ? 1 : 0);
+        result = 31 * result + (int) (slowQueryThresholdNanos ^ (slowQueryThresholdNanos >>> 32));
+        result = 31 * result + (int) (parallelScanThreshold ^ (parallelScanThreshold >>> 32));
 
         return result;
     }
@@ -259,6 +319,14 @@ public class RealmConfiguration {
         stringBuilder.append("\n");
         stringBuilder.append("durability: "); stringBuilder.append(durability);
         stringBuilder.append("\n");
+        stringBuilder.append("notificationInterval: "); stringBuilder.append(notificationIntervalMillis);
+        stringBuilder.append("\n");
+        stringBuilder.append("groupAsyncTransactions: "); stringBuilder.append(groupAsyncTransactions);
+        stringBuilder.append("\n");
+        stringBuilder.append("slowQueryThreshold: "); stringBuilder.append(slowQueryThresholdNanos);
+        stringBuilder.append("\n");
+        stringBuilder.append("parallelScanThreshold: "); stringBuilder.append(parallelScanThreshold);
+        stringBuilder.append("\n");
         stringBuilder.append("schemaMediator: "); stringBuilder.append(schemaMediator);
 
         return stringBuilder.toString();
@@ -278,6 +346,10 @@ public class RealmConfiguration {
         private HashSet<Object> modules = new HashSet<Object>();
         private HashSet<Class<? extends RealmObject>> debugSchema = new HashSet<Class<? extends RealmObject>>();
         private RxObservableFactory rxFactory = new RealmObservableFactory();
+        private long notificationIntervalMillis;
+        private boolean groupAsyncTransactions;
+        private long slowQueryThresholdNanos;
+        private long parallelScanThreshold;
 
         /**
          * Creates an instance of the Builder for the RealmConfiguration.
@@ -325,6 +397,10 @@ public class RealmConfiguration {
             this.migration = null;
             this.deleteRealmIfMigrationNeeded = false;
             this.durability = SharedGroup.Durability.FULL;
+            this.notificationIntervalMillis = 0;
+            this.groupAsyncTransactions = false;
+            this.slowQueryThresholdNanos = -1;
+            this.parallelScanThreshold = -1;
             if (DEFAULT_MODULE != null) {
                 this.modules.add(DEFAULT_MODULE);
             }
@@ -450,6 +526,105 @@ public class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Sets the minimum time between two notifications of the changes committed by other threads. Commits made
+         * during that time are handled together: the Realm is refreshed once, async queries are rerun once and
+         * listeners are called once. Use e.g. 16 milliseconds to refresh a UI thread at most once per frame, no matter
+         * how fast background threads write.
+         * <p>
+         * The thread doing a commit is still notified at once. The default is {@code 0}, other threads are notified
+         * as soon as their {@link android.os.Looper} gets to it.
+         * <p>
+         * Note that {@link Realm.Transaction.OnSuccess} callbacks of async transactions can run before the Realm is
+         * refreshed when an interval is set.
+         *
+         * @param interval the minimum interval, {@code 0} to notify at once.
+         * @param unit the unit of {@code interval}.
+         * @throws IllegalArgumentException if the interval is negative or the unit is {@code null}.
+         */
+        public Builder notificationInterval(long interval, TimeUnit unit) {
+            if (interval < 0) {
+                throw new IllegalArgumentException("The notification interval must be 0 (zero) or higher. Yours was: " + interval);
+            }
+            if (unit == null) {
+                throw new IllegalArgumentException("A non-null TimeUnit must be provided");
+            }
+            this.notificationIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Setting this will run the transactions of {@link Realm#executeTransactionAsync(Realm.Transaction)} on a
+         * dedicated writer thread, which commits all the transactions queued at the same time in a single write
+         * transaction. This is much faster for many small transactions, as the file is only synced to disk and other
+         * threads only notified once per group.
+         * <p>
+         * Each transaction still gets its own {@link Realm.Transaction.OnSuccess} or {@link Realm.Transaction.OnError}
+         * callback. There are no savepoints within a write transaction, so if a transaction throws, the whole group
+         * is rolled back. The transactions executed before the failing one are then executed a second time and
+         * committed, and the ones after it are executed in the next write transaction.
+         * <p>
+         * Transactions are therefore executed at least once, and twice at most. They are only committed once, but any
+         * side effect outside of the Realm can happen twice, so transactions must be idempotent apart from their
+         * Realm writes. If a transaction which succeeded the first time throws when it is executed again, the
+         * transactions executed again with it are rolled back and reported as failed too. Grouping is disabled by
+         * default.
+         */
+        public Builder groupAsyncTransactions() {
+            this.groupAsyncTransactions = true;
+            return this;
+        }
+
+        /**
+         * Records the time, number of scanned and matched rows and sort time of all the queries run on
+         * Realms opened with this configuration, synchronous and async ones. The statistics are available from
+         * {@link RealmConfiguration#getQueryProfiler()} and each run slower than the threshold is logged as a warning
+         * through {@link io.realm.internal.log.RealmLog}, e.g. with the frame budget of the UI thread.
+         * <p>
+         * Profiling adds two clock reads and a native call to each query, so it is off by default.
+         *
+         * @param slowQueryThreshold the time above which a run of a query is logged, {@code 0} to log all of them.
+         * @param unit the unit of {@code slowQueryThreshold}.
+         * @throws IllegalArgumentException if the threshold is negative or the unit is {@code null}.
+         */
+        public Builder profileQueries(long slowQueryThreshold, TimeUnit unit) {
+            if (slowQueryThreshold < 0) {
+                throw new IllegalArgumentException("The slow query threshold must be 0 (zero) or higher. Yours was: " + slowQueryThreshold);
+            }
+            if (unit == null) {
+                throw new IllegalArgumentException("A non-null TimeUnit must be provided");
+            }
+            this.slowQueryThresholdNanos = unit.toNanos(slowQueryThreshold);
+            return this;
+        }
+
+        /**
+         * Splits the scans done by {@link RealmQuery#count()} and by the aggregates of {@link RealmQuery} ({@code sum},
+         * {@code average}, {@code min}, {@code max}, ...) in ranges of rows checked concurrently by the async query
+         * threads, when the query is run on a table with at least the given number of rows.
+         * <p>
+         * The calling thread checks the first range itself and waits for the others, which are checked at the same
+         * version of the Realm. Queries on a {@link RealmResults} or a {@link RealmList} and queries run inside a
+         * write transaction are always run on the calling thread. A query which core answers from a search index is
+         * split too, each range then uses the index.
+         * <p>
+         * Queries returning objects, like {@link RealmQuery#findAll()} and {@link RealmQuery#findAllAsync()}, are not
+         * split. Their results are updated by running the query again, which is done by a single scan.
+         * <p>
+         * Sums and averages of float and double fields are added up in a different order than by a single scan, so
+         * they can differ in the last digits.
+         *
+         * @param minimumRowCount the number of rows from which scans are split, e.g. {@code 100000}.
+         * @throws IllegalArgumentException if the number of rows is negative.
+         */
+        public Builder parallelScans(long minimumRowCount) {
+            if (minimumRowCount < 0) {
+                throw new IllegalArgumentException("The minimum row count must be 0 (zero) or higher. Yours was: " + minimumRowCount);
+            }
+            this.parallelScanThreshold = minimumRowCount;
+            return this;
+        }
+
         private void addModule(Object module) {
             if (module != null) {
                 checkModule(module);
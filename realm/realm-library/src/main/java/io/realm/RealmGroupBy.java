@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableView;
+
+/**
+ * Groups the objects of a {@link RealmQuery} or of a {@link RealmResults} by the value of a field, and computes an
+ * aggregate for each group. The groups are computed natively in a single pass over the objects, without creating
+ * them, e.g. the number of dogs of each owner:
+ *
+ * <pre>
+ * {@code
+ * GroupedResults dogsPerOwner = realm.where(Dog.class).groupBy("ownerName").count();
+ * for (int i = 0; i < dogsPerOwner.size(); i++) {
+ *     Log.d(TAG, dogsPerOwner.getKey(i) + ": " + dogsPerOwner.getLong(i));
+ * }
+ * }
+ * </pre>
+ *
+ * String, integer, boolean and Date fields can be grouped by. Dates can be grouped in buckets of a fixed size, see
+ * {@link RealmQuery#groupBy(String, long, java.util.concurrent.TimeUnit)}. The objects are grouped again each time an
+ * aggregate is computed, so the results reflect the objects at that time.
+ *
+ * @see GroupedResults
+ */
+public final class RealmGroupBy {
+
+    // Must match the GROUP_ constants of io_realm_internal_tableview.cpp
+    static final int AGGREGATE_COUNT = 0;
+    static final int AGGREGATE_SUM = 1;
+    static final int AGGREGATE_MIN = 2;
+    static final int AGGREGATE_MAX = 3;
+    // Only exists on the Java side, the average is computed from the sum and the number of values.
+    static final int AGGREGATE_AVERAGE = 4;
+
+    private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
+
+    private final BaseRealm realm;
+    private final TableOrView table;
+    private final RealmQuery<?> query;
+    private final RealmResults<?> results;
+    private final long keyColumnIndex;
+    private final RealmFieldType keyType;
+    private final long bucketSeconds;
+
+    RealmGroupBy(BaseRealm realm, TableOrView table, RealmQuery<?> query, RealmResults<?> results, String fieldName,
+                 long bucketSeconds) {
+        this.realm = realm;
+        this.table = table;
+        this.query = query;
+        this.results = results;
+        this.keyColumnIndex = getColumnIndex(fieldName);
+        this.keyType = table.getColumnType(keyColumnIndex);
+        switch (keyType) {
+            case STRING:
+            case INTEGER:
+            case BOOLEAN:
+                if (bucketSeconds != 1) {
+                    // Only Dates can be grouped in buckets.
+                    throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "Date"));
+                }
+                break;
+            case DATE:
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "String, int, boolean or Date"));
+        }
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    static long getBucketSeconds(long bucketSize, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("A non-null TimeUnit must be provided");
+        }
+        long bucketSeconds = unit.toSeconds(bucketSize);
+        if (bucketSeconds < 1) {
+            throw new IllegalArgumentException("Buckets must be at least 1 second long. Yours was: " + bucketSize + " " + unit);
+        }
+        return bucketSeconds;
+    }
+
+    /**
+     * Counts the objects of each group.
+     *
+     * @return the number of objects of each group.
+     */
+    public GroupedResults count() {
+        return aggregate(AGGREGATE_COUNT, null);
+    }
+
+    /**
+     * Calculates the sum of a field for each group. Objects with {@code null} values are ignored.
+     *
+     * @param fieldName the field to sum. Only number fields are supported.
+     * @return the sum of each group, a {@code long} for integer fields and a {@code double} for float and double
+     * fields.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or is not a number type.
+     */
+    public GroupedResults sum(String fieldName) {
+        return aggregate(AGGREGATE_SUM, fieldName);
+    }
+
+    /**
+     * Calculates the average of a field for each group. Objects with {@code null} values are ignored.
+     *
+     * @param fieldName the field to calculate the average of. Only number fields are supported.
+     * @return the average of each group as a {@code double}, {@code 0} for groups without any value.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or is not a number type.
+     */
+    public GroupedResults average(String fieldName) {
+        return aggregate(AGGREGATE_AVERAGE, fieldName);
+    }
+
+    /**
+     * Finds the minimum value of a field for each group. Objects with {@code null} values are ignored.
+     *
+     * @param fieldName the field to look for a minimum on. Only number fields are supported.
+     * @return the minimum of each group, {@code null} for groups without any value.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or is not a number type.
+     */
+    public GroupedResults min(String fieldName) {
+        return aggregate(AGGREGATE_MIN, fieldName);
+    }
+
+    /**
+     * Finds the maximum value of a field for each group. Objects with {@code null} values are ignored.
+     *
+     * @param fieldName the field to look for a maximum on. Only number fields are supported.
+     * @return the maximum of each group, {@code null} for groups without any value.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or is not a number type.
+     */
+    public GroupedResults max(String fieldName) {
+        return aggregate(AGGREGATE_MAX, fieldName);
+    }
+
+    private GroupedResults aggregate(int aggregate, String fieldName) {
+        realm.checkIfValid();
+        long valueColumnIndex = -1;
+        RealmFieldType valueType = RealmFieldType.INTEGER;
+        if (fieldName != null) {
+            valueColumnIndex = getColumnIndex(fieldName);
+            valueType = table.getColumnType(valueColumnIndex);
+            if (valueType != RealmFieldType.INTEGER && valueType != RealmFieldType.FLOAT &&
+                    valueType != RealmFieldType.DOUBLE) {
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+            }
+        }
+
+        int nativeAggregate = (aggregate == AGGREGATE_AVERAGE) ? AGGREGATE_SUM : aggregate;
+        if (query == null) {
+            TableView view = results.getTableView();
+            long[] groups = view.groupBy(keyColumnIndex, bucketSeconds, nativeAggregate, valueColumnIndex);
+            return new GroupedResults(readKeys(view.getTable(), groups), groups, aggregate, valueType);
+        }
+        // The view of the query is only needed for this aggregate.
+        TableView view = query.findAllTableView();
+        try {
+            long[] groups = view.groupBy(keyColumnIndex, bucketSeconds, nativeAggregate, valueColumnIndex);
+            return new GroupedResults(readKeys(view.getTable(), groups), groups, aggregate, valueType);
+        } finally {
+            view.close();
+        }
+    }
+
+    private long getColumnIndex(String fieldName) {
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        return columnIndex;
+    }
+
+    // One key per group, String keys are read from the first row of their group.
+    private Object[] readKeys(Table parent, long[] groups) {
+        Object[] keys = new Object[groups.length / GroupedResults.GROUP_FIELDS];
+        for (int i = 0; i < keys.length; i++) {
+            int offset = i * GroupedResults.GROUP_FIELDS;
+            if (groups[offset] != 0) {
+                continue;
+            }
+            long key = groups[offset + 1];
+            switch (keyType) {
+                case STRING:
+                    keys[i] = parent.getString(keyColumnIndex, groups[offset + 2]);
+                    break;
+                case INTEGER:
+                    keys[i] = key;
+                    break;
+                case BOOLEAN:
+                    keys[i] = (key != 0);
+                    break;
+                case DATE:
+                    // Dates are stored in seconds.
+                    keys[i] = new Date(key * 1000);
+                    break;
+            }
+        }
+        return keys;
+    }
+}
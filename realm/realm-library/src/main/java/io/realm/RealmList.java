@@ -432,6 +432,27 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
         return contains;
     }
 
+    /**
+     * Checks if this managed list links to exactly the given managed objects, in the same order. This is used by the
+     * generated update methods, so lists which didn't change are not rewritten.
+     *
+     * @param objects managed objects of the same Realm.
+     * @return {@code true} if the list links to the same rows, {@code false} otherwise.
+     */
+    boolean linksTo(List<? extends RealmObject> objects) {
+        checkValidView();
+        long[] targetRowIndices = view.getTargetRowIndices();
+        if (targetRowIndices.length != objects.size()) {
+            return false;
+        }
+        for (int i = 0; i < targetRowIndices.length; i++) {
+            if (objects.get(i).row.getIndex() != targetRowIndices[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void checkValidObject(E object) {
         if (object == null) {
             throw new IllegalArgumentException(NULL_OBJECTS_NOT_ALLOWED_MESSAGE);
@@ -16,6 +16,7 @@
 
 package io.realm;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
@@ -25,6 +26,7 @@ import io.realm.internal.InvalidRow;
 import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
+import io.realm.internal.UncheckedRow;
 import io.realm.internal.log.RealmLog;
 import rx.Observable;
 
@@ -72,7 +74,8 @@ import rx.Observable;
  * Realm will create indexes for fields annotated with {@link io.realm.annotations.Index}. This will speedup queries but
  * will have a negative impact on inserts and updates.
  * <p>
- * A RealmObject cannot be passed between different threads.
+ * A RealmObject cannot be passed between different threads, except for the objects of a frozen Realm, see
+ * {@link Realm#freeze()}.
  *
  * @see Realm#createObject(Class)
  * @see Realm#copyToRealm(RealmObject)
@@ -84,7 +87,13 @@ public abstract class RealmObject {
     protected Row row;
     protected BaseRealm realm;
 
-    private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    // Listeners are allocated with the first listener, most objects never get one
+    private List<RealmChangeListener> listeners;
+    private List<RealmObjectChangeListener> changeSetListeners;
+    // Objects are only tracked by the HandlerController once they have a listener, see registerForNotifications()
+    boolean isRegisteredForNotifications = false;
+    // Hashes of the field values the change set listeners were last notified about
+    private long[] valueHashes;
     private Future<Long> pendingQuery;
     private boolean isCompleted = false;
     protected long currentTableVersion = -1;
@@ -226,12 +235,19 @@ public abstract class RealmObject {
         } else {
             throw new IllegalArgumentException("Cannot add listener from this unmanaged RealmObject (created outside of Realm)");
         }
+        if (realm.frozen) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
         if (realm.handler == null) {
             throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
         }
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+        }
         if (!listeners.contains(listener)) {
             listeners.add(listener);
         }
+        registerForNotifications();
     }
 
     /**
@@ -248,7 +264,9 @@ public abstract class RealmObject {
         } else {
             throw new IllegalArgumentException("Cannot remove listener from this unmanaged RealmObject (created outside of Realm)");
         }
-        listeners.remove(listener);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
     }
 
     /**
@@ -260,7 +278,68 @@ public abstract class RealmObject {
         } else {
             throw new IllegalArgumentException("Cannot remove listeners from this unmanaged RealmObject (created outside of Realm)");
         }
-        listeners.clear();
+        if (listeners != null) {
+            listeners.clear();
+        }
+        if (changeSetListeners != null) {
+            changeSetListeners.clear();
+            valueHashes = null;
+        }
+    }
+
+    /**
+     * Adds a change listener to this RealmObject which is told which fields were modified or if the object was
+     * deleted.
+     *
+     * @param listener the change listener to be notified.
+     */
+    public final void addChangeListener(RealmObjectChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm != null) {
+            realm.checkIfValid();
+        } else {
+            throw new IllegalArgumentException("Cannot add listener from this unmanaged RealmObject (created outside of Realm)");
+        }
+        if (realm.frozen) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
+        if (realm.handler == null) {
+            throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
+        }
+        if (changeSetListeners == null) {
+            changeSetListeners = new CopyOnWriteArrayList<RealmObjectChangeListener>();
+        }
+        if (!changeSetListeners.contains(listener)) {
+            if (changeSetListeners.isEmpty()) {
+                valueHashes = getValueHashes();
+            }
+            changeSetListeners.add(listener);
+        }
+        registerForNotifications();
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public final void removeChangeListener(RealmObjectChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm != null) {
+            realm.checkIfValid();
+        } else {
+            throw new IllegalArgumentException("Cannot remove listener from this unmanaged RealmObject (created outside of Realm)");
+        }
+        if (changeSetListeners != null) {
+            changeSetListeners.remove(listener);
+            if (changeSetListeners.isEmpty()) {
+                valueHashes = null;
+            }
+        }
     }
 
     /**
@@ -308,7 +387,8 @@ public abstract class RealmObject {
      * Notifies all registered listeners.
      */
     void notifyChangeListeners() {
-        if (listeners != null && !listeners.isEmpty()) {
+        if ((listeners != null && !listeners.isEmpty())
+                || (changeSetListeners != null && !changeSetListeners.isEmpty())) {
             boolean notify = false;
 
             Table table = row.getTable();
@@ -327,10 +407,60 @@ public abstract class RealmObject {
             }
 
             if (notify) {
-                for (RealmChangeListener listener : listeners) {
-                    listener.onChange();
+                if (listeners != null) {
+                    for (RealmChangeListener listener : listeners) {
+                        listener.onChange();
+                    }
+                }
+                if (changeSetListeners != null && !changeSetListeners.isEmpty()) {
+                    notifyChangeSetListeners();
+                }
+            }
+        }
+    }
+
+    private void notifyChangeSetListeners() {
+        long[] newValueHashes = getValueHashes();
+        RealmObjectChangeSet changeSet;
+        if (newValueHashes == null) {
+            if (valueHashes == null) {
+                return; // Not loaded yet or deletion already reported
+            }
+            changeSet = new RealmObjectChangeSet(new String[0], true);
+        } else {
+            List<String> changedFields = new ArrayList<String>();
+            for (int i = 0; i < newValueHashes.length; i++) {
+                // Fields of an object which just got loaded are all new
+                if (valueHashes == null || i >= valueHashes.length || valueHashes[i] != newValueHashes[i]) {
+                    changedFields.add(row.getColumnName(i));
                 }
             }
+            if (changedFields.isEmpty()) {
+                return; // Another object of the same class changed
+            }
+            changeSet = new RealmObjectChangeSet(changedFields.toArray(new String[changedFields.size()]), false);
+        }
+        valueHashes = newValueHashes;
+        for (RealmObjectChangeListener listener : changeSetListeners) {
+            listener.onChange(changeSet);
+        }
+    }
+
+    private long[] getValueHashes() {
+        if (row instanceof UncheckedRow && row.isAttached()) {
+            return ((UncheckedRow) row).getValueHashes();
+        }
+        return null;
+    }
+
+    /**
+     * Starts tracking this object in the {@link HandlerController}, so it is notified after commits. Registering every
+     * object when it is created would cost a weak reference per object for iterations, even though only few objects
+     * ever get a listener.
+     */
+    private void registerForNotifications() {
+        if (!isRegisteredForNotifications && realm.handlerController != null) {
+            realm.handlerController.addToRealmObjects(this);
         }
     }
 
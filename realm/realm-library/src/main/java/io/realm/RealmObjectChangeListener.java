@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * RealmObjectChangeListener can be registered with a {@link RealmObject} to receive a notification describing which
+ * of its fields were modified, or if it has been deleted.
+ * <p>
+ * Like {@link RealmChangeListener}, it is only called on threads with an {@link android.os.Looper} and the
+ * RealmObject already contains its new values when {@link #onChange(RealmObjectChangeSet)} is called.
+ *
+ * @see RealmObject#addChangeListener(RealmObjectChangeListener)
+ * @see RealmObject#removeChangeListener(RealmObjectChangeListener)
+ */
+public interface RealmObjectChangeListener {
+
+    /**
+     * Called when fields of the RealmObject have been modified or when it has been deleted.
+     *
+     * @param changeSet the changes since the last time the listener was called.
+     */
+    void onChange(RealmObjectChangeSet changeSet);
+
+}
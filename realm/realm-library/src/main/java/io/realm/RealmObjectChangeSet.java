@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Arrays;
+
+/**
+ * Describes the changes of a {@link RealmObject} reported to a {@link RealmObjectChangeListener}.
+ */
+public final class RealmObjectChangeSet {
+
+    private final String[] changedFields;
+    private final boolean deleted;
+
+    RealmObjectChangeSet(String[] changedFields, boolean deleted) {
+        this.changedFields = changedFields;
+        this.deleted = deleted;
+    }
+
+    /**
+     * Returns the names of the fields whose value was modified. Changes to the objects referenced by a field are not
+     * reported, only changes to which objects are referenced.
+     *
+     * @return the names of the modified fields, empty if the object was deleted.
+     */
+    public String[] getChangedFields() {
+        return changedFields.clone();
+    }
+
+    /**
+     * Checks if the value of a field was modified.
+     *
+     * @param fieldName name of the field.
+     * @return {@code true} if the field was modified, {@code false} otherwise.
+     */
+    public boolean isFieldChanged(String fieldName) {
+        for (String changedField : changedFields) {
+            if (changedField.equals(fieldName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the object has been deleted. It is no longer valid in that case.
+     *
+     * @return {@code true} if the object was deleted, {@code false} otherwise.
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "RealmObjectChangeSet{changedFields=" + Arrays.toString(changedFields) + ", deleted=" + deleted + "}";
+    }
+}
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Set;
 
 import io.realm.annotations.Required;
+import io.realm.internal.CheckedRow;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
@@ -59,6 +60,9 @@ public final class RealmObjectSchema {
         SUPPORTED_SIMPLE_FIELDS.put(Date.class, new FieldMetaData(RealmFieldType.DATE, true));
     }
 
+    // Number of rows read or written per native call by the bulk field operations.
+    private static final int BULK_CHUNK_SIZE = 8192;
+
     private static final Map<Class<?>, FieldMetaData> SUPPORTED_LINKED_FIELDS;
     static {
         SUPPORTED_LINKED_FIELDS = new HashMap<Class<?>, FieldMetaData>();
@@ -110,6 +114,7 @@ public final class RealmObjectSchema {
             throw new IllegalArgumentException("Class already exists: " + className);
         }
         transaction.renameTable(table.getName(), internalTableName);
+        realm.schema.columnCache.invalidate();
         return this;
     }
 
@@ -146,12 +151,14 @@ public final class RealmObjectSchema {
             nullable = false;
         }
         long columnIndex = table.addColumn(metadata.realmType, fieldName, nullable);
+        realm.schema.columnCache.invalidate();
 
         try {
             addModifiers(fieldName, attributes);
         } catch (Exception e) {
             // Modifiers have been removed by the addModifiers method()
             table.removeColumn(columnIndex);
+            realm.schema.columnCache.invalidate();
             throw e;
         }
         return this;
@@ -169,6 +176,7 @@ public final class RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.OBJECT, fieldName, transaction.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
+        realm.schema.columnCache.invalidate();
         return this;
     }
 
@@ -184,6 +192,7 @@ public final class RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.LIST, fieldName, transaction.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
+        realm.schema.columnCache.invalidate();
         return this;
     }
 
@@ -204,6 +213,7 @@ public final class RealmObjectSchema {
             table.setPrimaryKey(null);
         }
         table.removeColumn(columnIndex);
+        realm.schema.columnCache.invalidate();
         return this;
     }
 
@@ -222,6 +232,7 @@ public final class RealmObjectSchema {
         checkFieldNameIsAvailable(newFieldName);
         long columnIndex = getColumnIndex(currentFieldName);
         table.renameColumn(columnIndex, newFieldName);
+        realm.schema.columnCache.invalidate();
         return this;
     }
 
@@ -355,6 +366,8 @@ public final class RealmObjectSchema {
         } else {
             table.convertColumnToNullable(columnIndex);
         }
+        // Converting a column replaces it with a copy.
+        realm.schema.columnCache.invalidate();
         return this;
     }
 
@@ -439,6 +452,418 @@ public final class RealmObjectSchema {
         return this;
     }
 
+    /**
+     * Runs a transformation function on each RealmObject instance of the current class like
+     * {@link #transform(Function)}, but passes the same {@link DynamicRealmObject} for all objects. It is moved from
+     * object to object instead of creating a new one for each, which is much faster for classes with many objects.
+     * <p>
+     * The function must not keep a reference to the object it is given, as it refers to the next object once the
+     * function returns.
+     *
+     * @return this schema.
+     */
+    public RealmObjectSchema transformInPlace(Function function) {
+        if (function != null) {
+            long size = table.size();
+            if (size > 0) {
+                CheckedRow row = table.getCheckedRow(0);
+                DynamicRealmObject obj = new DynamicRealmObject(realm, row);
+                for (long i = 0; i < size; i++) {
+                    row.moveTo(i);
+                    function.apply(obj);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets a field to the same value for all objects of the current class. The values are set in batches of rows
+     * without creating an object for each.
+     *
+     * @param fieldName field to set.
+     * @param value the value to set. Its type must match the type of the field, e.g. {@code Integer}, {@code Long},
+     *              {@code Short} or {@code Byte} for integer fields. It can only be {@code null} for nullable fields.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if the field doesn't exist, is a primary key or a link, or if the value doesn't
+     * match its type.
+     */
+    public RealmObjectSchema fillField(String fieldName, Object value) {
+        long columnIndex = getBulkColumnIndex(fieldName);
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (value == null) {
+            if (!table.isColumnNullable(columnIndex)) {
+                throw new IllegalArgumentException("Field is required and cannot be set to null: " + fieldName);
+            }
+        } else if (!isValueOfType(value, type)) {
+            throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
+                    fieldName, value.getClass().getSimpleName(), type));
+        }
+
+        long size = table.size();
+        long[] rowIndices = null;
+        Object values = null;
+        boolean[] nulls = null;
+        for (long start = 0; start < size; start += BULK_CHUNK_SIZE) {
+            int count = (int) Math.min(BULK_CHUNK_SIZE, size - start);
+            if (rowIndices == null || rowIndices.length != count) {
+                // The values only depend on the number of rows, they are reused by all the chunks but the last one.
+                rowIndices = new long[count];
+                values = newFilledArray(type, value, count);
+                nulls = new boolean[count];
+                Arrays.fill(nulls, value == null);
+            }
+            for (int i = 0; i < count; i++) {
+                rowIndices[i] = start + i;
+            }
+            switch (type) {
+                case INTEGER:
+                    table.setLongs(columnIndex, rowIndices, (long[]) values, nulls);
+                    break;
+                case BOOLEAN:
+                    table.setBooleans(columnIndex, rowIndices, (boolean[]) values, nulls);
+                    break;
+                case FLOAT:
+                    table.setFloats(columnIndex, rowIndices, (float[]) values, nulls);
+                    break;
+                case DOUBLE:
+                    table.setDoubles(columnIndex, rowIndices, (double[]) values, nulls);
+                    break;
+                case DATE:
+                    table.setDates(columnIndex, rowIndices, (long[]) values, nulls);
+                    break;
+                case STRING:
+                    table.setStrings(columnIndex, rowIndices, (String[]) values);
+                    break;
+                case BINARY:
+                    table.setBinaryByteArrays(columnIndex, rowIndices, (byte[][]) values);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Field cannot be filled: " + fieldName);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copies the value of a field to another field for all objects of the current class. The fields must have the same
+     * type, except for integer, float and double fields which can be copied to each other. Float and double values
+     * copied to an integer field are truncated. {@code null} values copied to a required field are replaced by
+     * {@code 0}, {@code false}, an empty string, an empty array or the epoch, depending on its type.
+     * <p>
+     * The values are copied natively, without creating an object for each.
+     *
+     * @param sourceFieldName field to copy from.
+     * @param targetFieldName field to copy to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if a field doesn't exist, the types don't match, the target field is a primary
+     * key or one of the fields is a link.
+     */
+    public RealmObjectSchema copyField(String sourceFieldName, String targetFieldName) {
+        long sourceColumnIndex = getBulkColumnIndex(sourceFieldName);
+        long targetColumnIndex = getBulkColumnIndex(targetFieldName);
+        RealmFieldType sourceType = table.getColumnType(sourceColumnIndex);
+        RealmFieldType targetType = table.getColumnType(targetColumnIndex);
+        if (sourceType != targetType && !(isNumberType(sourceType) && isNumberType(targetType))) {
+            throw new IllegalArgumentException(String.format("Field '%s' of type %s cannot be copied to field '%s' of type %s.",
+                    sourceFieldName, sourceType, targetFieldName, targetType));
+        }
+        table.copyColumn(sourceColumnIndex, targetColumnIndex);
+        return this;
+    }
+
+    /**
+     * Converts the value of an integer field and stores the result in another integer field, for all objects of the
+     * current class. The values are converted in batches of rows without creating an object for each. {@code null}
+     * values aren't converted, they are copied as {@code null} to a nullable field and as {@code 0} to a required one.
+     *
+     * @param sourceFieldName integer field to convert.
+     * @param targetFieldName integer field to store the result in. It can be the source field.
+     * @param mapper the conversion.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if a field doesn't exist, isn't an integer field or the target field is a
+     * primary key.
+     */
+    public RealmObjectSchema copyField(String sourceFieldName, String targetFieldName, LongMapper mapper) {
+        checkMapper(mapper);
+        long sourceColumnIndex = getBulkColumnIndex(sourceFieldName);
+        long targetColumnIndex = getBulkColumnIndex(targetFieldName);
+        checkFieldType(sourceFieldName, sourceColumnIndex, RealmFieldType.INTEGER);
+        checkFieldType(targetFieldName, targetColumnIndex, RealmFieldType.INTEGER);
+        boolean targetNullable = table.isColumnNullable(targetColumnIndex);
+
+        long size = table.size();
+        long[] rowIndices = null;
+        long[] values = null;
+        boolean[] nulls = null;
+        for (long start = 0; start < size; start += BULK_CHUNK_SIZE) {
+            int count = (int) Math.min(BULK_CHUNK_SIZE, size - start);
+            if (rowIndices == null || rowIndices.length != count) {
+                rowIndices = new long[count];
+                values = new long[count];
+                nulls = new boolean[count];
+            }
+            table.getLongs(sourceColumnIndex, start, values, nulls);
+            for (int i = 0; i < count; i++) {
+                rowIndices[i] = start + i;
+                if (nulls[i]) {
+                    // A required target gets the 0 read for the null value.
+                    nulls[i] = targetNullable;
+                } else {
+                    values[i] = mapper.map(values[i]);
+                }
+            }
+            table.setLongs(targetColumnIndex, rowIndices, values, nulls);
+        }
+        return this;
+    }
+
+    /**
+     * Converts the value of an integer, float or double field and stores the result in a float or double field, for
+     * all objects of the current class. The values are converted in batches of rows without creating an object for
+     * each. {@code null} values aren't converted, they are copied as {@code null} to a nullable field and as {@code 0}
+     * to a required one.
+     *
+     * @param sourceFieldName integer, float or double field to convert.
+     * @param targetFieldName float or double field to store the result in. It can be the source field.
+     * @param mapper the conversion.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if a field doesn't exist, has another type or the target field is a primary
+     * key.
+     */
+    public RealmObjectSchema copyField(String sourceFieldName, String targetFieldName, DoubleMapper mapper) {
+        checkMapper(mapper);
+        long sourceColumnIndex = getBulkColumnIndex(sourceFieldName);
+        long targetColumnIndex = getBulkColumnIndex(targetFieldName);
+        checkFieldType(sourceFieldName, sourceColumnIndex, RealmFieldType.INTEGER, RealmFieldType.FLOAT,
+                RealmFieldType.DOUBLE);
+        checkFieldType(targetFieldName, targetColumnIndex, RealmFieldType.FLOAT, RealmFieldType.DOUBLE);
+        boolean targetNullable = table.isColumnNullable(targetColumnIndex);
+        boolean targetFloat = table.getColumnType(targetColumnIndex) == RealmFieldType.FLOAT;
+
+        long size = table.size();
+        long[] rowIndices = null;
+        double[] values = null;
+        float[] floatValues = null;
+        boolean[] nulls = null;
+        for (long start = 0; start < size; start += BULK_CHUNK_SIZE) {
+            int count = (int) Math.min(BULK_CHUNK_SIZE, size - start);
+            if (rowIndices == null || rowIndices.length != count) {
+                rowIndices = new long[count];
+                values = new double[count];
+                floatValues = targetFloat ? new float[count] : null;
+                nulls = new boolean[count];
+            }
+            table.getDoubles(sourceColumnIndex, start, values, nulls);
+            for (int i = 0; i < count; i++) {
+                rowIndices[i] = start + i;
+                if (nulls[i]) {
+                    nulls[i] = targetNullable;
+                } else {
+                    values[i] = mapper.map(values[i]);
+                }
+                if (targetFloat) {
+                    floatValues[i] = (float) values[i];
+                }
+            }
+            if (targetFloat) {
+                table.setFloats(targetColumnIndex, rowIndices, floatValues, nulls);
+            } else {
+                table.setDoubles(targetColumnIndex, rowIndices, values, nulls);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Changes the type of a field, and optionally its name, keeping its values as far as the new type allows. A new
+     * field is added, the values are copied to it as described in {@link #copyField(String, String)}, then the old
+     * field is removed. The field keeps its index if the new type can be indexed, and is moved after the other fields.
+     *
+     * @param currentFieldName field to convert.
+     * @param newFieldName the new name of the field, which can be the current one.
+     * @param newFieldType the new type of the field, a boxed type makes it nullable. See
+     *                     {@link #addField(String, Class, FieldAttribute...)}.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if the field doesn't exist, is a primary key, the new name is taken or the
+     * values can't be copied to the new type.
+     */
+    public RealmObjectSchema convertField(String currentFieldName, String newFieldName, Class<?> newFieldType) {
+        return convertField(currentFieldName, newFieldName, newFieldType, null, null);
+    }
+
+    /**
+     * Changes the type of an integer field, and optionally its name, converting its values. See
+     * {@link #convertField(String, String, Class)} and {@link #copyField(String, String, LongMapper)}.
+     *
+     * @param newFieldType the new type of the field, which must be an integer type.
+     * @param mapper the conversion.
+     * @return the updated schema.
+     */
+    public RealmObjectSchema convertField(String currentFieldName, String newFieldName, Class<?> newFieldType,
+                                          LongMapper mapper) {
+        checkMapper(mapper);
+        return convertField(currentFieldName, newFieldName, newFieldType, mapper, null);
+    }
+
+    /**
+     * Changes the type of a number field, and optionally its name, converting its values. See
+     * {@link #convertField(String, String, Class)} and {@link #copyField(String, String, DoubleMapper)}.
+     *
+     * @param newFieldType the new type of the field, which must be a float or double type.
+     * @param mapper the conversion.
+     * @return the updated schema.
+     */
+    public RealmObjectSchema convertField(String currentFieldName, String newFieldName, Class<?> newFieldType,
+                                          DoubleMapper mapper) {
+        checkMapper(mapper);
+        return convertField(currentFieldName, newFieldName, newFieldType, null, mapper);
+    }
+
+    private RealmObjectSchema convertField(String currentFieldName, String newFieldName, Class<?> newFieldType,
+                                           LongMapper longMapper, DoubleMapper doubleMapper) {
+        long columnIndex = getBulkColumnIndex(currentFieldName);
+        checkLegalName(newFieldName);
+        boolean sameName = newFieldName.equals(currentFieldName);
+        if (!sameName) {
+            checkFieldNameIsAvailable(newFieldName);
+        }
+        boolean indexed = table.hasSearchIndex(columnIndex);
+
+        // The new field needs another name while both exist.
+        String tempFieldName = newFieldName;
+        if (sameName) {
+            int suffix = 0;
+            do {
+                tempFieldName = "__" + newFieldName + "_" + suffix++;
+            } while (hasField(tempFieldName));
+        }
+        addField(tempFieldName, newFieldType);
+        try {
+            if (longMapper != null) {
+                copyField(currentFieldName, tempFieldName, longMapper);
+            } else if (doubleMapper != null) {
+                copyField(currentFieldName, tempFieldName, doubleMapper);
+            } else {
+                copyField(currentFieldName, tempFieldName);
+            }
+        } catch (RuntimeException e) {
+            removeField(tempFieldName);
+            throw e;
+        }
+        removeField(currentFieldName);
+        if (sameName) {
+            renameField(tempFieldName, newFieldName);
+        }
+        if (indexed && isIndexableType(getFieldType(newFieldName))) {
+            addIndex(newFieldName);
+        }
+        return this;
+    }
+
+    private long getBulkColumnIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (table.isPrimaryKey(columnIndex)) {
+            throw new IllegalArgumentException("Primary key fields cannot be changed in bulk: " + fieldName);
+        }
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (type == RealmFieldType.OBJECT || type == RealmFieldType.LIST) {
+            throw new IllegalArgumentException("Fields linking to other objects cannot be changed in bulk: " + fieldName);
+        }
+        return columnIndex;
+    }
+
+    private void checkFieldType(String fieldName, long columnIndex, RealmFieldType... validTypes) {
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (!isValidType(type, validTypes)) {
+            throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
+                    fieldName, type, Arrays.toString(validTypes)));
+        }
+    }
+
+    private static void checkMapper(Object mapper) {
+        if (mapper == null) {
+            throw new IllegalArgumentException("A non-null mapper must be provided.");
+        }
+    }
+
+    private static boolean isNumberType(RealmFieldType type) {
+        return type == RealmFieldType.INTEGER || type == RealmFieldType.FLOAT || type == RealmFieldType.DOUBLE;
+    }
+
+    private static boolean isIndexableType(RealmFieldType type) {
+        return type == RealmFieldType.STRING || type == RealmFieldType.INTEGER || type == RealmFieldType.BOOLEAN ||
+                type == RealmFieldType.DATE;
+    }
+
+    private static boolean isValueOfType(Object value, RealmFieldType type) {
+        switch (type) {
+            case INTEGER:
+                return value instanceof Long || value instanceof Integer || value instanceof Short ||
+                        value instanceof Byte;
+            case BOOLEAN:
+                return value instanceof Boolean;
+            case FLOAT:
+                return value instanceof Float;
+            case DOUBLE:
+                return value instanceof Double;
+            case DATE:
+                return value instanceof Date;
+            case STRING:
+                return value instanceof String;
+            case BINARY:
+                return value instanceof byte[];
+            default:
+                return false;
+        }
+    }
+
+    // Returns an array of the batch setter type of the field holding the value count times.
+    private static Object newFilledArray(RealmFieldType type, Object value, int count) {
+        switch (type) {
+            case INTEGER: {
+                long[] values = new long[count];
+                Arrays.fill(values, (value == null) ? 0 : ((Number) value).longValue());
+                return values;
+            }
+            case BOOLEAN: {
+                boolean[] values = new boolean[count];
+                Arrays.fill(values, (value != null) && (Boolean) value);
+                return values;
+            }
+            case FLOAT: {
+                float[] values = new float[count];
+                Arrays.fill(values, (value == null) ? 0 : (Float) value);
+                return values;
+            }
+            case DOUBLE: {
+                double[] values = new double[count];
+                Arrays.fill(values, (value == null) ? 0 : (Double) value);
+                return values;
+            }
+            case DATE: {
+                long[] values = new long[count];
+                Arrays.fill(values, (value == null) ? 0 : ((Date) value).getTime());
+                return values;
+            }
+            case STRING: {
+                String[] values = new String[count];
+                Arrays.fill(values, value);
+                return values;
+            }
+            case BINARY: {
+                byte[][] values = new byte[count][];
+                Arrays.fill(values, value);
+                return values;
+            }
+            default:
+                return null;
+        }
+    }
+
     // Invariant: Field was just added. This method is responsible for cleaning up attributes if it fails.
     private void addModifiers(String fieldName, FieldAttribute[] attributes) {
         boolean indexAdded = false;
@@ -621,6 +1046,24 @@ public final class RealmObjectSchema {
         void apply(DynamicRealmObject obj);
     }
 
+    /**
+     * Conversion of integer values, used when converting the values of a field for all objects of the current class.
+     *
+     * @see #copyField(String, String, LongMapper)
+     */
+    public interface LongMapper {
+        long map(long value);
+    }
+
+    /**
+     * Conversion of number values, used when converting the values of a field for all objects of the current class.
+     *
+     * @see #copyField(String, String, DoubleMapper)
+     */
+    public interface DoubleMapper {
+        double map(double value);
+    }
+
     // Tuple containing data about each supported Java type
     private static class FieldMetaData {
         public final RealmFieldType realmType;
@@ -633,15 +1076,21 @@ public final class RealmObjectSchema {
     }
 
     static class DynamicColumnMap implements Map<String, Long> {
+        private final DynamicColumnCache columnCache;
         private final Table table;
+        private DynamicColumnCache.Columns columns;
 
-        public DynamicColumnMap(Table table) {
+        public DynamicColumnMap(DynamicColumnCache columnCache, Table table) {
+            this.columnCache = columnCache;
             this.table = table;
         }
 
         @Override
         public Long get(Object key) {
-            return table.getColumnIndex((String) key);
+            if (columns == null || !columnCache.isValid(columns)) {
+                columns = columnCache.get(table);
+            }
+            return columns.getIndex((String) key);
         }
 
         @Override
@@ -26,16 +26,19 @@ import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.annotations.Required;
 import io.realm.internal.LinkView;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 import io.realm.internal.async.ArgumentsHolder;
+import io.realm.internal.async.ParallelScan;
 import io.realm.internal.async.QueryUpdateTask;
 import io.realm.internal.log.RealmLog;
 
@@ -70,6 +73,8 @@ public class RealmQuery<E extends RealmObject> {
 
     private final static Long INVALID_NATIVE_POINTER = 0L;
     private ArgumentsHolder argumentsHolder;
+    private long offset = 0;
+    private long limit = Table.INFINITE;
 
     /**
      * Creates a query for objects of a given class from a {@link Realm}.
@@ -135,6 +140,7 @@ public class RealmQuery<E extends RealmObject> {
         this.table = schema.table;
         this.view = null;
         this.query = table.where();
+        setUpProfiling();
     }
 
     private RealmQuery(RealmResults<E> queryResults, Class<E> clazz) {
@@ -144,6 +150,7 @@ public class RealmQuery<E extends RealmObject> {
         this.table = queryResults.getTable();
         this.view = null;
         this.query = queryResults.getTable().where();
+        setUpProfiling();
     }
 
     private RealmQuery(BaseRealm realm, LinkView view, Class<E> clazz) {
@@ -153,6 +160,7 @@ public class RealmQuery<E extends RealmObject> {
         this.view = view;
         this.schema = realm.schema.getSchemaForClass(clazz);
         this.table = schema.table;
+        setUpProfiling();
     }
 
     private RealmQuery(BaseRealm realm, String className) {
@@ -161,6 +169,7 @@ public class RealmQuery<E extends RealmObject> {
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
         this.query = table.where();
+        setUpProfiling();
     }
 
     private RealmQuery(RealmResults<DynamicRealmObject> queryResults, String className) {
@@ -169,6 +178,7 @@ public class RealmQuery<E extends RealmObject> {
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
         this.query = queryResults.getTable().where();
+        setUpProfiling();
     }
 
     private RealmQuery(BaseRealm realm, LinkView view, String className) {
@@ -178,6 +188,20 @@ public class RealmQuery<E extends RealmObject> {
         this.view = view;
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
+        setUpProfiling();
+    }
+
+    private void setUpProfiling() {
+        QueryProfiler profiler = realm.getConfiguration().getQueryProfiler();
+        if (profiler != null) {
+            query.setProfiler(profiler, schema.getClassName());
+        }
+    }
+
+    private ArgumentsHolder newArgumentsHolder(int type) {
+        ArgumentsHolder argumentsHolder = new ArgumentsHolder(type);
+        argumentsHolder.query = query;
+        return argumentsHolder;
     }
 
     /**
@@ -1066,6 +1090,62 @@ public class RealmQuery<E extends RealmObject> {
         return this;
     }
 
+    // Range
+
+    /**
+     * Limits the number of objects returned by {@link #findAll()}, {@link #findAllSorted(String)} and their variants,
+     * including the async ones. A limit of {@code 0} makes {@link #findFirst()} return {@code null}. The limit is applied after sorting, and is still applied when the results are updated
+     * after a commit. Unsorted queries stop searching once enough objects have been found, and queries sorted on a
+     * single field only sort the objects which can be among the first ones, see
+     * {@link #findAllSorted(String, Sort, long)}.
+     *
+     * @param limit the maximum number of objects to return.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if {@code limit} is negative.
+     * @see #offset(long)
+     */
+    public RealmQuery<E> limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Non-negative 'limit' required: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Skips the first {@code offset} objects of the results returned by {@link #findAll()},
+     * {@link #findAllSorted(String)} and their variants, including the async ones. Together with {@link #limit(long)}
+     * this allows to page through the results. {@link #findFirst()} and {@link #findFirstAsync()} find the first
+     * object after the skipped ones.
+     *
+     * @param offset the number of objects to skip.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if {@code offset} is negative.
+     * @see #limit(long)
+     */
+    public RealmQuery<E> offset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Non-negative 'offset' required: " + offset);
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    private boolean hasRange() {
+        return offset > 0 || limit != Table.INFINITE;
+    }
+
+    // Number of objects an unsorted query has to find, or the number of sorted objects needed, before the range can
+    // be applied.
+    private long getFindAllLimit() {
+        return (limit == Table.INFINITE) ? Table.INFINITE : offset + limit;
+    }
+
+    // Applies the range to sorted results, or to unsorted results found with getFindAllLimit().
+    private TableView applyRange(TableView tableView) {
+        return hasRange() ? tableView.getRange(offset, limit) : tableView;
+    }
+
     /**
      * Condition that find values that are considered "empty", i.e. an empty list, the 0-length string or byte array.
      *
@@ -1094,6 +1174,52 @@ public class RealmQuery<E extends RealmObject> {
         return this;
     }
 
+    /**
+     * In comparison. This allows you to test if objects match any value in an array of values. It matches the same
+     * objects as {@code beginGroup().equalTo(fieldName, values[0]).or().equalTo(fieldName, values[1])...endGroup()}.
+     * <p>
+     * A field which isn't indexed is looked up in a hashed set of the values, so the time taken per object doesn't
+     * grow with the number of values, also when the query is run by another thread, e.g. by {@link #findAllAsync()}.
+     * An indexed field or a field of a linked object is compared like the equal conditions above.
+     *
+     * @param fieldName the field to compare.
+     * @param values array of values to compare with. An empty array matches no objects.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
+     */
+    public RealmQuery<E> in(String fieldName, long[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Non-null 'values' required.");
+        }
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
+        this.query.in(columnIndices, values);
+        return this;
+    }
+
+    /**
+     * In comparison, case sensitive. This allows you to test if objects match any value in an array of values. See
+     * {@link #in(String, long[])}.
+     *
+     * @param fieldName the field to compare.
+     * @param values array of values to compare with. An empty array matches no objects.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type, or if
+     * {@code values} contains {@code null}.
+     */
+    public RealmQuery<E> in(String fieldName, String[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Non-null 'values' required.");
+        }
+        for (String value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("'values' must not contain null.");
+            }
+        }
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
+        this.query.in(columnIndices, values);
+        return this;
+    }
+
     /**
      * Returns a distinct set of objects of a specific class. If the result is sorted, the first
      * object will be returned in case of multiple occurrences, otherwise it is undefined which
@@ -1140,12 +1266,11 @@ public class RealmQuery<E extends RealmObject> {
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
         // save query arguments (for future update)
-        argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_DISTINCT);
+        argumentsHolder = newArgumentsHolder(ArgumentsHolder.TYPE_DISTINCT);
         argumentsHolder.columnIndex = columnIndex;
 
-        // we need to use the same configuration to open a background SharedGroup (i.e Realm)
-        // to perform the query
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        // the query is performed on the background SharedGroup (i.e Realm) kept by the worker thread for this file
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         // prepare an empty reference of the RealmResults, so we can return it immediately (promise)
         // then update it once the query completes in the background.
@@ -1164,12 +1289,12 @@ public class RealmQuery<E extends RealmObject> {
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
+                    long nativePointer = INVALID_NATIVE_POINTER;
+                    int what;
+                    Object message;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         long handoverTableViewPointer = query.
                                 findDistinctWithHandover(sharedGroup.getNativePointer(),
@@ -1180,20 +1305,21 @@ public class RealmQuery<E extends RealmObject> {
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
-
-                        return handoverTableViewPointer;
+                        what = HandlerController.COMPLETED_ASYNC_REALM_RESULTS;
+                        message = result;
+                        nativePointer = handoverTableViewPointer;
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
-
+                        what = HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION;
+                        message = new Error(e);
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
+                    // Released before sending, the caller thread could close the Realm as soon as it gets the result.
+                    sendMessageToHandler(weakHandler, what, message);
+                    return nativePointer;
                 } else {
                     TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                 }
@@ -1242,13 +1368,14 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Number sum(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
+        ParallelScan scan = getParallelScan();
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return query.sumInt(columnIndex);
+                return (scan != null) ? scan.sumLong(columnIndex) : query.sumInt(columnIndex);
             case FLOAT:
-                return query.sumFloat(columnIndex);
+                return (scan != null) ? scan.sumDouble(columnIndex) : query.sumFloat(columnIndex);
             case DOUBLE:
-                return query.sumDouble(columnIndex);
+                return (scan != null) ? scan.sumDouble(columnIndex) : query.sumDouble(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1267,13 +1394,14 @@ public class RealmQuery<E extends RealmObject> {
      */
     public double average(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
+        ParallelScan scan = getParallelScan();
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return query.averageInt(columnIndex);
+                return (scan != null) ? scan.averageLong(columnIndex) : query.averageInt(columnIndex);
             case DOUBLE:
-                return query.averageDouble(columnIndex);
+                return (scan != null) ? scan.averageDouble(columnIndex) : query.averageDouble(columnIndex);
             case FLOAT:
-                return query.averageFloat(columnIndex);
+                return (scan != null) ? scan.averageDouble(columnIndex) : query.averageFloat(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1293,13 +1421,14 @@ public class RealmQuery<E extends RealmObject> {
     public Number min(String fieldName) {
         realm.checkIfValid();
         long columnIndex = table.getColumnIndex(fieldName);
+        ParallelScan scan = getParallelScan();
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return this.query.minimumInt(columnIndex);
+                return (scan != null) ? scan.minimumLong(columnIndex) : this.query.minimumInt(columnIndex);
             case FLOAT:
-                return this.query.minimumFloat(columnIndex);
+                return (scan != null) ? toFloat(scan.minimumDouble(columnIndex)) : this.query.minimumFloat(columnIndex);
             case DOUBLE:
-                return this.query.minimumDouble(columnIndex);
+                return (scan != null) ? scan.minimumDouble(columnIndex) : this.query.minimumDouble(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1316,6 +1445,10 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Date minimumDate(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
+        ParallelScan scan = getParallelScan();
+        if (scan != null && table.getColumnType(columnIndex) == RealmFieldType.DATE) {
+            return toDate(scan.minimumLong(columnIndex));
+        }
         return this.query.minimumDate(columnIndex);
     }
 
@@ -1333,13 +1466,14 @@ public class RealmQuery<E extends RealmObject> {
     public Number max(String fieldName) {
         realm.checkIfValid();
         long columnIndex = table.getColumnIndex(fieldName);
+        ParallelScan scan = getParallelScan();
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
-                return this.query.maximumInt(columnIndex);
+                return (scan != null) ? scan.maximumLong(columnIndex) : this.query.maximumInt(columnIndex);
             case FLOAT:
-                return this.query.maximumFloat(columnIndex);
+                return (scan != null) ? toFloat(scan.maximumDouble(columnIndex)) : this.query.maximumFloat(columnIndex);
             case DOUBLE:
-                return this.query.maximumDouble(columnIndex);
+                return (scan != null) ? scan.maximumDouble(columnIndex) : this.query.maximumDouble(columnIndex);
             default:
                 throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
         }
@@ -1356,17 +1490,50 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Date maximumDate(String fieldName) {
         long columnIndex = schema.getFieldIndex(fieldName);
+        ParallelScan scan = getParallelScan();
+        if (scan != null && table.getColumnType(columnIndex) == RealmFieldType.DATE) {
+            return toDate(scan.maximumLong(columnIndex));
+        }
         return this.query.maximumDate(columnIndex);
     }
 
+    // Returns a scan split over the async query threads if the query checks all the rows of a table large enough, see
+    // RealmConfiguration.Builder#parallelScans(long), or null if it should just be run on this thread.
+    private ParallelScan getParallelScan() {
+        long threshold = realm.getConfiguration().getParallelScanThreshold();
+        if (threshold < 0 || view != null || !(table instanceof Table) || realm.isInTransaction()) {
+            return null;
+        }
+        long rowCount = query.getTable().size();
+        if (rowCount < threshold || ParallelScan.getPartCount(rowCount) < 2) {
+            return null;
+        }
+        return new ParallelScan(query, realm.sharedGroupManager.getNativePointer(),
+                SharedGroupPool.getInstance(realm.getConfiguration()), Realm.asyncQueryExecutor, rowCount);
+    }
+
+    private static Float toFloat(Double value) {
+        return (value != null) ? value.floatValue() : null;
+    }
+
+    // Dates are stored in seconds.
+    private static Date toDate(Long seconds) {
+        return (seconds != null) ? new Date(seconds * 1000) : null;
+    }
+
     /**
-     * Counts the number of objects that fulfill the query conditions.
+     * Counts the number of objects that fulfill the query conditions, taking {@link #offset(long)} and
+     * {@link #limit(long)} into account.
      *
      * @return the number of matching objects.
      * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
      */
     public long count() {
-        return this.query.count();
+        if (!hasRange()) {
+            ParallelScan scan = getParallelScan();
+            return (scan != null) ? scan.count() : this.query.count();
+        }
+        return Math.max(0, this.query.count(0, Table.INFINITE, getFindAllLimit()) - offset);
     }
 
     /**
@@ -1379,15 +1546,56 @@ public class RealmQuery<E extends RealmObject> {
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAll() {
         checkQueryIsNotReused();
+        TableView tableView = findAllTableView();
+
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
-            realmResults =  (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, query.findAll(), className);
+            realmResults =  (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, tableView, className);
         } else {
-            realmResults = RealmResults.createFromTableOrView(realm, query.findAll(), clazz);
+            realmResults = RealmResults.createFromTableOrView(realm, tableView, clazz);
         }
         return realmResults;
     }
 
+    // The rows found by findAll(), without creating the RealmResults.
+    TableView findAllTableView() {
+        if (offset == 0) {
+            return query.findAll(0, Table.INFINITE, limit);
+        }
+        return applyRange(query.findAll(0, Table.INFINITE, getFindAllLimit()));
+    }
+
+    /**
+     * Groups the objects matching the query by the value of a field, to compute an aggregate per group. The objects
+     * are grouped natively when the aggregate is computed, without being created. {@link #offset(long)} and
+     * {@link #limit(long)} are taken into account.
+     *
+     * @param fieldName the field to group by. Only String, integer, boolean and Date fields are supported.
+     * @return the grouping, to compute {@link RealmGroupBy#count()}, {@link RealmGroupBy#sum(String)}, ... from.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or has an unsupported type.
+     */
+    public RealmGroupBy groupBy(String fieldName) {
+        realm.checkIfValid();
+        return new RealmGroupBy(realm, table, this, null, fieldName, 1);
+    }
+
+    /**
+     * Groups the objects matching the query by the bucket their Date falls into, e.g. per hour or per day. Buckets
+     * start at a multiple of their size since the epoch, in UTC, and the key of each group is the start of its bucket.
+     *
+     * @param fieldName the Date field to group by.
+     * @param bucketSize the size of the buckets.
+     * @param unit the unit of {@code bucketSize}.
+     * @return the grouping, to compute {@link RealmGroupBy#count()}, {@link RealmGroupBy#sum(String)}, ... from.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a Date field, if the unit is
+     * {@code null} or if the buckets are shorter than a second, the precision of Dates.
+     * @see #groupBy(String)
+     */
+    public RealmGroupBy groupBy(String fieldName, long bucketSize, TimeUnit unit) {
+        realm.checkIfValid();
+        return new RealmGroupBy(realm, table, this, null, fieldName, RealmGroupBy.getBucketSeconds(bucketSize, unit));
+    }
+
     /**
      * Finds all objects that fulfill the query conditions and sorted by specific field name.
      * This method is only available from a Looper thread.
@@ -1404,11 +1612,12 @@ public class RealmQuery<E extends RealmObject> {
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
         // save query arguments (for future update)
-        argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
+        argumentsHolder = newArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
+        argumentsHolder.limit = getFindAllLimit();
+        final long findAllLimit = argumentsHolder.limit;
 
-        // we need to use the same configuration to open a background SharedGroup (i.e Realm)
-        // to perform the query
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        // the query is performed on the background SharedGroup (i.e Realm) kept by the worker thread for this file
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         // prepare an empty reference of the RealmResults, so we can return it immediately (promise)
         // then update it once the query completes in the background.
@@ -1427,36 +1636,37 @@ public class RealmQuery<E extends RealmObject> {
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
+                    long nativePointer = INVALID_NATIVE_POINTER;
+                    int what;
+                    Object message;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         // Run the query & handover the table view for the caller thread
                         // Note: the handoverQueryPointer contains the versionID needed by the SG in order
                         // to import it.
-                        long handoverTableViewPointer = query.findAllWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+                        long handoverTableViewPointer = query.findAllWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, findAllLimit);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
-
-                        return handoverTableViewPointer;
+                        what = HandlerController.COMPLETED_ASYNC_REALM_RESULTS;
+                        message = result;
+                        nativePointer = handoverTableViewPointer;
 
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
-
+                        what = HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION;
+                        message = new Error(e);
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
+                    // Released before sending, the caller thread could close the Realm as soon as it gets the result.
+                    sendMessageToHandler(weakHandler, what, message);
+                    return nativePointer;
                 } else {
                     TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                 }
@@ -1465,6 +1675,7 @@ public class RealmQuery<E extends RealmObject> {
             }
         });
 
+        realmResults.setRange(offset, limit);
         realmResults.setPendingQuery(pendingQuery);
         return realmResults;
     }
@@ -1485,9 +1696,11 @@ public class RealmQuery<E extends RealmObject> {
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAllSorted(String fieldName, Sort sortOrder) {
         checkQueryIsNotReused();
-        TableView tableView = query.findAll();
         long columnIndex = getColumnIndexForSort(fieldName);
-        tableView.sort(columnIndex, sortOrder);
+        // Only the sorted objects the range needs are kept, they are found again when the results are synced.
+        long sortLimit = getFindAllLimit();
+        TableView sortedView = query.findAllSorted(columnIndex, sortOrder, sortLimit);
+        TableView tableView = applyRange(sortedView);
 
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
@@ -1495,6 +1708,9 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             realmResults = RealmResults.createFromTableOrView(realm, tableView, clazz);
         }
+        if (sortLimit != Table.INFINITE) {
+            realmResults.setSortedView(sortedView, columnIndex, sortOrder, sortLimit);
+        }
         return realmResults;
     }
 
@@ -1512,17 +1728,19 @@ public class RealmQuery<E extends RealmObject> {
         long columnIndex = getColumnIndexForSort(fieldName);
 
         // capture the query arguments for future retries & update
-        argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_SORTED);
+        argumentsHolder = newArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_SORTED);
         argumentsHolder.sortOrder = sortOrder;
         argumentsHolder.columnIndex = columnIndex;
+        argumentsHolder.limit = getFindAllLimit();
+        final long sortLimit = argumentsHolder.limit;
 
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
-        // we need to use the same configuration to open a background SharedGroup to perform the query
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        // the query is performed on the background SharedGroup kept by the worker thread for this file
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
@@ -1540,36 +1758,38 @@ public class RealmQuery<E extends RealmObject> {
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
+                    long nativePointer = INVALID_NATIVE_POINTER;
+                    int what;
+                    Object message;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         long columnIndex = getColumnIndexForSort(fieldName);
 
                         // run the query & handover the table view for the caller thread
                         long handoverTableViewPointer = query.findAllSortedWithHandover(sharedGroup.getNativePointer(),
-                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, columnIndex, sortOrder);
+                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, columnIndex, sortOrder,
+                                sortLimit);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
-
-                        return handoverTableViewPointer;
+                        what = HandlerController.COMPLETED_ASYNC_REALM_RESULTS;
+                        message = result;
+                        nativePointer = handoverTableViewPointer;
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
-
+                        what = HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION;
+                        message = new Error(e);
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
+                    // Released before sending, the caller thread could close the Realm as soon as it gets the result.
+                    sendMessageToHandler(weakHandler, what, message);
+                    return nativePointer;
                 } else {
                     TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                 }
@@ -1577,6 +1797,8 @@ public class RealmQuery<E extends RealmObject> {
                 return INVALID_NATIVE_POINTER;
             }
         });
+        realmResults.setRange(offset, limit);
+        realmResults.setSortLimit(columnIndex, sortOrder, sortLimit);
         realmResults.setPendingQuery(pendingQuery);
         return realmResults;
     }
@@ -1609,6 +1831,40 @@ public class RealmQuery<E extends RealmObject> {
         return findAllSortedAsync(fieldName, Sort.ASCENDING);
     }
 
+    /**
+     * Finds the first {@code k} objects that fulfill the query conditions, sorted by a specific field. This is the
+     * same as {@code limit(k).findAllSorted(fieldName, sortOrder)}.
+     * <p>
+     * The first {@code k} objects are picked in a single pass over the results instead of sorting all of them, so this
+     * is much faster when {@code k} is small, e.g. to show the latest objects of a big table. They are picked again the
+     * same way when the results are updated after a commit. Sorting on a String field sorts all the results, and so
+     * does sorting on a float or double field containing NaN.
+     *
+     * @param fieldName the field name to sort by.
+     * @param sortOrder how to sort the results.
+     * @param k the maximum number of objects to return.
+     * @return a {@link io.realm.RealmResults} containing at most {@code k} objects.
+     * @throws java.lang.IllegalArgumentException if field name does not exist, it belongs to a child
+     * {@link RealmObject} or a child {@link RealmList}, or {@code k} is negative.
+     * @see #limit(long)
+     */
+    public RealmResults<E> findAllSorted(String fieldName, Sort sortOrder, long k) {
+        return limit(k).findAllSorted(fieldName, sortOrder);
+    }
+
+    /**
+     * Similar to {@link #findAllSorted(String, Sort, long)} but runs asynchronously on a worker thread.
+     * This method is only available from a Looper thread.
+     *
+     * @return immediately an empty {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
+     * @throws java.lang.IllegalArgumentException if field name does not exist, it belongs to a child
+     * {@link RealmObject} or a child {@link RealmList}, or {@code k} is negative.
+     */
+    public RealmResults<E> findAllSortedAsync(String fieldName, Sort sortOrder, long k) {
+        return limit(k).findAllSortedAsync(fieldName, sortOrder);
+    }
+
     /**
      * Finds all objects that fulfill the query conditions and sorted by specific field names.
      * <p>
@@ -1637,6 +1893,7 @@ public class RealmQuery<E extends RealmObject> {
                 columnIndices.add(columnIndex);
             }
             tableView.sort(columnIndices, sortOrders);
+            tableView = applyRange(tableView);
 
             RealmResults<E> realmResults;
             if (isDynamicQuery()) {
@@ -1652,6 +1909,11 @@ public class RealmQuery<E extends RealmObject> {
         return className != null;
     }
 
+    // Used by PreparedQuery to add conditions on columns it already resolved
+    TableQuery getTableQuery() {
+        return query;
+    }
+
     /**
      * Similar to {@link #findAllSorted(String[], Sort[])} but runs asynchronously
      * from a worker thread.
@@ -1676,8 +1938,8 @@ public class RealmQuery<E extends RealmObject> {
             // Handover the query (to be used by a worker thread)
             final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
-            // We need to use the same configuration to open a background SharedGroup to perform the query
-            final RealmConfiguration realmConfiguration = realm.getConfiguration();
+            // The query is performed on the background SharedGroup kept by the worker thread for this file
+            final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
             final long indices[] = new long[fieldNames.length];
             for (int i = 0; i < fieldNames.length; i++) {
@@ -1687,7 +1949,7 @@ public class RealmQuery<E extends RealmObject> {
             }
 
             // capture the query arguments for future retries & update
-            argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
+            argumentsHolder = newArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
             argumentsHolder.sortOrders = sortOrders;
             argumentsHolder.columnIndices = indices;
 
@@ -1707,12 +1969,12 @@ public class RealmQuery<E extends RealmObject> {
                 public Long call() throws Exception {
                     if (!Thread.currentThread().isInterrupted()) {
                         SharedGroup sharedGroup = null;
+                        long nativePointer = INVALID_NATIVE_POINTER;
+                        int what;
+                        Object message;
 
                         try {
-                            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                    SharedGroup.IMPLICIT_TRANSACTION,
-                                    realmConfiguration.getDurability(),
-                                    realmConfiguration.getEncryptionKey());
+                            sharedGroup = sharedGroupPool.acquire();
 
                             // run the query & handover the table view for the caller thread
                             long handoverTableViewPointer = query.findAllMultiSortedWithHandover(sharedGroup.getNativePointer(),
@@ -1721,20 +1983,21 @@ public class RealmQuery<E extends RealmObject> {
                             QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                             result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
                             result.versionID = sharedGroup.getVersion();
-                            closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                    weakHandler, HandlerController.COMPLETED_ASYNC_REALM_RESULTS, result);
-
-                            return handoverTableViewPointer;
+                            what = HandlerController.COMPLETED_ASYNC_REALM_RESULTS;
+                            message = result;
+                            nativePointer = handoverTableViewPointer;
                         } catch (Exception e) {
                             RealmLog.e(e.getMessage(), e);
-                            closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                    weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
-
+                            what = HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION;
+                            message = new Error(e);
                         } finally {
-                            if (sharedGroup != null && !sharedGroup.isClosed()) {
-                                sharedGroup.close();
+                            if (sharedGroup != null) {
+                                sharedGroupPool.release(sharedGroup);
                             }
                         }
+                        // Released before sending, the caller thread could close the Realm as soon as it gets the result.
+                        sendMessageToHandler(weakHandler, what, message);
+                        return nativePointer;
                     } else {
                         TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                     }
@@ -1743,6 +2006,7 @@ public class RealmQuery<E extends RealmObject> {
                 }
             });
 
+            realmResults.setRange(offset, limit);
             realmResults.setPendingQuery(pendingQuery);
             return realmResults;
         }
@@ -1821,7 +2085,8 @@ public class RealmQuery<E extends RealmObject> {
     }
 
     /**
-     * Finds the first object that fulfills the query conditions.
+     * Finds the first object that fulfills the query conditions. If {@link #offset(long)} is set, the objects before
+     * it are skipped, and no object is found if {@link #limit(long)} is {@code 0}.
      *
      * @return the object found or {@code null} if no object matches the query conditions.
      * @see io.realm.RealmObject
@@ -1830,13 +2095,7 @@ public class RealmQuery<E extends RealmObject> {
         checkQueryIsNotReused();
         long sourceRowIndex = getSourceRowIndexForFirstObject();
         if (sourceRowIndex >= 0) {
-            E realmObject = realm.get(clazz, className, sourceRowIndex);
-            if (realm.handlerController != null) { // non Looper Thread doesn't have a handlerController
-                WeakReference<RealmObject> realmObjectWeakReference
-                        = new WeakReference<RealmObject>(realmObject, realm.handlerController.referenceQueueRealmObject);
-                realm.handlerController.realmObjects.put(realmObjectWeakReference, this);
-            }
-            return realmObject;
+            return realm.get(clazz, className, sourceRowIndex);
         } else {
             return null;
         }
@@ -1861,9 +2120,13 @@ public class RealmQuery<E extends RealmObject> {
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
         // save query arguments (for future update)
-        argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_FIRST);
+        argumentsHolder = newArgumentsHolder(ArgumentsHolder.TYPE_FIND_FIRST);
+        argumentsHolder.offset = offset;
+        argumentsHolder.limit = limit;
+        final long findFirstOffset = offset;
+        final long findFirstLimit = limit;
 
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         // prepare an empty reference of the RealmObject, so we can return it immediately (promise)
         // then update it once the query complete in the background.
@@ -1884,15 +2147,16 @@ public class RealmQuery<E extends RealmObject> {
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
+                    long nativePointer = INVALID_NATIVE_POINTER;
+                    int what;
+                    Object message;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         long handoverRowPointer = query.findWithHandover(sharedGroup.getNativePointer(),
-                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, findFirstOffset,
+                                findFirstLimit);
                         if (handoverRowPointer == 0) { // empty row
                             realm.handlerController.addToEmptyAsyncRealmObject(realmObjectWeakReference, RealmQuery.this);
                             realm.handlerController.removeFromAsyncRealmObject(realmObjectWeakReference);
@@ -1901,22 +2165,23 @@ public class RealmQuery<E extends RealmObject> {
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmObjectResponse();
                         result.updatedRow.put(realmObjectWeakReference, handoverRowPointer);
                         result.versionID = sharedGroup.getVersion();
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.COMPLETED_ASYNC_REALM_OBJECT, result);
-
-                        return handoverRowPointer;
+                        what = HandlerController.COMPLETED_ASYNC_REALM_OBJECT;
+                        message = result;
+                        nativePointer = handoverRowPointer;
 
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage(), e);
                         // handler can't throw a checked exception need to wrap it into unchecked Exception
-                        closeSharedGroupAndSendMessageToHandler(sharedGroup,
-                                weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
-
+                        what = HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION;
+                        message = new Error(e);
                     } finally {
-                        if (sharedGroup != null && !sharedGroup.isClosed()) {
-                            sharedGroup.close();
+                        if (sharedGroup != null) {
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
+                    // Released before sending, the caller thread could close the Realm as soon as it gets the result.
+                    sendMessageToHandler(weakHandler, what, message);
+                    return nativePointer;
                 } else {
                     TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                 }
@@ -1942,6 +2207,10 @@ public class RealmQuery<E extends RealmObject> {
     }
 
     private WeakReference<Handler> getWeakReferenceHandler() {
+        // Frozen Realms have no Handler either, but async queries would run on the latest version.
+        if (realm.isFrozen()) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
         if (realm.handler == null) {
             throw new IllegalStateException("Your Realm is opened from a thread without a Looper." +
                     " Async queries need a Handler to send results of your query");
@@ -1949,12 +2218,7 @@ public class RealmQuery<E extends RealmObject> {
         return new WeakReference<Handler>(realm.handler); // use caller Realm's Looper
     }
 
-    // The shared group needs to be closed before sending the message to other threads to avoid timing problems.
-    // eg.: The other thread wants to delete Realm when getting notified.
-    private void closeSharedGroupAndSendMessageToHandler(SharedGroup sharedGroup, WeakReference<Handler> weakHandler, int what, Object obj) {
-        if (sharedGroup != null) {
-            sharedGroup.close();
-        }
+    private static void sendMessageToHandler(WeakReference<Handler> weakHandler, int what, Object obj) {
         Handler handler = weakHandler.get();
         if (handler != null && handler.getLooper().getThread().isAlive()) {
             handler.obtainMessage(what, obj).sendToTarget();
@@ -1972,6 +2236,14 @@ public class RealmQuery<E extends RealmObject> {
     }
 
     private long getSourceRowIndexForFirstObject() {
+        if (limit == 0) {
+            return TableOrView.NO_MATCH;
+        }
+        if (offset > 0) {
+            // The rows of the view found are rows of the table, also for queries on a RealmList or RealmResults.
+            TableView tableView = query.findAll(0, Table.INFINITE, offset + 1);
+            return (tableView.size() > offset) ? tableView.getSourceRowIndex(offset) : TableOrView.NO_MATCH;
+        }
         long rowIndex = this.query.find();
         if (rowIndex < 0) {
             return rowIndex;
@@ -17,16 +17,22 @@
 package io.realm;
 
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.exceptions.RealmException;
 import io.realm.internal.InvalidRow;
@@ -50,7 +56,7 @@ import rx.Observable;
  * Updates to RealmObjects from a RealmResults list must be done from within a transaction and the modified objects are
  * persisted to the Realm file during the commit of the transaction.
  * <p>
- * A RealmResults object cannot be passed between different threads.
+ * A RealmResults object cannot be passed between different threads, except for frozen results, see {@link #freeze()}.
  * <p>
  * Notice that a RealmResults is never {@code null} not even in the case where it contains no objects. You should always
  * use the size() method to check if a RealmResults is empty or not.
@@ -73,6 +79,8 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     Class<E> classSpec;   // Return type
     String className;     // Class name used by DynamicRealmObjects
     private TableOrView table = null;
+    // View of all the rows of the table backing results over a whole class, created once by getTableView().
+    private TableView tableRowsView;
 
     private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
     private static final long TABLE_VIEW_VERSION_NONE = -1;
@@ -81,8 +89,27 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
 
     private final TableQuery query;
     private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private final List<RealmResultsChangeListener> changeSetListeners =
+            new CopyOnWriteArrayList<RealmResultsChangeListener>();
+    // Rows of the elements the change set listeners were last notified about
+    private RowSnapshot rowSnapshot;
+    // Changes computed when the view of an async query was swapped, not notified yet
+    private RowSnapshot pendingRowSnapshot;
+    private RealmResultsChangeSet pendingChangeSet;
     private Future<Long> pendingQuery;
     private boolean isCompleted = false;
+    // Name of the table the results are computed from, resolved the first time it is needed
+    private String dependentTableName;
+    // Names of all the tables the results are computed from, including the ones reached through links
+    private String[] dependentTableNames;
+    // Range of the results set by RealmQuery.offset() and limit(), applied every time an async query completes
+    private long rangeOffset = 0;
+    private long rangeLimit = Table.INFINITE;
+    private long sortColumnIndex;
+    private Sort sortOrder;
+    private long sortLimit = Table.INFINITE;
+    // The view the range is taken from when it is sorted with sortLimit, which must be synced with it
+    private TableView sortedView;
 
     static <E extends RealmObject> RealmResults<E> createFromTableQuery(BaseRealm realm, TableQuery query, Class<E> clazz) {
         return new RealmResults<E>(realm, query, clazz);
@@ -147,6 +174,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         if (table == null) {
             return realm.schema.getTable(classSpec);
         } else {
+            syncSortedView();
             return table;
         }
     }
@@ -165,6 +193,59 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         return syncToCheckIfValid("Calling isValid on RealmResults whose parent RealmList has been deleted already.");
     }
 
+    /**
+     * Returns a frozen snapshot of these results, which can be read from any thread. The frozen results contain the
+     * same objects in the same order as these results do now, without running their query again, and belong to the
+     * frozen Realm returned by {@link Realm#freeze()} for the current version of their Realm.
+     * <p>
+     * Each call adds a reference to the frozen Realm, it must be released by closing the Realm returned by
+     * {@link #getRealm()} of the frozen results. Frozen results return themselves.
+     *
+     * @return the frozen results.
+     * @throws IllegalStateException if the results belong to a {@link DynamicRealm}, if called inside a transaction,
+     * or if the RealmList which these results are created on has been deleted.
+     */
+    public RealmResults<E> freeze() {
+        realm.checkIfValid();
+        if (!(realm instanceof Realm)) {
+            throw new IllegalStateException("Only RealmResults of a Realm can be frozen, not of a DynamicRealm.");
+        }
+        if (realm.frozen) {
+            ((Realm) realm).freeze();
+            return this;
+        }
+        if (!syncToCheckIfValid("Calling freeze on RealmResults whose parent RealmList has been deleted already.")) {
+            throw new IllegalStateException("The RealmList which this RealmResults is created on has been deleted.");
+        }
+        if (!load()) {
+            throw new IllegalStateException("The results of the asynchronous query could not be loaded.");
+        }
+
+        Realm frozenRealm = ((Realm) realm).freeze();
+        try {
+            TableView frozenView = getTableView().copyToSharedGroup(realm.sharedGroupManager.getNativePointer(),
+                    frozenRealm.sharedGroupManager.getNativePointer(), frozenRealm.schema.getTable(classSpec));
+            return createFromTableOrView(frozenRealm, frozenView, classSpec);
+        } catch (RuntimeException e) {
+            frozenRealm.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the Realm of these results, e.g. to close the frozen Realm of results returned by {@link #freeze()}.
+     *
+     * @return the {@link Realm} of the results.
+     * @throws IllegalStateException if the results belong to a {@link DynamicRealm}.
+     */
+    public Realm getRealm() {
+        realm.checkIfValid();
+        if (!(realm instanceof Realm)) {
+            throw new IllegalStateException("These results belong to a DynamicRealm.");
+        }
+        return (Realm) realm;
+    }
+
     /**
      * Returns a typed {@link io.realm.RealmQuery}, which can be used to query for specific objects of this type.
      *
@@ -565,6 +646,202 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    /**
+     * Returns the values of an integer or date field for all objects in the results, in the order of the results. The
+     * values are read in a single pass without creating the objects, which is much faster than reading the field of
+     * each object when only that field is needed.
+     *
+     * @param fieldName the field to read. Only integer and Date fields are supported.
+     * @return the values of the field. Dates are returned as milliseconds since the epoch, and {@code null} values
+     * are returned as {@code 0}.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not an integer or Date field.
+     */
+    public long[] getLongs(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getColumnIndexForBulkRead(fieldName);
+        checkLongsColumn(fieldName, columnIndex);
+        if (!isLoaded()) {
+            return new long[0];
+        }
+        return getTable().getLongs(columnIndex);
+    }
+
+    /**
+     * Writes the values of an integer or date field for all objects in the results into a buffer, in the order of the
+     * results. The values are written as longs starting at the current position of the buffer, which is then
+     * advanced past the last value. See {@link #getLongs(String)}.
+     *
+     * @param fieldName the field to read. Only integer and Date fields are supported.
+     * @param buffer a direct buffer in {@link ByteOrder#nativeOrder()} with room for {@link #size()} longs.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not an integer or Date field, or if
+     * the buffer is not direct, is not in native byte order or is too small.
+     */
+    public void getLongs(String fieldName, ByteBuffer buffer) {
+        realm.checkIfValid();
+        long columnIndex = getColumnIndexForBulkRead(fieldName);
+        checkLongsColumn(fieldName, columnIndex);
+        if (!isLoaded()) {
+            checkBuffer(buffer, 0, 8);
+            return;
+        }
+        TableOrView tableOrView = getTable();
+        int byteCount = checkBuffer(buffer, tableOrView.size(), 8);
+        tableOrView.getLongs(columnIndex, buffer, buffer.position());
+        buffer.position(buffer.position() + byteCount);
+    }
+
+    /**
+     * Returns the values of a float or double field for all objects in the results, in the order of the results. The
+     * values are read in a single pass without creating the objects, which is much faster than reading the field of
+     * each object when only that field is needed.
+     *
+     * @param fieldName the field to read. Only float and double fields are supported.
+     * @return the values of the field. {@code null} values are returned as {@link Double#NaN}.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a float or double field.
+     */
+    public double[] getDoubles(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getColumnIndexForBulkRead(fieldName);
+        checkDoublesColumn(fieldName, columnIndex);
+        if (!isLoaded()) {
+            return new double[0];
+        }
+        return getTable().getDoubles(columnIndex);
+    }
+
+    /**
+     * Writes the values of a float or double field for all objects in the results into a buffer, in the order of the
+     * results. The values are written as doubles starting at the current position of the buffer, which is then
+     * advanced past the last value. See {@link #getDoubles(String)}.
+     *
+     * @param fieldName the field to read. Only float and double fields are supported.
+     * @param buffer a direct buffer in {@link ByteOrder#nativeOrder()} with room for {@link #size()} doubles.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a float or double field, or if
+     * the buffer is not direct, is not in native byte order or is too small.
+     */
+    public void getDoubles(String fieldName, ByteBuffer buffer) {
+        realm.checkIfValid();
+        long columnIndex = getColumnIndexForBulkRead(fieldName);
+        checkDoublesColumn(fieldName, columnIndex);
+        if (!isLoaded()) {
+            checkBuffer(buffer, 0, 8);
+            return;
+        }
+        TableOrView tableOrView = getTable();
+        int byteCount = checkBuffer(buffer, tableOrView.size(), 8);
+        tableOrView.getDoubles(columnIndex, buffer, buffer.position());
+        buffer.position(buffer.position() + byteCount);
+    }
+
+    /**
+     * Returns the values of a String field for all objects in the results, in the order of the results. The values
+     * are read in a single pass without creating the objects.
+     *
+     * @param fieldName the field to read. Only String fields are supported.
+     * @return the values of the field, including {@code null} values.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a String field.
+     */
+    public String[] getStrings(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getColumnIndexForBulkRead(fieldName);
+        if (getTable().getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "String"));
+        }
+        if (!isLoaded()) {
+            return new String[0];
+        }
+        return getTable().getStrings(columnIndex);
+    }
+
+    /**
+     * Groups the objects of the results by the value of a field, to compute an aggregate per group. The objects are
+     * grouped natively when the aggregate is computed, without being created.
+     *
+     * @param fieldName the field to group by. Only String, integer, boolean and Date fields are supported.
+     * @return the grouping, to compute {@link RealmGroupBy#count()}, {@link RealmGroupBy#sum(String)}, ... from.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or has an unsupported type.
+     * @throws java.lang.IllegalStateException if the results of an async query are not loaded yet, when an aggregate
+     * is computed.
+     * @see RealmQuery#groupBy(String)
+     */
+    public RealmGroupBy groupBy(String fieldName) {
+        realm.checkIfValid();
+        return new RealmGroupBy(realm, getTable(), null, this, fieldName, 1);
+    }
+
+    /**
+     * Groups the objects of the results by the bucket their Date falls into, e.g. per hour or per day.
+     *
+     * @param fieldName the Date field to group by.
+     * @param bucketSize the size of the buckets.
+     * @param unit the unit of {@code bucketSize}.
+     * @return the grouping, to compute {@link RealmGroupBy#count()}, {@link RealmGroupBy#sum(String)}, ... from.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a Date field, if the unit is
+     * {@code null} or if the buckets are shorter than a second, the precision of Dates.
+     * @throws java.lang.IllegalStateException if the results of an async query are not loaded yet, when an aggregate
+     * is computed.
+     * @see RealmQuery#groupBy(String, long, TimeUnit)
+     */
+    public RealmGroupBy groupBy(String fieldName, long bucketSize, TimeUnit unit) {
+        realm.checkIfValid();
+        return new RealmGroupBy(realm, getTable(), null, this, fieldName, RealmGroupBy.getBucketSeconds(bucketSize, unit));
+    }
+
+    private long getColumnIndexForBulkRead(String fieldName) {
+        long columnIndex = getTable().getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        return columnIndex;
+    }
+
+    private void checkLongsColumn(String fieldName, long columnIndex) {
+        RealmFieldType type = getTable().getColumnType(columnIndex);
+        if (type != RealmFieldType.INTEGER && type != RealmFieldType.DATE) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int or Date"));
+        }
+    }
+
+    private void checkDoublesColumn(String fieldName, long columnIndex) {
+        RealmFieldType type = getTable().getColumnType(columnIndex);
+        if (type != RealmFieldType.FLOAT && type != RealmFieldType.DOUBLE) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "float or double"));
+        }
+    }
+
+    // Returns the number of bytes which will be written to the buffer.
+    private static int checkBuffer(ByteBuffer buffer, long count, int valueSize) {
+        if (buffer == null || !buffer.isDirect()) {
+            throw new IllegalArgumentException("A direct buffer is required.");
+        }
+        if (buffer.order() != ByteOrder.nativeOrder()) {
+            throw new IllegalArgumentException("The buffer must use the native byte order.");
+        }
+        if (count * valueSize > buffer.remaining()) {
+            throw new IllegalArgumentException(String.format("The buffer has room for %d bytes, %d are needed.",
+                    buffer.remaining(), count * valueSize));
+        }
+        return (int) (count * valueSize);
+    }
+
+    // Results over a whole class can be backed by the table itself. A view of all its rows is then created once, and
+    // synced before each use, so this is only used by operations reading all the rows anyway.
+    TableView getTableView() {
+        if (!isLoaded()) {
+            throw new IllegalStateException("The results of the asynchronous query are not loaded yet.");
+        }
+        TableOrView tableOrView = getTable();
+        if (tableOrView instanceof TableView) {
+            return (TableView) tableOrView;
+        }
+        if (tableRowsView == null) {
+            tableRowsView = ((Table) tableOrView).where().findAll();
+        } else {
+            tableRowsView.sync();
+        }
+        return tableRowsView;
+    }
+
     /**
      * Returns a distinct set of objects of a specific class. If the result is sorted, the first
      * object will be returned in case of multiple occurrences, otherwise it is undefined which
@@ -681,7 +958,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         int pos = -1;
 
         RealmResultsIterator() {
-            tableViewVersion = table.sync();
+            tableViewVersion = syncTable();
         }
 
         public boolean hasNext() {
@@ -721,7 +998,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */   }
 
         protected void assertRealmIsStable() {
-            long version = table.sync();
+            long version = syncTable();
             if (tableViewVersion > -1 && version != tableViewVersion) {
                 throw new ConcurrentModificationException("No outside changes to a Realm is allowed while iterating a RealmResults. Use iterators methods instead.");
             }
@@ -796,8 +1073,80 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * @param handoverTableViewPointer handover pointer to the new table_view.
      */
     void swapTableViewPointer(long handoverTableViewPointer) {
-        table = query.importHandoverTableView(handoverTableViewPointer, realm.sharedGroupManager.getNativePointer());
+        table = importHandoverTableView(handoverTableViewPointer);
         isCompleted = true;
+        if (!changeSetListeners.isEmpty()) {
+            // The rows of the new view are diffed against the last notified ones right away. If several views are
+            // swapped before the listeners are notified, the last one is diffed against the same notified rows.
+            pendingRowSnapshot = takeRowSnapshot((pendingRowSnapshot != null) ? pendingRowSnapshot : rowSnapshot);
+            pendingChangeSet = RealmResultsChangeSet.compute((rowSnapshot != null) ? rowSnapshot.rows : null,
+                    pendingRowSnapshot.rows);
+        }
+    }
+
+    /**
+     * Sets the range of the results of an async query, which is applied to the table_view of the worker thread once
+     * it has been sorted.
+     *
+     * @param offset index of the first result to keep.
+     * @param limit the maximum number of results to keep or {@link Table#INFINITE}.
+     */
+    void setRange(long offset, long limit) {
+        this.rangeOffset = offset;
+        this.rangeLimit = limit;
+    }
+
+    /**
+     * Sets the limit an async query sorted on a single field is run with. The view found with it only contains the
+     * first sorted rows, which are found again with {@link TableView#syncSorted(long, Sort, long)} when it is synced.
+     *
+     * @param columnIndex the index of the field the results are sorted on.
+     * @param sortOrder how the results are sorted.
+     * @param sortLimit the limit of the sorted results or {@link Table#INFINITE}.
+     */
+    void setSortLimit(long columnIndex, Sort sortOrder, long sortLimit) {
+        this.sortColumnIndex = columnIndex;
+        this.sortOrder = sortOrder;
+        this.sortLimit = sortLimit;
+    }
+
+    private TableView importHandoverTableView(long handoverTableViewPointer) {
+        TableView tableView = query.importHandoverTableView(handoverTableViewPointer,
+                realm.sharedGroupManager.getNativePointer());
+        if (sortLimit != Table.INFINITE) {
+            sortedView = tableView;
+        }
+        if (rangeOffset > 0 || rangeLimit != Table.INFINITE) {
+            tableView = tableView.getRange(rangeOffset, rangeLimit);
+        }
+        return tableView;
+    }
+
+    /**
+     * Sets the view the results of a query sorted on a single field are a range of, when it has been found with a
+     * limit.
+     *
+     * @param sortedView the view found by {@link TableQuery#findAllSorted(long, Sort, long)}.
+     * @param columnIndex the index of the field the results are sorted on.
+     * @param sortOrder how the results are sorted.
+     * @param sortLimit the limit the view has been found with.
+     */
+    void setSortedView(TableView sortedView, long columnIndex, Sort sortOrder, long sortLimit) {
+        setSortLimit(columnIndex, sortOrder, sortLimit);
+        this.sortedView = sortedView;
+    }
+
+    // Syncs the view sorted with a limit before the range taken from it is used, as syncing the range the way core
+    // does would keep all the sorted rows in it.
+    private void syncSortedView() {
+        if (sortedView != null) {
+            sortedView.syncSorted(sortColumnIndex, sortOrder, sortLimit);
+        }
+    }
+
+    private long syncTable() {
+        syncSortedView();
+        return table.sync();
     }
 
     /**
@@ -859,7 +1208,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             // this may fail with BadVersionException if the caller and/or the worker thread
             // are not in sync. COMPLETED_ASYNC_REALM_RESULTS will be fired by the worker thread
             // this should handle more complex use cases like retry, ignore etc
-            table = query.importHandoverTableView(tvHandover, realm.sharedGroupManager.getNativePointer());
+            table = importHandoverTableView(tvHandover);
             isCompleted = true;
             notifyChangeListeners();
         } catch (Exception e) {
@@ -879,6 +1228,9 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             throw new IllegalArgumentException("Listener should not be null");
         }
         realm.checkIfValid();
+        if (realm.frozen) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
         if (realm.handler == null) {
             throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
         }
@@ -900,12 +1252,57 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         listeners.remove(listener);
     }
 
+    /**
+     * Adds a change listener to this RealmResults which is told which elements were inserted, deleted or modified.
+     * Computing the changes has a cost proportional to the size of the RealmResults, so prefer
+     * {@link #addChangeListener(RealmChangeListener)} if the changes are not needed. The fields of the elements are
+     * only read again when objects of their class changed.
+     *
+     * @param listener the change listener to be notified.
+     */
+    public void addChangeListener(RealmResultsChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        if (realm.frozen) {
+            throw new IllegalStateException(BaseRealm.FROZEN_REALM_MESSAGE);
+        }
+        if (realm.handler == null) {
+            throw new IllegalStateException("You can't register a listener from a non-Looper thread ");
+        }
+        if (!changeSetListeners.contains(listener)) {
+            if (changeSetListeners.isEmpty() && isLoaded()) {
+                rowSnapshot = takeRowSnapshot(null);
+            }
+            changeSetListeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeListener(RealmResultsChangeListener listener) {
+        if (listener == null)
+            throw new IllegalArgumentException("Listener should not be null");
+
+        realm.checkIfValid();
+        changeSetListeners.remove(listener);
+        if (changeSetListeners.isEmpty()) {
+            clearRowSnapshots();
+        }
+    }
+
     /**
      * Removes all registered listeners.
      */
     public void removeChangeListeners() {
         realm.checkIfValid();
         listeners.clear();
+        changeSetListeners.clear();
+        clearRowSnapshots();
     }
 
     /**
@@ -944,11 +1341,62 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    /**
+     * Checks if this RealmResults can be affected by changes to the given tables. Changes to tables it links to are
+     * reported for its own table as well, and results of a {@link RealmList} depend on the table owning the list.
+     *
+     * @param changedTables the names of the changed tables or {@code null} if they are unknown.
+     * @return {@code true} if the results might have changed, {@code false} otherwise.
+     */
+    boolean dependsOn(Set<String> changedTables) {
+        return changedTables == null || changedTables.contains(getDependentTableName());
+    }
+
+    String getDependentTableName() {
+        if (dependentTableName == null) {
+            Table dependentTable = (query != null) ? query.getTable() : getTable().getTable();
+            dependentTableName = dependentTable.getName();
+        }
+        return dependentTableName;
+    }
+
+    String[] getDependentTableNames() {
+        if (dependentTableNames == null) {
+            Table dependentTable = (query != null) ? query.getTable() : getTable().getTable();
+            Map<String, Table> tables = new LinkedHashMap<String, Table>();
+            addDependentTables(dependentTable, tables);
+            dependentTableNames = tables.keySet().toArray(new String[tables.size()]);
+        }
+        return dependentTableNames;
+    }
+
+    private static void addDependentTables(Table table, Map<String, Table> tables) {
+        if (tables.put(table.getName(), table) != null) {
+            return;
+        }
+        for (long columnIndex = 0; columnIndex < table.getColumnCount(); columnIndex++) {
+            RealmFieldType type = table.getColumnType(columnIndex);
+            if (type == RealmFieldType.OBJECT || type == RealmFieldType.LIST) {
+                addDependentTables(table.getLinkTarget(columnIndex), tables);
+            }
+        }
+    }
+
+    /**
+     * Checks if the loaded results of an async query still match the current version of the Realm, in which case
+     * an update of the async queries can keep them as long as none of their tables changed.
+     *
+     * @return {@code true} if the results are up to date, {@code false} if they must be computed again.
+     */
+    boolean isUpToDate() {
+        return isCompleted && table instanceof TableView && ((TableView) table).isInSync();
+    }
+
     /**
      * Notifies all registered listeners.
      */
     void notifyChangeListeners() {
-        if (listeners != null && !listeners.isEmpty()) {
+        if (!listeners.isEmpty() || !changeSetListeners.isEmpty()) {
             // table might be null (if the async query didn't complete
             // but we have already registered listeners for it)
             if (pendingQuery != null && !isCompleted) return;
@@ -957,7 +1405,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             //       https://github.com/realm/realm-core/pull/1390
             long version;
             try {
-                version = table.sync();
+                version = syncTable();
             } catch (DeletedRealmListException e) {
                 // Although this RealmResults won't be updated anymore, it is good to give user a chance to do update.
                 // When the onChange called this time, user can use isValid to check if the RealmList has been deleted.
@@ -969,30 +1417,90 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
                 for (RealmChangeListener listener : listeners) {
                     listener.onChange();
                 }
+                if (!changeSetListeners.isEmpty()) {
+                    notifyChangeSetListeners(version == TABLE_VIEW_VERSION_REALM_LIST_DELETED);
+                }
+            } else if (pendingChangeSet != null) {
+                notifyChangeSetListeners(false);
             }
 
             // Since the parent RealmList has been removed, this RealmResults won't be updated anymore.
             // We just remove the change listeners from this to avoid unnecessary callings in the future.
             if (version == TABLE_VIEW_VERSION_REALM_LIST_DELETED) {
                 listeners.clear();
+                changeSetListeners.clear();
+                clearRowSnapshots();
             }
         }
     }
 
+    private void notifyChangeSetListeners(boolean listDeleted) {
+        RowSnapshot newSnapshot;
+        RealmResultsChangeSet changeSet;
+        long[] oldRows = (rowSnapshot != null) ? rowSnapshot.rows : null;
+        if (listDeleted) {
+            newSnapshot = new RowSnapshot(new long[0], 0);
+            changeSet = RealmResultsChangeSet.compute(oldRows, newSnapshot.rows);
+        } else if (pendingChangeSet != null) {
+            newSnapshot = pendingRowSnapshot;
+            changeSet = pendingChangeSet;
+        } else {
+            newSnapshot = takeRowSnapshot(rowSnapshot);
+            changeSet = RealmResultsChangeSet.compute(oldRows, newSnapshot.rows);
+        }
+        rowSnapshot = newSnapshot;
+        pendingRowSnapshot = null;
+        pendingChangeSet = null;
+        if (!changeSet.isEmpty()) {
+            for (RealmResultsChangeListener listener : changeSetListeners) {
+                listener.onChange(changeSet);
+            }
+        }
+    }
+
+    // Reads the rows of the results from the view backing them, or from the table for results over a whole class.
+    // The content of the rows can only have changed if the version of their table did, otherwise the hashes of the
+    // previous snapshot are reused and only the rows it doesn't contain are hashed.
+    private RowSnapshot takeRowSnapshot(RowSnapshot previous) {
+        TableOrView tableOrView = getTable();
+        long tableVersion = tableOrView.getTable().getVersion();
+        long[] reusableRows = (previous != null && previous.tableVersion == tableVersion) ? previous.rows : null;
+        return new RowSnapshot(tableOrView.getRowSnapshot(reusableRows), tableVersion);
+    }
+
+    private void clearRowSnapshots() {
+        rowSnapshot = null;
+        pendingRowSnapshot = null;
+        pendingChangeSet = null;
+    }
+
+    // Source row indices and content hashes of the elements, see TableOrView#getRowSnapshot(long[]), and the version
+    // of their table when they were read.
+    private static final class RowSnapshot {
+        final long[] rows;
+        final long tableVersion;
+
+        RowSnapshot(long[] rows, long tableVersion) {
+            this.rows = rows;
+            this.tableVersion = tableVersion;
+        }
+    }
+
     // FIXME: This is a temp fix, see https://github.com/realm/realm-core/pull/1434
     private boolean syncToCheckIfValid(String warningMessage) {
         if (currentTableViewVersion == TABLE_VIEW_VERSION_REALM_LIST_DELETED) {
             RealmLog.d(warningMessage);
             return false;
         }
-        TableOrView tableOrView = getTable();
-        if (tableOrView instanceof TableView) {
-            try {
+        try {
+            // Syncs the view sorted with a limit as well.
+            TableOrView tableOrView = getTable();
+            if (tableOrView instanceof TableView) {
                 tableOrView.sync();
-            } catch (DeletedRealmListException e) {
-                RealmLog.d(warningMessage);
-                return false;
             }
+        } catch (DeletedRealmListException e) {
+            RealmLog.d(warningMessage);
+            return false;
         }
         return true;
     }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * RealmResultsChangeListener can be registered with a {@link RealmResults} to receive a notification describing which
+ * elements were inserted, deleted or modified, e.g. to animate the rows of a {@code RecyclerView} instead of
+ * reloading all of them.
+ * <p>
+ * Like {@link RealmChangeListener}, it is only called on threads with an {@link android.os.Looper} and the
+ * RealmResults already contains its new elements when {@link #onChange(RealmResultsChangeSet)} is called.
+ *
+ * @see RealmResults#addChangeListener(RealmResultsChangeListener)
+ * @see RealmResults#removeChangeListener(RealmResultsChangeListener)
+ */
+public interface RealmResultsChangeListener {
+
+    /**
+     * Called when the elements of the RealmResults have changed.
+     *
+     * @param changeSet the changes since the last time the listener was called, never empty.
+     */
+    void onChange(RealmResultsChangeSet changeSet);
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes the changes of a {@link RealmResults} reported to a {@link RealmResultsChangeListener}.
+ * <p>
+ * Deletions are positions in the RealmResults as it was before the change, insertions and modifications are positions
+ * in the RealmResults as it is now. Applying the deletions in descending order and then the insertions in ascending
+ * order to a copy of the old elements gives the new elements. An element which moved is reported as deleted from its
+ * old position and inserted at its new one.
+ */
+public final class RealmResultsChangeSet {
+
+    private static final int[] NO_POSITIONS = new int[0];
+    private static final int NOT_MATCHED = -1;
+
+    private final int[] deletions;
+    private final int[] insertions;
+    private final int[] modifications;
+
+    RealmResultsChangeSet(int[] deletions, int[] insertions, int[] modifications) {
+        this.deletions = deletions;
+        this.insertions = insertions;
+        this.modifications = modifications;
+    }
+
+    /**
+     * Returns the positions of the deleted elements, in ascending order.
+     *
+     * @return the positions the deleted elements had before the change.
+     */
+    public int[] getDeletions() {
+        return deletions.clone();
+    }
+
+    /**
+     * Returns the positions of the inserted elements, in ascending order.
+     *
+     * @return the positions of the inserted elements after the change.
+     */
+    public int[] getInsertions() {
+        return insertions.clone();
+    }
+
+    /**
+     * Returns the positions of the elements whose fields were modified, in ascending order.
+     *
+     * @return the positions of the modified elements after the change.
+     */
+    public int[] getModifications() {
+        return modifications.clone();
+    }
+
+    /**
+     * Checks if nothing changed.
+     *
+     * @return {@code true} if there are no deletions, insertions nor modifications, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return deletions.length == 0 && insertions.length == 0 && modifications.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RealmResultsChangeSet{deletions=" + Arrays.toString(deletions)
+                + ", insertions=" + Arrays.toString(insertions)
+                + ", modifications=" + Arrays.toString(modifications) + "}";
+    }
+
+    /**
+     * Computes the changes between two snapshots returned by
+     * {@link io.realm.internal.TableOrView#getRowSnapshot(long[])}.
+     * <p>
+     * Rows are matched by source row index and content hash first. As deleting a row moves the last row of the table
+     * in its place, unmatched rows are then matched by content hash alone, and finally by source row index, in which
+     * case they are reported as modified. The longest sequence of matched rows which kept their relative order is
+     * kept, every other row is reported as deleted and inserted.
+     *
+     * @param oldSnapshot the snapshot before the change or {@code null} if the results were not loaded.
+     * @param newSnapshot the snapshot after the change.
+     * @return the changes between the two snapshots.
+     */
+    static RealmResultsChangeSet compute(long[] oldSnapshot, long[] newSnapshot) {
+        final int oldSize = (oldSnapshot == null) ? 0 : oldSnapshot.length / 2;
+        final int newSize = newSnapshot.length / 2;
+
+        Map<Long, Integer> oldPositionBySourceIndex = new HashMap<Long, Integer>(oldSize * 2);
+        for (int i = 0; i < oldSize; i++) {
+            oldPositionBySourceIndex.put(oldSnapshot[i * 2], i);
+        }
+
+        // Old position matched by each new position and whether its content changed
+        int[] matches = new int[newSize];
+        boolean[] oldMatched = new boolean[oldSize];
+        boolean[] modified = new boolean[newSize];
+        Arrays.fill(matches, NOT_MATCHED);
+
+        // Same row, same content
+        for (int j = 0; j < newSize; j++) {
+            Integer i = oldPositionBySourceIndex.get(newSnapshot[j * 2]);
+            if (i != null && oldSnapshot[i * 2 + 1] == newSnapshot[j * 2 + 1]) {
+                matches[j] = i;
+                oldMatched[i] = true;
+            }
+        }
+
+        // Same content, moved to another row index by a deletion
+        Map<Long, List<Integer>> unmatchedOldPositionsByHash = new HashMap<Long, List<Integer>>();
+        for (int i = 0; i < oldSize; i++) {
+            if (!oldMatched[i]) {
+                List<Integer> positions = unmatchedOldPositionsByHash.get(oldSnapshot[i * 2 + 1]);
+                if (positions == null) {
+                    positions = new ArrayList<Integer>(1);
+                    unmatchedOldPositionsByHash.put(oldSnapshot[i * 2 + 1], positions);
+                }
+                positions.add(i);
+            }
+        }
+        if (!unmatchedOldPositionsByHash.isEmpty()) {
+            for (int j = 0; j < newSize; j++) {
+                if (matches[j] != NOT_MATCHED) {
+                    continue;
+                }
+                List<Integer> positions = unmatchedOldPositionsByHash.get(newSnapshot[j * 2 + 1]);
+                if (positions != null && !positions.isEmpty()) {
+                    int i = positions.remove(0);
+                    matches[j] = i;
+                    oldMatched[i] = true;
+                }
+            }
+        }
+
+        // Same row, modified content
+        for (int j = 0; j < newSize; j++) {
+            if (matches[j] != NOT_MATCHED) {
+                continue;
+            }
+            Integer i = oldPositionBySourceIndex.get(newSnapshot[j * 2]);
+            if (i != null && !oldMatched[i]) {
+                matches[j] = i;
+                oldMatched[i] = true;
+                modified[j] = true;
+            }
+        }
+
+        boolean[] kept = longestIncreasingSubsequence(matches);
+        boolean[] oldKept = new boolean[oldSize];
+        int keptCount = 0;
+        int modificationCount = 0;
+        for (int j = 0; j < newSize; j++) {
+            if (kept[j]) {
+                oldKept[matches[j]] = true;
+                keptCount++;
+                if (modified[j]) {
+                    modificationCount++;
+                }
+            }
+        }
+
+        int[] deletions = (oldSize == keptCount) ? NO_POSITIONS : new int[oldSize - keptCount];
+        int[] insertions = (newSize == keptCount) ? NO_POSITIONS : new int[newSize - keptCount];
+        int[] modifications = (modificationCount == 0) ? NO_POSITIONS : new int[modificationCount];
+        int d = 0;
+        for (int i = 0; i < oldSize; i++) {
+            if (!oldKept[i]) {
+                deletions[d++] = i;
+            }
+        }
+        int in = 0;
+        int m = 0;
+        for (int j = 0; j < newSize; j++) {
+            if (!kept[j]) {
+                insertions[in++] = j;
+            } else if (modified[j]) {
+                modifications[m++] = j;
+            }
+        }
+        return new RealmResultsChangeSet(deletions, insertions, modifications);
+    }
+
+    // Marks the entries of the longest strictly increasing subsequence of matches, ignoring unmatched entries.
+    private static boolean[] longestIncreasingSubsequence(int[] matches) {
+        final int size = matches.length;
+        int[] tails = new int[size]; // Index in matches of the smallest tail of a subsequence of each length
+        int[] previous = new int[size];
+        int length = 0;
+        for (int j = 0; j < size; j++) {
+            if (matches[j] == NOT_MATCHED) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (matches[tails[mid]] < matches[j]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[j] = (low > 0) ? tails[low - 1] : NOT_MATCHED;
+            tails[low] = j;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] kept = new boolean[size];
+        int j = (length > 0) ? tails[length - 1] : NOT_MATCHED;
+        while (j != NOT_MATCHED) {
+            kept[j] = true;
+            j = previous[j];
+        }
+        return kept;
+    }
+}
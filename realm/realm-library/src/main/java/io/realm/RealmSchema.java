@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
@@ -42,16 +43,18 @@ public final class RealmSchema {
 
     // Caches Dynamic Class objects given as Strings (both model classes and proxy classes) to Realm Tables
     private final Map<String, Table> dynamicClassToTable = new HashMap<String, Table>();
-    // Caches Class objects (both model classes and proxy classes) to Realm Tables
-    private final Map<Class<? extends RealmObject>, Table> classToTable = new HashMap<Class<? extends RealmObject>, Table>();
+    // Caches Class objects (both model classes and proxy classes) to Realm Tables. Frozen Realms read the typed caches
+    // from several threads.
+    private final Map<Class<? extends RealmObject>, Table> classToTable = new ConcurrentHashMap<Class<? extends RealmObject>, Table>();
     // Caches Class objects (both model classes and proxy classes) to their Schema object
-    private final Map<Class<? extends RealmObject>, RealmObjectSchema> classToSchema = new HashMap<Class<? extends RealmObject>, RealmObjectSchema>();
+    private final Map<Class<? extends RealmObject>, RealmObjectSchema> classToSchema = new ConcurrentHashMap<Class<? extends RealmObject>, RealmObjectSchema>();
     // Caches Class Strings (both model classes and proxy classes) to their Schema object
     private final Map<String, RealmObjectSchema> dynamicClassToSchema = new HashMap<String, RealmObjectSchema>();
 
     private final ImplicitTransaction transaction;
     private final BaseRealm realm;
     ColumnIndices columnIndices; // Cached field look up
+    final DynamicColumnCache columnCache; // Cached field look up for dynamic access
 
     /**
      * Creates a wrapper to easily manipulate the current schema of a Realm.
@@ -59,6 +62,7 @@ public final class RealmSchema {
     RealmSchema(BaseRealm realm, ImplicitTransaction transaction) {
         this.realm = realm;
         this.transaction = transaction;
+        this.columnCache = new DynamicColumnCache(realm.sharedGroupManager);
     }
 
     /**
@@ -73,7 +77,7 @@ public final class RealmSchema {
         String internalClassName = TABLE_PREFIX + className;
         if (transaction.hasTable(internalClassName)) {
             Table table = transaction.getTable(internalClassName);
-            RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
+            RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(columnCache, table);
             return new RealmObjectSchema(realm, table, columnIndices);
         } else {
             return null;
@@ -94,7 +98,7 @@ public final class RealmSchema {
                 continue;
             }
             Table table = transaction.getTable(tableName);
-            RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
+            RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(columnCache, table);
             schemas.add(new RealmObjectSchema(realm, table, columnIndices));
         }
         return schemas;
@@ -116,7 +120,7 @@ public final class RealmSchema {
             throw new IllegalArgumentException("Class already exists: " + className);
         }
         Table table = transaction.getTable(internalTableName);
-        RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
+        RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(columnCache, table);
         return new RealmObjectSchema(realm, table, columnIndices);
     }
 
@@ -131,6 +135,7 @@ public final class RealmSchema {
         String internalTableName = TABLE_PREFIX + className;
         checkHasTable(className, "Cannot remove class because it is not in this Realm: " + className);
         transaction.removeTable(internalTableName);
+        columnCache.invalidate();
     }
 
     /**
@@ -150,8 +155,9 @@ public final class RealmSchema {
             throw new IllegalArgumentException(oldClassName + " cannot be renamed because the new class already exists: " + newClassName);
         }
         transaction.renameTable(oldInternalName, newInternalName);
+        columnCache.invalidate();
         Table table = transaction.getTable(newInternalName);
-        RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
+        RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(columnCache, table);
         return new RealmObjectSchema(realm, table, columnIndices);
     }
 
@@ -228,7 +234,7 @@ public final class RealmSchema {
                 throw new IllegalArgumentException("The class " + className + " doesn't exist in this Realm.");
             }
             Table table = transaction.getTable(className);
-            RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
+            RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(columnCache, table);
             dynamicSchema = new RealmObjectSchema(realm, table, columnIndices);
             dynamicClassToSchema.put(className, dynamicSchema);
         }
@@ -52,8 +52,7 @@ public class CheckedRow extends UncheckedRow {
     public static CheckedRow get(Context context, Table table, long index) {
         long nativeRowPointer = table.nativeGetRowPtr(table.nativePtr, index);
         CheckedRow row = new CheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addNativeReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -69,8 +68,7 @@ public class CheckedRow extends UncheckedRow {
         long nativeRowPointer = linkView.nativeGetRow(linkView.nativePointer, index);
         CheckedRow row = new CheckedRow(context, linkView.parent.getLinkTarget(linkView.columnIndexInParent),
                 nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addNativeReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -37,7 +37,8 @@ public class Context {
     private List<Long> abandonedTableViews = new ArrayList<Long>();
     private List<Long> abandonedQueries = new ArrayList<Long>();
 
-    HashMap<Reference<?>, Integer> rowReferences = new HashMap<Reference<?>, Integer>();
+    // Guarded by itself. The Context of a frozen Realm is shared by all the threads reading from it.
+    final HashMap<Reference<?>, Integer> rowReferences = new HashMap<Reference<?>, Integer>();
     ReferenceQueue<NativeObject> referenceQueue = new ReferenceQueue<NativeObject>();
 
     private boolean isFinalized = false;
@@ -67,11 +68,24 @@ public class Context {
     }
 
     public void cleanNativeReferences() {
-        NativeObjectReference reference = (NativeObjectReference) referenceQueue.poll();
-        while (reference != null) {
-            reference.clear();
-            rowReferences.remove(reference);
-            reference = (NativeObjectReference) referenceQueue.poll();
+        synchronized (rowReferences) {
+            NativeObjectReference reference = (NativeObjectReference) referenceQueue.poll();
+            while (reference != null) {
+                reference.clear();
+                rowReferences.remove(reference);
+                reference = (NativeObjectReference) referenceQueue.poll();
+            }
+        }
+    }
+
+    /**
+     * Keeps a reference to a native object until it is cleaned up by {@link #cleanNativeReferences()}.
+     *
+     * @param reference the reference to the native object.
+     */
+    void addNativeReference(NativeObjectReference reference) {
+        synchronized (rowReferences) {
+            rowReferences.put(reference, NATIVE_REFERENCES_VALUE);
         }
     }
 
@@ -246,6 +246,33 @@ public class Group implements Closeable {
         return nativeIsEmpty(nativePtr);
     }
 
+    /**
+     * Returns the version counter of every table in the group, indexed by table index. The version counter of a table
+     * changes when it is modified, either locally or by advancing to a newer version, and when a table it links to is
+     * modified.
+     *
+     * @return the version counters of all tables.
+     */
+    public long[] getTableVersions() {
+        verifyGroupIsValid();
+        return nativeGetTableVersions(nativePtr);
+    }
+
+    /**
+     * Reads the column indices of several tables and a hash of their layout in a single native call. The hash covers
+     * the name, type, nullability, search index and link target of every column of the tables and the primary keys,
+     * so it changes with any change of their schema.
+     *
+     * @param tableNames the tables to read.
+     * @param columnNames the columns to look up in each table.
+     * @return the hash, followed by the index of each column of each table in order, {@code -1} for the columns
+     * which don't exist.
+     */
+    public long[] getSchemaInfo(String[] tableNames, String[][] columnNames) {
+        verifyGroupIsValid();
+        return nativeGetSchemaInfo(nativePtr, tableNames, columnNames);
+    }
+
 /*
  * TODO: Find a way to release the malloc'ed native memory automatically
 
@@ -287,4 +314,6 @@ public class Group implements Closeable {
     protected native void nativeCommit(long nativeGroupPtr);
     protected native String nativeToString(long nativeGroupPtr);
     protected native boolean nativeIsEmpty(long nativeGroupPtr);
+    protected native long[] nativeGetTableVersions(long nativeGroupPtr);
+    protected native long[] nativeGetSchemaInfo(long nativeGroupPtr, String[] tableNames, String[][] columnNames);
 }
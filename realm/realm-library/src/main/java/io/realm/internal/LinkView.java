@@ -47,7 +47,7 @@ public class LinkView extends NativeObject {
         this.nativePointer = nativeLinkViewPtr;
 
         context.cleanNativeReferences();
-        context.rowReferences.put(new LinkViewReference(this, context.referenceQueue), Context.NATIVE_REFERENCES_VALUE);
+        context.addNativeReference(new LinkViewReference(this, context.referenceQueue));
     }
 
     /**
@@ -79,6 +79,15 @@ public class LinkView extends NativeObject {
         return nativeGetTargetRowIndex(nativePointer, pos);
     }
 
+    /**
+     * Returns the row indices in the target table of all the links, in order.
+     *
+     * @return the target row indices.
+     */
+    public long[] getTargetRowIndices() {
+        return nativeGetTargetRowIndices(nativePointer);
+    }
+
     public void add(long rowIndex) {
         checkImmutable();
         nativeAdd(nativePointer, rowIndex);
@@ -162,6 +171,7 @@ public class LinkView extends NativeObject {
     private static native void nativeClose(long nativeLinkViewPtr);
     native long nativeGetRow(long nativeLinkViewPtr, long pos);
     private native long nativeGetTargetRowIndex(long nativeLinkViewPtr, long pos);
+    private native long[] nativeGetTargetRowIndices(long nativeLinkViewPtr);
     private native void nativeAdd(long nativeLinkViewPtr, long rowIndex);
     private native void nativeInsert(long nativeLinkViewPtr, long pos, long rowIndex);
     private native void nativeSet(long nativeLinkViewPtr, long pos, long rowIndex);
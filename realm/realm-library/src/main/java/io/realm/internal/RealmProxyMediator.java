@@ -21,6 +21,7 @@ import android.util.JsonReader;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +58,26 @@ public abstract class RealmProxyMediator {
      */
     public abstract ColumnInfo validateTable(Class<? extends RealmObject> clazz, ImplicitTransaction transaction);
 
+    /**
+     * Returns a fingerprint of the schema the annotation processor expects for the given RealmObject class. It is
+     * computed from the fields of the class, their types, nullability, indexes, primary key and link targets, i.e.
+     * everything {@link #validateTable(Class, ImplicitTransaction)} checks.
+     *
+     * @param clazz the {@link RealmObject} model class.
+     * @return the fingerprint of the class.
+     */
+    public abstract long getSchemaFingerprint(Class<? extends RealmObject> clazz);
+
+    /**
+     * Creates the {@link ColumnInfo} of the given RealmObject class from column indices which are known to be valid,
+     * without validating the table.
+     *
+     * @param clazz the {@link RealmObject} model class.
+     * @param columnIndices the column index of each field, in the order of {@link #getFieldNames(Class)}.
+     * @return the field indices map.
+     */
+    public abstract ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, long[] columnIndices);
+
     /**
      * Returns a map of non-obfuscated object field names to their internal Realm name.
      *
@@ -103,6 +124,19 @@ public abstract class RealmProxyMediator {
      */
     public abstract <E extends RealmObject> E copyOrUpdate(Realm realm, E object, boolean update, Map<RealmObject, RealmObjectProxy> cache);
 
+    /**
+     * Inserts standalone {@link RealmObject}s of the given class into this Realm without creating managed objects.
+     * The objects are written as a batch, one column at a time.
+     *
+     * @param clazz the {@link RealmObject} class of the objects.
+     * @param realm the reference to {@link Realm} where to insert the objects.
+     * @param objects the objects to insert. Objects already in the Realm or in the cache are skipped.
+     * @param update {@code true} if objects with an existing primary key should update the existing data,
+     * {@code false} otherwise.
+     * @param cache the cache for mapping between inserted objects and their row index.
+     */
+    public abstract void insert(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject, Long> cache);
+
     /**
      * Creates or updates a {@link RealmObject} using the provided JSON data.
      *
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.realm.RealmObject;
+
+/**
+ * Fingerprint of the model classes of a Realm combined with the schema of the tables backing them in the file. It is
+ * stored in the file once the tables have been validated against the model classes. As long as neither the classes
+ * nor the tables change, the fingerprint stays the same and the validation can be skipped.
+ * <p>
+ * The schema of the tables and their column indices are read in a single native call, so the {@link ColumnIndices}
+ * can be created from them without the JNI calls of the validation.
+ */
+public class SchemaFingerprint {
+
+    private static final long FNV_PRIME = 1099511628211L;
+
+    private final RealmProxyMediator mediator;
+    private final List<Class<? extends RealmObject>> modelClasses;
+    private final long[] schemaInfo;
+    private final long value;
+
+    private SchemaFingerprint(RealmProxyMediator mediator, List<Class<? extends RealmObject>> modelClasses,
+                              long[] schemaInfo) {
+        this.mediator = mediator;
+        this.modelClasses = modelClasses;
+        this.schemaInfo = schemaInfo;
+
+        long value = schemaInfo[0];
+        for (Class<? extends RealmObject> modelClass : modelClasses) {
+            value = (value ^ mediator.getSchemaFingerprint(modelClass)) * FNV_PRIME;
+        }
+        this.value = value;
+    }
+
+    /**
+     * Reads the fingerprint of the model classes of a mediator and of their tables.
+     *
+     * @param mediator the mediator of the model classes.
+     * @param transaction the transaction to read the tables in.
+     * @return the fingerprint.
+     */
+    public static SchemaFingerprint read(final RealmProxyMediator mediator, ImplicitTransaction transaction) {
+        // The model classes are a set, they are sorted so the fingerprint doesn't depend on its order.
+        final Map<Class<? extends RealmObject>, String> tableNames =
+                new HashMap<Class<? extends RealmObject>, String>();
+        List<Class<? extends RealmObject>> modelClasses =
+                new ArrayList<Class<? extends RealmObject>>(mediator.getModelClasses());
+        for (Class<? extends RealmObject> modelClass : modelClasses) {
+            tableNames.put(modelClass, mediator.getTableName(modelClass));
+        }
+        Collections.sort(modelClasses, new Comparator<Class<? extends RealmObject>>() {
+            @Override
+            public int compare(Class<? extends RealmObject> lhs, Class<? extends RealmObject> rhs) {
+                return tableNames.get(lhs).compareTo(tableNames.get(rhs));
+            }
+        });
+
+        String[] tables = new String[modelClasses.size()];
+        String[][] columns = new String[modelClasses.size()][];
+        for (int i = 0; i < tables.length; i++) {
+            Class<? extends RealmObject> modelClass = modelClasses.get(i);
+            tables[i] = tableNames.get(modelClass);
+            List<String> fieldNames = mediator.getFieldNames(modelClass);
+            columns[i] = fieldNames.toArray(new String[fieldNames.size()]);
+        }
+        return new SchemaFingerprint(mediator, modelClasses, transaction.getSchemaInfo(tables, columns));
+    }
+
+    /**
+     * Returns the value of the fingerprint, to compare with the one stored in the file.
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Creates the column indices of all model classes from the indices read with the fingerprint.
+     *
+     * @return the column indices, or {@code null} if a field is missing in the file.
+     */
+    public ColumnIndices getColumnIndices() {
+        Map<Class<? extends RealmObject>, ColumnInfo> columnInfoMap =
+                new HashMap<Class<? extends RealmObject>, ColumnInfo>(modelClasses.size());
+        int offset = 1;
+        for (Class<? extends RealmObject> modelClass : modelClasses) {
+            long[] columnIndices = new long[mediator.getFieldNames(modelClass).size()];
+            System.arraycopy(schemaInfo, offset, columnIndices, 0, columnIndices.length);
+            offset += columnIndices.length;
+            for (long columnIndex : columnIndices) {
+                if (columnIndex < 0) {
+                    return null;
+                }
+            }
+            columnInfoMap.put(modelClass, mediator.createColumnInfo(modelClass, columnIndices));
+        }
+        return new ColumnIndices(columnInfoMap);
+    }
+}
@@ -110,6 +110,23 @@ public class SharedGroup implements Closeable {
         return transaction;
     }
 
+    /**
+     * Begins the implicit transaction at a version which is still read by another transaction, instead of the latest
+     * one.
+     *
+     * @param versionID the version to read.
+     */
+    public ImplicitTransaction beginImplicitTransaction(VersionID versionID) {
+        if (activeTransaction) {
+            throw new IllegalStateException(
+                    "Can't beginImplicitTransaction() during another active transaction");
+        }
+        long nativeGroupPtr = nativeBeginImplicitAtVersion(nativePtr, versionID.version, versionID.index);
+        ImplicitTransaction transaction = new ImplicitTransaction(context, this, nativeGroupPtr);
+        activeTransaction = true;
+        return transaction;
+    }
+
     public WriteTransaction beginWrite() {
         if (activeTransaction)
             throw new IllegalStateException(
@@ -302,6 +319,7 @@ public class SharedGroup implements Closeable {
     private native long nativeCreateReplication(String databaseFile, byte[] key);
     private native void nativeCommitAndContinueAsRead(long nativePtr);
     private native long nativeBeginImplicit(long nativePtr);
+    private native long nativeBeginImplicitAtVersion(long nativePtr, long version, long index);
     private native String nativeGetDefaultReplicationDatabaseFileName();
 
     private native void nativeReserve(long nativePtr, long bytes);
@@ -19,6 +19,8 @@ package io.realm.internal;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 
 import io.realm.RealmConfiguration;
 
@@ -35,6 +37,10 @@ public class SharedGroupManager implements Closeable {
 
     private SharedGroup sharedGroup;
     private ImplicitTransaction transaction;
+    // Version counters of all tables the last time changed tables were collected.
+    private long[] tableVersions;
+    // Number of times the transaction moved to another version or rolled back a write, see getVersionChangeCount().
+    private long versionChangeCount;
 
     /**
      * Creates a new instance of the FileWrapper for the given configuration on this thread.
@@ -48,6 +54,24 @@ public class SharedGroupManager implements Closeable {
         this.transaction = sharedGroup.beginImplicitTransaction();
     }
 
+    /**
+     * Creates a new instance of the FileWrapper for the given configuration, reading the given version instead of the
+     * latest one. The version must still be read by another {@link SharedGroup} when this is called.
+     */
+    public SharedGroupManager(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        this.sharedGroup = new SharedGroup(
+                configuration.getPath(),
+                SharedGroup.IMPLICIT_TRANSACTION,
+                configuration.getDurability(),
+                configuration.getEncryptionKey());
+        try {
+            this.transaction = sharedGroup.beginImplicitTransaction(version);
+        } catch (RuntimeException e) {
+            sharedGroup.close();
+            throw e;
+        }
+    }
+
     /**
      * Closes the underlying {@link SharedGroup} and free any native resources.
      */
@@ -72,6 +96,7 @@ public class SharedGroupManager implements Closeable {
      */
     public void advanceRead() {
         transaction.advanceRead();
+        versionChangeCount++;
     }
 
     /**
@@ -79,6 +104,7 @@ public class SharedGroupManager implements Closeable {
      */
     public void advanceRead(SharedGroup.VersionID version) {
         transaction.advanceRead(version);
+        versionChangeCount++;
     }
 
 
@@ -102,11 +128,21 @@ public class SharedGroupManager implements Closeable {
         return sharedGroup.getVersion();
     }
 
+    /**
+     * Returns how many times the data seen by this SharedGroup may have been replaced, by moving to another version or
+     * by rolling back a write transaction. Anything derived from the schema, like column indices, must be looked up
+     * again when this changes, since the other version may contain schema changes.
+     */
+    public long getVersionChangeCount() {
+        return versionChangeCount;
+    }
+
     /**
      * Makes the file writable. This will block all other threads and processes from making it writable as well.
      */
     public void promoteToWrite() {
         transaction.promoteToWrite();
+        versionChangeCount++;
     }
 
     /**
@@ -121,6 +157,7 @@ public class SharedGroupManager implements Closeable {
      */
     public void rollbackAndContinueAsRead() {
         transaction.rollbackAndContinueAsRead();
+        versionChangeCount++;
     }
 
     /**
@@ -139,6 +176,27 @@ public class SharedGroupManager implements Closeable {
         transaction.writeToFile(destination, key);
     }
 
+    /**
+     * Returns the names of the tables which changed since the last time this method was called, either by a write
+     * on this thread or by advancing the Realm. As the version of a table is also bumped when a table it links to is
+     * modified, those tables are included as well. The first call returns all tables.
+     *
+     * @return the names of the changed tables.
+     */
+    public Set<String> collectChangedTables() {
+        long[] versions = transaction.getTableVersions();
+        // Removing a table moves the others, so versions can't be compared by index anymore.
+        boolean allChanged = (tableVersions == null || versions.length < tableVersions.length);
+        Set<String> changedTables = new HashSet<String>();
+        for (int i = 0; i < versions.length; i++) {
+            if (allChanged || i >= tableVersions.length || versions[i] != tableVersions[i]) {
+                changedTables.add(transaction.getTableName(i));
+            }
+        }
+        tableVersions = versions;
+        return changedTables;
+    }
+
     /**
      * Returns a reference to current {@link SharedGroup}.
      */
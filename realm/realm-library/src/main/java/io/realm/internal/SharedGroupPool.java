@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.realm.RealmConfiguration;
+
+/**
+ * Keeps one background {@link SharedGroup} per worker thread for a Realm file, so async queries don't pay for opening
+ * the file and attaching to its lock file every time they run.
+ * <p>
+ * A SharedGroup is only ever used by the thread that opened it. Between two queries it is kept outside of any read
+ * transaction, so it doesn't hold on to old versions, and the next handover moves it to the version of the caller.
+ * <p>
+ * The pool of a Realm file is closed by {@link io.realm.RealmCache} when the last Realm instance of that file is
+ * closed. SharedGroups in use at that time are closed when they are released.
+ */
+public final class SharedGroupPool {
+
+    // Pools by canonical path of the Realm file, in the same way as RealmCache.
+    private static final Map<String, SharedGroupPool> pools = new HashMap<String, SharedGroupPool>();
+
+    private final RealmConfiguration configuration;
+    private final Map<Thread, SharedGroup> sharedGroups = new HashMap<Thread, SharedGroup>();
+    private final Set<Thread> busyThreads = new HashSet<Thread>();
+    private boolean closed = false;
+
+    private SharedGroupPool(RealmConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns the pool for the Realm file of the given configuration, creating it if needed. This should be called
+     * from a thread holding an open Realm instance of that file, so the pool is guaranteed to be closed later on.
+     *
+     * @param configuration the configuration of the Realm file.
+     * @return the pool of the Realm file.
+     */
+    public static SharedGroupPool getInstance(RealmConfiguration configuration) {
+        synchronized (pools) {
+            SharedGroupPool pool = pools.get(configuration.getPath());
+            if (pool == null) {
+                pool = new SharedGroupPool(configuration);
+                pools.put(configuration.getPath(), pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Closes the pool of the given Realm file, if any.
+     *
+     * @param canonicalPath the canonical path of the Realm file.
+     */
+    public static void close(String canonicalPath) {
+        SharedGroupPool pool;
+        synchronized (pools) {
+            pool = pools.remove(canonicalPath);
+        }
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Returns the SharedGroup of the calling thread, opening it if this is the first time the thread uses this pool.
+     * If the pool is already closed a new SharedGroup is returned, which will be closed by {@link #release}.
+     *
+     * @return a SharedGroup which must be passed to {@link #release(SharedGroup)} once done with it.
+     */
+    public SharedGroup acquire() {
+        final Thread thread = Thread.currentThread();
+        synchronized (this) {
+            if (!closed) {
+                busyThreads.add(thread);
+                SharedGroup sharedGroup = sharedGroups.get(thread);
+                if (sharedGroup != null) {
+                    return sharedGroup;
+                }
+            }
+        }
+
+        // Opening the file is the expensive part, so don't block the other workers while doing it.
+        SharedGroup sharedGroup = new SharedGroup(configuration.getPath(),
+                SharedGroup.IMPLICIT_TRANSACTION,
+                configuration.getDurability(),
+                configuration.getEncryptionKey());
+        synchronized (this) {
+            if (!closed) {
+                sharedGroups.put(thread, sharedGroup);
+            }
+        }
+        return sharedGroup;
+    }
+
+    /**
+     * Gives back a SharedGroup obtained from {@link #acquire()}. This must be called before the result of the query
+     * is sent to the caller thread, which could otherwise close or delete the Realm while the SharedGroup is still in
+     * use. Each SharedGroup must be released exactly once.
+     *
+     * @param sharedGroup the SharedGroup to release.
+     */
+    public synchronized void release(SharedGroup sharedGroup) {
+        final Thread thread = Thread.currentThread();
+        busyThreads.remove(thread);
+        if (!closed && sharedGroups.get(thread) == sharedGroup) {
+            if (!sharedGroup.isClosed()) {
+                // Don't pin the version which has just been read while the SharedGroup is idle.
+                sharedGroup.endRead();
+            }
+        } else {
+            sharedGroup.close();
+        }
+    }
+
+    private synchronized void close() {
+        closed = true;
+        for (Map.Entry<Thread, SharedGroup> entry : sharedGroups.entrySet()) {
+            if (!busyThreads.contains(entry.getKey())) {
+                entry.getValue().close();
+            }
+        }
+        sharedGroups.clear();
+    }
+}
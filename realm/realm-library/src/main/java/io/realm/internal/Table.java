@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
 import java.util.Date;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -904,6 +905,220 @@ public class Table implements TableOrView, TableSchema, Closeable {
         nativeSetLink(nativePtr, columnIndex, rowIndex, value);
     }
 
+    //
+    // Batch setters
+    //
+    // These set one column for many rows in a single native call. Value {@code i} is written to row
+    // {@code rowIndices[i]}. They are meant for bulk inserts and can't be used on the primary key column, as they
+    // don't check for duplicate values.
+    //
+
+    /**
+     * Sets the values of an integer column for a batch of rows.
+     *
+     * @param columnIndex the column to set.
+     * @param rowIndices the rows to set.
+     * @param values the values to set.
+     * @param nulls {@code true} for each row which should be set to {@code null}, or {@code null} if there are no
+     *              {@code null} values.
+     */
+    public void setLongs(long columnIndex, long[] rowIndices, long[] values, boolean[] nulls) {
+        checkBatch(columnIndex, rowIndices, values.length, nulls);
+        nativeSetLongs(nativePtr, columnIndex, rowIndices, values, nulls);
+    }
+
+    /**
+     * Sets the values of a boolean column for a batch of rows.
+     *
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setBooleans(long columnIndex, long[] rowIndices, boolean[] values, boolean[] nulls) {
+        checkBatch(columnIndex, rowIndices, values.length, nulls);
+        nativeSetBooleans(nativePtr, columnIndex, rowIndices, values, nulls);
+    }
+
+    /**
+     * Sets the values of a float column for a batch of rows.
+     *
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setFloats(long columnIndex, long[] rowIndices, float[] values, boolean[] nulls) {
+        checkBatch(columnIndex, rowIndices, values.length, nulls);
+        nativeSetFloats(nativePtr, columnIndex, rowIndices, values, nulls);
+    }
+
+    /**
+     * Sets the values of a double column for a batch of rows.
+     *
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setDoubles(long columnIndex, long[] rowIndices, double[] values, boolean[] nulls) {
+        checkBatch(columnIndex, rowIndices, values.length, nulls);
+        nativeSetDoubles(nativePtr, columnIndex, rowIndices, values, nulls);
+    }
+
+    /**
+     * Sets the values of a date column for a batch of rows.
+     *
+     * @param timestamps the dates to set, in milliseconds since the epoch as returned by {@link Date#getTime()}.
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setDates(long columnIndex, long[] rowIndices, long[] timestamps, boolean[] nulls) {
+        checkBatch(columnIndex, rowIndices, timestamps.length, nulls);
+        nativeSetDates(nativePtr, columnIndex, rowIndices, timestamps, nulls);
+    }
+
+    /**
+     * Sets the values of a string column for a batch of rows. {@code null} elements set the value to {@code null}.
+     *
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setStrings(long columnIndex, long[] rowIndices, String[] values) {
+        checkBatch(columnIndex, rowIndices, values.length, null);
+        nativeSetStrings(nativePtr, columnIndex, rowIndices, values);
+    }
+
+    /**
+     * Sets the values of a binary column for a batch of rows. {@code null} elements set the value to {@code null}.
+     *
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setBinaryByteArrays(long columnIndex, long[] rowIndices, byte[][] values) {
+        checkBatch(columnIndex, rowIndices, values.length, null);
+        nativeSetByteArrays(nativePtr, columnIndex, rowIndices, values);
+    }
+
+    /**
+     * Sets the links of a link column for a batch of rows.
+     *
+     * @param targetRowIndices the rows to link to in the target table, or {@code -1} to remove the link.
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setLinks(long columnIndex, long[] rowIndices, long[] targetRowIndices) {
+        checkBatch(columnIndex, rowIndices, targetRowIndices.length, null);
+        nativeSetLinks(nativePtr, columnIndex, rowIndices, targetRowIndices);
+    }
+
+    /**
+     * Replaces the content of a link list column for a batch of rows.
+     *
+     * @param targetRowIndices the rows to put in each link list, or {@code null} to clear it.
+     * @see #setLongs(long, long[], long[], boolean[])
+     */
+    public void setLinkLists(long columnIndex, long[] rowIndices, long[][] targetRowIndices) {
+        checkBatch(columnIndex, rowIndices, targetRowIndices.length, null);
+        nativeSetLinkLists(nativePtr, columnIndex, rowIndices, targetRowIndices);
+    }
+
+    private void checkBatch(long columnIndex, long[] rowIndices, int valuesCount, boolean[] nulls) {
+        checkImmutable();
+        if (rowIndices.length != valuesCount) {
+            throw new IllegalArgumentException("The number of values (" + valuesCount +
+                    ") does not match the number of rows (" + rowIndices.length + ").");
+        }
+        if (nulls != null && nulls.length != valuesCount) {
+            throw new IllegalArgumentException("The number of null flags (" + nulls.length +
+                    ") does not match the number of rows (" + rowIndices.length + ").");
+        }
+        if (isPrimaryKey(columnIndex)) {
+            throw new IllegalArgumentException("Primary key values cannot be set in batch: " + getColumnName(columnIndex));
+        }
+    }
+
+    //
+    // Column copies
+    //
+    // These read or copy a whole column without creating an accessor for each row. They are meant for migrations
+    // converting the values of a field.
+    //
+
+    /**
+     * Copies the values of a column to another column of this table. Columns of the same type and number columns of
+     * any type can be copied, float and double values copied to an integer column are truncated. {@code null} values
+     * copied to a required column are replaced by the default value of its type.
+     *
+     * @param sourceColumnIndex the column to copy from.
+     * @param targetColumnIndex the column to copy to.
+     * @throws IllegalArgumentException if the columns can't be copied or the target is the primary key.
+     */
+    public void copyColumn(long sourceColumnIndex, long targetColumnIndex) {
+        checkImmutable();
+        if (isPrimaryKey(targetColumnIndex)) {
+            throw new IllegalArgumentException("Primary key values cannot be copied: " + getColumnName(targetColumnIndex));
+        }
+        nativeCopyColumn(nativePtr, sourceColumnIndex, targetColumnIndex);
+    }
+
+    /**
+     * Reads the values of an integer column for consecutive rows, one per element of {@code values}.
+     *
+     * @param columnIndex the column to read.
+     * @param startRowIndex the first row to read.
+     * @param values the array the values are read into, {@code 0} for {@code null} values.
+     * @param nulls the array the null flags are read into, must be as long as {@code values}.
+     */
+    public void getLongs(long columnIndex, long startRowIndex, long[] values, boolean[] nulls) {
+        checkNullFlags(values.length, nulls);
+        nativeGetLongs(nativePtr, columnIndex, startRowIndex, values, nulls);
+    }
+
+    /**
+     * Reads the values of an integer, float or double column as doubles for consecutive rows.
+     *
+     * @see #getLongs(long, long, long[], boolean[])
+     */
+    public void getDoubles(long columnIndex, long startRowIndex, double[] values, boolean[] nulls) {
+        checkNullFlags(values.length, nulls);
+        nativeGetDoubles(nativePtr, columnIndex, startRowIndex, values, nulls);
+    }
+
+    @Override
+    public long[] getRowSnapshot(long[] reusableSnapshot) {
+        return nativeGetRowSnapshot(nativePtr, reusableSnapshot);
+    }
+
+    /**
+     * Returns a counter which changes every time the content of the table changes, including changes made by other
+     * threads once this thread sees them.
+     *
+     * @return the version of the table.
+     */
+    public long getVersion() {
+        return nativeGetVersion(nativePtr);
+    }
+
+    @Override
+    public long[] getLongs(long columnIndex) {
+        return nativeGetColumnLongs(nativePtr, columnIndex);
+    }
+
+    @Override
+    public double[] getDoubles(long columnIndex) {
+        return nativeGetColumnDoubles(nativePtr, columnIndex);
+    }
+
+    @Override
+    public String[] getStrings(long columnIndex) {
+        return nativeGetColumnStrings(nativePtr, columnIndex);
+    }
+
+    @Override
+    public void getLongs(long columnIndex, ByteBuffer buffer, long byteOffset) {
+        nativeGetColumnLongsIntoBuffer(nativePtr, columnIndex, buffer, byteOffset);
+    }
+
+    @Override
+    public void getDoubles(long columnIndex, ByteBuffer buffer, long byteOffset) {
+        nativeGetColumnDoublesIntoBuffer(nativePtr, columnIndex, buffer, byteOffset);
+    }
+
+    private static void checkNullFlags(int valuesCount, boolean[] nulls) {
+        if (nulls.length != valuesCount) {
+            throw new IllegalArgumentException("The number of null flags (" + nulls.length +
+                    ") does not match the number of values (" + valuesCount + ").");
+        }
+    }
+
     //TODO: Clean up this function
     private void insertSubTable(long columnIndex, long rowIndex, Object value) {
         checkImmutable();
@@ -1426,6 +1641,25 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private native void nativeSetByteArray(long nativePtr, long columnIndex, long rowIndex, byte[] data);
     private native void nativeSetMixed(long nativeTablePtr, long columnIndex, long rowIndex, Mixed data);
     private native void nativeSetLink(long nativeTablePtr, long columnIndex, long rowIndex, long value);
+    private native void nativeSetLongs(long nativeTablePtr, long columnIndex, long[] rowIndices, long[] values, boolean[] nulls);
+    private native void nativeSetBooleans(long nativeTablePtr, long columnIndex, long[] rowIndices, boolean[] values, boolean[] nulls);
+    private native void nativeSetFloats(long nativeTablePtr, long columnIndex, long[] rowIndices, float[] values, boolean[] nulls);
+    private native void nativeSetDoubles(long nativeTablePtr, long columnIndex, long[] rowIndices, double[] values, boolean[] nulls);
+    private native void nativeSetDates(long nativeTablePtr, long columnIndex, long[] rowIndices, long[] timestamps, boolean[] nulls);
+    private native void nativeSetStrings(long nativeTablePtr, long columnIndex, long[] rowIndices, String[] values);
+    private native void nativeSetByteArrays(long nativeTablePtr, long columnIndex, long[] rowIndices, byte[][] values);
+    private native void nativeSetLinks(long nativeTablePtr, long columnIndex, long[] rowIndices, long[] targetRowIndices);
+    private native void nativeSetLinkLists(long nativeTablePtr, long columnIndex, long[] rowIndices, long[][] targetRowIndices);
+    private native void nativeCopyColumn(long nativeTablePtr, long sourceColumnIndex, long targetColumnIndex);
+    private native void nativeGetLongs(long nativeTablePtr, long columnIndex, long startRowIndex, long[] values, boolean[] nulls);
+    private native void nativeGetDoubles(long nativeTablePtr, long columnIndex, long startRowIndex, double[] values, boolean[] nulls);
+    private native long[] nativeGetRowSnapshot(long nativeTablePtr, long[] reusableSnapshot);
+    private native long nativeGetVersion(long nativeTablePtr);
+    private native long[] nativeGetColumnLongs(long nativeTablePtr, long columnIndex);
+    private native double[] nativeGetColumnDoubles(long nativeTablePtr, long columnIndex);
+    private native String[] nativeGetColumnStrings(long nativeTablePtr, long columnIndex);
+    private native void nativeGetColumnLongsIntoBuffer(long nativeTablePtr, long columnIndex, ByteBuffer buffer, long byteOffset);
+    private native void nativeGetColumnDoublesIntoBuffer(long nativeTablePtr, long columnIndex, ByteBuffer buffer, long byteOffset);
     private native long nativeSetPrimaryKey(long privateKeyTableNativePtr, long nativePtr, String columnName);
     private native void nativeMigratePrimaryKeyTableIfNeeded(long groupNativePtr, long primaryKeyTableNativePtr);
     private native void nativeAddSearchIndex(long nativePtr, long columnIndex);
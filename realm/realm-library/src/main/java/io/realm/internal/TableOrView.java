@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -319,6 +320,62 @@ public interface TableOrView {
     long upperBoundLong(long columnIndex, long value);
 
 
+    /**
+     * Returns the source row index and a hash of the content of every row, in a single call. Two snapshots can be
+     * compared to find the rows which were inserted, deleted or modified.
+     *
+     * @param reusableSnapshot a previous snapshot taken while the table had the same content, as told by
+     * {@link Table#getVersion()}, whose hashes are reused for the rows it contains. {@code null} to hash all the rows.
+     * @return for each row, its index in the source table followed by the hash of its content.
+     */
+    long[] getRowSnapshot(long[] reusableSnapshot);
+
+    /**
+     * Returns the values of an integer or date column for all rows, in the order of the table/view. Dates are
+     * returned as milliseconds since the epoch and {@code null} values as {@code 0}.
+     *
+     * @param columnIndex index of the column.
+     * @return the values of the column.
+     */
+    long[] getLongs(long columnIndex);
+
+    /**
+     * Returns the values of a float or double column for all rows, in the order of the table/view. {@code null}
+     * values are returned as {@link Double#NaN}.
+     *
+     * @param columnIndex index of the column.
+     * @return the values of the column.
+     */
+    double[] getDoubles(long columnIndex);
+
+    /**
+     * Returns the values of a string column for all rows, in the order of the table/view.
+     *
+     * @param columnIndex index of the column.
+     * @return the values of the column.
+     */
+    String[] getStrings(long columnIndex);
+
+    /**
+     * Same as {@link #getLongs(long)}, but writes the values into a direct buffer in native byte order, starting at
+     * {@code byteOffset}. The position of the buffer is left unchanged.
+     *
+     * @param columnIndex index of the column.
+     * @param buffer a direct buffer with room for {@link #size()} longs after {@code byteOffset}.
+     * @param byteOffset the offset in bytes of the first value in the buffer.
+     */
+    void getLongs(long columnIndex, ByteBuffer buffer, long byteOffset);
+
+    /**
+     * Same as {@link #getDoubles(long)}, but writes the values into a direct buffer in native byte order, starting at
+     * {@code byteOffset}. The position of the buffer is left unchanged.
+     *
+     * @param columnIndex index of the column.
+     * @param buffer a direct buffer with room for {@link #size()} doubles after {@code byteOffset}.
+     * @param byteOffset the offset in bytes of the first value in the buffer.
+     */
+    void getDoubles(long columnIndex, ByteBuffer buffer, long byteOffset);
+
     TableView findAllLong(long columnIndex, long value);
 
     TableView findAllBoolean(long columnIndex, boolean value);
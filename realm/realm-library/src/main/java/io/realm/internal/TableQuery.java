@@ -20,6 +20,7 @@ import java.io.Closeable;
 import java.util.Date;
 
 import io.realm.Case;
+import io.realm.QueryProfiler;
 import io.realm.Sort;
 
 public class TableQuery implements Closeable {
@@ -38,6 +39,12 @@ public class TableQuery implements Closeable {
     // the first action to validate the syntax of the query.
     private boolean queryValidated = true;
 
+    // Set when the queries of the Realm are profiled, see setProfiler().
+    private QueryProfiler profiler;
+    private String profileName;
+    // Estimated when the query is handed over, for the runs on worker threads which can't access the table.
+    private volatile long handoverRowsScanned;
+
     // TODO: Can we protect this?
     public TableQuery(Context context, Table table, long nativeQueryPtr) {
         if (DEBUG) {
@@ -59,6 +66,13 @@ public class TableQuery implements Closeable {
         this.origin = origin;
     }
 
+    /**
+     * Returns the table this query depends on. For a query on a {@link LinkView} this is the table owning the list.
+     */
+    public Table getTable() {
+        return table;
+    }
+
     public void close() {
         synchronized (context) {
             if (nativePtr != 0) {
@@ -94,6 +108,75 @@ public class TableQuery implements Closeable {
         }
     }
 
+    /**
+     * Records the runs of this query in a profiler. The runs are named after the given name followed by the method
+     * run, e.g. {@code "Dog.findAll"}.
+     *
+     * @param profiler the profiler of the Realm, or {@code null} to not profile the query.
+     * @param name the name of the class queried.
+     */
+    public void setProfiler(QueryProfiler profiler, String name) {
+        this.profiler = profiler;
+        this.profileName = name;
+    }
+
+    public boolean isProfiled() {
+        return profiler != null;
+    }
+
+    // Estimated number of rows checked by the query, see QueryStats#getRowsScanned().
+    private long estimateRowsScanned() {
+        return (origin != null) ? origin.size() : table.size();
+    }
+
+    private long startProfiling() {
+        if (profiler == null) {
+            return 0;
+        }
+        nativeStartProfiling();
+        return System.nanoTime();
+    }
+
+    private void stopProfiling(String method, long started, boolean handedOver) {
+        if (profiler == null) {
+            return;
+        }
+        long timeNanos = System.nanoTime() - started;
+        // Find time, sort time and matched rows of the run, nothing if it failed.
+        long[] profile = nativeStopProfiling();
+        if (profile.length < 3) {
+            return;
+        }
+        long rowsScanned = handedOver ? handoverRowsScanned : estimateRowsScanned();
+        profiler.record(profileName + "." + method, timeNanos, profile[1], rowsScanned, profile[2]);
+    }
+
+    /**
+     * Records a run of the handed over query done by {@link #nativeBatchUpdateQueries}, which profiles all the
+     * queries of the batch together.
+     *
+     * @param method the method run.
+     * @param findTimeNanos the time spent finding the rows.
+     * @param sortTimeNanos the time spent sorting them.
+     * @param rowsMatched the number of rows found.
+     */
+    public void recordHandoverRun(String method, long findTimeNanos, long sortTimeNanos, long rowsMatched) {
+        if (profiler != null) {
+            profiler.record(profileName + "." + method, findTimeNanos + sortTimeNanos, sortTimeNanos,
+                    handoverRowsScanned, rowsMatched);
+        }
+    }
+
+    /**
+     * Runs an aggregate of {@link io.realm.internal.async.ParallelScan} over a range of rows of the table.
+     *
+     * @return the number of rows aggregated followed by the value.
+     */
+    public long[] aggregate(int aggregate, long columnIndex, long start, long end) {
+        validateQuery();
+        return nativeAggregate(nativePtr, aggregate, columnIndex, start, end);
+    }
+
     // Query TableView
     public TableQuery tableview(TableView tv) {
         nativeTableview(nativePtr, tv.nativePtr);
@@ -405,6 +488,26 @@ public class TableQuery implements Closeable {
         return this;
     }
 
+    /**
+     * Matches the rows whose value is one of the given values. A field which isn't indexed is checked against a hashed
+     * set of the values, which is copied along with the query when it is handed over to another thread. An empty
+     * array of values matches no rows.
+     */
+    public TableQuery in(long[] columnIndices, long[] values) {
+        nativeIn(nativePtr, columnIndices, values);
+        queryValidated = false;
+        return this;
+    }
+
+    /**
+     * Matches the rows whose value is one of the given values, case sensitive. See {@link #in(long[], long[])}.
+     */
+    public TableQuery in(long[] columnIndices, String[] values) {
+        nativeIn(nativePtr, columnIndices, values);
+        queryValidated = false;
+        return this;
+    }
+
     public TableQuery isEmpty(long[] columnIndices) {
         nativeIsEmpty(nativePtr, columnIndices);
         queryValidated = false;
@@ -419,12 +522,16 @@ public class TableQuery implements Closeable {
 
     public long find(long fromTableRow) {
         validateQuery();
-        return nativeFind(nativePtr, fromTableRow);
+        long started = startProfiling();
+        try {
+            return nativeFind(nativePtr, fromTableRow);
+        } finally {
+            stopProfiling("findFirst", started, false);
+        }
     }
 
     public long find() {
-        validateQuery();
-        return nativeFind(nativePtr, 0);
+        return find(0);
     }
 
     /**
@@ -433,13 +540,20 @@ public class TableQuery implements Closeable {
      * @param bgSharedGroupPtr current shared_group from which to operate the query.
      * @param nativeReplicationPtr replication pointer associated with the shared_group.
      * @param ptrQuery query to run the the find against.
+     * @param offset the number of matching rows to skip.
+     * @param limit {@code 0} to find no row, any other value to find one.
      * @return pointer to the handover result (table_view).
      */
-    public long findWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery) {
+    public long findWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long offset, long limit) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeFindWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0);
+        long started = startProfiling();
+        try {
+            return nativeFindWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, offset, limit);
+        } finally {
+            stopProfiling("findFirstAsync", started, true);
+        }
     }
 
     public TableView findAll(long start, long end, long limit) {
@@ -447,7 +561,13 @@ public class TableQuery implements Closeable {
 
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        long nativeViewPtr = nativeFindAll(nativePtr, start, end, limit);
+        long started = startProfiling();
+        long nativeViewPtr;
+        try {
+            nativeViewPtr = nativeFindAll(nativePtr, start, end, limit);
+        } finally {
+            stopProfiling("findAll", started, false);
+        }
         try {
             return new TableView(this.context, this.table, nativeViewPtr, this);
         } catch (RuntimeException e) {
@@ -457,11 +577,33 @@ public class TableQuery implements Closeable {
     }
 
     public TableView findAll() {
+        return findAll(0, Table.INFINITE, Table.INFINITE);
+    }
+
+    /**
+     * Runs the query and sorts the results. If a {@code limit} is given, the view only contains the first
+     * {@code limit} sorted rows, which are found in a single pass over the matches instead of sorting all of them.
+     * {@link TableView#sync()} keeps all the sorted matches in such a view, it must be synced with
+     * {@link TableView#syncSorted(long, Sort, long)} to keep the limit.
+     *
+     * @param columnIndex the column to sort by.
+     * @param sortOrder the sort order.
+     * @param limit the number of sorted rows needed or {@link Table#INFINITE}.
+     * @return the sorted view.
+     */
+    public TableView findAllSorted(long columnIndex, Sort sortOrder, long limit) {
         validateQuery();
 
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        long nativeViewPtr = nativeFindAll(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        long started = startProfiling();
+        long nativeViewPtr;
+        try {
+            nativeViewPtr = nativeFindAllSorted(nativePtr, 0, Table.INFINITE, limit, columnIndex,
+                    sortOrder.getValue());
+        } finally {
+            stopProfiling("findAllSorted", started, false);
+        }
         try {
             return new TableView(this.context, this.table, nativeViewPtr, this);
         } catch (RuntimeException e) {
@@ -474,24 +616,48 @@ public class TableQuery implements Closeable {
     // this will use a background SharedGroup to import the query (using the handover object)
     // run the query, and return the table view to the caller SharedGroup using the handover object.
     public long findAllWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery) {
+        return findAllWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, Table.INFINITE);
+    }
+
+    public long findAllWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery, long limit) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeFindAllWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE);
+        long started = startProfiling();
+        try {
+            return nativeFindAllWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, limit);
+        } finally {
+            stopProfiling("findAllAsync", started, true);
+        }
     }
 
     public long findDistinctWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery, long columnIndex) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeGetDistinctViewWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex);
+        long started = startProfiling();
+        try {
+            return nativeGetDistinctViewWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex);
+        } finally {
+            stopProfiling("distinctAsync", started, true);
+        }
     }
 
     public long findAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long columnIndex, Sort sortOrder) {
+        return findAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex, sortOrder, Table.INFINITE);
+    }
+
+    // the limit applies to the sorted results, see findAllSorted(long, Sort, long)
+    public long findAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long columnIndex, Sort sortOrder, long limit) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeFindAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndex, sortOrder.getValue());
+        long started = startProfiling();
+        try {
+            return nativeFindAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, limit, columnIndex, sortOrder.getValue());
+        } finally {
+            stopProfiling("findAllSortedAsync", started, true);
+        }
     }
 
     public long findAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long[] columnIndices, Sort[] sortOrders) {
@@ -499,7 +665,12 @@ public class TableQuery implements Closeable {
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         boolean[] ascendings = getNativeSortOrderValues(sortOrders);
-        return nativeFindAllMultiSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndices, ascendings);
+        long started = startProfiling();
+        try {
+            return nativeFindAllMultiSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndices, ascendings);
+        } finally {
+            stopProfiling("findAllSortedAsync", started, true);
+        }
     }
 
     // Suppose to be called from the caller SharedGroup thread
@@ -522,6 +693,9 @@ public class TableQuery implements Closeable {
      * @return native pointer to the handover query
      */
     public long handoverQuery(long callerSharedGroupPtr) {
+        if (profiler != null) {
+            handoverRowsScanned = estimateRowsScanned();
+        }
         return nativeHandoverQuery(callerSharedGroupPtr, nativePtr);
     }
 
@@ -697,12 +871,16 @@ public class TableQuery implements Closeable {
     // TODO: Rename all start, end parameter names to firstRow, lastRow
     public long count(long start, long end, long limit) {
         validateQuery();
-        return nativeCount(nativePtr, start, end, limit);
+        long started = startProfiling();
+        try {
+            return nativeCount(nativePtr, start, end, limit);
+        } finally {
+            stopProfiling("count", started, false);
+        }
     }
 
     public long count() {
-        validateQuery();
-        return nativeCount(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        return count(0, Table.INFINITE, Table.INFINITE);
     }
 
     // Deletion.
@@ -776,9 +954,12 @@ public class TableQuery implements Closeable {
     private native void nativeBeginsWith(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
     private native void nativeEndsWith(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
     private native void nativeContains(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
+    private native void nativeIn(long nativeQueryPtr, long[] columnIndices, long[] values);
+    private native void nativeIn(long nativeQueryPtr, long[] columnIndices, String[] values);
     private native void nativeIsEmpty(long nativePtr, long[] columnIndices);
     private native long nativeFind(long nativeQueryPtr, long fromTableRow);
     private native long nativeFindAll(long nativeQueryPtr, long start, long end, long limit);
+    private native long nativeFindAllSorted(long nativeQueryPtr, long start, long end, long limit, long columnIndex, boolean ascending);
     private native long nativeSumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMaximumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMinimumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
@@ -802,9 +983,15 @@ public class TableQuery implements Closeable {
     public static native long nativeFindAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long columnIndex, boolean ascending);
     public static native long nativeFindAllWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit);
     public static native long nativeGetDistinctViewWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
-    public static native long nativeFindWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long fromTableRow);
+    public static native long nativeFindWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long fromTableRow, long offset, long limit);
     public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long[] columnIndices, boolean[] ascending);
     public static native long nativeImportHandoverRowIntoSharedGroup(long handoverRowPtr, long callerSharedGroupPtr);
     public static native void nativeCloseQueryHandover(long nativePtr);
-    public static native long[] nativeBatchUpdateQueries(long bgSharedGroupPtr, long nativeReplicationPtr, long[] handoverQueries, long[][] parameters, long[][] queriesParameters, boolean[][] multiSortOrder);
+    private native long[] nativeAggregate(long nativeQueryPtr, int aggregate, long columnIndex, long start, long end);
+    public static native long[] nativeAggregateWithHandover(long bgSharedGroupPtr, long handoverQueryPtr, int aggregate, long columnIndex, long start, long end);
+    // Profiles the runs of queries on the calling thread until nativeStopProfiling() returns their find time, sort
+    // time and matched rows.
+    public static native void nativeStartProfiling();
+    public static native long[] nativeStopProfiling();
+    public static native long[] nativeBatchUpdateQueries(long bgSharedGroupPtr, long nativeReplicationPtr, long[] handoverQueries, long[][] parameters, long[][] queriesParameters, boolean[][] multiSortOrder, String[][] dependencies);
 }
@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
 import java.util.Date;
 import java.util.List;
 
@@ -37,6 +38,9 @@ public class TableView implements TableOrView, Closeable {
     // Core requests TableView to hold the Query reference.
     @SuppressWarnings({"unused"})
     private final TableQuery query; // the query which created this TableView
+    // Don't remove this either, a range of a TableView is synced through the TableView it is based on.
+    @SuppressWarnings({"unused"})
+    private final TableView source; // the TableView this TableView is a range of
 
     /**
      * Creates a TableView. This constructor is used if the TableView is created from a table.
@@ -50,6 +54,7 @@ public class TableView implements TableOrView, Closeable {
         this.parent = parent;
         this.nativePtr = nativePtr;
         this.query = null;
+        this.source = null;
     }
 
     /**
@@ -66,6 +71,35 @@ public class TableView implements TableOrView, Closeable {
         this.parent = parent;
         this.nativePtr = nativePtr;
         this.query = query;
+        this.source = null;
+    }
+
+    private TableView(Context context, Table parent, long nativePtr, TableView source) {
+        this.context = context;
+        this.parent = parent;
+        this.nativePtr = nativePtr;
+        this.query = null;
+        this.source = source;
+    }
+
+    /**
+     * Copies this view into another {@link SharedGroup} reading the same version, without running its query again.
+     *
+     * @param sharedGroupPtr the native pointer of the SharedGroup of this view.
+     * @param targetSharedGroupPtr the native pointer of the SharedGroup to copy the view to.
+     * @param targetTable the table of this view in the target SharedGroup.
+     * @return the copy of this view.
+     */
+    public TableView copyToSharedGroup(long sharedGroupPtr, long targetSharedGroupPtr, Table targetTable) {
+        long nativeViewPtr = nativeCopyToSharedGroup(nativePtr, sharedGroupPtr, targetSharedGroupPtr);
+        try {
+            return new TableView(this.context, targetTable, nativeViewPtr);
+        } catch (RuntimeException e) {
+            if (nativeViewPtr != 0) {
+                TableView.nativeClose(nativeViewPtr);
+            }
+            throw e;
+        }
     }
 
     @Override
@@ -127,6 +161,11 @@ public class TableView implements TableOrView, Closeable {
         return nativeGetSourceRowIndex(nativePtr, rowIndex);
     }
 
+    @Override
+    public long[] getRowSnapshot(long[] reusableSnapshot) {
+        return nativeGetRowSnapshot(nativePtr, reusableSnapshot);
+    }
+
     /**
      * Returns the number of columns in the table.
      *
@@ -752,6 +791,68 @@ public class TableView implements TableOrView, Closeable {
         }
     }
 
+    /**
+     * Returns a view of the rows of this view starting at {@code offset}, in the same order. The returned view stays
+     * in sync with this view, so sorting this view or running its query again is done before selecting the range.
+     *
+     * @param offset index of the first row of this view to include.
+     * @param limit the maximum number of rows to include or {@link Table#INFINITE}.
+     * @return a view of the range.
+     */
+    public TableView getRange(long offset, long limit) {
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        this.context.executeDelayedDisposal();
+        long nativeViewPtr = nativeGetRange(nativePtr, offset, limit);
+        try {
+            return new TableView(this.context, this.parent, nativeViewPtr, this);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    @Override
+    public long[] getLongs(long columnIndex) {
+        return nativeGetLongs(nativePtr, columnIndex);
+    }
+
+    @Override
+    public double[] getDoubles(long columnIndex) {
+        return nativeGetDoubles(nativePtr, columnIndex);
+    }
+
+    @Override
+    public String[] getStrings(long columnIndex) {
+        return nativeGetStrings(nativePtr, columnIndex);
+    }
+
+    @Override
+    public void getLongs(long columnIndex, ByteBuffer buffer, long byteOffset) {
+        nativeGetLongsIntoBuffer(nativePtr, columnIndex, buffer, byteOffset);
+    }
+
+    @Override
+    public void getDoubles(long columnIndex, ByteBuffer buffer, long byteOffset) {
+        nativeGetDoublesIntoBuffer(nativePtr, columnIndex, buffer, byteOffset);
+    }
+
+    /**
+     * Groups the rows of this view by the value of a column and aggregates another column over each group, in a
+     * single pass. Rows with a {@code null} key form the first group, the other groups are in ascending order of
+     * their key.
+     *
+     * @param keyColumnIndex index of the string, integer, boolean or date column to group by.
+     * @param bucketSeconds the size of the groups of a date column, in seconds.
+     * @param aggregate one of the {@code AGGREGATE_} constants of {@link io.realm.RealmGroupBy}.
+     * @param valueColumnIndex index of the integer, float or double column to aggregate, ignored when counting.
+     * @return for each group: 1 if its key is {@code null}, the key (0 for strings, which are read from the first
+     * row), the first row, the number of rows, the number of non-null values and the value, which is the raw bits of a
+     * double for float and double columns.
+     */
+    public long[] groupBy(long keyColumnIndex, long bucketSeconds, int aggregate, long valueColumnIndex) {
+        return nativeGroupBy(nativePtr, keyColumnIndex, bucketSeconds, aggregate, valueColumnIndex);
+    }
+
     /**
      * Finds a row in the parent table with the given {@code rowIndex}
      *
@@ -809,9 +910,32 @@ public class TableView implements TableOrView, Closeable {
         return nativeSync(nativePtr);
     }
 
+    /**
+     * Syncs a view found by {@link TableQuery#findAllSorted(long, Sort, long)} with a limit. {@link #sync()} would
+     * keep all the sorted matches, this only keeps the first {@code sortLimit} ones again.
+     *
+     * @param columnIndex the index of the column this view is sorted on.
+     * @param sortOrder the order this view is sorted in.
+     * @param sortLimit the limit this view was found with.
+     * @return the version of the view, see {@link #sync()}.
+     */
+    public long syncSorted(long columnIndex, Sort sortOrder, long sortLimit) {
+        return nativeSyncSorted(nativePtr, columnIndex, sortOrder.getValue(), sortLimit);
+    }
+
+    /**
+     * Checks if the view reflects the current version of the tables it depends on, without running its query again.
+     *
+     * @return {@code true} if {@link #sync()} wouldn't need to update the view, {@code false} otherwise.
+     */
+    public boolean isInSync() {
+        return nativeIsInSync(nativePtr);
+    }
+
     static native void nativeClose(long nativeViewPtr);
     private native long nativeSize(long nativeViewPtr);
     private native long nativeGetSourceRowIndex(long nativeViewPtr, long rowIndex);
+    private native long[] nativeGetRowSnapshot(long nativeViewPtr, long[] reusableSnapshot);
     private native long nativeGetColumnCount(long nativeViewPtr);
     private native String nativeGetColumnName(long nativeViewPtr, long columnIndex);
     private native long nativeGetColumnIndex(long nativeViewPtr, String columnName);
@@ -854,6 +978,7 @@ public class TableView implements TableOrView, Closeable {
     private native long nativeFindAllDouble(long nativePtr, long columnIndex, double value);
     private native long nativeFindAllDate(long nativePtr, long columnIndex, long dateTimeValue);
     private native long nativeFindBySourceNdx(long nativePtr, long rowIndex);
+    private native long nativeCopyToSharedGroup(long nativeViewPtr, long sharedGroupPtr, long targetSharedGroupPtr);
     private native long nativeSumInt(long nativeViewPtr, long columnIndex);
     private native long nativeFindAllString(long nativePtr, long columnIndex, String value);
     private native Long nativeMaximumInt(long nativeViewPtr, long columnIndex);
@@ -876,7 +1001,19 @@ public class TableView implements TableOrView, Closeable {
     private native String nativeToString(long nativeTablePtr, long maxRows);
     private native String nativeRowToString(long nativeTablePtr, long rowIndex);
     private native long nativeWhere(long nativeViewPtr);
+    private native long nativeGetRange(long nativeViewPtr, long offset, long limit);
+    private native long[] nativeGetLongs(long nativeViewPtr, long columnIndex);
+    private native long[] nativeGroupBy(long nativeViewPtr, long keyColumnIndex, long bucketSeconds, int aggregate,
+                                        long valueColumnIndex);
+    private native double[] nativeGetDoubles(long nativeViewPtr, long columnIndex);
+    private native String[] nativeGetStrings(long nativeViewPtr, long columnIndex);
+    private native void nativeGetLongsIntoBuffer(long nativeViewPtr, long columnIndex, ByteBuffer buffer,
+                                                 long byteOffset);
+    private native void nativeGetDoublesIntoBuffer(long nativeViewPtr, long columnIndex, ByteBuffer buffer,
+                                                   long byteOffset);
     private native void nativePivot(long nativeTablePtr, long stringCol, long intCol, int pivotType, long result);
     private native long nativeDistinct(long nativeViewPtr, long columnIndex);
     private native long nativeSync(long nativeTablePtr);
+    private native long nativeSyncSorted(long nativeViewPtr, long columnIndex, boolean ascending, long sortLimit);
+    private native boolean nativeIsInSync(long nativeViewPtr);
 }
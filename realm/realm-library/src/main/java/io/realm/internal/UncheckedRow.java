@@ -66,8 +66,7 @@ public class UncheckedRow extends NativeObject implements Row {
     public static UncheckedRow getByRowIndex(Context context, Table table, long index) {
         long nativeRowPointer = table.nativeGetRowPtr(table.nativePtr, index);
         UncheckedRow row = new UncheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addNativeReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -81,8 +80,7 @@ public class UncheckedRow extends NativeObject implements Row {
      */
     public static UncheckedRow getByRowPointer(Context context, Table table, long nativeRowPointer) {
         UncheckedRow row = new UncheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addNativeReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -98,8 +96,7 @@ public class UncheckedRow extends NativeObject implements Row {
         long nativeRowPointer = linkView.nativeGetRow(linkView.nativePointer, index);
         UncheckedRow row = new UncheckedRow(context, linkView.parent.getLinkTarget(linkView.columnIndexInParent),
                 nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addNativeReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -139,6 +136,16 @@ public class UncheckedRow extends NativeObject implements Row {
         return nativeGetIndex(nativePointer);
     }
 
+    /**
+     * Returns a hash of the value of each column of the row. Comparing them with previous hashes shows which fields
+     * changed.
+     *
+     * @return the hash of each value, indexed by column index.
+     */
+    public long[] getValueHashes() {
+        return nativeGetValueHashes(nativePointer);
+    }
+
     @Override
     public long getLong(long columnIndex) {
         return nativeGetLong(nativePointer, columnIndex);
@@ -196,7 +203,12 @@ public class UncheckedRow extends NativeObject implements Row {
 
     @Override
     public LinkView getLinkList(long columnIndex) {
-        long nativeLinkViewPtr = nativeGetLinkView(nativePointer, columnIndex);
+        long nativeLinkViewPtr;
+        // The link list accessors of a table are created and cached natively on first use, which must not happen
+        // concurrently when a frozen Realm is read from several threads.
+        synchronized (parent) {
+            nativeLinkViewPtr = nativeGetLinkView(nativePointer, columnIndex);
+        }
         return new LinkView(context, parent, columnIndex, nativeLinkViewPtr);
     }
 
@@ -281,6 +293,16 @@ public class UncheckedRow extends NativeObject implements Row {
         nativeSetNull(nativePointer, columnIndex);
     }
 
+    /**
+     * Moves this accessor to another row of the same table. This is cheaper than creating an accessor for each row
+     * when the rows of a table are visited one at a time.
+     *
+     * @param rowIndex the index of the row to move to.
+     */
+    public void moveTo(long rowIndex) {
+        nativeMoveTo(nativePointer, rowIndex);
+    }
+
     /**
      * Converts the unchecked Row to a checked variant.
      *
@@ -305,6 +327,8 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native long nativeGetColumnIndex(long nativeTablePtr, String columnName);
     protected native int nativeGetColumnType(long nativeTablePtr, long columnIndex);
     protected native long nativeGetIndex(long nativeRowPtr);
+    protected native void nativeMoveTo(long nativeRowPtr, long rowIndex);
+    protected native long[] nativeGetValueHashes(long nativeRowPtr);
     protected native long nativeGetLong(long nativeRowPtr, long columnIndex);
     protected native boolean nativeGetBoolean(long nativeRowPtr, long columnIndex);
     protected native float nativeGetFloat(long nativeRowPtr, long columnIndex);
@@ -16,6 +16,9 @@
 
 package io.realm.internal;
 
+import java.util.Arrays;
+import java.util.Date;
+
 import io.realm.RealmObject;
 
 public class Util {
@@ -100,4 +103,25 @@ public class Util {
 
         return clazz;
     }
+
+    /**
+     * Compares the stored value of a field with a new one, where both may be {@code null}. Dates are compared with
+     * the precision they are stored with, which is seconds.
+     *
+     * @param storedValue the value currently stored in the Realm.
+     * @param newValue the value to compare with.
+     * @return {@code true} if setting {@code newValue} wouldn't change the stored value, {@code false} otherwise.
+     */
+    public static boolean isSameValue(Object storedValue, Object newValue) {
+        if (storedValue == null || newValue == null) {
+            return storedValue == newValue;
+        }
+        if (storedValue instanceof Date && newValue instanceof Date) {
+            return ((Date) storedValue).getTime() / 1000 == ((Date) newValue).getTime() / 1000;
+        }
+        if (storedValue instanceof byte[] && newValue instanceof byte[]) {
+            return Arrays.equals((byte[]) storedValue, (byte[]) newValue);
+        }
+        return storedValue.equals(newValue);
+    }
 }
@@ -17,6 +17,8 @@
 package io.realm.internal.async;
 
 import io.realm.Sort;
+import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
 
 /**
  * Value holder class to encapsulate the arguments of a RealmQuery (in case we want to re-query).
@@ -33,6 +35,13 @@ public class ArgumentsHolder {
     public Sort sortOrder;
     public long[] columnIndices;
     public Sort[] sortOrders;
+    // Maximum number of rows to find for TYPE_FIND_ALL, or number of sorted rows needed for TYPE_FIND_ALL_SORTED.
+    // For TYPE_FIND_FIRST, the limit of the query, 0 meaning that no row is found.
+    public long limit = Table.INFINITE;
+    // Number of matching rows skipped by TYPE_FIND_FIRST.
+    public long offset = 0;
+    // The query handed over, used to record the runs of the query when it is profiled.
+    public TableQuery query;
 
     public ArgumentsHolder(int type) {
         this.type = type;
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
+import io.realm.internal.TableQuery;
+
+/**
+ * Runs the count and the aggregates of a query which checks all the rows of a table on several threads. The rows are
+ * split in consecutive ranges, one per part. The calling thread checks the first range with its own query while the
+ * workers of the executor check the other ones with a handover of the query, on their pooled {@link SharedGroup} and at
+ * the version of the caller. The partial results are then merged, which gives the same result as a single scan.
+ * <p>
+ * A part which hasn't been started by a worker when the caller gets to it is taken back from the queue and checked by
+ * the caller itself, so the scan can't wait on workers which are all busy, even when the caller is one of them.
+ * <p>
+ * Only counts and aggregates are split. The results of findAll() are a single core TableView, which is handed over and
+ * updated by running its query again, and core can't build one from the rows found by several scans.
+ */
+public class ParallelScan {
+
+    // Must match the AGGREGATE_ constants of io_realm_internal_TableQuery.cpp
+    public static final int AGGREGATE_COUNT = 0;
+    public static final int AGGREGATE_SUM = 1;
+    public static final int AGGREGATE_MIN = 2;
+    public static final int AGGREGATE_MAX = 3;
+
+    private static final int MAX_PARTS = Runtime.getRuntime().availableProcessors();
+
+    private final TableQuery query;
+    private final long callerSharedGroupPtr;
+    private final SharedGroupPool sharedGroupPool;
+    private final ThreadPoolExecutor executor;
+    private final long rowCount;
+    private final int partCount;
+
+    /**
+     * @param query the query to run, which must not be restricted to a view, so it matches rows of the whole table.
+     * @param callerSharedGroupPtr the SharedGroup of the calling thread, which must not be in a write transaction.
+     * @param sharedGroupPool the pool of the Realm file.
+     * @param executor the executor of the workers.
+     * @param rowCount the number of rows of the table.
+     */
+    public ParallelScan(TableQuery query, long callerSharedGroupPtr, SharedGroupPool sharedGroupPool,
+                        ThreadPoolExecutor executor, long rowCount) {
+        this.query = query;
+        this.callerSharedGroupPtr = callerSharedGroupPtr;
+        this.sharedGroupPool = sharedGroupPool;
+        this.executor = executor;
+        this.rowCount = rowCount;
+        this.partCount = getPartCount(rowCount);
+    }
+
+    /**
+     * Returns the number of parts a table with the given number of rows is split in, one per processor. There is no
+     * point in splitting a scan if this is less than 2.
+     */
+    public static int getPartCount(long rowCount) {
+        return (int) Math.min(MAX_PARTS, rowCount);
+    }
+
+    public long count() {
+        long count = 0;
+        for (long[] result : run(AGGREGATE_COUNT, -1)) {
+            count += result[0];
+        }
+        return count;
+    }
+
+    public long sumLong(long columnIndex) {
+        long sum = 0;
+        for (long[] result : run(AGGREGATE_SUM, columnIndex)) {
+            sum += result[1];
+        }
+        return sum;
+    }
+
+    public double sumDouble(long columnIndex) {
+        double sum = 0;
+        for (long[] result : run(AGGREGATE_SUM, columnIndex)) {
+            sum += Double.longBitsToDouble(result[1]);
+        }
+        return sum;
+    }
+
+    public double averageLong(long columnIndex) {
+        long sum = 0;
+        long count = 0;
+        for (long[] result : run(AGGREGATE_SUM, columnIndex)) {
+            sum += result[1];
+            count += result[0];
+        }
+        return (count == 0) ? 0 : (double) sum / count;
+    }
+
+    public double averageDouble(long columnIndex) {
+        double sum = 0;
+        long count = 0;
+        for (long[] result : run(AGGREGATE_SUM, columnIndex)) {
+            sum += Double.longBitsToDouble(result[1]);
+            count += result[0];
+        }
+        return (count == 0) ? 0 : sum / count;
+    }
+
+    public Long minimumLong(long columnIndex) {
+        return extremeLong(AGGREGATE_MIN, columnIndex);
+    }
+
+    public Long maximumLong(long columnIndex) {
+        return extremeLong(AGGREGATE_MAX, columnIndex);
+    }
+
+    public Double minimumDouble(long columnIndex) {
+        return extremeDouble(AGGREGATE_MIN, columnIndex);
+    }
+
+    public Double maximumDouble(long columnIndex) {
+        return extremeDouble(AGGREGATE_MAX, columnIndex);
+    }
+
+    private Long extremeLong(int aggregate, long columnIndex) {
+        Long extreme = null;
+        for (long[] result : run(aggregate, columnIndex)) {
+            // Ranges without any value don't take part.
+            if (result[0] == 0) {
+                continue;
+            }
+            if (extreme == null || (aggregate == AGGREGATE_MIN ? result[1] < extreme : result[1] > extreme)) {
+                extreme = result[1];
+            }
+        }
+        return extreme;
+    }
+
+    private Double extremeDouble(int aggregate, long columnIndex) {
+        Double extreme = null;
+        for (long[] result : run(aggregate, columnIndex)) {
+            if (result[0] == 0) {
+                continue;
+            }
+            double value = Double.longBitsToDouble(result[1]);
+            if (extreme == null || (aggregate == AGGREGATE_MIN ? value < extreme : value > extreme)) {
+                extreme = value;
+            }
+        }
+        return extreme;
+    }
+
+    // Returns the number of rows aggregated and the value of each part, in row order.
+    private long[][] run(int aggregate, long columnIndex) {
+        long[][] results = new long[partCount][];
+        List<Part> parts = new ArrayList<Part>(partCount - 1);
+        try {
+            // Fork
+            for (int i = 1; i < partCount; i++) {
+                Part part = new Part(aggregate, columnIndex, getStart(i), getStart(i + 1),
+                        query.handoverQuery(callerSharedGroupPtr));
+                parts.add(part);
+                try {
+                    part.future = executor.submit(part);
+                } catch (RejectedExecutionException e) {
+                    // The queue of the executor is full, the part is checked by this thread instead.
+                }
+            }
+
+            // Join
+            results[0] = query.aggregate(aggregate, columnIndex, 0, getStart(1));
+            for (int i = 1; i < partCount; i++) {
+                Part part = parts.get(i - 1);
+                if (part.future == null || executor.remove((Runnable) part.future)) {
+                    part.closeHandover();
+                    results[i] = query.aggregate(aggregate, columnIndex, part.start, part.end);
+                } else {
+                    results[i] = getResult(part.future);
+                }
+                part.joined = true;
+            }
+        } finally {
+            // On failure, the parts still queued own a handover which would otherwise leak.
+            for (Part part : parts) {
+                if (!part.joined && (part.future == null || executor.remove((Runnable) part.future))) {
+                    part.closeHandover();
+                }
+            }
+        }
+        return results;
+    }
+
+    private long getStart(int part) {
+        return rowCount * part / partCount;
+    }
+
+    private static long[] getResult(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RealmException("Interrupted while waiting for a parallel scan.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RealmException("A parallel scan failed.", e.getCause());
+        }
+    }
+
+    // A range of rows checked by a worker.
+    private class Part implements Callable<long[]> {
+        final int aggregate;
+        final long columnIndex;
+        final long start;
+        final long end;
+        // Owned by the part until a worker runs it.
+        private long handoverQueryPtr;
+        Future<long[]> future;
+        boolean joined;
+
+        Part(int aggregate, long columnIndex, long start, long end, long handoverQueryPtr) {
+            this.aggregate = aggregate;
+            this.columnIndex = columnIndex;
+            this.start = start;
+            this.end = end;
+            this.handoverQueryPtr = handoverQueryPtr;
+        }
+
+        @Override
+        public long[] call() {
+            SharedGroup sharedGroup = sharedGroupPool.acquire();
+            try {
+                long ptr = handoverQueryPtr;
+                handoverQueryPtr = 0;
+                return TableQuery.nativeAggregateWithHandover(sharedGroup.getNativePointer(), ptr, aggregate,
+                        columnIndex, start, end);
+            } finally {
+                sharedGroupPool.release(sharedGroup);
+            }
+        }
+
+        void closeHandover() {
+            if (handoverQueryPtr != 0) {
+                TableQuery.nativeCloseQueryHandover(handoverQueryPtr);
+                handoverQueryPtr = 0;
+            }
+        }
+    }
+}
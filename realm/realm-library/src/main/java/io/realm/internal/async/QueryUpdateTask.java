@@ -27,6 +27,7 @@ import io.realm.RealmConfiguration;
 import io.realm.RealmObject;
 import io.realm.RealmResults;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
 import io.realm.internal.log.RealmLog;
@@ -41,20 +42,20 @@ public class QueryUpdateTask implements Runnable {
     private final static int MODE_UPDATE_REALM_OBJECT = 1;
     private final int updateMode;
 
-    private RealmConfiguration realmConfiguration;
+    private SharedGroupPool sharedGroupPool;
     private List<Builder.QueryEntry> realmResultsEntries;
     private Builder.QueryEntry realmObjectEntry;
     private WeakReference<Handler> callerHandler;
     private int message;
 
     private QueryUpdateTask (int mode,
-                             RealmConfiguration realmConfiguration,
+                             SharedGroupPool sharedGroupPool,
                              List<Builder.QueryEntry> listOfRealmResults,
                              Builder.QueryEntry realmObject,
                              WeakReference<Handler> handler,
                              int message) {
         this.updateMode = mode;
-        this.realmConfiguration = realmConfiguration;
+        this.sharedGroupPool = sharedGroupPool;
         this.realmResultsEntries = listOfRealmResults;
         this.realmObjectEntry = realmObject;
         this.callerHandler = handler;
@@ -69,22 +70,31 @@ public class QueryUpdateTask implements Runnable {
     public void run() {
         SharedGroup sharedGroup = null;
         try {
-            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                    SharedGroup.IMPLICIT_TRANSACTION,
-                    realmConfiguration.getDurability(),
-                    realmConfiguration.getEncryptionKey());
+            sharedGroup = sharedGroupPool.acquire();
 
             Result result;
             boolean updateSuccessful = false;
             if (updateMode == MODE_UPDATE_REALM_RESULTS) {
                 result = Result.newRealmResultsResponse();
                 AlignedQueriesParameters alignedParameters = prepareQueriesParameters();
-                long[] handoverTableViewPointer = TableQuery.nativeBatchUpdateQueries(sharedGroup.getNativePointer(),
-                        sharedGroup.getNativeReplicationPointer(),
-                        alignedParameters.handoverQueries,
-                        alignedParameters.queriesParameters,
-                        alignedParameters.multiSortColumnIndices,
-                        alignedParameters.multiSortOrder);
+                boolean profiled = isAnyQueryProfiled();
+                if (profiled) {
+                    TableQuery.nativeStartProfiling();
+                }
+                long[] handoverTableViewPointer;
+                try {
+                    handoverTableViewPointer = TableQuery.nativeBatchUpdateQueries(sharedGroup.getNativePointer(),
+                            sharedGroup.getNativeReplicationPointer(),
+                            alignedParameters.handoverQueries,
+                            alignedParameters.queriesParameters,
+                            alignedParameters.multiSortColumnIndices,
+                            alignedParameters.multiSortOrder,
+                            alignedParameters.dependencies);
+                } finally {
+                    if (profiled) {
+                        recordBatchProfiles(TableQuery.nativeStopProfiling());
+                    }
+                }
                 swapPointers(result, handoverTableViewPointer);
                 updateSuccessful = true;
                 result.versionID = sharedGroup.getVersion();
@@ -95,6 +105,10 @@ public class QueryUpdateTask implements Runnable {
                 result.versionID = sharedGroup.getVersion();
             }
 
+            // The SharedGroup must be released before notifying the caller thread, which might close the Realm.
+            sharedGroupPool.release(sharedGroup);
+            sharedGroup = null;
+
             Handler handler = callerHandler.get();
             if (updateSuccessful && !isTaskCancelled() && isAliveHandler(handler)) {
                 handler.obtainMessage(message, result).sendToTarget();
@@ -105,7 +119,7 @@ public class QueryUpdateTask implements Runnable {
 
         } finally {
             if (sharedGroup != null) {
-                sharedGroup.close();
+                sharedGroupPool.release(sharedGroup);
             }
         }
     }
@@ -115,16 +129,18 @@ public class QueryUpdateTask implements Runnable {
         long[][] queriesParameters = new long[realmResultsEntries.size()][6];
         long[][] multiSortColumnIndices = new long[realmResultsEntries.size()][];
         boolean[][] multiSortOrder = new boolean[realmResultsEntries.size()][];
+        String[][] dependencies = new String[realmResultsEntries.size()][];
 
         int i = 0;
         for (Builder.QueryEntry  queryEntry : realmResultsEntries) {
+            dependencies[i] = queryEntry.dependencies;
             switch (queryEntry.queryArguments.type) {
                 case ArgumentsHolder.TYPE_FIND_ALL: {
                     handoverQueries[i] = queryEntry.handoverQueryPointer;
                     queriesParameters[i][0] = ArgumentsHolder.TYPE_FIND_ALL;
                     queriesParameters[i][1] = 0;
                     queriesParameters[i][2] = Table.INFINITE;
-                    queriesParameters[i][3] = Table.INFINITE;
+                    queriesParameters[i][3] = queryEntry.queryArguments.limit;
                     break;
                 }
                 case ArgumentsHolder.TYPE_DISTINCT: {
@@ -138,7 +154,7 @@ public class QueryUpdateTask implements Runnable {
                     queriesParameters[i][0] = ArgumentsHolder.TYPE_FIND_ALL_SORTED;
                     queriesParameters[i][1] = 0;
                     queriesParameters[i][2] = Table.INFINITE;
-                    queriesParameters[i][3] = Table.INFINITE;
+                    queriesParameters[i][3] = queryEntry.queryArguments.limit;
                     queriesParameters[i][4] = queryEntry.queryArguments.columnIndex;
                     queriesParameters[i][5] = (queryEntry.queryArguments.sortOrder.getValue()) ? 1 : 0;
                     break;
@@ -163,13 +179,57 @@ public class QueryUpdateTask implements Runnable {
         alignedParameters.multiSortColumnIndices = multiSortColumnIndices;
         alignedParameters.multiSortOrder = multiSortOrder;
         alignedParameters.queriesParameters = queriesParameters;
+        alignedParameters.dependencies = dependencies;
 
         return alignedParameters;
     }
 
+    private boolean isAnyQueryProfiled() {
+        for (Builder.QueryEntry queryEntry : realmResultsEntries) {
+            if (queryEntry.queryArguments.query != null && queryEntry.queryArguments.query.isProfiled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The batch records the find time, sort time and matched rows of each query, in the order of the entries.
+    private void recordBatchProfiles(long[] profiles) {
+        if (profiles.length < realmResultsEntries.size() * 3) {
+            // The batch failed before running all the queries.
+            return;
+        }
+        int i = 0;
+        for (Builder.QueryEntry queryEntry : realmResultsEntries) {
+            long rowsMatched = profiles[i * 3 + 2];
+            TableQuery query = queryEntry.queryArguments.query;
+            // -1 rows matched if the query wasn't run because none of its tables changed.
+            if (query != null && rowsMatched >= 0) {
+                query.recordHandoverRun(getProfiledMethod(queryEntry.queryArguments.type),
+                        profiles[i * 3], profiles[i * 3 + 1], rowsMatched);
+            }
+            i++;
+        }
+    }
+
+    private static String getProfiledMethod(int type) {
+        switch (type) {
+            case ArgumentsHolder.TYPE_FIND_ALL:
+                return "findAllAsync";
+            case ArgumentsHolder.TYPE_FIND_ALL_SORTED:
+            case ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED:
+                return "findAllSortedAsync";
+            case ArgumentsHolder.TYPE_DISTINCT:
+                return "distinctAsync";
+            default:
+                return "findFirstAsync";
+        }
+    }
+
     private void swapPointers(Result result, long[] handoverTableViewPointer) {
         int i = 0;
         for (Builder.QueryEntry  queryEntry : realmResultsEntries) {
+            // 0 if none of the tables of the query changed, the caller keeps its current results
             result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer[i++]);
         }
     }
@@ -178,10 +238,27 @@ public class QueryUpdateTask implements Runnable {
         if (!isTaskCancelled()) {
             switch (realmObjectEntry.queryArguments.type) {
                 case ArgumentsHolder.TYPE_FIND_FIRST: {
-                    long handoverRowPointer = TableQuery.
-                            nativeFindWithHandover(sharedGroup.getNativePointer(),
-                                    sharedGroup.getNativeReplicationPointer(),
-                                    realmObjectEntry.handoverQueryPointer, 0);
+                    TableQuery query = realmObjectEntry.queryArguments.query;
+                    boolean profiled = query != null && query.isProfiled();
+                    if (profiled) {
+                        TableQuery.nativeStartProfiling();
+                    }
+                    long handoverRowPointer;
+                    try {
+                        handoverRowPointer = TableQuery.
+                                nativeFindWithHandover(sharedGroup.getNativePointer(),
+                                        sharedGroup.getNativeReplicationPointer(),
+                                        realmObjectEntry.handoverQueryPointer, 0,
+                                        realmObjectEntry.queryArguments.offset,
+                                        realmObjectEntry.queryArguments.limit);
+                    } finally {
+                        if (profiled) {
+                            long[] profile = TableQuery.nativeStopProfiling();
+                            if (profile.length >= 3) {
+                                query.recordHandoverRun("findFirstAsync", profile[0], profile[1], profile[2]);
+                            }
+                        }
+                    }
                     result.updatedRow.put(realmObjectEntry.element, handoverRowPointer);
                     break;
                 }
@@ -227,6 +304,7 @@ public class QueryUpdateTask implements Runnable {
         long[][] queriesParameters;
         long[][] multiSortColumnIndices;
         boolean[][] multiSortOrder;
+        String[][] dependencies;
     }
     /*
       This uses the step builder pattern to guide the caller throughout the creation of the instance
@@ -234,8 +312,8 @@ public class QueryUpdateTask implements Runnable {
       Example of call:
       QueryUpdateTask task = QueryUpdateTask.newBuilder()
          .realmConfiguration(null, null)
-         .add(null, 0, null)
-         .add(null, 0, null)
+         .add(null, 0, null, null)
+         .add(null, 0, null, null)
          .sendToHandler(null, 0)
          .build();
 
@@ -253,7 +331,8 @@ public class QueryUpdateTask implements Runnable {
         public interface UpdateQueryStep {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
                                           long handoverQueryPointer,
-                                          ArgumentsHolder queryArguments);
+                                          ArgumentsHolder queryArguments,
+                                          String[] dependencies);
             HandlerStep addObject(WeakReference<? extends RealmObject> weakReference,
                                   long handoverQueryPointer,
                                   ArgumentsHolder queryArguments);// can only update 1 element
@@ -262,7 +341,8 @@ public class QueryUpdateTask implements Runnable {
         public interface RealmResultsQueryStep {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
                                           long handoverQueryPointer,
-                                          ArgumentsHolder queryArguments);
+                                          ArgumentsHolder queryArguments,
+                                          String[] dependencies);
             BuilderStep sendToHandler(Handler handler, int message);
         }
 
@@ -275,7 +355,7 @@ public class QueryUpdateTask implements Runnable {
         }
 
         private static class Steps implements RealmConfigurationStep, UpdateQueryStep, RealmResultsQueryStep, HandlerStep, BuilderStep {
-            private RealmConfiguration realmConfiguration;
+            private SharedGroupPool sharedGroupPool;
             private List<QueryEntry> realmResultsEntries;
             private QueryEntry realmObjectEntry;
             private WeakReference<Handler> callerHandler;
@@ -283,18 +363,21 @@ public class QueryUpdateTask implements Runnable {
 
             @Override
             public UpdateQueryStep realmConfiguration(RealmConfiguration realmConfiguration) {
-                this.realmConfiguration = realmConfiguration;
+                // Resolved on the caller thread, which holds an open Realm for this configuration.
+                this.sharedGroupPool = SharedGroupPool.getInstance(realmConfiguration);
                 return this;
             }
 
             @Override
             public RealmResultsQueryStep add(WeakReference<RealmResults<?>> weakReference,
                                              long handoverQueryPointer,
-                                             ArgumentsHolder queryArguments) {
+                                             ArgumentsHolder queryArguments,
+                                             String[] dependencies) {
                 if (this.realmResultsEntries == null) {
                     this.realmResultsEntries = new ArrayList<QueryEntry>(1);
                 }
-                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments));
+                this.realmResultsEntries.add(
+                        new QueryEntry(weakReference, handoverQueryPointer, queryArguments, dependencies));
                 return this;
             }
 
@@ -303,7 +386,7 @@ public class QueryUpdateTask implements Runnable {
                                          long handoverQueryPointer,
                                          ArgumentsHolder queryArguments) {
                 realmObjectEntry =
-                        new QueryEntry(weakReference, handoverQueryPointer, queryArguments);
+                        new QueryEntry(weakReference, handoverQueryPointer, queryArguments, null);
                 return this;
             }
 
@@ -318,7 +401,7 @@ public class QueryUpdateTask implements Runnable {
             public QueryUpdateTask build() {
                 return new QueryUpdateTask(
                         (realmResultsEntries != null) ? MODE_UPDATE_REALM_RESULTS : MODE_UPDATE_REALM_OBJECT,
-                        realmConfiguration,
+                        sharedGroupPool,
                         realmResultsEntries,
                         realmObjectEntry,
                         callerHandler,
@@ -330,11 +413,15 @@ public class QueryUpdateTask implements Runnable {
             final WeakReference element;
             long handoverQueryPointer;
             final ArgumentsHolder queryArguments;
+            // Tables which must have changed for the query to be run again, null to always run it
+            final String[] dependencies;
 
-            private QueryEntry(WeakReference element, long handoverQueryPointer, ArgumentsHolder queryArguments) {
+            private QueryEntry(WeakReference element, long handoverQueryPointer, ArgumentsHolder queryArguments,
+                               String[] dependencies) {
                 this.element = element;
                 this.handoverQueryPointer = handoverQueryPointer;
                 this.queryArguments = queryArguments;
+                this.dependencies = dependencies;
             }
         }
     }
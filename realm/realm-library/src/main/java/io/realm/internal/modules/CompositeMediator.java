@@ -22,6 +22,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -68,6 +69,18 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.validateTable(clazz, transaction);
     }
 
+    @Override
+    public long getSchemaFingerprint(Class<? extends RealmObject> clazz) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.getSchemaFingerprint(clazz);
+    }
+
+    @Override
+    public ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, long[] columnIndices) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.createColumnInfo(clazz, columnIndices);
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmObject> clazz) {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -97,6 +110,12 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public void insert(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject, Long> cache) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        mediator.insert(clazz, realm, objects, update, cache);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -84,6 +84,18 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.validateTable(clazz, transaction);
     }
 
+    @Override
+    public long getSchemaFingerprint(Class<? extends RealmObject> clazz) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.getSchemaFingerprint(clazz);
+    }
+
+    @Override
+    public ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, long[] columnIndices) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.createColumnInfo(clazz, columnIndices);
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmObject> clazz) {
         checkSchemaHasClass(clazz);
@@ -113,6 +125,12 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public void insert(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, boolean update, Map<RealmObject, Long> cache) {
+        checkSchemaHasClass(clazz);
+        originalMediator.insert(clazz, realm, objects, update, cache);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         checkSchemaHasClass(clazz);